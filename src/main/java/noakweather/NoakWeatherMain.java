@@ -25,12 +25,20 @@ import org.apache.logging.log4j.core.config.Configurator;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.Properties;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import noakweather.config.WeatherConfigurationService;
 import noakweather.config.WeatherConfigurationFactory;
+import noakweather.noaa_api.model.Station;
+import noakweather.service.MetarCycleIngestService;
+import noakweather.noaa_api.model.StationCode;
+import noakweather.service.StationMonitor;
+import noakweather.service.StationRegistry;
 import noakweather.service.WeatherServiceException;
 
 
@@ -60,6 +68,11 @@ public class NoakWeatherMain {
     // Weather request type constants
     private static final String WEATHER_TYPE_METAR = "METAR";
     private static final String WEATHER_TYPE_TAF = "TAF";
+    private static final String WEATHER_TYPE_CYCLE = "METAR cycle";
+    private static final String WEATHER_TYPE_MONITOR = "METAR monitor";
+    
+    // Prefix marking a command argument as a local file rather than a station or hour
+    private static final String FILE_PREFIX = "file:";
 
     // Configuration services
     private static final WeatherConfigurationService WEATHER_CONFIG;
@@ -202,6 +215,7 @@ public class NoakWeatherMain {
         LOGGER.debug("Parsed options:");
         LOGGER.debug("  Command: {}", options.getCommand());
         LOGGER.debug("  Station: {}", options.getStationCode());
+        LOGGER.debug("  Stations: {}", options.getStationCodes());
         LOGGER.debug("  Print: {}", options.shouldPrint());
         LOGGER.debug("  Log Level: {}", options.getLogLevel());
         LOGGER.debug("  All args: {}", options.getPositionalArgs());
@@ -243,6 +257,14 @@ public class NoakWeatherMain {
             case "-t":
                 handleWeatherRequest(options, WEATHER_TYPE_TAF);
                 break;
+            case "cycle":
+            case "-c":
+                handleCycleRequest(options);
+                break;
+            case "monitor":
+            case "-w":
+                handleMonitorRequest(options);
+                break;
             default:
                 LOGGER.warn("Unknown command: {}", command);
                 displayHelp();
@@ -269,6 +291,11 @@ public class NoakWeatherMain {
             return;
         }
         
+        if (options.getStationCodes().size() > 1) {
+            handleBatchWeatherRequest(options, requestType);
+            return;
+        }
+        
         String station = stationCode.toUpperCase().trim();
         LOGGER.info(PROCESSING_REQUEST_MSG, requestType, station);
         
@@ -305,6 +332,135 @@ public class NoakWeatherMain {
         }
     }
 
+    /**
+     * Handles weather data requests for several stations in a single run.
+     * 
+     * All stations are handed to the service in one batch, which fetches them
+     * concurrently and fetches a repeated station only once.
+     * 
+     * @param options Command options containing the station codes and preferences
+     * @param requestType Type of weather request ("METAR" or "TAF")
+     */
+    private static void handleBatchWeatherRequest(CommandOptions options, String requestType) {
+        List<String> stations = options.getStationCodes();
+        LOGGER.info("Processing {} request for {} stations", requestType, stations.size());
+        
+        try {
+            Map<String, String> weatherData = WEATHER_TYPE_METAR.equals(requestType)
+                    ? WEATHER_SERVICE.getMetarData(stations)
+                    : WEATHER_SERVICE.getTafData(stations);
+            
+            if (options.shouldPrint()) {
+                weatherData.forEach((station, data) -> displayWeatherData(requestType, station, data));
+            }
+            
+            LOGGER.info("{} request processed for {} of {} stations", requestType, weatherData.size(), stations.size());
+        } catch (WeatherServiceException e) {
+            handleWeatherServiceError(requestType, String.join(",", stations), e);
+        }
+    }
+
+    /**
+     * Handles a bulk METAR cycle ingest.
+     * 
+     * The argument is either the UTC hour of the cycle to download (0-23) or
+     * a local cycle file given as "file:path".
+     * 
+     * @param options Command options containing the hour or file and preferences
+     */
+    private static void handleCycleRequest(CommandOptions options) {
+        String cycle = options.getStationCode();
+        
+        if (cycle == null || cycle.trim().isEmpty()) {
+            LOGGER.error("{} command requires an hour (0-23) or file:path", WEATHER_TYPE_CYCLE);
+            return;
+        }
+        
+        MetarCycleIngestService ingestService = new MetarCycleIngestService(WEATHER_CONFIG);
+        LOGGER.info("Processing {} request for: {}", WEATHER_TYPE_CYCLE, cycle);
+        
+        try {
+            int count;
+            if (cycle.startsWith(FILE_PREFIX)) {
+                count = ingestService.ingestFile(Paths.get(cycle.substring(FILE_PREFIX.length())),
+                        metar -> displayCycleReport(options, metar.getStationId(), metar.getRawText()));
+            } else {
+                count = ingestService.ingestCycle(Integer.parseInt(cycle.trim()),
+                        metar -> displayCycleReport(options, metar.getStationId(), metar.getRawText()));
+            }
+            LOGGER.info("{} request processed: {} reports", WEATHER_TYPE_CYCLE, count);
+        } catch (WeatherServiceException e) {
+            handleWeatherServiceError(WEATHER_TYPE_CYCLE, cycle, e);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Invalid cycle hour: {}. Use 0-23 or file:path", cycle);
+        }
+    }
+    
+    /**
+     * Runs the station monitor until the process is stopped.
+     * 
+     * The arguments are station codes, or a station list given as
+     * "file:path" in the StationRegistry CSV format. Each new METAR is
+     * displayed if printing was requested.
+     * 
+     * @param options Command options containing the stations and preferences
+     */
+    private static void handleMonitorRequest(CommandOptions options) {
+        List<StationCode> stations = new ArrayList<>();
+        try {
+            for (String arg : options.getStationCodes()) {
+                if (arg.startsWith(FILE_PREFIX)) {
+                    StationRegistry registry = StationRegistry.load(Paths.get(arg.substring(FILE_PREFIX.length())));
+                    for (Station station : registry.getStations()) {
+                        stations.add(StationCode.of(station.getId()));
+                    }
+                } else {
+                    stations.add(StationCode.of(arg));
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.error("Invalid {} station list: {}", WEATHER_TYPE_MONITOR, e.getMessage());
+            return;
+        }
+        
+        if (stations.isEmpty()) {
+            LOGGER.error("{} command requires station codes or file:path", WEATHER_TYPE_MONITOR);
+            return;
+        }
+        
+        StationMonitor monitor = new StationMonitor(WEATHER_SERVICE,
+                metar -> displayCycleReport(options, metar.getStationId(), metar.getRawText()));
+        stations.forEach(monitor::watch);
+        
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            monitor.close();
+            stopped.countDown();
+        }, "noakweather-monitor-shutdown"));
+        
+        LOGGER.info("Processing {} request for {} stations", WEATHER_TYPE_MONITOR, monitor.getWatchedStations().size());
+        monitor.start();
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            monitor.close();
+        }
+    }
+    
+    /**
+     * Displays one report of a cycle ingest or monitor run if printing was requested.
+     * 
+     * @param options Command options holding the print preference
+     * @param station Station code
+     * @param rawText The raw report text
+     */
+    private static void displayCycleReport(CommandOptions options, String station, String rawText) {
+        if (options.shouldPrint()) {
+            displayWeatherData(WEATHER_TYPE_METAR, station, rawText);
+        }
+    }
+
     /**
      * Handles the case where a station code is missing from a weather request.
      * 
@@ -339,7 +495,7 @@ public class NoakWeatherMain {
      * @param e The exception that occurred
      */
     private static void handleWeatherServiceError(String requestType, String station, Exception e) {
-        String configKey = WEATHER_TYPE_METAR.equals(requestType) ? "WEATHER_GET_METAR" : "WEATHER_GET_TAF";
+        String configKey = requestType.startsWith(WEATHER_TYPE_METAR) ? "WEATHER_GET_METAR" : "WEATHER_GET_TAF";
         String errorMsg = WEATHER_CONFIG.getExceptionMessage(configKey);
         
         LOGGER.error("Error processing {} request for station {}: {}", requestType, station, errorMsg);
@@ -384,8 +540,10 @@ public class NoakWeatherMain {
                 "Commands:%n" +
                 "  help, -h, --help          Show this help message%n" +
                 "  version, -v, --version    Show version information%n" +
-                "  metar, -m [station]       Get METAR data for station%n" +
-                "  taf, -t [station]         Get TAF data for station%n%n" +
+                "  metar, -m [station...]    Get METAR data for one or more stations%n" +
+                "  taf, -t [station...]      Get TAF data for one or more stations%n" +
+                "  cycle, -c [hour|file:path]  Ingest every METAR of an hourly cycle (0-23)%n" +
+                "  monitor, -w [station...|file:path]  Keep watched stations current until stopped%n%n" +
                 "Options:%n" +
                 "  -p [y|n]                  Print weather data to output (default: n)%n" +
                 "  -l [level]                Set log level%n" +
@@ -397,6 +555,11 @@ public class NoakWeatherMain {
                 "  java -jar noakweather.jar -m KJFK%n" +
                 "  java -jar noakweather.jar taf KJFK%n" +
                 "  java -jar noakweather.jar -t KJFK%n" +
+                "  java -jar noakweather.jar metar KJFK KLGA KEWR -p y%n" +
+                "  java -jar noakweather.jar cycle 12%n" +
+                "  java -jar noakweather.jar cycle file:12Z.TXT -p y%n" +
+                "  java -jar noakweather.jar monitor KJFK KLGA KEWR -p y%n" +
+                "  java -jar noakweather.jar monitor file:stations.csv%n" +
                 "  java -jar noakweather.jar metar KJFK -p y%n" +
                 "  java -jar noakweather.jar -m KCLT -p y -l debug%n" +
                 "  java -jar noakweather.jar taf KJFK -p n -l i%n%n" +
@@ -504,6 +667,12 @@ public class NoakWeatherMain {
             return positionalArgs.size() > 1 ? positionalArgs.get(1) : null; 
         }
         
+        public List<String> getStationCodes() { 
+            return positionalArgs.size() > 1 
+                    ? Collections.unmodifiableList(positionalArgs.subList(1, positionalArgs.size())) 
+                    : Collections.emptyList(); 
+        }
+        
         public List<String> getPositionalArgs() { 
             return Collections.unmodifiableList(positionalArgs); 
         }
@@ -0,0 +1,60 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.config;
+
+/**
+ * The sixteen compass points used for wind directions.
+ *
+ * The constant names match the WIND_DIR_ configuration keys (e.g.
+ * WIND_DIR_NORTH_NORTH_EAST), so the abbreviations can be held in an array
+ * indexed by ordinal instead of being looked up by key.
+ *
+ * @author bclasky1539
+ *
+ */
+public enum CompassPoint {
+    NORTH,
+    NORTH_NORTH_EAST,
+    NORTH_EAST,
+    EAST_NORTH_EAST,
+    EAST,
+    EAST_SOUTH_EAST,
+    SOUTH_EAST,
+    SOUTH_SOUTH_EAST,
+    SOUTH,
+    SOUTH_SOUTH_WEST,
+    SOUTH_WEST,
+    WEST_SOUTH_WEST,
+    WEST,
+    WEST_NORTH_WEST,
+    NORTH_WEST,
+    NORTH_NORTH_WEST;
+
+    private static final CompassPoint[] VALUES = values();
+
+    /**
+     * Gets the compass point nearest to a wind direction.
+     *
+     * @param degrees The direction in degrees; any value is normalized to 0-359
+     * @return The nearest of the sixteen compass points
+     */
+    public static CompassPoint fromDegrees(int degrees) {
+        int normalized = Math.floorMod(degrees, 360);
+        // Each point covers 22.5 degrees centred on its heading; work in tenths to stay in integers
+        return VALUES[((normalized * 10 + 112) / 225) % VALUES.length];
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.config;
+
+import java.text.MessageFormat;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ResourceBundle;
+
+/**
+ * Compiled Weather Configuration Service
+ * Implements from Weather Configuration Service
+ *
+ * Reads the configs bundle once and compiles it into immutable lookup
+ * tables, instead of building a "PREFIX_" + key String and asking the
+ * ResourceBundle on every call. Each domain method has its own table keyed
+ * by the part of the key after its prefix, so a lookup is a single hash
+ * probe with no concatenation. The closed vocabularies (the sixteen wind
+ * compass points and cloud oktas 1-8) are held in arrays indexed by
+ * CompassPoint ordinal and okta number.
+ *
+ * Lookups return exactly what ResourceBundleWeatherConfigurationService
+ * returns for the same locale, including the "Missing config: " text for
+ * unknown keys.
+ *
+ * The tables are swapped as a whole by setLocale, so concurrent readers
+ * always see one complete locale. The JVM default locale is never changed.
+ *
+ * @author bclasky1539
+ *
+ */
+public class CompiledWeatherConfigurationService implements WeatherConfigurationService {
+    private static final String BUNDLE_NAME = "configs";
+    private static final int MAX_OKTA = 8;
+
+    /**
+     * The key families with their own lookup table
+     */
+    private enum Partition {
+        WEATHER("WEATHER_"),
+        WEATHER_DECODED("WEATHER_DECODED_"),
+        CLOUD("CLOUD_"),
+        CLOUD_DECODED("CLOUD_DECODED_"),
+        WIND("WIND_"),
+        WIND_DIR("WIND_DIR_"),
+        WIND_DECODED("WIND_DECODED_"),
+        EXCEPTION("EXCEP_"),
+        LOG("LOG_DECODED_");
+
+        private final String prefix;
+
+        Partition(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    private volatile Tables tables;
+
+    public CompiledWeatherConfigurationService() {
+        this(Locale.getDefault());
+    }
+
+    public CompiledWeatherConfigurationService(Locale locale) {
+        setLocale(locale);
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+        tables = Tables.compile(ResourceBundle.getBundle(BUNDLE_NAME, locale));
+    }
+
+    // Weather domain methods
+    @Override
+    public String getWeatherCondition(String condition) {
+        return lookup(Partition.WEATHER, condition);
+    }
+
+    @Override
+    public String getWeatherDescription(String condition) {
+        return lookup(Partition.WEATHER_DECODED, condition);
+    }
+
+    @Override
+    public String getIntensityDescription(String intensity) {
+        return lookup(Partition.WEATHER_DECODED, intensity);
+    }
+
+    // Cloud domain methods
+    @Override
+    public String getCloudType(String type) {
+        return lookup(Partition.CLOUD, type);
+    }
+
+    @Override
+    public String getCloudDescription(String type) {
+        return lookup(Partition.CLOUD_DECODED, type);
+    }
+
+    /**
+     * Gets the cloud okta code (CLOUD_OKTA_1 to CLOUD_OKTA_8) from the okta array.
+     *
+     * @param okta The sky coverage in eighths (1-8)
+     * @return The okta code
+     * @throws IllegalArgumentException if the okta is outside 1-8
+     */
+    public String getCloudOkta(int okta) {
+        if (okta < 1 || okta > MAX_OKTA) {
+            throw new IllegalArgumentException("Okta must be between 1 and " + MAX_OKTA + ": " + okta);
+        }
+        String value = tables.oktas[okta];
+        return value != null ? value : MISSING_CONFIG_PREFIX + "CLOUD_OKTA_" + okta;
+    }
+
+    // Wind domain methods
+    @Override
+    public String getWindDirection(String direction) {
+        return lookup(Partition.WIND_DIR, direction);
+    }
+
+    /**
+     * Gets the abbreviation of a compass point (e.g. "NNE") from the compass point array.
+     *
+     * @param point The compass point
+     * @return The configured abbreviation
+     */
+    public String getWindDirection(CompassPoint point) {
+        String value = tables.compassPoints[point.ordinal()];
+        return value != null ? value : MISSING_CONFIG_PREFIX + Partition.WIND_DIR.prefix + point.name();
+    }
+
+    @Override
+    public String getWindUnit(String unit) {
+        return lookup(Partition.WIND, unit);
+    }
+
+    @Override
+    public String getWindDescription(String condition) {
+        return lookup(Partition.WIND_DECODED, condition);
+    }
+
+    // Exception/logging methods
+    @Override
+    public String getExceptionMessage(String type) {
+        return lookup(Partition.EXCEPTION, type);
+    }
+
+    @Override
+    public String getLogMessage(String level) {
+        return lookup(Partition.LOG, level);
+    }
+
+    // Raw access methods
+    @Override
+    public String getRawString(String key) {
+        String value = tables.all.get(Objects.requireNonNull(key, "key"));
+        return value != null ? value : MISSING_CONFIG_PREFIX + key;
+    }
+
+    @Override
+    public String getRawString(String key, Object... arguments) {
+        return MessageFormat.format(getRawString(key), arguments);
+    }
+
+    @Override
+    public Optional<String> findRawString(String key) {
+        return key == null ? Optional.empty() : Optional.ofNullable(tables.all.get(key));
+    }
+
+    private String lookup(Partition partition, String suffix) {
+        String value = suffix == null ? null : tables.partitions.get(partition).get(suffix);
+        return value != null ? value : MISSING_CONFIG_PREFIX + partition.prefix + suffix;
+    }
+
+    /**
+     * One locale's compiled tables. Never modified after compile returns.
+     */
+    private static final class Tables {
+        private final Map<String, String> all;
+        private final Map<Partition, Map<String, String>> partitions;
+        private final String[] compassPoints;
+        private final String[] oktas;
+
+        private Tables(Map<String, String> all, Map<Partition, Map<String, String>> partitions,
+                       String[] compassPoints, String[] oktas) {
+            this.all = all;
+            this.partitions = partitions;
+            this.compassPoints = compassPoints;
+            this.oktas = oktas;
+        }
+
+        static Tables compile(ResourceBundle bundle) {
+            Map<String, String> all = new HashMap<>();
+            Map<Partition, Map<String, String>> building = new EnumMap<>(Partition.class);
+            for (Partition partition : Partition.values()) {
+                building.put(partition, new HashMap<>());
+            }
+
+            for (String key : bundle.keySet()) {
+                String value = bundle.getString(key);
+                all.put(key, value);
+                // A key may belong to several families, e.g. WEATHER_DECODED_RAIN is also WEATHER_ + DECODED_RAIN
+                for (Partition partition : Partition.values()) {
+                    if (key.startsWith(partition.prefix)) {
+                        building.get(partition).put(key.substring(partition.prefix.length()), value);
+                    }
+                }
+            }
+
+            Map<Partition, Map<String, String>> partitions = new EnumMap<>(Partition.class);
+            for (Map.Entry<Partition, Map<String, String>> entry : building.entrySet()) {
+                partitions.put(entry.getKey(), Map.copyOf(entry.getValue()));
+            }
+
+            String[] compassPoints = new String[CompassPoint.values().length];
+            for (CompassPoint point : CompassPoint.values()) {
+                compassPoints[point.ordinal()] = all.get(Partition.WIND_DIR.prefix + point.name());
+            }
+            String[] oktas = new String[MAX_OKTA + 1];
+            for (int okta = 1; okta <= MAX_OKTA; okta++) {
+                oktas[okta] = all.get("CLOUD_OKTA_" + okta);
+            }
+
+            return new Tables(Map.copyOf(all), partitions, compassPoints, oktas);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.config;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Fixed Locale Weather Configuration Service
+ * Implements from Weather Configuration Service
+ *
+ * A configuration service bound to one locale for its whole life. The
+ * factory shares these between threads, so setLocale is refused rather
+ * than letting one caller switch the language under everyone else; ask the
+ * factory for the instance of another locale instead.
+ *
+ * @author bclasky1539
+ *
+ */
+final class FixedLocaleWeatherConfigurationService implements WeatherConfigurationService {
+    private final WeatherConfigurationService delegate;
+    private final Locale locale;
+
+    FixedLocaleWeatherConfigurationService(WeatherConfigurationService delegate, Locale locale) {
+        this.delegate = delegate;
+        this.locale = locale;
+    }
+
+    Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public String getWeatherCondition(String condition) {
+        return delegate.getWeatherCondition(condition);
+    }
+
+    @Override
+    public String getWeatherDescription(String condition) {
+        return delegate.getWeatherDescription(condition);
+    }
+
+    @Override
+    public String getIntensityDescription(String intensity) {
+        return delegate.getIntensityDescription(intensity);
+    }
+
+    @Override
+    public String getCloudType(String type) {
+        return delegate.getCloudType(type);
+    }
+
+    @Override
+    public String getCloudDescription(String type) {
+        return delegate.getCloudDescription(type);
+    }
+
+    @Override
+    public String getWindDirection(String direction) {
+        return delegate.getWindDirection(direction);
+    }
+
+    @Override
+    public String getWindUnit(String unit) {
+        return delegate.getWindUnit(unit);
+    }
+
+    @Override
+    public String getWindDescription(String condition) {
+        return delegate.getWindDescription(condition);
+    }
+
+    @Override
+    public String getExceptionMessage(String type) {
+        return delegate.getExceptionMessage(type);
+    }
+
+    @Override
+    public String getLogMessage(String level) {
+        return delegate.getLogMessage(level);
+    }
+
+    @Override
+    public String getRawString(String key) {
+        return delegate.getRawString(key);
+    }
+
+    @Override
+    public String getRawString(String key, Object... arguments) {
+        return delegate.getRawString(key, arguments);
+    }
+
+    @Override
+    public Optional<String> findRawString(String key) {
+        return delegate.findRawString(key);
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        throw new UnsupportedOperationException(
+            "Shared configuration for " + this.locale + " cannot change locale; "
+            + "use WeatherConfigurationFactory.getInstance(locale)");
+    }
+}
@@ -18,19 +18,33 @@ package noakweather.config;
 
 import java.text.MessageFormat;
 import java.util.Locale;
-import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Resource Bundle Weather Configuration Service
  * Implements from Weather Configuration Service
  * 
+ * setLocale only switches this instance's bundle; the JVM default locale
+ * and the shared ResourceBundle cache are left alone, so services in
+ * different locales can live side by side in one process.
+ * 
  * @author bclasky1539
  *
  */
 public class ResourceBundleWeatherConfigurationService implements WeatherConfigurationService {
     private static final String BUNDLE_NAME = "configs";
-    private ResourceBundle resourceBundle;
+    
+    // Bound on remembered misses, since domain keys can be built from report text
+    private static final int MAX_CACHED_MISSES = 1024;
+    
+    private volatile ResourceBundle resourceBundle;
+    
+    // Missing key -> its "Missing config: " text, so a repeated miss costs one map lookup
+    private final ConcurrentMap<String, String> missingKeys = new ConcurrentHashMap<>();
     
     public ResourceBundleWeatherConfigurationService() {
         this(Locale.getDefault());
@@ -42,9 +56,9 @@ public class ResourceBundleWeatherConfigurationService implements WeatherConfigu
     
     @Override
     public void setLocale(Locale locale) {
-        Locale.setDefault(locale);
-        ResourceBundle.clearCache();
+        Objects.requireNonNull(locale, "locale");
         resourceBundle = ResourceBundle.getBundle(BUNDLE_NAME, locale);
+        missingKeys.clear();
     }
     
     // Weather domain methods
@@ -112,12 +126,31 @@ public class ResourceBundleWeatherConfigurationService implements WeatherConfigu
         return MessageFormat.format(getString(key), arguments);
     }
     
+    @Override
+    public Optional<String> findRawString(String key) {
+        if (key == null || !resourceBundle.containsKey(key)) {
+            return Optional.empty();
+        }
+        return Optional.of(resourceBundle.getString(key));
+    }
+    
+    /**
+     * Looks a key up without throwing for misses. containsKey is checked
+     * first so no MissingResourceException is ever built, and the miss text
+     * is remembered so repeated misses do not allocate either.
+     */
     private String getString(String key) {
-        try {
+        String missing = missingKeys.get(key);
+        if (missing != null) {
+            return missing;
+        }
+        if (resourceBundle.containsKey(key)) {
             return resourceBundle.getString(key);
-        } catch (MissingResourceException e) {
-            // Log the missing key and return a default value
-            return "Missing config: " + key;
         }
+        missing = MISSING_CONFIG_PREFIX + key;
+        if (missingKeys.size() < MAX_CACHED_MISSES) {
+            missingKeys.putIfAbsent(key, missing);
+        }
+        return missing;
     }
 }
@@ -16,15 +16,46 @@
  */
 package noakweather.config;
 
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Weather Configuration Factory
  *
+ * Hands out configuration services without locking. getInstance() returns
+ * the process-wide default service; getInstance(Locale) returns a shared
+ * service fixed to that locale, created once per backend and locale and
+ * then reused, so requests in different locales never disturb each other
+ * or the JVM default locale.
  * 
  * @author bclasky1539
  *
  */
 public final class WeatherConfigurationFactory {
-    private static WeatherConfigurationService instance;
+    /**
+     * System property naming the default backend, e.g. -Dnoakweather.config.backend=compiled
+     */
+    public static final String BACKEND_PROPERTY = "noakweather.config.backend";
+    
+    /**
+     * The available configuration backends
+     */
+    public enum Backend {
+        /** Looks every key up in the configs ResourceBundle */
+        RESOURCE_BUNDLE,
+        /** Compiles the configs bundle once into immutable lookup tables */
+        COMPILED
+    }
+    
+    private static final AtomicReference<WeatherConfigurationService> INSTANCE = new AtomicReference<>();
+    private static final Map<Backend, ConcurrentMap<Locale, WeatherConfigurationService>> BY_LOCALE =
+        localeCaches();
+    private static volatile Backend backend = defaultBackend();
     
     // Private constructor to prevent instantiation
     private WeatherConfigurationFactory() {
@@ -32,19 +63,110 @@ public final class WeatherConfigurationFactory {
     }
     
     public static WeatherConfigurationService getInstance() {
-        if (instance == null) {
-            instance = new ResourceBundleWeatherConfigurationService();
+        while (true) {
+            WeatherConfigurationService current = INSTANCE.get();
+            if (current != null) {
+                return current;
+            }
+            // Racing threads may each build one, but only the first published is ever handed out
+            WeatherConfigurationService created = create(backend);
+            if (INSTANCE.compareAndSet(null, created)) {
+                return created;
+            }
+        }
+    }
+    
+    /**
+     * Gets the shared configuration service for a locale. The same instance
+     * is returned for every call with an equal locale (and backend), and it
+     * rejects setLocale, so it can be used from any number of threads.
+     * 
+     * @param locale The locale of the configuration
+     * @return The cached service for that locale
+     */
+    public static WeatherConfigurationService getInstance(Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+        Backend selected = backend;
+        return BY_LOCALE.get(selected).computeIfAbsent(locale,
+            key -> new FixedLocaleWeatherConfigurationService(create(selected, key), key));
+    }
+    
+    /**
+     * Creates a new configuration service of the given backend.
+     * 
+     * @param backend The backend to use
+     * @return A new configuration service for the default locale
+     */
+    public static WeatherConfigurationService create(Backend backend) {
+        return create(backend, Locale.getDefault());
+    }
+    
+    /**
+     * Creates a new configuration service of the given backend and locale.
+     * 
+     * @param backend The backend to use
+     * @param locale The locale of the configuration
+     * @return A new configuration service
+     */
+    public static WeatherConfigurationService create(Backend backend, Locale locale) {
+        if (backend == Backend.COMPILED) {
+            return new CompiledWeatherConfigurationService(locale);
         }
-        return instance;
+        return new ResourceBundleWeatherConfigurationService(locale);
+    }
+    
+    /**
+     * Selects the backend used by getInstance(). The current instance is
+     * dropped so the next call creates one of the new backend.
+     * 
+     * @param selected The backend to use
+     */
+    public static void setBackend(Backend selected) {
+        backend = selected != null ? selected : Backend.RESOURCE_BUNDLE;
+        INSTANCE.set(null);
+    }
+    
+    public static Backend getBackend() {
+        return backend;
     }
 
     // For testing - allows injection of mock configurations
     public static void setInstance(WeatherConfigurationService service) {
-        instance = service;
+        INSTANCE.set(service);
     }
     
     // Reset to default (useful for test cleanup)
     public static void reset() {
-        instance = null;
+        INSTANCE.set(null);
+        backend = defaultBackend();
+        for (ConcurrentMap<Locale, WeatherConfigurationService> cache : BY_LOCALE.values()) {
+            cache.clear();
+        }
+    }
+    
+    private static Map<Backend, ConcurrentMap<Locale, WeatherConfigurationService>> localeCaches() {
+        Map<Backend, ConcurrentMap<Locale, WeatherConfigurationService>> caches = new EnumMap<>(Backend.class);
+        for (Backend candidate : Backend.values()) {
+            caches.put(candidate, new ConcurrentHashMap<>());
+        }
+        return caches;
+    }
+    
+    /**
+     * Reads the default backend from the BACKEND_PROPERTY system property.
+     * 
+     * @return The configured backend, or RESOURCE_BUNDLE if unset or unknown
+     */
+    private static Backend defaultBackend() {
+        String configured = System.getProperty(BACKEND_PROPERTY);
+        if (configured != null) {
+            String name = configured.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+            for (Backend candidate : Backend.values()) {
+                if (candidate.name().equals(name)) {
+                    return candidate;
+                }
+            }
+        }
+        return Backend.RESOURCE_BUNDLE;
     }
 }
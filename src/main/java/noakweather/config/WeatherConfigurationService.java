@@ -17,6 +17,8 @@
 package noakweather.config;
 
 import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.Optional;
 
 /**
  * Weather Configuration Service
@@ -26,6 +28,11 @@ import java.util.Locale;
  *
  */
 public interface WeatherConfigurationService {
+    /**
+     * Prefix of the text returned by the String lookups for a missing key
+     */
+    String MISSING_CONFIG_PREFIX = "Missing config: ";
+    
     // Weather domain methods
     String getWeatherCondition(String condition);
     String getWeatherDescription(String condition);
@@ -48,6 +55,23 @@ public interface WeatherConfigurationService {
     String getRawString(String key);
     String getRawString(String key, Object... arguments);
     
+    /**
+     * Looks up an optional key without falling back to "Missing config: " text,
+     * for decoders probing key families that are not always present
+     * (e.g. EXTENDED_DECODED_* or RVR_DECODED_*).
+     * 
+     * @param key The full configuration key
+     * @return The configured value, or empty if the key is missing
+     */
+    default Optional<String> findRawString(String key) {
+        try {
+            String value = getRawString(key);
+            return value == null || value.startsWith(MISSING_CONFIG_PREFIX) ? Optional.empty() : Optional.of(value);
+        } catch (MissingResourceException e) {
+            return Optional.empty();
+        }
+    }
+    
     // Locale support
     void setLocale(Locale locale);
 }
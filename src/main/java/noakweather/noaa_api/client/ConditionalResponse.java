@@ -0,0 +1,99 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.client;
+
+/**
+ * The outcome of a conditional GET: either a fresh body, or word from the
+ * server that the copy held by the caller is still current (HTTP 304).
+ *
+ * Carries the validators (ETag and Last-Modified) to send with the next
+ * request for the same file.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class ConditionalResponse {
+    private final String body;
+    private final String eTag;
+    private final String lastModified;
+    private final boolean notModified;
+
+    private ConditionalResponse(String body, String eTag, String lastModified, boolean notModified) {
+        this.body = body;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.notModified = notModified;
+    }
+
+    /**
+     * Creates the response for a downloaded file.
+     *
+     * @param body The response body
+     * @param eTag The ETag header, or null
+     * @param lastModified The Last-Modified header, or null
+     * @return The response
+     */
+    public static ConditionalResponse modified(String body, String eTag, String lastModified) {
+        return new ConditionalResponse(body, eTag, lastModified, false);
+    }
+
+    /**
+     * Creates the response for a file the server reports as unchanged.
+     *
+     * @param eTag The current ETag, or null
+     * @param lastModified The current Last-Modified value, or null
+     * @return The response
+     */
+    public static ConditionalResponse notModified(String eTag, String lastModified) {
+        return new ConditionalResponse(null, eTag, lastModified, true);
+    }
+
+    /**
+     * Checks whether the server answered 304 Not Modified.
+     *
+     * @return true if the caller's copy is still current
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    /**
+     * Gets the downloaded body.
+     *
+     * @return The body, or null for a 304 response
+     */
+    public String getBody() {
+        return body;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Checks whether the response carries a validator for a later conditional request.
+     *
+     * @return true if an ETag or Last-Modified value is present
+     */
+    public boolean hasValidators() {
+        return eTag != null || lastModified != null;
+    }
+}
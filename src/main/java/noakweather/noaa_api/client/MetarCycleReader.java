@@ -0,0 +1,265 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.client;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.parser.MetarParser;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for the NOAA hourly METAR cycle files.
+ *
+ * A cycle file (e.g. tgftp .../metar/cycles/12Z.TXT) holds every station's
+ * METAR for one hour as a sequence of blocks, each made of a
+ * "yyyy/MM/dd HH:mm" timestamp line followed by the report and a blank line:
+ *
+ * <pre>
+ * 2025/10/14 12:00
+ * KJFK 141151Z 28016KT 10SM FEW250 22/12 A3015
+ *
+ * 2025/10/14 12:00
+ * KLGA 141151Z 29014KT 10SM SCT250 22/11 A3016
+ * </pre>
+ *
+ * The file is read line by line and each report is handed out as soon as it
+ * is complete, so a whole cycle is never held in memory.
+ *
+ * Each report is decoded with MetarParser, using the block's timestamp to
+ * place the report's day/time group in the right month when the block has
+ * no timestamp of its own.
+ *
+ * @author bclasky1539
+ *
+ */
+public class MetarCycleReader implements Closeable {
+
+    private static final int TIMESTAMP_LENGTH = 16;
+
+    private static final MetarParser PARSER = new MetarParser();
+
+    private final BufferedReader reader;
+    private final StringBuilder reportBuffer = new StringBuilder(128);
+    private String pendingLine;
+    private LocalDateTime pendingTime;
+
+    /**
+     * Creates a reader over the cycle file contents.
+     *
+     * @param source The cycle file contents
+     */
+    public MetarCycleReader(Reader source) {
+        this.reader = source instanceof BufferedReader
+                ? (BufferedReader) source
+                : new BufferedReader(source, 64 * 1024);
+    }
+
+    /**
+     * Creates a reader over a UTF-8 encoded cycle file stream.
+     *
+     * @param source The cycle file stream
+     */
+    public MetarCycleReader(InputStream source) {
+        this(new InputStreamReader(source, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Opens a reader over a local cycle file.
+     *
+     * @param file The path of the cycle file
+     * @return A reader positioned at the start of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static MetarCycleReader open(Path file) throws IOException {
+        return new MetarCycleReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the next report from the cycle file.
+     *
+     * @return The next report, or null once the file is exhausted
+     * @throws IOException if the underlying stream fails
+     */
+    public NoaaMetarData nextReport() throws IOException {
+        reportBuffer.setLength(0);
+        LocalDateTime observationTime = null;
+
+        String line;
+        while ((line = nextLine()) != null) {
+            if (isTimestamp(line)) {
+                if (reportBuffer.length() > 0) {
+                    pendingLine = line;
+                    break;
+                }
+                observationTime = parseTimestamp(line);
+            } else if (isBlank(line)) {
+                if (reportBuffer.length() > 0) {
+                    break;
+                }
+            } else {
+                appendReportLine(line);
+            }
+        }
+
+        if (reportBuffer.length() == 0) {
+            return null;
+        }
+        if (observationTime == null) {
+            observationTime = pendingTime;
+        }
+        pendingTime = observationTime;
+
+        String rawText = reportBuffer.toString();
+        NoaaMetarData report = new NoaaMetarData(rawText, extractStationId(rawText), observationTime);
+        PARSER.decode(report, observationTime != null ? observationTime : LocalDateTime.now(ZoneOffset.UTC));
+        return report;
+    }
+
+    /**
+     * Reads every remaining report and hands each one to the consumer.
+     *
+     * @param consumer Receives the reports in file order
+     * @return The number of reports read
+     * @throws IOException if the underlying stream fails
+     */
+    public int readAll(Consumer<NoaaMetarData> consumer) throws IOException {
+        int count = 0;
+        NoaaMetarData report;
+        while ((report = nextReport()) != null) {
+            consumer.accept(report);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextLine() throws IOException {
+        if (pendingLine != null) {
+            String line = pendingLine;
+            pendingLine = null;
+            return line;
+        }
+        return reader.readLine();
+    }
+
+    /**
+     * Appends one line of a report, joining wrapped lines with a single space.
+     *
+     * @param line The report line
+     */
+    private void appendReportLine(String line) {
+        int start = 0;
+        int end = line.length();
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (reportBuffer.length() > 0) {
+            reportBuffer.append(' ');
+        }
+        reportBuffer.append(line, start, end);
+    }
+
+    private static boolean isBlank(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a line has the form "yyyy/MM/dd HH:mm".
+     *
+     * @param line The line to check
+     * @return true for a timestamp line
+     */
+    static boolean isTimestamp(String line) {
+        return line.length() >= TIMESTAMP_LENGTH
+                && line.charAt(4) == '/' && line.charAt(7) == '/'
+                && line.charAt(10) == ' ' && line.charAt(13) == ':'
+                && Character.isDigit(line.charAt(0)) && Character.isDigit(line.charAt(15));
+    }
+
+    /**
+     * Parses a "yyyy/MM/dd HH:mm" timestamp line without a formatter.
+     *
+     * @param line A line accepted by isTimestamp
+     * @return The timestamp, or null if a field is out of range
+     */
+    static LocalDateTime parseTimestamp(String line) {
+        try {
+            return LocalDateTime.of(
+                    digits(line, 0, 4), digits(line, 5, 2), digits(line, 8, 2),
+                    digits(line, 11, 2), digits(line, 14, 2));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Extracts the station identifier, skipping a leading METAR/SPECI keyword.
+     *
+     * @param rawText The report text
+     * @return The station identifier, or null if the report has none
+     */
+    static String extractStationId(String rawText) {
+        int start = 0;
+        int end = rawText.indexOf(' ');
+        if (end < 0) {
+            end = rawText.length();
+        }
+        if (rawText.startsWith("METAR ") || rawText.startsWith("SPECI ")) {
+            start = end + 1;
+            end = rawText.indexOf(' ', start);
+            if (end < 0) {
+                end = rawText.length();
+            }
+        }
+        return start < end ? rawText.substring(start, end) : null;
+    }
+
+    private static int digits(String text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Not a digit: " + c);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.client;
+
+import noakweather.service.WeatherServiceException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * HTTP client for the NOAA tgftp station files.
+ *
+ * Wraps a single java.net.http.HttpClient, which keeps a pool of keep-alive
+ * connections per host. Sharing one instance across the application means
+ * that polling thousands of stations reuses a handful of TCP/TLS connections
+ * instead of paying a handshake per request.
+ *
+ * @author bclasky1539
+ *
+ */
+public class NoaaHttpClient {
+
+    private static final Logger LOGGER = LogManager.getLogger(NoaaHttpClient.class);
+
+    /**
+     * Default time allowed to establish a connection to the upstream server
+     */
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Default time allowed for a complete request/response exchange
+     */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(15);
+
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int HTTP_CLIENT_ERROR = 400;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_REQUEST_TIMEOUT = 408;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_SERVER_ERROR = 500;
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    /**
+     * Creates a new client with the default timeouts.
+     */
+    public NoaaHttpClient() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Creates a new client with the specified timeouts.
+     *
+     * @param connectTimeout Maximum time to establish a connection
+     * @param requestTimeout Maximum time for a complete request/response exchange
+     */
+    public NoaaHttpClient(Duration connectTimeout, Duration requestTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Gets the application-wide client whose connection pool is shared by
+     * every service instance that does not supply its own client.
+     *
+     * @return The shared NoaaHttpClient
+     */
+    public static NoaaHttpClient getSharedInstance() {
+        return SharedInstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Opens the body of the resource at the specified URL as a stream.
+     *
+     * Intended for large documents such as the hourly cycle files, which
+     * should be processed while they download rather than buffered whole.
+     * The caller must close the returned stream.
+     *
+     * @param url The complete URL of the resource
+     * @return The response body stream
+     * @throws WeatherServiceException using the same error mapping as
+     *         {@link #fetchConditional(String, String, String)}
+     */
+    public InputStream fetchStream(String url) throws WeatherServiceException {
+        HttpRequest request = buildRequest(url);
+
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() != HTTP_OK) {
+                response.body().close();
+            }
+            return handleResponse(url, response.statusCode(), response.body());
+        } catch (IOException e) {
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.NETWORK_ERROR,
+                "Failed to fetch " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.NETWORK_ERROR,
+                "HTTP request interrupted for " + url, e);
+        }
+    }
+
+    /**
+     * Fetches the resource at the specified URL unless it is unchanged since
+     * the copy described by the given validators.
+     *
+     * The validators come from an earlier ConditionalResponse for the same
+     * URL. When neither is given this is a plain GET that records the
+     * validators of the response.
+     *
+     * @param url The complete URL of the station file
+     * @param eTag The ETag of the caller's copy, or null
+     * @param lastModified The Last-Modified value of the caller's copy, or null
+     * @return The fresh body, or a not-modified response
+     * @throws WeatherServiceException if the station file does not exist (STATION_NOT_FOUND),
+     *         the server rejects the request (CONFIGURATION_ERROR) or is failing
+     *         (SERVICE_UNAVAILABLE), or the exchange fails (NETWORK_ERROR)
+     */
+    public ConditionalResponse fetchConditional(String url, String eTag, String lastModified)
+            throws WeatherServiceException {
+        HttpRequest request = buildRequest(url, eTag, lastModified);
+
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return toConditionalResponse(url, response, eTag, lastModified);
+        } catch (IOException e) {
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.NETWORK_ERROR,
+                "Failed to fetch " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.NETWORK_ERROR,
+                "HTTP request interrupted for " + url, e);
+        }
+    }
+
+    /**
+     * Asynchronous form of {@link #fetchConditional(String, String, String)}.
+     *
+     * The returned future completes exceptionally with a WeatherServiceException
+     * (wrapped in a CompletionException when joined) using the same error
+     * mapping.
+     *
+     * @param url The complete URL of the station file
+     * @param eTag The ETag of the caller's copy, or null
+     * @param lastModified The Last-Modified value of the caller's copy, or null
+     * @return A future holding the fresh body or a not-modified response
+     */
+    public CompletableFuture<ConditionalResponse> fetchConditionalAsync(String url, String eTag,
+                                                                        String lastModified) {
+        HttpRequest request;
+        try {
+            request = buildRequest(url, eTag, lastModified);
+        } catch (WeatherServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw new CompletionException(new WeatherServiceException(
+                            WeatherServiceException.ErrorType.NETWORK_ERROR,
+                            "Failed to fetch " + url, unwrap(error)));
+                    }
+                    try {
+                        return toConditionalResponse(url, response, eTag, lastModified);
+                    } catch (WeatherServiceException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * Builds a GET request for the specified URL.
+     *
+     * @param url The complete URL of the station file
+     * @return The HTTP request
+     * @throws WeatherServiceException if the URL is malformed
+     */
+    private HttpRequest buildRequest(String url) throws WeatherServiceException {
+        return buildRequest(url, null, null);
+    }
+
+    /**
+     * Builds a GET request for the specified URL, made conditional on the
+     * given validators when present.
+     *
+     * @param url The complete URL of the station file
+     * @param eTag The ETag to send as If-None-Match, or null
+     * @param lastModified The date to send as If-Modified-Since, or null
+     * @return The HTTP request
+     * @throws WeatherServiceException if the URL is malformed
+     */
+    private HttpRequest buildRequest(String url, String eTag, String lastModified)
+            throws WeatherServiceException {
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(requestTimeout)
+                    .GET();
+            if (eTag != null) {
+                builder.header("If-None-Match", eTag);
+            }
+            if (lastModified != null) {
+                builder.header("If-Modified-Since", lastModified);
+            }
+            return builder.build();
+        } catch (IllegalArgumentException e) {
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.CONFIGURATION_ERROR,
+                "Invalid URL: " + url, e);
+        }
+    }
+
+    /**
+     * Maps the HTTP status of a response to either its body or an exception.
+     *
+     * @param url The requested URL
+     * @param statusCode The HTTP status code
+     * @param body The response body
+     * @param <T> The type of the response body
+     * @return The response body for a successful response
+     * @throws WeatherServiceException for any non-200 status: STATION_NOT_FOUND
+     *         for 404, CONFIGURATION_ERROR for any other client error but 408
+     *         and 429, and SERVICE_UNAVAILABLE for the rest
+     */
+    private <T> T handleResponse(String url, int statusCode, T body) throws WeatherServiceException {
+        LOGGER.debug("HTTP {} for {}", statusCode, url);
+
+        if (statusCode == HTTP_OK) {
+            return body;
+        }
+        if (statusCode == HTTP_NOT_FOUND) {
+            throw WeatherServiceException.expected(
+                WeatherServiceException.ErrorType.STATION_NOT_FOUND,
+                "No data published at " + url, null);
+        }
+        if (statusCode >= HTTP_CLIENT_ERROR && statusCode < HTTP_SERVER_ERROR
+                && statusCode != HTTP_REQUEST_TIMEOUT && statusCode != HTTP_TOO_MANY_REQUESTS) {
+            // The server is up but refuses this request, so trying again will not help
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.CONFIGURATION_ERROR,
+                "Request rejected for " + url + ". Status code: " + statusCode);
+        }
+        throw new WeatherServiceException(
+            WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE,
+            "Error fetching weather data. Status code: " + statusCode);
+    }
+
+    /**
+     * Maps a response to a ConditionalResponse, keeping the caller's
+     * validators when a 304 does not repeat them.
+     */
+    private ConditionalResponse toConditionalResponse(String url, HttpResponse<String> response,
+                                                      String eTag, String lastModified)
+            throws WeatherServiceException {
+        String responseETag = response.headers().firstValue("ETag").orElse(null);
+        String responseLastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        if (response.statusCode() == HTTP_NOT_MODIFIED) {
+            LOGGER.debug("HTTP 304 for {}", url);
+            return ConditionalResponse.notModified(
+                responseETag != null ? responseETag : eTag,
+                responseLastModified != null ? responseLastModified : lastModified);
+        }
+        String body = handleResponse(url, response.statusCode(), response.body());
+        return ConditionalResponse.modified(body, responseETag, responseLastModified);
+    }
+
+    /**
+     * Strips the CompletionException wrapper added by asynchronous stages.
+     *
+     * @param error The error reported by a completion stage
+     * @return The underlying cause
+     */
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Lazily creates the shared client on first use.
+     */
+    private static final class SharedInstanceHolder {
+        private static final NoaaHttpClient INSTANCE = new NoaaHttpClient();
+    }
+}
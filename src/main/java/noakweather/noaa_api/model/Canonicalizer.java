@@ -0,0 +1,74 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out one shared instance for each distinct immutable value, so equal
+ * values parsed from thousands of reports occupy the heap only once. Think
+ * of it as a coat check: everyone with the same coat gets the same ticket.
+ *
+ * The number of values kept is bounded; once full, new values are returned
+ * as they are rather than remembered, so unusual input cannot grow the heap
+ * without limit. All methods are thread-safe.
+ *
+ * @param <T> The immutable value type, which must implement equals and hashCode
+ * @author bclasky1539
+ */
+final class Canonicalizer<T> {
+
+    private final ConcurrentMap<T, T> values = new ConcurrentHashMap<>();
+    private final int maxValues;
+
+    /**
+     * Creates a canonicalizer.
+     *
+     * @param maxValues The most distinct values remembered
+     */
+    Canonicalizer(int maxValues) {
+        this.maxValues = maxValues;
+    }
+
+    /**
+     * Gets the shared instance equal to a value.
+     *
+     * @param value An immutable value
+     * @return The shared instance, or value itself if it is new
+     */
+    T canonical(T value) {
+        T shared = values.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (values.size() >= maxValues) {
+            return value;
+        }
+        shared = values.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    /**
+     * Gets the number of distinct values remembered.
+     *
+     * @return The value count
+     */
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,513 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A METAR observation held in primitive fields, for keeping very many
+ * reports in memory.
+ *
+ * NoaaMetarData spreads one report over a dozen boxed numbers, a wind and a
+ * conditions object, a LocalDateTime and several Strings. CompactMetar keeps
+ * the same report in two objects: itself and one Latin-1 byte array.
+ * Numbers are stored as fixed-point integers, missing values as sentinels,
+ * the time as minutes since the epoch and the wind as one packed int. The
+ * weather, sky and variable wind texts are usually substrings of the raw
+ * report, so they are stored as spans of it rather than as copies.
+ *
+ * The conversion is lossless: toMetarData() returns a report equal, field by
+ * field, to the one given to from(). A report holding a value that cannot
+ * be stored exactly - a temperature in hundredths of a degree, a station
+ * code with digits, a time with seconds - is rejected rather than rounded.
+ * Station metadata (the Station, latitude, longitude and elevation) is not
+ * stored per observation; look it up by station code in a StationRegistry.
+ * A report whose latitude, longitude or elevation was set on the report
+ * itself rather than taken from its Station is rejected, since it would not
+ * come back.
+ *
+ * Instances are immutable.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class CompactMetar {
+
+    /**
+     * Sentinel for a missing short value
+     */
+    public static final short MISSING_SHORT = Short.MIN_VALUE;
+
+    /**
+     * Sentinel for a missing int value
+     */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    /**
+     * Temperatures are stored in tenths of a degree Celsius
+     */
+    public static final int TEMPERATURE_SCALE = 10;
+
+    /**
+     * Altimeter settings and precipitation are stored in hundredths of an inch
+     */
+    public static final int INCHES_SCALE = 100;
+
+    /**
+     * Visibility is stored in ten-thousandths of a statute mile, so sixteenths are exact
+     */
+    public static final int VISIBILITY_SCALE = 10_000;
+
+    // Wind word: direction in bits 0-8, speed in bits 9-18, gust in bits 19-28
+    private static final int DIRECTION_BITS = 9;
+    private static final int SPEED_BITS = 10;
+    private static final int MISSING_DIRECTION = (1 << DIRECTION_BITS) - 1;
+    private static final int MISSING_SPEED = (1 << SPEED_BITS) - 1;
+    private static final int SPEED_SHIFT = DIRECTION_BITS;
+    private static final int GUST_SHIFT = DIRECTION_BITS + SPEED_BITS;
+
+    // Flags: metar type in bits 0-1, auto report in bits 2-3, flight category in bits 4-6
+    private static final String[] METAR_TYPES = {null, "METAR", "SPECI"};
+    private static final Boolean[] AUTO_REPORTS = {null, Boolean.FALSE, Boolean.TRUE};
+    private static final String[] FLIGHT_CATEGORIES = {null, "VFR", "MVFR", "IFR", "LIFR"};
+    private static final int AUTO_SHIFT = 2;
+    private static final int CATEGORY_SHIFT = 4;
+
+    // Text spans: offset in the high 16 bits, length in the low 16 bits
+    private static final int NO_SPAN = -1;
+    private static final int MAX_TEXT_LENGTH = Short.MAX_VALUE;
+
+    // Station codes in the packed form of StationCode
+    private static final int NO_STATION = -1;
+
+    private final int station;
+    private final int observationMinute;
+    private final short temperatureTenths;
+    private final short dewpointTenths;
+    private final short altimeterHundredths;
+    private final short precipitationLastHourHundredths;
+    private final short precipitationLast3HoursHundredths;
+    private final short precipitationLast6HoursHundredths;
+    private final int visibility;
+    private final int wind;
+    private final byte flags;
+    private final byte[] text;
+    private final int rawTextSpan;
+    private final int weatherSpan;
+    private final int skySpan;
+    private final int variableWindSpan;
+    private final int qualityControlSpan;
+
+    private CompactMetar(NoaaMetarData metar) {
+        rejectStationOverrides(metar);
+        this.station = packStation(metar.getStationId());
+        this.observationMinute = epochMinute(metar.getObservationTime());
+        this.temperatureTenths = fixedShort(metar.getTemperatureCelsius(), TEMPERATURE_SCALE, "temperature");
+        this.dewpointTenths = fixedShort(metar.getDewpointCelsius(), TEMPERATURE_SCALE, "dewpoint");
+        this.altimeterHundredths = fixedShort(metar.getAltimeterInHg(), INCHES_SCALE, "altimeter");
+        this.precipitationLastHourHundredths = fixedShort(metar.getPrecipitationLastHourInches(), INCHES_SCALE,
+                "precipitation last hour");
+        this.precipitationLast3HoursHundredths = fixedShort(metar.getPrecipitationLast3HoursInches(), INCHES_SCALE,
+                "precipitation last 3 hours");
+        this.precipitationLast6HoursHundredths = fixedShort(metar.getPrecipitationLast6HoursInches(), INCHES_SCALE,
+                "precipitation last 6 hours");
+
+        WeatherConditions conditions = metar.getWeatherConditions();
+        WindInformation windInformation = metar.getWindInformation();
+        this.visibility = fixedInt(conditions.getVisibilityStatuteMiles(), VISIBILITY_SCALE, "visibility");
+        this.wind = packWind(windInformation);
+        this.flags = (byte) (code(METAR_TYPES, metar.getMetarType(), "metar type")
+                | code(AUTO_REPORTS, metar.getIsAutoReport(), "auto report") << AUTO_SHIFT
+                | code(FLIGHT_CATEGORIES, metar.getFlightCategory(), "flight category") << CATEGORY_SHIFT);
+
+        String rawText = metar.getRawText();
+        StringBuilder builder = new StringBuilder(rawText != null ? rawText : "");
+        this.rawTextSpan = rawText != null ? span(0, rawText.length()) : NO_SPAN;
+        this.weatherSpan = addText(builder, rawText, conditions.getWeatherString());
+        this.skySpan = addText(builder, rawText, conditions.getSkyCondition());
+        this.variableWindSpan = addText(builder, rawText, windInformation.getWindVariableDirection());
+        this.qualityControlSpan = addText(builder, rawText, metar.getQualityControlFlags());
+        this.text = latin1(builder);
+    }
+
+    /**
+     * Packs a report.
+     *
+     * @param metar The report
+     * @return The compact form of the report
+     * @throws IllegalArgumentException if the report holds a value that cannot be stored exactly
+     */
+    public static CompactMetar from(NoaaMetarData metar) {
+        if (metar == null) {
+            throw new IllegalArgumentException("METAR data cannot be null");
+        }
+        return new CompactMetar(metar);
+    }
+
+    /**
+     * Unpacks the report.
+     *
+     * @return A new report equal to the one this was created from, with
+     *         shared immutable wind and weather conditions
+     */
+    public NoaaMetarData toMetarData() {
+        NoaaMetarData metar = new NoaaMetarData();
+        metar.setRawText(text(rawTextSpan));
+        metar.setStationId(getStationId());
+        metar.setObservationTime(getObservationTime());
+        metar.setTemperatureCelsius(toDouble(temperatureTenths, TEMPERATURE_SCALE));
+        metar.setDewpointCelsius(toDouble(dewpointTenths, TEMPERATURE_SCALE));
+        metar.setAltimeterInHg(toDouble(altimeterHundredths, INCHES_SCALE));
+        metar.setPrecipitationLastHourInches(toDouble(precipitationLastHourHundredths, INCHES_SCALE));
+        metar.setPrecipitationLast3HoursInches(toDouble(precipitationLast3HoursHundredths, INCHES_SCALE));
+        metar.setPrecipitationLast6HoursInches(toDouble(precipitationLast6HoursHundredths, INCHES_SCALE));
+        metar.setMetarType(METAR_TYPES[flags & 0x3]);
+        metar.setIsAutoReport(AUTO_REPORTS[flags >> AUTO_SHIFT & 0x3]);
+        metar.setFlightCategory(getFlightCategory());
+        metar.setQualityControlFlags(text(qualityControlSpan));
+
+        metar.setWindInformation(WindValue.of(
+                toInteger(getWindDirectionDegrees()), toInteger(getWindSpeedKnots()), toInteger(getWindGustKnots()),
+                text(variableWindSpan)).toWindInformation());
+        metar.setWeatherConditions(WeatherConditionsValue.of(
+                visibility == MISSING ? null : (double) visibility / VISIBILITY_SCALE,
+                text(weatherSpan),
+                text(skySpan)).toWeatherConditions());
+        return metar;
+    }
+
+    /**
+     * Gets the station code.
+     *
+     * @return The station code, or null if the report had none
+     */
+    public String getStationId() {
+        return station == NO_STATION ? null : StationCode.fromPacked(station).getCode();
+    }
+
+    /**
+     * Gets the packed station code, as returned by StationCode.getPacked().
+     *
+     * @return The packed code, or -1 if the report had none
+     */
+    public int getStationPacked() {
+        return station;
+    }
+
+    /**
+     * Gets the observation time.
+     *
+     * @return The UTC observation time, or null if the report had none
+     */
+    public LocalDateTime getObservationTime() {
+        return observationMinute == MISSING
+                ? null
+                : LocalDateTime.ofEpochSecond(observationMinute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Gets the observation time in minutes since 1970-01-01T00:00Z.
+     *
+     * @return The observation minute, or MISSING
+     */
+    public int getObservationEpochMinute() {
+        return observationMinute;
+    }
+
+    /**
+     * Gets the temperature in tenths of a degree Celsius.
+     *
+     * @return The temperature, or MISSING_SHORT
+     */
+    public short getTemperatureTenths() {
+        return temperatureTenths;
+    }
+
+    /**
+     * Gets the dewpoint in tenths of a degree Celsius.
+     *
+     * @return The dewpoint, or MISSING_SHORT
+     */
+    public short getDewpointTenths() {
+        return dewpointTenths;
+    }
+
+    /**
+     * Gets the altimeter setting in hundredths of an inch of mercury.
+     *
+     * @return The altimeter setting, or MISSING_SHORT
+     */
+    public short getAltimeterHundredths() {
+        return altimeterHundredths;
+    }
+
+    /**
+     * Gets the visibility in ten-thousandths of a statute mile.
+     *
+     * @return The visibility, or MISSING
+     */
+    public int getVisibilityTenThousandths() {
+        return visibility;
+    }
+
+    public short getPrecipitationLastHourHundredths() {
+        return precipitationLastHourHundredths;
+    }
+
+    public short getPrecipitationLast3HoursHundredths() {
+        return precipitationLast3HoursHundredths;
+    }
+
+    public short getPrecipitationLast6HoursHundredths() {
+        return precipitationLast6HoursHundredths;
+    }
+
+    /**
+     * Gets the packed wind word: direction in bits 0-8, speed in bits 9-18
+     * and gust in bits 19-28, each all ones when missing.
+     *
+     * @return The wind word
+     */
+    public int getWindWord() {
+        return wind;
+    }
+
+    /**
+     * Gets the wind direction.
+     *
+     * @return The direction in degrees, or MISSING
+     */
+    public int getWindDirectionDegrees() {
+        int direction = wind & MISSING_DIRECTION;
+        return direction == MISSING_DIRECTION ? MISSING : direction;
+    }
+
+    /**
+     * Gets the wind speed.
+     *
+     * @return The speed in knots, or MISSING
+     */
+    public int getWindSpeedKnots() {
+        int speed = wind >>> SPEED_SHIFT & MISSING_SPEED;
+        return speed == MISSING_SPEED ? MISSING : speed;
+    }
+
+    /**
+     * Gets the wind gust speed.
+     *
+     * @return The gust speed in knots, or MISSING
+     */
+    public int getWindGustKnots() {
+        int gust = wind >>> GUST_SHIFT & MISSING_SPEED;
+        return gust == MISSING_SPEED ? MISSING : gust;
+    }
+
+    public boolean isSpeci() {
+        return (flags & 0x3) == 2;
+    }
+
+    /**
+     * Gets the flight category without allocating.
+     *
+     * @return "VFR", "MVFR", "IFR" or "LIFR", or null if unknown
+     */
+    public String getFlightCategory() {
+        return FLIGHT_CATEGORIES[flags >> CATEGORY_SHIFT & 0x7];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactMetar)) {
+            return false;
+        }
+        CompactMetar that = (CompactMetar) o;
+        return station == that.station
+                && observationMinute == that.observationMinute
+                && temperatureTenths == that.temperatureTenths
+                && dewpointTenths == that.dewpointTenths
+                && altimeterHundredths == that.altimeterHundredths
+                && precipitationLastHourHundredths == that.precipitationLastHourHundredths
+                && precipitationLast3HoursHundredths == that.precipitationLast3HoursHundredths
+                && precipitationLast6HoursHundredths == that.precipitationLast6HoursHundredths
+                && visibility == that.visibility
+                && wind == that.wind
+                && flags == that.flags
+                && rawTextSpan == that.rawTextSpan
+                && weatherSpan == that.weatherSpan
+                && skySpan == that.skySpan
+                && variableWindSpan == that.variableWindSpan
+                && qualityControlSpan == that.qualityControlSpan
+                && Arrays.equals(text, that.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * station + observationMinute) + Arrays.hashCode(text);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompactMetar{stationId='%s', observationTime=%s, rawText='%s'}",
+                getStationId(), getObservationTime(), text(rawTextSpan));
+    }
+
+    private static void rejectStationOverrides(NoaaMetarData metar) {
+        Station station = metar.getStation();
+        boolean overridden = station == null
+                ? metar.getLatitude() != null || metar.getLongitude() != null || metar.getElevationFeet() != null
+                : !Objects.equals(metar.getLatitude(), station.getLatitude())
+                        || !Objects.equals(metar.getLongitude(), station.getLongitude())
+                        || !Objects.equals(metar.getElevationFeet(), station.getElevationFeet());
+        if (overridden) {
+            throw new IllegalArgumentException("Station location set on the report cannot be stored: "
+                    + metar.getStationId());
+        }
+    }
+
+    private static int packStation(String stationId) {
+        if (stationId == null) {
+            return NO_STATION;
+        }
+        StationCode code = StationCode.tryParse(stationId);
+        // Only the normalized form round-trips unchanged
+        if (code == null || !code.getCode().equals(stationId)) {
+            throw new IllegalArgumentException("Station code cannot be packed: " + stationId);
+        }
+        return code.getPacked();
+    }
+
+    private static int epochMinute(LocalDateTime time) {
+        if (time == null) {
+            return MISSING;
+        }
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        if (seconds % 60 != 0 || time.getNano() != 0 || seconds / 60 <= MISSING || seconds / 60 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Observation time cannot be stored in whole minutes: " + time);
+        }
+        return (int) (seconds / 60);
+    }
+
+    private static short fixedShort(Double value, int scale, String field) {
+        if (value == null) {
+            return MISSING_SHORT;
+        }
+        long units = fixed(value, scale, field);
+        if (units <= MISSING_SHORT || units > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Value out of range for " + field + ": " + value);
+        }
+        return (short) units;
+    }
+
+    private static int fixedInt(Double value, int scale, String field) {
+        if (value == null) {
+            return MISSING;
+        }
+        long units = fixed(value, scale, field);
+        if (units <= MISSING || units > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Value out of range for " + field + ": " + value);
+        }
+        return (int) units;
+    }
+
+    private static long fixed(double value, int scale, String field) {
+        long units = Math.round(value * scale);
+        // -0.0 is stored as zero; compare() still rejects NaN
+        if (Double.compare((double) units / scale, value + 0.0) != 0) {
+            throw new IllegalArgumentException("Value cannot be stored exactly for " + field + ": " + value);
+        }
+        return units;
+    }
+
+    private static Double toDouble(short units, int scale) {
+        return units == MISSING_SHORT ? null : (double) units / scale;
+    }
+
+    private static Integer toInteger(int value) {
+        return value == MISSING ? null : value;
+    }
+
+    private static int packWind(WindInformation windInformation) {
+        return packWindField(windInformation.getWindDirectionDegrees(), MISSING_DIRECTION, "wind direction")
+                | packWindField(windInformation.getWindSpeedKnots(), MISSING_SPEED, "wind speed") << SPEED_SHIFT
+                | packWindField(windInformation.getWindGustKnots(), MISSING_SPEED, "wind gust") << GUST_SHIFT;
+    }
+
+    private static int packWindField(Integer value, int missing, String field) {
+        if (value == null) {
+            return missing;
+        }
+        if (value < 0 || value >= missing) {
+            throw new IllegalArgumentException("Value out of range for " + field + ": " + value);
+        }
+        return value;
+    }
+
+    private static <T> int code(T[] values, T value, String field) {
+        for (int i = 0; i < values.length; i++) {
+            if (value == null ? values[i] == null : value.equals(values[i])) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + field + ": " + value);
+    }
+
+    /**
+     * Finds a text in the raw report, or appends it to the stored text.
+     *
+     * @return The span of the text, or NO_SPAN for null
+     */
+    private static int addText(StringBuilder builder, String rawText, String value) {
+        if (value == null) {
+            return NO_SPAN;
+        }
+        int offset = rawText != null ? rawText.indexOf(value) : -1;
+        if (offset < 0) {
+            offset = builder.length();
+            builder.append(value);
+        }
+        return span(offset, value.length());
+    }
+
+    private static int span(int offset, int length) {
+        if (offset + length > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Report text longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return offset << 16 | length;
+    }
+
+    private static byte[] latin1(StringBuilder builder) {
+        for (int i = 0; i < builder.length(); i++) {
+            if (builder.charAt(i) > 0xFF) {
+                throw new IllegalArgumentException("Report text is not Latin-1: " + builder);
+            }
+        }
+        return builder.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private String text(int span) {
+        return span == NO_SPAN
+                ? null
+                : new String(text, span >>> 16, span & 0xFFFF, StandardCharsets.ISO_8859_1);
+    }
+}
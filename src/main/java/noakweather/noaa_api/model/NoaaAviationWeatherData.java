@@ -48,6 +48,12 @@ public abstract class NoaaAviationWeatherData {
      */
     private LocalDateTime observationTime;
     
+    /**
+     * Shared metadata of the reporting station, if known. Location getters
+     * fall back to it when the report carries no location of its own.
+     */
+    private Station station;
+    
     /**
      * Latitude of the reporting station in decimal degrees
      */
@@ -103,7 +109,33 @@ public abstract class NoaaAviationWeatherData {
         this.observationTime = observationTime;
     }
     
+    /**
+     * Gets the shared metadata of the reporting station.
+     * 
+     * @return The station, or null if none is attached
+     */
+    public Station getStation() {
+        return station;
+    }
+    
+    /**
+     * Attaches the shared metadata of the reporting station. The station id
+     * is replaced by the station's own id instance, so reports from one
+     * station share a single id string as well.
+     * 
+     * @param station The station, or null to detach it
+     */
+    public void setStation(Station station) {
+        this.station = station;
+        if (station != null) {
+            this.stationId = station.getId();
+        }
+    }
+    
     public Double getLatitude() {
+        if (latitude == null && station != null) {
+            return station.getLatitude();
+        }
         return latitude;
     }
     
@@ -112,6 +144,9 @@ public abstract class NoaaAviationWeatherData {
     }
     
     public Double getLongitude() {
+        if (longitude == null && station != null) {
+            return station.getLongitude();
+        }
         return longitude;
     }
     
@@ -120,6 +155,9 @@ public abstract class NoaaAviationWeatherData {
     }
     
     public Integer getElevationFeet() {
+        if (elevationFeet == null && station != null) {
+            return station.getElevationFeet();
+        }
         return elevationFeet;
     }
     
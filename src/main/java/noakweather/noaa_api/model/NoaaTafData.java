@@ -19,6 +19,7 @@ package noakweather.noaa_api.model;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -58,6 +59,9 @@ public class NoaaTafData extends NoaaAviationWeatherData {
     // Change groups (TEMPO, BECMG, FM, PROB groups)
     private List<TafChangeGroup> changeGroups;
     
+    // Forecast lookup index, built on the first query and dropped when the forecast changes
+    private volatile TafForecastIndex forecastIndex;
+    
     public NoaaTafData() {
         super();
         this.baseWindInformation = new WindInformation();
@@ -108,6 +112,7 @@ public class NoaaTafData extends NoaaAviationWeatherData {
     
     public void setValidFromTime(LocalDateTime validFromTime) {
         this.validFromTime = validFromTime;
+        this.forecastIndex = null;
     }
     
     public LocalDateTime getValidToTime() {
@@ -116,6 +121,7 @@ public class NoaaTafData extends NoaaAviationWeatherData {
     
     public void setValidToTime(LocalDateTime validToTime) {
         this.validToTime = validToTime;
+        this.forecastIndex = null;
     }
     
     public LocalDateTime getIssueTime() {
@@ -175,6 +181,7 @@ public class NoaaTafData extends NoaaAviationWeatherData {
     
     public void setBaseWindInformation(WindInformation baseWindInformation) {
         this.baseWindInformation = baseWindInformation != null ? baseWindInformation : new WindInformation();
+        this.forecastIndex = null;
     }
     
     public WeatherConditions getBaseWeatherConditions() {
@@ -183,6 +190,7 @@ public class NoaaTafData extends NoaaAviationWeatherData {
     
     public void setBaseWeatherConditions(WeatherConditions baseWeatherConditions) {
         this.baseWeatherConditions = baseWeatherConditions != null ? baseWeatherConditions : new WeatherConditions();
+        this.forecastIndex = null;
     }
     
     // Change groups getters/setters
@@ -192,6 +200,7 @@ public class NoaaTafData extends NoaaAviationWeatherData {
     
     public void setChangeGroups(List<TafChangeGroup> changeGroups) {
         this.changeGroups = changeGroups != null ? changeGroups : new ArrayList<>();
+        this.forecastIndex = null;
     }
     
     public void addChangeGroup(TafChangeGroup changeGroup) {
@@ -199,6 +208,7 @@ public class NoaaTafData extends NoaaAviationWeatherData {
             this.changeGroups = new ArrayList<>();
         }
         this.changeGroups.add(changeGroup);
+        this.forecastIndex = null;
     }
     
     /**
@@ -220,6 +230,52 @@ public class NoaaTafData extends NoaaAviationWeatherData {
         return Boolean.TRUE.equals(isAmended) || Boolean.TRUE.equals(isCorrected);
     }
     
+    /**
+     * Gets the forecast in effect at an instant: the prevailing wind and
+     * conditions from the base forecast, FM and BECMG groups, plus any TEMPO
+     * or PROB groups covering the instant.
+     * 
+     * Lookups use an interval index built on the first query, so each one is
+     * a binary search rather than a walk over the change groups. The index is
+     * rebuilt after the validity, base forecast or change groups are replaced
+     * through this class; change groups edited in place are not tracked.
+     * 
+     * @param instant The UTC instant
+     * @return The forecast period holding the instant, or null if the instant
+     *         is outside the validity period
+     */
+    public TafForecastPeriod getForecastAt(LocalDateTime instant) {
+        if (instant == null) {
+            return null;
+        }
+        return getForecastIndex().periodAt(instant);
+    }
+    
+    /**
+     * Gets the forecast periods overlapping a time range, e.g. the legs of a
+     * flight. Each period holds one unchanging forecast.
+     * 
+     * @param start The start of the range (inclusive, UTC)
+     * @param end The end of the range (exclusive, UTC)
+     * @return The overlapping forecast periods in time order, empty if none
+     */
+    public List<TafForecastPeriod> getForecastBetween(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return Collections.emptyList();
+        }
+        return getForecastIndex().periodsBetween(start, end);
+    }
+    
+    private TafForecastIndex getForecastIndex() {
+        TafForecastIndex index = forecastIndex;
+        int groupCount = changeGroups == null ? 0 : changeGroups.size();
+        if (index == null || index.getGroupCount() != groupCount) {
+            index = TafForecastIndex.build(this);
+            forecastIndex = index;
+        }
+        return index;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) {
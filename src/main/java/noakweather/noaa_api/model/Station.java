@@ -0,0 +1,109 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import java.util.Objects;
+
+/**
+ * The fixed metadata of a reporting station: where it is and which
+ * country it belongs to.
+ *
+ * Stations are immutable and meant to be shared. A station registry hands
+ * out one instance per station, and every report from that station points
+ * at it rather than carrying its own copy.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class Station {
+    private final String id;
+    private final double latitude;
+    private final double longitude;
+    private final int elevationFeet;
+    private final String country;
+
+    /**
+     * Creates a station.
+     *
+     * @param id ICAO station identifier (e.g., "KJFK")
+     * @param latitude Latitude in decimal degrees, -90 to 90
+     * @param longitude Longitude in decimal degrees, -180 to 180
+     * @param elevationFeet Elevation in feet above mean sea level
+     * @param country ISO country code (e.g., "US"), may be null if unknown
+     * @throws IllegalArgumentException if the coordinates are out of range
+     */
+    public Station(String id, double latitude, double longitude, int elevationFeet, String country) {
+        if (!(latitude >= -90.0 && latitude <= 90.0)) {
+            throw new IllegalArgumentException("Latitude out of range: " + latitude);
+        }
+        if (!(longitude >= -180.0 && longitude <= 180.0)) {
+            throw new IllegalArgumentException("Longitude out of range: " + longitude);
+        }
+        this.id = Objects.requireNonNull(id, "id");
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.elevationFeet = elevationFeet;
+        this.country = country;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public int getElevationFeet() {
+        return elevationFeet;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Station)) {
+            return false;
+        }
+        Station that = (Station) o;
+        return id.equals(that.id)
+                && Double.compare(latitude, that.latitude) == 0
+                && Double.compare(longitude, that.longitude) == 0
+                && elevationFeet == that.elevationFeet
+                && Objects.equals(country, that.country);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Station{id='%s', latitude=%s, longitude=%s, elevationFeet=%d, country='%s'}",
+                id, latitude, longitude, elevationFeet, country);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+/**
+ * A validated, normalized ICAO station code such as "KJFK" or "LAX".
+ *
+ * The code is checked once, and from then on every service can trust it
+ * without checking again. Validation walks the characters in place - no
+ * trimming, case conversion or regular expression - so
+ * {@link #isValid(CharSequence)} never allocates, and
+ * parsing an already normalized String reuses it rather than copying it.
+ *
+ * Every code also has a packed int form: each letter is a base-27 digit
+ * (A=1 .. Z=26, 0 for the missing fourth letter of a three-letter code).
+ * Packed values sort in the same order as the codes themselves.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class StationCode implements Comparable<StationCode> {
+    /**
+     * The shortest valid station code
+     */
+    public static final int MIN_LENGTH = 3;
+
+    /**
+     * The longest valid station code
+     */
+    public static final int MAX_LENGTH = 4;
+
+    private static final int RADIX = 27;
+    private static final int PACKED_LIMIT = RADIX * RADIX * RADIX * RADIX;
+    private static final int INVALID = -1;
+
+    private final String code;
+    private final int packed;
+
+    private StationCode(String code, int packed) {
+        this.code = code;
+        this.packed = packed;
+    }
+
+    /**
+     * Checks whether text is a station code: 3-4 ASCII letters in either
+     * case, optionally surrounded by whitespace. Never allocates.
+     *
+     * @param text The text to check, may be null
+     * @return true if the text is a valid station code
+     */
+    public static boolean isValid(CharSequence text) {
+        return text != null && pack(text) != INVALID;
+    }
+
+    /**
+     * Parses a station code.
+     *
+     * @param text The station code, in any case and optionally surrounded by whitespace
+     * @return The normalized station code
+     * @throws IllegalArgumentException if the text is not a valid station code
+     */
+    public static StationCode of(CharSequence text) {
+        StationCode station = tryParse(text);
+        if (station == null) {
+            throw new IllegalArgumentException("Station code must be 3-4 alphabetic characters: '" + text + "'");
+        }
+        return station;
+    }
+
+    /**
+     * Parses a station code, returning null instead of throwing when it is invalid.
+     *
+     * @param text The station code, in any case and optionally surrounded by whitespace
+     * @return The normalized station code, or null if the text is null or invalid
+     */
+    public static StationCode tryParse(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int packed = pack(text);
+        if (packed == INVALID) {
+            return null;
+        }
+        return new StationCode(normalizedText(text, packed), packed);
+    }
+
+    /**
+     * Rebuilds a station code from its packed form.
+     *
+     * @param packed A value previously returned by {@link #getPacked()}
+     * @return The station code
+     * @throws IllegalArgumentException if the value is not a packed station code
+     */
+    public static StationCode fromPacked(int packed) {
+        if (packed < 0 || packed >= PACKED_LIMIT) {
+            throw new IllegalArgumentException("Not a packed station code: " + packed);
+        }
+        // The first three letters are mandatory; only the fourth may be absent
+        for (int value = packed / RADIX, i = 0; i < MIN_LENGTH; value /= RADIX, i++) {
+            if (value % RADIX == 0) {
+                throw new IllegalArgumentException("Not a packed station code: " + packed);
+            }
+        }
+        return new StationCode(unpack(packed), packed);
+    }
+
+    /**
+     * Gets the normalized code, e.g. "KJFK".
+     *
+     * @return The upper-case code without surrounding whitespace
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the packed int form of the code.
+     *
+     * @return The code as a base-27 number
+     */
+    public int getPacked() {
+        return packed;
+    }
+
+    @Override
+    public int compareTo(StationCode other) {
+        return Integer.compare(packed, other.packed);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof StationCode)) {
+            return false;
+        }
+        return packed == ((StationCode) obj).packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return packed;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+
+    /**
+     * Validates and packs text in one pass over its characters. Never allocates.
+     *
+     * @param text The text to pack, in any case and optionally surrounded by whitespace
+     * @return The packed code, or -1 if the text is not a station code
+     */
+    public static int pack(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        // Same whitespace rule as String.trim()
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int length = end - start;
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return INVALID;
+        }
+
+        int packed = 0;
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            int letter = 0;
+            if (i < length) {
+                letter = letterValue(text.charAt(start + i));
+                if (letter == 0) {
+                    return INVALID;
+                }
+            }
+            packed = packed * RADIX + letter;
+        }
+        return packed;
+    }
+
+    private static int letterValue(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 1;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the normalized code for valid text, reusing the text when it is
+     * already a String in normal form.
+     *
+     * @param text The valid text
+     * @param packed The packed form of the text
+     * @return The normalized code
+     */
+    private static String normalizedText(CharSequence text, int packed) {
+        if (text instanceof String) {
+            String string = (String) text;
+            int length = packed % RADIX == 0 ? MIN_LENGTH : MAX_LENGTH;
+            if (string.length() == length && isUpperCase(string)) {
+                return string;
+            }
+        }
+        return unpack(packed);
+    }
+
+    private static boolean isUpperCase(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String unpack(int packed) {
+        int length = packed % RADIX == 0 ? MIN_LENGTH : MAX_LENGTH;
+        char[] letters = new char[length];
+        int value = packed;
+        for (int i = MAX_LENGTH - 1; i >= 0; i--) {
+            int letter = value % RADIX;
+            value /= RADIX;
+            if (i < length) {
+                letters[i] = (char) ('A' + letter - 1);
+            }
+        }
+        return new String(letters);
+    }
+}
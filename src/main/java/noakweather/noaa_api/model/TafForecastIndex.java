@@ -0,0 +1,258 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sorted interval index over the validity of a TAF.
+ *
+ * Every time at which the forecast can change (start of validity, FM times,
+ * the end of each BECMG transition, the start and end of each TEMPO/PROB
+ * group) splits the validity into slices. The forecast for each slice is
+ * worked out once when the index is built, so a lookup is a binary search
+ * over the slice start times.
+ *
+ * Change group semantics:
+ * <ul>
+ *   <li>FM replaces the whole prevailing forecast from its time on</li>
+ *   <li>BECMG replaces the elements it reports once its transition ends</li>
+ *   <li>TEMPO and PROB groups leave the prevailing forecast alone and are
+ *       listed as temporary groups for the slices they cover</li>
+ * </ul>
+ *
+ * All times are UTC.
+ *
+ * @author bclasky1539
+ *
+ */
+final class TafForecastIndex {
+
+    private final long[] startSeconds;
+    private final long endSecond;
+    private final TafForecastPeriod[] periods;
+    private final int groupCount;
+
+    private TafForecastIndex(long[] startSeconds, long endSecond, TafForecastPeriod[] periods, int groupCount) {
+        this.startSeconds = startSeconds;
+        this.endSecond = endSecond;
+        this.periods = periods;
+        this.groupCount = groupCount;
+    }
+
+    /**
+     * Builds the index for a forecast.
+     *
+     * @param taf The forecast
+     * @return The index, empty if the validity period is unknown
+     */
+    static TafForecastIndex build(NoaaTafData taf) {
+        LocalDateTime validFrom = taf.getValidFromTime();
+        LocalDateTime validTo = taf.getValidToTime();
+        List<NoaaTafData.TafChangeGroup> groups = taf.getChangeGroups();
+        int groupCount = groups == null ? 0 : groups.size();
+        if (validFrom == null || validTo == null || !validFrom.isBefore(validTo)) {
+            return new TafForecastIndex(new long[0], 0L, new TafForecastPeriod[0], groupCount);
+        }
+
+        long from = toSeconds(validFrom);
+        long to = toSeconds(validTo);
+
+        long[] boundaries = new long[2 + 2 * groupCount];
+        int count = 0;
+        boundaries[count++] = from;
+        boundaries[count++] = to;
+        for (int i = 0; i < groupCount; i++) {
+            NoaaTafData.TafChangeGroup group = groups.get(i);
+            if (isTemporary(group)) {
+                count = addBoundary(boundaries, count, group.getChangeTimeFrom(), from, to);
+                count = addBoundary(boundaries, count, group.getChangeTimeTo(), from, to);
+            } else {
+                count = addBoundary(boundaries, count, effectiveTime(group), from, to);
+            }
+        }
+        Arrays.sort(boundaries, 0, count);
+        int unique = 1;
+        for (int i = 1; i < count; i++) {
+            if (boundaries[i] != boundaries[unique - 1]) {
+                boundaries[unique++] = boundaries[i];
+            }
+        }
+
+        // The last boundary is the end of validity, so there is one slice fewer than boundaries
+        int sliceCount = unique - 1;
+        long[] starts = Arrays.copyOf(boundaries, sliceCount);
+        TafForecastPeriod[] periods = new TafForecastPeriod[sliceCount];
+
+        WindValue wind = WindValue.from(taf.getBaseWindInformation());
+        WeatherConditionsValue conditions = WeatherConditionsValue.from(taf.getBaseWeatherConditions());
+        for (int slice = 0; slice < sliceCount; slice++) {
+            long sliceStart = boundaries[slice];
+            long sliceEnd = boundaries[slice + 1];
+            long previousStart = slice == 0 ? Long.MIN_VALUE : boundaries[slice - 1];
+            List<NoaaTafData.TafChangeGroup> temporary = null;
+
+            for (int i = 0; i < groupCount; i++) {
+                NoaaTafData.TafChangeGroup group = groups.get(i);
+                if (isTemporary(group)) {
+                    if (covers(group, sliceStart)) {
+                        if (temporary == null) {
+                            temporary = new ArrayList<>(2);
+                        }
+                        temporary.add(group);
+                    }
+                    continue;
+                }
+                // Apply each prevailing group in the first slice at or after its time
+                LocalDateTime effective = effectiveTime(group);
+                if (effective == null) {
+                    continue;
+                }
+                long effectiveSecond = toSeconds(effective);
+                if (effectiveSecond <= previousStart || effectiveSecond > sliceStart) {
+                    continue;
+                }
+                if ("FM".equals(group.getChangeType())) {
+                    wind = WindValue.from(group.getWindInformation());
+                    conditions = WeatherConditionsValue.from(group.getWeatherConditions());
+                } else {
+                    wind = merge(wind, group.getWindInformation());
+                    conditions = merge(conditions, group.getWeatherConditions());
+                }
+            }
+
+            periods[slice] = new TafForecastPeriod(toTime(sliceStart), toTime(sliceEnd), wind, conditions,
+                    temporary == null ? Collections.emptyList() : temporary);
+        }
+        return new TafForecastIndex(starts, to, periods, groupCount);
+    }
+
+    /**
+     * @return The number of change groups the index was built from
+     */
+    int getGroupCount() {
+        return groupCount;
+    }
+
+    /**
+     * Finds the slice holding an instant.
+     *
+     * @param instant The UTC instant
+     * @return The slice, or null if the instant is outside the validity period
+     */
+    TafForecastPeriod periodAt(LocalDateTime instant) {
+        int slice = sliceAt(toSeconds(instant));
+        return slice < 0 ? null : periods[slice];
+    }
+
+    /**
+     * Finds the slices overlapping a time range.
+     *
+     * @param start The start of the range (inclusive)
+     * @param end The end of the range (exclusive)
+     * @return The overlapping slices in time order, empty if there are none
+     */
+    List<TafForecastPeriod> periodsBetween(LocalDateTime start, LocalDateTime end) {
+        if (periods.length == 0) {
+            return Collections.emptyList();
+        }
+        long from = Math.max(toSeconds(start), startSeconds[0]);
+        long to = toSeconds(end);
+        int first = sliceAt(from);
+        if (first < 0 || from >= to) {
+            return Collections.emptyList();
+        }
+
+        List<TafForecastPeriod> result = new ArrayList<>();
+        for (int slice = first; slice < periods.length && startSeconds[slice] < to; slice++) {
+            result.add(periods[slice]);
+        }
+        return result;
+    }
+
+    private int sliceAt(long seconds) {
+        if (periods.length == 0 || seconds < startSeconds[0] || seconds >= endSecond) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(startSeconds, seconds);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Gets the time from which a prevailing group applies: the FM time, or
+     * the end of a BECMG transition.
+     */
+    private static LocalDateTime effectiveTime(NoaaTafData.TafChangeGroup group) {
+        if ("BECMG".equals(group.getChangeType()) && group.getChangeTimeTo() != null) {
+            return group.getChangeTimeTo();
+        }
+        return group.getChangeTimeFrom();
+    }
+
+    private static boolean isTemporary(NoaaTafData.TafChangeGroup group) {
+        String type = group.getChangeType();
+        return type != null && (type.startsWith("TEMPO") || type.startsWith("PROB"));
+    }
+
+    private static boolean covers(NoaaTafData.TafChangeGroup group, long seconds) {
+        LocalDateTime from = group.getChangeTimeFrom();
+        LocalDateTime to = group.getChangeTimeTo();
+        return from != null && to != null && toSeconds(from) <= seconds && seconds < toSeconds(to);
+    }
+
+    private static int addBoundary(long[] boundaries, int count, LocalDateTime time, long from, long to) {
+        if (time == null) {
+            return count;
+        }
+        long seconds = toSeconds(time);
+        if (seconds > from && seconds < to) {
+            boundaries[count++] = seconds;
+        }
+        return count;
+    }
+
+    private static WindValue merge(WindValue current, WindInformation change) {
+        if (change == null || change.getWindSpeedKnots() == null) {
+            return current;
+        }
+        return WindValue.from(change);
+    }
+
+    private static WeatherConditionsValue merge(WeatherConditionsValue current, WeatherConditions change) {
+        if (change == null) {
+            return current;
+        }
+        return WeatherConditionsValue.of(
+                change.getVisibilityStatuteMiles() != null
+                        ? change.getVisibilityStatuteMiles() : current.getVisibilityStatuteMiles(),
+                change.getWeatherString() != null ? change.getWeatherString() : current.getWeatherString(),
+                change.getSkyCondition() != null ? change.getSkyCondition() : current.getSkyCondition());
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+}
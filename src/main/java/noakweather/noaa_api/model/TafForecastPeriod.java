@@ -0,0 +1,125 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A slice of a TAF's validity during which the forecast does not change.
+ *
+ * The prevailing wind and conditions are what the base forecast, FM and
+ * BECMG groups amount to over the slice. TEMPO and PROB groups do not change
+ * the prevailing forecast; the ones covering the slice are listed separately
+ * as temporary groups. The wind and conditions are shared immutable values,
+ * so slices and forecasts with the same prevailing weather hold one copy,
+ * and changing the TAF's beans afterwards does not change a slice.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class TafForecastPeriod {
+
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final WindValue windInformation;
+    private final WeatherConditionsValue weatherConditions;
+    private final List<NoaaTafData.TafChangeGroup> temporaryGroups;
+
+    public TafForecastPeriod(LocalDateTime startTime, LocalDateTime endTime,
+                             WindValue windInformation, WeatherConditionsValue weatherConditions,
+                             List<NoaaTafData.TafChangeGroup> temporaryGroups) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.windInformation = windInformation != null ? windInformation : WindValue.EMPTY;
+        this.weatherConditions = weatherConditions != null ? weatherConditions : WeatherConditionsValue.EMPTY;
+        this.temporaryGroups = temporaryGroups == null || temporaryGroups.isEmpty()
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(temporaryGroups);
+    }
+
+    /**
+     * @return The start of the slice (inclusive)
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return The end of the slice (exclusive)
+     */
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return The prevailing wind over the slice
+     */
+    public WindValue getWindInformation() {
+        return windInformation;
+    }
+
+    /**
+     * @return The prevailing visibility, weather and sky over the slice
+     */
+    public WeatherConditionsValue getWeatherConditions() {
+        return weatherConditions;
+    }
+
+    /**
+     * @return The TEMPO and PROB groups covering the slice, in TAF order
+     */
+    public List<NoaaTafData.TafChangeGroup> getTemporaryGroups() {
+        return temporaryGroups;
+    }
+
+    /**
+     * @return true if temporary fluctuations are forecast during the slice
+     */
+    public boolean hasTemporaryConditions() {
+        return !temporaryGroups.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TafForecastPeriod)) {
+            return false;
+        }
+        TafForecastPeriod that = (TafForecastPeriod) o;
+        return Objects.equals(startTime, that.startTime) &&
+               Objects.equals(endTime, that.endTime) &&
+               Objects.equals(windInformation, that.windInformation) &&
+               Objects.equals(weatherConditions, that.weatherConditions) &&
+               Objects.equals(temporaryGroups, that.temporaryGroups);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(startTime, endTime, windInformation, weatherConditions, temporaryGroups);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TafForecastPeriod{%s to %s, wind=%s, conditions=%s, temporary=%d}",
+                           startTime, endTime, windInformation, weatherConditions, temporaryGroups.size());
+    }
+}
@@ -22,6 +22,10 @@ import java.util.Objects;
  * Represents common weather condition information shared between METAR and TAF reports.
  * This includes visibility, weather phenomena, and sky conditions.
  * 
+ * Reports own their weather conditions and callers may change them in
+ * place. WeatherConditionsValue is the immutable, shared form of the same
+ * values.
+ * 
  * @author bclasky1539
  *
  */
@@ -90,7 +94,10 @@ public class WeatherConditions {
     
     @Override
     public int hashCode() {
-        return Objects.hash(visibilityStatuteMiles, weatherString, skyCondition);
+        // Same value as Objects.hash over the three fields, without the varargs array
+        int hash = 31 + Objects.hashCode(visibilityStatuteMiles);
+        hash = 31 * hash + Objects.hashCode(weatherString);
+        return 31 * hash + Objects.hashCode(skyCondition);
     }
     
     @Override
@@ -0,0 +1,148 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import java.util.Objects;
+
+/**
+ * Immutable weather conditions that can be shared between threads and
+ * reports.
+ *
+ * of() hands out one shared instance for each distinct value, so the many
+ * reports and TAF change groups reading "10SM SKC" point at one object, and
+ * at one copy of its weather and sky strings. The hash is computed when the
+ * value is made.
+ *
+ * A report keeps its own mutable WeatherConditions; toWeatherConditions()
+ * makes one from a value, and from() goes the other way.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class WeatherConditionsValue {
+
+    private static final int MAX_CANONICAL_VALUES = 4096;
+
+    private static final Canonicalizer<WeatherConditionsValue> CANONICAL =
+            new Canonicalizer<>(MAX_CANONICAL_VALUES);
+
+    /**
+     * Conditions with no values, standing in for conditions not reported
+     */
+    public static final WeatherConditionsValue EMPTY = of(null, null, null);
+
+    private final Double visibilityStatuteMiles;
+    private final String weatherString;
+    private final String skyCondition;
+    private final int hash;
+
+    private WeatherConditionsValue(Double visibility, String weather, String sky) {
+        this.visibilityStatuteMiles = visibility;
+        this.weatherString = weather;
+        this.skyCondition = sky;
+        // Same value as WeatherConditions.hashCode, so equal values hash alike in either form
+        int h = 31 + Objects.hashCode(visibility);
+        h = 31 * h + Objects.hashCode(weather);
+        this.hash = 31 * h + Objects.hashCode(sky);
+    }
+
+    /**
+     * Gets the shared weather conditions value with the given values.
+     *
+     * @param visibility The visibility in statute miles, or null
+     * @param weather The weather phenomena, e.g. "-RA BR", or null
+     * @param sky The sky condition groups, e.g. "FEW030 BKN250", or null
+     * @return The shared instance for these values
+     */
+    public static WeatherConditionsValue of(Double visibility, String weather, String sky) {
+        return CANONICAL.canonical(new WeatherConditionsValue(visibility, weather, sky));
+    }
+
+    /**
+     * Gets the shared value holding the current values of a bean.
+     *
+     * @param conditions The weather conditions, or null
+     * @return The shared instance, EMPTY if conditions is null
+     */
+    public static WeatherConditionsValue from(WeatherConditions conditions) {
+        if (conditions == null) {
+            return EMPTY;
+        }
+        return of(conditions.getVisibilityStatuteMiles(), conditions.getWeatherString(),
+                conditions.getSkyCondition());
+    }
+
+    /**
+     * Makes a new mutable bean with these values.
+     *
+     * @return A new WeatherConditions the caller owns
+     */
+    public WeatherConditions toWeatherConditions() {
+        return new WeatherConditions(visibilityStatuteMiles, weatherString, skyCondition);
+    }
+
+    public Double getVisibilityStatuteMiles() {
+        return visibilityStatuteMiles;
+    }
+
+    public String getWeatherString() {
+        return weatherString;
+    }
+
+    public String getSkyCondition() {
+        return skyCondition;
+    }
+
+    /**
+     * Checks if visibility is considered good (>= 3 statute miles)
+     */
+    public boolean hasGoodVisibility() {
+        return visibilityStatuteMiles != null && visibilityStatuteMiles >= 3.0;
+    }
+
+    /**
+     * Checks if there are active weather phenomena
+     */
+    public boolean hasActiveWeather() {
+        return weatherString != null && !weatherString.trim().isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WeatherConditionsValue)) {
+            return false;
+        }
+        WeatherConditionsValue that = (WeatherConditionsValue) o;
+        return hash == that.hash &&
+               Objects.equals(visibilityStatuteMiles, that.visibilityStatuteMiles) &&
+               Objects.equals(weatherString, that.weatherString) &&
+               Objects.equals(skyCondition, that.skyCondition);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return toWeatherConditions().toString();
+    }
+}
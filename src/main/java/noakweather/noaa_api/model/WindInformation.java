@@ -22,11 +22,17 @@ import java.util.Objects;
  * Represents wind information common to both METAR and TAF reports.
  * This encapsulates wind direction, speed, gusts, and variable directions.
  * 
+ * Reports own their wind information and callers may change it in place.
+ * WindValue is the immutable, shared form of the same values.
+ * 
  * @author bclasky1539
  *
  */
 public class WindInformation {
     
+    private static final String[] DIRECTIONS = {"N", "NNE", "NE", "ENE", "E", "ESE", "SE", "SSE",
+                                                "S", "SSW", "SW", "WSW", "W", "WNW", "NW", "NNW"};
+    
     private Integer windDirectionDegrees;
     private Integer windSpeedKnots;
     private Integer windGustKnots;
@@ -40,6 +46,11 @@ public class WindInformation {
         this.windGustKnots = gustKnots;
     }
     
+    WindInformation(Integer directionDegrees, Integer speedKnots, Integer gustKnots, String variableDirection) {
+        this(directionDegrees, speedKnots, gustKnots);
+        this.windVariableDirection = variableDirection;
+    }
+    
     // Getters and setters
     public Integer getWindDirectionDegrees() {
         return windDirectionDegrees;
@@ -95,11 +106,8 @@ public class WindInformation {
             return null;
         }
         
-        String[] directions = {"N", "NNE", "NE", "ENE", "E", "ESE", "SE", "SSE",
-                              "S", "SSW", "SW", "WSW", "W", "WNW", "NW", "NNW"};
-        
         int index = (int) Math.round(windDirectionDegrees / 22.5) % 16;
-        return directions[index];
+        return DIRECTIONS[index];
     }
     
     @Override
@@ -115,7 +123,11 @@ public class WindInformation {
     
     @Override
     public int hashCode() {
-        return Objects.hash(windDirectionDegrees, windSpeedKnots, windGustKnots, windVariableDirection);
+        // Same value as Objects.hash over the four fields, without the varargs array
+        int hash = 31 + Objects.hashCode(windDirectionDegrees);
+        hash = 31 * hash + Objects.hashCode(windSpeedKnots);
+        hash = 31 * hash + Objects.hashCode(windGustKnots);
+        return 31 * hash + Objects.hashCode(windVariableDirection);
     }
     
     @Override
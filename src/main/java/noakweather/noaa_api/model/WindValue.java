@@ -0,0 +1,160 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import java.util.Objects;
+
+/**
+ * Immutable wind information that can be shared between threads and reports.
+ *
+ * of() hands out one shared instance for each distinct value, so the many
+ * calm winds ("00000KT") and repeated wind groups of parsed reports occupy
+ * the heap only once. The hash is computed when the value is made.
+ *
+ * A report keeps its own mutable WindInformation; toWindInformation() makes
+ * one from a value, and from() goes the other way.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class WindValue {
+
+    private static final int MAX_CANONICAL_VALUES = 4096;
+
+    private static final Canonicalizer<WindValue> CANONICAL = new Canonicalizer<>(MAX_CANONICAL_VALUES);
+
+    /**
+     * Calm wind, as reported by "00000KT"
+     */
+    public static final WindValue CALM = of(0, 0, null, null);
+
+    /**
+     * Wind with no values, standing in for wind not reported
+     */
+    public static final WindValue EMPTY = of(null, null, null, null);
+
+    private final Integer windDirectionDegrees;
+    private final Integer windSpeedKnots;
+    private final Integer windGustKnots;
+    private final String windVariableDirection;
+    private final int hash;
+
+    private WindValue(Integer directionDegrees, Integer speedKnots, Integer gustKnots, String variableDirection) {
+        this.windDirectionDegrees = directionDegrees;
+        this.windSpeedKnots = speedKnots;
+        this.windGustKnots = gustKnots;
+        this.windVariableDirection = variableDirection;
+        // Same value as WindInformation.hashCode, so equal values hash alike in either form
+        int h = 31 + Objects.hashCode(directionDegrees);
+        h = 31 * h + Objects.hashCode(speedKnots);
+        h = 31 * h + Objects.hashCode(gustKnots);
+        this.hash = 31 * h + Objects.hashCode(variableDirection);
+    }
+
+    /**
+     * Gets the shared wind value with the given values.
+     *
+     * @param directionDegrees The direction the wind blows from, or null
+     * @param speedKnots The speed, or null
+     * @param gustKnots The gust speed, or null
+     * @param variableDirection The variable direction group, e.g. "240V300", or null
+     * @return The shared instance for these values
+     */
+    public static WindValue of(Integer directionDegrees, Integer speedKnots, Integer gustKnots,
+                               String variableDirection) {
+        return CANONICAL.canonical(new WindValue(directionDegrees, speedKnots, gustKnots, variableDirection));
+    }
+
+    /**
+     * Gets the shared wind value holding the current values of a bean.
+     *
+     * @param wind The wind information, or null
+     * @return The shared instance, EMPTY if wind is null
+     */
+    public static WindValue from(WindInformation wind) {
+        if (wind == null) {
+            return EMPTY;
+        }
+        return of(wind.getWindDirectionDegrees(), wind.getWindSpeedKnots(), wind.getWindGustKnots(),
+                wind.getWindVariableDirection());
+    }
+
+    /**
+     * Makes a new mutable bean with these values.
+     *
+     * @return A new WindInformation the caller owns
+     */
+    public WindInformation toWindInformation() {
+        return new WindInformation(windDirectionDegrees, windSpeedKnots, windGustKnots, windVariableDirection);
+    }
+
+    public Integer getWindDirectionDegrees() {
+        return windDirectionDegrees;
+    }
+
+    public Integer getWindSpeedKnots() {
+        return windSpeedKnots;
+    }
+
+    public Integer getWindGustKnots() {
+        return windGustKnots;
+    }
+
+    public String getWindVariableDirection() {
+        return windVariableDirection;
+    }
+
+    /**
+     * Checks if wind conditions are calm (typically < 3 knots)
+     */
+    public boolean isCalm() {
+        return windSpeedKnots == null || windSpeedKnots < 3;
+    }
+
+    /**
+     * Checks if there are wind gusts
+     */
+    public boolean hasGusts() {
+        return windGustKnots != null && windGustKnots > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WindValue)) {
+            return false;
+        }
+        WindValue that = (WindValue) o;
+        return hash == that.hash &&
+               Objects.equals(windDirectionDegrees, that.windDirectionDegrees) &&
+               Objects.equals(windSpeedKnots, that.windSpeedKnots) &&
+               Objects.equals(windGustKnots, that.windGustKnots) &&
+               Objects.equals(windVariableDirection, that.windVariableDirection);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return toWindInformation().toString();
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.parser;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.WeatherConditionsValue;
+import noakweather.noaa_api.model.WindInformation;
+import noakweather.noaa_api.model.WindValue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Decodes raw METAR/SPECI text into a NoaaMetarData.
+ *
+ * The report is read in a single pass with a ReportTokenizer. Each group is
+ * recognized from its shape in place, so no String[] split, regular
+ * expression or per-group substring is needed; Strings are only created for
+ * the values stored on the model (station, weather, sky, variable wind).
+ *
+ * Decoded groups:
+ * <ul>
+ *   <li>METAR/SPECI keyword, station, day/time, AUTO and COR</li>
+ *   <li>Wind, gusts and variable direction</li>
+ *   <li>Visibility, present weather and sky cover</li>
+ *   <li>Temperature/dewpoint and altimeter (A in inHg, Q in hPa)</li>
+ *   <li>Remarks: T-group precise temperatures and P/6 precipitation groups</li>
+ * </ul>
+ * The flight category is derived from the ceiling and visibility. Groups
+ * that are not recognized (runway visual range, trends...) are skipped.
+ *
+ * The parser holds no state and may be shared between threads.
+ *
+ * @author bclasky1539
+ *
+ */
+public class MetarParser {
+
+    private static final double INHG_PER_HECTOPASCAL = 0.02953;
+
+    /**
+     * Parses a METAR report, resolving its day/time group against the current UTC time.
+     *
+     * @param rawText The raw METAR text
+     * @return The decoded report
+     * @throws IllegalArgumentException if the text is null or blank
+     */
+    public NoaaMetarData parse(String rawText) {
+        return parse(rawText, LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Parses a METAR report.
+     *
+     * @param rawText The raw METAR text
+     * @param referenceTime A UTC time close to the observation, used to find
+     *                      the month and year of the day/time group
+     * @return The decoded report
+     * @throws IllegalArgumentException if the text is null or blank
+     */
+    public NoaaMetarData parse(String rawText, LocalDateTime referenceTime) {
+        NoaaMetarData metar = new NoaaMetarData(rawText, null, null);
+        decode(metar, referenceTime);
+        return metar;
+    }
+
+    /**
+     * Decodes the raw text of an existing report into its fields. A station
+     * or observation time that is already set is kept.
+     *
+     * @param metar The report whose raw text is decoded
+     * @param referenceTime A UTC time close to the observation, used to find
+     *                      the month and year of the day/time group
+     * @throws IllegalArgumentException if the report has no raw text
+     */
+    public void decode(NoaaMetarData metar, LocalDateTime referenceTime) {
+        String rawText = metar.getRawText();
+        if (rawText == null || rawText.isBlank()) {
+            throw new IllegalArgumentException("METAR text cannot be null or blank");
+        }
+
+        ReportTokenizer token = new ReportTokenizer(rawText);
+        WindInformation wind = new WindInformation();
+        double visibility = -1;
+        int ceilingFeet = ReportGroups.NO_CEILING;
+        StringBuilder weather = null;
+        StringBuilder sky = null;
+        boolean remarks = false;
+        boolean stationSeen = false;
+        boolean auto = false;
+
+        while (token.next()) {
+            if (remarks) {
+                decodeRemark(token, metar);
+                continue;
+            }
+
+            if (token.is("RMK")) {
+                remarks = true;
+            } else if (token.is("METAR") || token.is("SPECI")) {
+                metar.setMetarType(token.is("SPECI") ? "SPECI" : "METAR");
+            } else if (token.is("AUTO")) {
+                auto = true;
+            } else if (token.is("COR")) {
+                continue;
+            } else if (!stationSeen) {
+                stationSeen = true;
+                if (metar.getStationId() == null) {
+                    metar.setStationId(token.text());
+                }
+            } else if (ReportGroups.isDayTime(token)) {
+                if (metar.getObservationTime() == null && referenceTime != null) {
+                    metar.setObservationTime(ReportGroups.resolvePastDayTime(
+                            token.digits(0, 2), token.digits(2, 2), token.digits(4, 2), referenceTime));
+                }
+            } else if (ReportGroups.decodeWind(token, wind)) {
+                continue;
+            } else if (ReportGroups.isVariableWindDirection(token)) {
+                wind.setWindVariableDirection(token.text());
+            } else if (decodeTemperatures(token, metar)) {
+                continue;
+            } else if (decodeAltimeter(token, metar)) {
+                continue;
+            } else if (ReportGroups.isWeather(token)) {
+                weather = ReportGroups.appendGroup(weather, token);
+            } else {
+                int layerCeiling = ReportGroups.skyCeilingFeet(token);
+                if (layerCeiling != ReportGroups.NOT_SKY) {
+                    sky = ReportGroups.appendGroup(sky, token);
+                    ceilingFeet = Math.min(ceilingFeet, layerCeiling);
+                } else if (visibility < 0) {
+                    visibility = ReportGroups.decodeVisibility(token);
+                }
+            }
+        }
+
+        // The report gets its own beans; the shared values only let it share their strings
+        WeatherConditionsValue conditions = WeatherConditionsValue.of(
+                visibility < 0 ? null : visibility,
+                weather == null ? null : weather.toString(),
+                sky == null ? null : sky.toString());
+        metar.setWindInformation(WindValue.from(wind).toWindInformation());
+        metar.setWeatherConditions(conditions.toWeatherConditions());
+        metar.setIsAutoReport(auto);
+        metar.setFlightCategory(flightCategory(visibility, ceilingFeet));
+    }
+
+    /**
+     * Derives the flight category from the ceiling and visibility.
+     *
+     * @param visibilityMiles The visibility in statute miles, or a negative value if unknown
+     * @param ceilingFeet The lowest BKN/OVC/VV layer in feet, or NO_CEILING
+     * @return "LIFR", "IFR", "MVFR" or "VFR", or null if the visibility is unknown and there is no ceiling
+     */
+    static String flightCategory(double visibilityMiles, int ceilingFeet) {
+        boolean knownVisibility = visibilityMiles >= 0;
+        if (!knownVisibility && ceilingFeet == ReportGroups.NO_CEILING) {
+            return null;
+        }
+        if (ceilingFeet < 500 || (knownVisibility && visibilityMiles < 1)) {
+            return "LIFR";
+        }
+        if (ceilingFeet < 1000 || (knownVisibility && visibilityMiles < 3)) {
+            return "IFR";
+        }
+        if (ceilingFeet <= 3000 || (knownVisibility && visibilityMiles <= 5)) {
+            return "MVFR";
+        }
+        return "VFR";
+    }
+
+    /**
+     * Decodes a temperature/dewpoint group such as "22/12", "M05/M10" or "22/".
+     */
+    private static boolean decodeTemperatures(ReportTokenizer token, NoaaMetarData metar) {
+        int slash = token.indexOf('/', 0);
+        if (slash < 1 || slash > 3 || token.length() > 7) {
+            return false;
+        }
+        int temperature = signedTemperature(token, 0, slash);
+        if (temperature == Integer.MIN_VALUE) {
+            return false;
+        }
+        int dewpoint = slash + 1 < token.length()
+                ? signedTemperature(token, slash + 1, token.length())
+                : Integer.MIN_VALUE;
+        if (dewpoint == Integer.MIN_VALUE && slash + 1 < token.length()) {
+            return false;
+        }
+
+        metar.setTemperatureCelsius((double) temperature);
+        metar.setDewpointCelsius(dewpoint == Integer.MIN_VALUE ? null : (double) dewpoint);
+        return true;
+    }
+
+    /**
+     * Reads a temperature such as "22" or "M05".
+     *
+     * @return The temperature, or Integer.MIN_VALUE if the region is not a temperature
+     */
+    private static int signedTemperature(ReportTokenizer token, int from, int to) {
+        boolean negative = token.charAt(from) == 'M';
+        int digitsFrom = negative ? from + 1 : from;
+        int count = to - digitsFrom;
+        if (count != 2 || !token.isDigits(digitsFrom, count)) {
+            return Integer.MIN_VALUE;
+        }
+        int value = token.digits(digitsFrom, count);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes an altimeter group: "A3015" in hundredths of inHg or "Q1013" in hPa.
+     */
+    private static boolean decodeAltimeter(ReportTokenizer token, NoaaMetarData metar) {
+        if (token.length() != 5 || !token.isDigits(1, 4)) {
+            return false;
+        }
+        char unit = token.charAt(0);
+        if (unit == 'A') {
+            metar.setAltimeterInHg(token.digits(1, 4) / 100.0);
+            return true;
+        }
+        if (unit == 'Q') {
+            metar.setAltimeterInHg(Math.round(token.digits(1, 4) * INHG_PER_HECTOPASCAL * 100.0) / 100.0);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Decodes the remark groups this model keeps: "T01720133" precise
+     * temperatures, "P0002" hourly precipitation and "60012" 3/6-hour
+     * precipitation. The 6-group covers six hours in the 00, 06, 12 and 18 UTC
+     * reports and three hours otherwise.
+     */
+    private static void decodeRemark(ReportTokenizer token, NoaaMetarData metar) {
+        if (token.length() == 9 && token.charAt(0) == 'T' && token.isDigits(1, 8)) {
+            metar.setTemperatureCelsius(tenths(token, 1));
+            metar.setDewpointCelsius(tenths(token, 5));
+        } else if (token.length() == 5 && token.charAt(0) == 'P' && token.isDigits(1, 4)) {
+            metar.setPrecipitationLastHourInches(token.digits(1, 4) / 100.0);
+        } else if (token.length() == 5 && token.charAt(0) == '6' && token.isDigits(1, 4)) {
+            double inches = token.digits(1, 4) / 100.0;
+            LocalDateTime time = metar.getObservationTime();
+            if (time != null && isSynopticSixHour(time)) {
+                metar.setPrecipitationLast6HoursInches(inches);
+            } else {
+                metar.setPrecipitationLast3HoursInches(inches);
+            }
+        }
+    }
+
+    /**
+     * Reads a sign digit followed by three digits of tenths, e.g. "1033" as -3.3.
+     */
+    private static double tenths(ReportTokenizer token, int offset) {
+        double value = token.digits(offset + 1, 3) / 10.0;
+        // "1000" is plain zero, not -0.0
+        return token.charAt(offset) == '1' && value != 0 ? -value : value;
+    }
+
+    /**
+     * Checks whether an observation belongs to the 00, 06, 12 or 18 UTC report,
+     * which is issued up to an hour before the synoptic time.
+     */
+    private static boolean isSynopticSixHour(LocalDateTime time) {
+        int hour = time.getMinute() >= 30 ? time.getHour() + 1 : time.getHour();
+        return hour % 6 == 0;
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.parser;
+
+import noakweather.noaa_api.model.WindInformation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Decoders for the groups METAR and TAF reports have in common: wind,
+ * visibility, present weather and sky cover.
+ *
+ * Each decoder inspects the current token of a ReportTokenizer in place and
+ * either recognizes it (returning a value or true) or leaves it for the next
+ * decoder. None of them allocate unless a value has to be stored.
+ *
+ * @author bclasky1539
+ *
+ */
+final class ReportGroups {
+
+    /**
+     * Returned by skyCeilingFeet for sky groups that do not form a ceiling
+     */
+    static final int NO_CEILING = Integer.MAX_VALUE;
+
+    /**
+     * Returned by skyCeilingFeet for tokens that are not sky groups
+     */
+    static final int NOT_SKY = -1;
+
+    /**
+     * Visibility reported as CAVOK or 9999, i.e. 10 km or more
+     */
+    static final double TEN_KILOMETERS_MILES = 6.21;
+
+    private static final double METERS_PER_STATUTE_MILE = 1609.344;
+    private static final double KNOTS_PER_METER_PER_SECOND = 1.943844;
+    private static final double KNOTS_PER_KILOMETER_PER_HOUR = 0.539957;
+
+    /**
+     * Two-letter weather descriptor and phenomenon codes, indexed by
+     * (first - 'A') * 26 + (second - 'A')
+     */
+    private static final boolean[] WEATHER_CODES = new boolean[26 * 26];
+
+    static {
+        String[] codes = {
+            "MI", "PR", "BC", "DR", "BL", "SH", "TS", "FZ",
+            "DZ", "RA", "SN", "SG", "IC", "PL", "GR", "GS", "UP",
+            "BR", "FG", "FU", "VA", "DU", "SA", "HZ", "PY",
+            "PO", "SQ", "FC", "SS", "DS"
+        };
+        for (String code : codes) {
+            WEATHER_CODES[(code.charAt(0) - 'A') * 26 + (code.charAt(1) - 'A')] = true;
+        }
+    }
+
+    private ReportGroups() {
+        // Utility class
+    }
+
+    /**
+     * Decodes a wind group such as "28016KT", "28016G25KT", "VRB03KT",
+     * "00000KT" or "05008MPS" into the wind information. Speeds are stored
+     * in knots.
+     *
+     * @param token The tokenizer positioned on the group
+     * @param wind The wind information to fill in
+     * @return true if the token was a wind group
+     */
+    static boolean decodeWind(ReportTokenizer token, WindInformation wind) {
+        int unitLength;
+        double factor;
+        if (token.endsWith("KT")) {
+            unitLength = 2;
+            factor = 1.0;
+        } else if (token.endsWith("MPS")) {
+            unitLength = 3;
+            factor = KNOTS_PER_METER_PER_SECOND;
+        } else if (token.endsWith("KMH")) {
+            unitLength = 3;
+            factor = KNOTS_PER_KILOMETER_PER_HOUR;
+        } else {
+            return false;
+        }
+
+        int bodyEnd = token.length() - unitLength;
+        if (bodyEnd < 5) {
+            return false;
+        }
+
+        boolean variable = token.startsWith("VRB");
+        if (!variable && !token.isDigits(0, 3)) {
+            return false;
+        }
+
+        int gustIndex = token.indexOf('G', 3);
+        if (gustIndex > bodyEnd) {
+            gustIndex = -1;
+        }
+        int speedEnd = gustIndex > 0 ? gustIndex : bodyEnd;
+        int speedLength = speedEnd - 3;
+        if (speedLength < 2 || speedLength > 3 || !token.isDigits(3, speedLength)) {
+            return false;
+        }
+
+        int gust = -1;
+        if (gustIndex > 0) {
+            int gustLength = bodyEnd - gustIndex - 1;
+            if (gustLength < 2 || gustLength > 3 || !token.isDigits(gustIndex + 1, gustLength)) {
+                return false;
+            }
+            gust = token.digits(gustIndex + 1, gustLength);
+        }
+
+        wind.setWindDirectionDegrees(variable ? null : token.digits(0, 3));
+        wind.setWindSpeedKnots(toKnots(token.digits(3, speedLength), factor));
+        wind.setWindGustKnots(gust < 0 ? null : toKnots(gust, factor));
+        return true;
+    }
+
+    /**
+     * Checks for a variable wind direction group such as "240V300".
+     *
+     * @param token The tokenizer positioned on the group
+     * @return true if the token is a variable wind direction group
+     */
+    static boolean isVariableWindDirection(ReportTokenizer token) {
+        return token.length() == 7 && token.isDigits(0, 3) && token.charAt(3) == 'V' && token.isDigits(4, 3);
+    }
+
+    /**
+     * Decodes a visibility group: statute miles ("10SM", "1/2SM", "M1/4SM",
+     * "P6SM"), meters ("0800", "9999") or "CAVOK". A whole number followed by
+     * a fraction ("1 1/2SM") is read as one value; when the next token is not
+     * a fraction the tokenizer is left where it was.
+     *
+     * @param token The tokenizer positioned on the group
+     * @return The visibility in statute miles, or a negative value if the token is not a visibility group
+     */
+    static double decodeVisibility(ReportTokenizer token) {
+        if (token.is("CAVOK")) {
+            return TEN_KILOMETERS_MILES;
+        }
+
+        if (token.endsWith("SM")) {
+            return statuteMiles(token, 0, token.length() - 2);
+        }
+
+        int length = token.length();
+        if ((length == 4 || (length == 7 && token.endsWith("NDV"))) && token.isDigits(0, 4)) {
+            int meters = token.digits(0, 4);
+            return meters == 9999 ? TEN_KILOMETERS_MILES : round2(meters / METERS_PER_STATUTE_MILE);
+        }
+
+        if (length <= 2 && token.isDigits(0, length)) {
+            int whole = token.digits(0, length);
+            token.mark();
+            if (token.next() && token.endsWith("SM") && token.indexOf('/', 0) > 0) {
+                double fraction = statuteMiles(token, 0, token.length() - 2);
+                if (fraction >= 0) {
+                    return whole + fraction;
+                }
+            }
+            token.reset();
+        }
+        return -1;
+    }
+
+    /**
+     * Checks for a present weather group such as "-RA", "+TSRA", "VCSH",
+     * "FZFG" or "BR": an optional intensity or proximity prefix followed by
+     * one or more two-letter descriptor and phenomenon codes.
+     *
+     * @param token The tokenizer positioned on the group
+     * @return true if the token is a present weather group
+     */
+    static boolean isWeather(ReportTokenizer token) {
+        int offset = 0;
+        char first = token.length() > 0 ? token.charAt(0) : ' ';
+        if (first == '+' || first == '-') {
+            offset = 1;
+        } else if (token.startsWith("VC")) {
+            offset = 2;
+        }
+
+        int remaining = token.length() - offset;
+        if (remaining < 2 || remaining % 2 != 0) {
+            return false;
+        }
+        for (int i = offset; i < token.length(); i += 2) {
+            if (!isWeatherCode(token.charAt(i), token.charAt(i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a sky condition group such as "FEW250", "BKN012CB", "OVC008",
+     * "VV002", "SKC", "CLR", "NSC" or "NCD".
+     *
+     * @param token The tokenizer positioned on the group
+     * @return The ceiling height in feet for BKN, OVC and VV groups,
+     *         NO_CEILING for other sky groups, or NOT_SKY if the token is not a sky group
+     */
+    static int skyCeilingFeet(ReportTokenizer token) {
+        if (token.is("SKC") || token.is("CLR") || token.is("NSC") || token.is("NCD")) {
+            return NO_CEILING;
+        }
+
+        int coverLength;
+        boolean ceiling;
+        if (token.startsWith("FEW") || token.startsWith("SCT")) {
+            coverLength = 3;
+            ceiling = false;
+        } else if (token.startsWith("BKN") || token.startsWith("OVC")) {
+            coverLength = 3;
+            ceiling = true;
+        } else if (token.startsWith("VV")) {
+            coverLength = 2;
+            ceiling = true;
+        } else {
+            return NOT_SKY;
+        }
+
+        if (token.length() < coverLength + 3) {
+            return NOT_SKY;
+        }
+        if (token.isDigits(coverLength, 3)) {
+            return ceiling ? token.digits(coverLength, 3) * 100 : NO_CEILING;
+        }
+        boolean unknownHeight = token.charAt(coverLength) == '/'
+                && token.charAt(coverLength + 1) == '/' && token.charAt(coverLength + 2) == '/';
+        return unknownHeight ? NO_CEILING : NOT_SKY;
+    }
+
+    /**
+     * Appends a token to a space-separated group list.
+     *
+     * @param builder The list being built, or null if it has not been started
+     * @param token The tokenizer positioned on the group
+     * @return The builder holding the list
+     */
+    static StringBuilder appendGroup(StringBuilder builder, ReportTokenizer token) {
+        if (builder == null) {
+            builder = new StringBuilder(32);
+        } else if (builder.length() > 0) {
+            builder.append(' ');
+        }
+        return token.appendTo(builder);
+    }
+
+    /**
+     * Resolves a day-of-month and time to the latest matching moment at or
+     * shortly after the reference time. Reports carry only the day, so a day
+     * later than the day after the reference belongs to the previous month;
+     * the day after the reference may fall in the next month.
+     *
+     * @param day The day of month
+     * @param hour The hour (0-23)
+     * @param minute The minute (0-59)
+     * @param reference The time the report is known to be close to
+     * @return The resolved time, or null if the fields cannot form a date
+     */
+    static LocalDateTime resolvePastDayTime(int day, int hour, int minute, LocalDateTime reference) {
+        if (day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return null;
+        }
+        // A report may be up to a day ahead of the reference clock
+        LocalDate latest = reference.toLocalDate().plusDays(1);
+        YearMonth month = YearMonth.from(latest);
+        if (day > latest.getDayOfMonth()) {
+            month = month.minusMonths(1);
+        }
+        if (day > month.lengthOfMonth()) {
+            return null;
+        }
+        return month.atDay(day).atTime(hour, minute);
+    }
+
+    /**
+     * Resolves a day-of-month and time to the first matching moment at or
+     * after the anchor, as used by forecast periods. A day earlier than the
+     * anchor day belongs to the next month, and hour 24 is midnight at the
+     * end of the day.
+     *
+     * @param day The day of month
+     * @param hour The hour (0-24)
+     * @param minute The minute (0-59)
+     * @param anchor The time the forecast period starts from
+     * @return The resolved time, or null if the fields cannot form a date
+     */
+    static LocalDateTime resolveForwardDayTime(int day, int hour, int minute, LocalDateTime anchor) {
+        if (day < 1 || day > 31 || hour < 0 || hour > 24 || minute < 0 || minute > 59) {
+            return null;
+        }
+        YearMonth month = YearMonth.from(anchor);
+        if (day < anchor.getDayOfMonth() - 1) {
+            month = month.plusMonths(1);
+        }
+        if (day > month.lengthOfMonth()) {
+            return null;
+        }
+        LocalDateTime midnight = month.atDay(day).atStartOfDay();
+        return hour == 24
+                ? midnight.plusDays(1).plusMinutes(minute)
+                : midnight.withHour(hour).withMinute(minute);
+    }
+
+    /**
+     * Checks for a day/time group such as "141151Z".
+     *
+     * @param token The tokenizer positioned on the group
+     * @return true if the token is a day/time group
+     */
+    static boolean isDayTime(ReportTokenizer token) {
+        return token.length() == 7 && token.charAt(6) == 'Z' && token.isDigits(0, 6);
+    }
+
+    private static double statuteMiles(ReportTokenizer token, int from, int to) {
+        if (from < to && (token.charAt(from) == 'M' || token.charAt(from) == 'P')) {
+            from++;
+        }
+        int slash = token.indexOf('/', from);
+        if (slash < 0 || slash >= to) {
+            int length = to - from;
+            return length > 0 && length <= 2 && token.isDigits(from, length) ? token.digits(from, length) : -1;
+        }
+
+        int numeratorLength = slash - from;
+        int denominatorLength = to - slash - 1;
+        if (numeratorLength < 1 || numeratorLength > 2 || denominatorLength < 1 || denominatorLength > 2
+                || !token.isDigits(from, numeratorLength) || !token.isDigits(slash + 1, denominatorLength)) {
+            return -1;
+        }
+        int denominator = token.digits(slash + 1, denominatorLength);
+        return denominator == 0 ? -1 : (double) token.digits(from, numeratorLength) / denominator;
+    }
+
+    private static boolean isWeatherCode(char first, char second) {
+        return first >= 'A' && first <= 'Z' && second >= 'A' && second <= 'Z'
+                && WEATHER_CODES[(first - 'A') * 26 + (second - 'A')];
+    }
+
+    private static Integer toKnots(int speed, double factor) {
+        return factor == 1.0 ? speed : (int) Math.round(speed * factor);
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.parser;
+
+/**
+ * Single-pass, index-based tokenizer over the raw text of a weather report.
+ *
+ * Tokens are the whitespace-separated groups of the report (e.g. "28016KT",
+ * "FEW250"). Rather than splitting the text into a String[] this tokenizer
+ * only moves a pair of indexes along the original CharSequence, and every
+ * inspection method (is, startsWith, digits...) reads characters in place.
+ * A String is only created when a caller explicitly asks for the token text.
+ *
+ * A trailing "=" report terminator is not part of the token.
+ *
+ * Instances are cheap, stateful and not thread-safe; use one per report.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class ReportTokenizer {
+
+    private final CharSequence text;
+    private final int limit;
+    private int position;
+    private int start;
+    private int end;
+
+    private int markPosition;
+    private int markStart;
+    private int markEnd;
+
+    /**
+     * Creates a tokenizer over the whole text.
+     *
+     * @param text The raw report text
+     */
+    public ReportTokenizer(CharSequence text) {
+        this(text, 0, text.length());
+    }
+
+    /**
+     * Creates a tokenizer over a region of the text.
+     *
+     * @param text The raw text
+     * @param from The index of the first character of the region
+     * @param to The index after the last character of the region
+     */
+    public ReportTokenizer(CharSequence text, int from, int to) {
+        this.text = text;
+        this.limit = to;
+        this.position = from;
+        this.start = from;
+        this.end = from;
+    }
+
+    /**
+     * Advances to the next token.
+     *
+     * @return true if a token is available, false at the end of the text
+     */
+    public boolean next() {
+        int i = position;
+        while (true) {
+            while (i < limit && isSeparator(text.charAt(i))) {
+                i++;
+            }
+            if (i >= limit) {
+                position = limit;
+                start = limit;
+                end = limit;
+                return false;
+            }
+
+            int j = i;
+            while (j < limit && !isSeparator(text.charAt(j))) {
+                j++;
+            }
+            position = j;
+
+            int tokenEnd = j;
+            while (tokenEnd > i && text.charAt(tokenEnd - 1) == '=') {
+                tokenEnd--;
+            }
+            if (tokenEnd > i) {
+                start = i;
+                end = tokenEnd;
+                return true;
+            }
+            i = j;
+        }
+    }
+
+    /**
+     * Remembers the current position so that a lookahead can be undone.
+     */
+    public void mark() {
+        markPosition = position;
+        markStart = start;
+        markEnd = end;
+    }
+
+    /**
+     * Returns to the position saved by the last call to mark().
+     */
+    public void reset() {
+        position = markPosition;
+        start = markStart;
+        end = markEnd;
+    }
+
+    /**
+     * @return The index of the current token's first character in the text
+     */
+    public int start() {
+        return start;
+    }
+
+    /**
+     * @return The index after the current token's last character in the text
+     */
+    public int end() {
+        return end;
+    }
+
+    /**
+     * @return The length of the current token
+     */
+    public int length() {
+        return end - start;
+    }
+
+    /**
+     * @return The text being tokenized
+     */
+    public CharSequence source() {
+        return text;
+    }
+
+    /**
+     * Gets a character of the current token.
+     *
+     * @param index The index within the token
+     * @return The character
+     */
+    public char charAt(int index) {
+        return text.charAt(start + index);
+    }
+
+    /**
+     * Checks whether the current token equals the literal.
+     *
+     * @param literal The literal to compare with
+     * @return true if the token and the literal hold the same characters
+     */
+    public boolean is(String literal) {
+        return length() == literal.length() && regionMatches(0, literal);
+    }
+
+    /**
+     * Checks whether the current token starts with the literal.
+     *
+     * @param literal The prefix
+     * @return true if the token starts with the prefix
+     */
+    public boolean startsWith(String literal) {
+        return length() >= literal.length() && regionMatches(0, literal);
+    }
+
+    /**
+     * Checks whether the current token ends with the literal.
+     *
+     * @param literal The suffix
+     * @return true if the token ends with the suffix
+     */
+    public boolean endsWith(String literal) {
+        return length() >= literal.length() && regionMatches(length() - literal.length(), literal);
+    }
+
+    /**
+     * Finds the first occurrence of a character in the current token.
+     *
+     * @param c The character to look for
+     * @param fromIndex The index within the token to start from
+     * @return The index within the token, or -1 if absent
+     */
+    public int indexOf(char c, int fromIndex) {
+        for (int i = start + fromIndex; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i - start;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a region of the current token holds only digits.
+     *
+     * @param offset The index within the token
+     * @param count The number of characters
+     * @return true if the region lies within the token and holds only digits
+     */
+    public boolean isDigits(int offset, int count) {
+        if (offset < 0 || count <= 0 || offset + count > length()) {
+            return false;
+        }
+        for (int i = start + offset; i < start + offset + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a region of the current token as a non-negative decimal number.
+     *
+     * @param offset The index within the token
+     * @param count The number of digits
+     * @return The number, or -1 if the region is not all digits
+     */
+    public int digits(int offset, int count) {
+        if (!isDigits(offset, count)) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start + offset; i < start + offset + count; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Appends the current token to a builder without creating a String.
+     *
+     * @param builder The builder to append to
+     * @return The builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return builder.append(text, start, end);
+    }
+
+    /**
+     * Creates a String holding the current token. Use only for values that
+     * are kept, such as stored model fields.
+     *
+     * @return The token text
+     */
+    public String text() {
+        return text.subSequence(start, end).toString();
+    }
+
+    @Override
+    public String toString() {
+        return text();
+    }
+
+    private boolean regionMatches(int offset, String literal) {
+        int base = start + offset;
+        for (int i = 0; i < literal.length(); i++) {
+            if (text.charAt(base + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.parser;
+
+import noakweather.noaa_api.model.NoaaTafData;
+import noakweather.noaa_api.model.NoaaTafData.TafChangeGroup;
+import noakweather.noaa_api.model.WeatherConditions;
+import noakweather.noaa_api.model.WeatherConditionsValue;
+import noakweather.noaa_api.model.WindInformation;
+import noakweather.noaa_api.model.WindValue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes raw TAF text into a NoaaTafData.
+ *
+ * Like MetarParser, the forecast is read in a single pass with a
+ * ReportTokenizer and groups are recognized in place. The header supplies
+ * the station, issue time and validity period; the groups that follow form
+ * the base forecast until the first change group, and each FM, BECMG, TEMPO
+ * or PROBxx keyword starts a new TafChangeGroup.
+ *
+ * Forecast periods only carry day-of-month and hour, so every time is
+ * resolved forward from the one before it: the validity from the issue time
+ * and the change groups from the start of validity. A day earlier than its
+ * anchor rolls over into the next month, and hour 24 is the following
+ * midnight. FM groups last until the next FM group or the end of validity.
+ *
+ * The parser holds no state and may be shared between threads.
+ *
+ * @author bclasky1539
+ *
+ */
+public class TafParser {
+
+    private static final String FROM = "FM";
+    private static final String BECOMING = "BECMG";
+    private static final String TEMPORARY = "TEMPO";
+    private static final String PROB30 = "PROB30";
+    private static final String PROB40 = "PROB40";
+    private static final String PROB30_TEMPO = "PROB30 TEMPO";
+    private static final String PROB40_TEMPO = "PROB40 TEMPO";
+
+    /**
+     * Parses a TAF, resolving its times against the current UTC time.
+     *
+     * @param rawText The raw TAF text
+     * @return The decoded forecast
+     * @throws IllegalArgumentException if the text is null or blank
+     */
+    public NoaaTafData parse(String rawText) {
+        return parse(rawText, LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Parses a TAF.
+     *
+     * @param rawText The raw TAF text
+     * @param referenceTime A UTC time close to the issue time, used to find
+     *                      the month and year of the issue time group
+     * @return The decoded forecast
+     * @throws IllegalArgumentException if the text is null or blank
+     */
+    public NoaaTafData parse(String rawText, LocalDateTime referenceTime) {
+        NoaaTafData taf = new NoaaTafData(rawText, null, null);
+        decode(taf, referenceTime);
+        return taf;
+    }
+
+    /**
+     * Decodes the raw text of an existing forecast into its fields. A station
+     * that is already set is kept, and the observation time is set to the
+     * issue time when it is missing.
+     *
+     * @param taf The forecast whose raw text is decoded
+     * @param referenceTime A UTC time close to the issue time, used to find
+     *                      the month and year of the issue time group
+     * @throws IllegalArgumentException if the forecast has no raw text
+     */
+    public void decode(NoaaTafData taf, LocalDateTime referenceTime) {
+        String rawText = taf.getRawText();
+        if (rawText == null || rawText.isBlank()) {
+            throw new IllegalArgumentException("TAF text cannot be null or blank");
+        }
+
+        ReportTokenizer token = new ReportTokenizer(rawText);
+        Section section = new Section(rawText);
+        List<TafChangeGroup> groups = new ArrayList<>();
+        TafChangeGroup group = null;
+        TafChangeGroup lastFrom = null;
+        LocalDateTime anchor = referenceTime;
+        boolean header = true;
+        boolean stationSeen = false;
+
+        while (token.next()) {
+            if (header) {
+                if (token.is("TAF")) {
+                    continue;
+                } else if (token.is("AMD")) {
+                    taf.setTafType("TAF AMD");
+                    taf.setIsAmended(true);
+                    continue;
+                } else if (token.is("COR")) {
+                    taf.setTafType("TAF COR");
+                    taf.setIsCorrected(true);
+                    continue;
+                } else if (!stationSeen) {
+                    stationSeen = true;
+                    if (taf.getStationId() == null) {
+                        taf.setStationId(token.text());
+                    }
+                    continue;
+                } else if (ReportGroups.isDayTime(token)) {
+                    LocalDateTime issueTime = ReportGroups.resolvePastDayTime(
+                            token.digits(0, 2), token.digits(2, 2), token.digits(4, 2), referenceTime);
+                    taf.setIssueTime(issueTime);
+                    if (issueTime != null) {
+                        anchor = issueTime;
+                    }
+                    continue;
+                } else if (isPeriod(token)) {
+                    LocalDateTime from = periodStart(token, anchor);
+                    LocalDateTime to = periodEnd(token, from != null ? from : anchor);
+                    taf.setValidFromTime(from);
+                    taf.setValidToTime(to);
+                    if (from != null) {
+                        anchor = from;
+                    }
+                    header = false;
+                    continue;
+                }
+                header = false;
+            }
+
+            if (token.is("RMK")) {
+                break;
+            }
+
+            if (isFromGroup(token)) {
+                finish(section, group, taf);
+                group = new TafChangeGroup(FROM, null);
+                LocalDateTime from = ReportGroups.resolveForwardDayTime(
+                        token.digits(2, 2), token.digits(4, 2), token.digits(6, 2), anchor);
+                group.setChangeTimeFrom(from);
+                if (lastFrom != null) {
+                    lastFrom.setChangeTimeTo(from);
+                }
+                lastFrom = group;
+                groups.add(group);
+                section.start(token);
+            } else if (token.is(TEMPORARY) && group != null && isProbability(group) && !section.hasPeriod) {
+                group.setChangeType(PROB40.equals(group.getChangeType()) ? PROB40_TEMPO : PROB30_TEMPO);
+                section.extend(token);
+            } else if (token.is(BECOMING) || token.is(TEMPORARY) || token.is(PROB30) || token.is(PROB40)) {
+                finish(section, group, taf);
+                group = new TafChangeGroup(changeType(token), null);
+                groups.add(group);
+                section.start(token);
+            } else if (group != null && !section.hasPeriod && !FROM.equals(group.getChangeType())
+                    && isPeriod(token)) {
+                LocalDateTime from = periodStart(token, anchor);
+                group.setChangeTimeFrom(from);
+                group.setChangeTimeTo(periodEnd(token, from != null ? from : anchor));
+                section.hasPeriod = true;
+                section.extend(token);
+            } else {
+                section.decode(token);
+            }
+        }
+
+        finish(section, group, taf);
+        if (lastFrom != null) {
+            lastFrom.setChangeTimeTo(taf.getValidToTime());
+        }
+        taf.setChangeGroups(groups);
+        if (taf.getObservationTime() == null) {
+            taf.setObservationTime(taf.getIssueTime());
+        }
+    }
+
+    /**
+     * Stores the conditions collected for the current section on the base
+     * forecast or on its change group.
+     */
+    private static void finish(Section section, TafChangeGroup group, NoaaTafData taf) {
+        if (!section.started) {
+            return;
+        }
+        if (group == null) {
+            taf.setBaseForecastText(section.text());
+            taf.setBaseWindInformation(WindValue.from(section.wind).toWindInformation());
+            taf.setBaseWeatherConditions(section.conditions());
+        } else {
+            group.setChangeText(section.text());
+            group.setWindInformation(WindValue.from(section.wind).toWindInformation());
+            group.setWeatherConditions(section.conditions());
+        }
+        section.clear();
+    }
+
+    /**
+     * Checks for a forecast period group such as "1412/1512".
+     */
+    private static boolean isPeriod(ReportTokenizer token) {
+        return token.length() == 9 && token.charAt(4) == '/' && token.isDigits(0, 4) && token.isDigits(5, 4);
+    }
+
+    private static LocalDateTime periodStart(ReportTokenizer token, LocalDateTime anchor) {
+        return ReportGroups.resolveForwardDayTime(token.digits(0, 2), token.digits(2, 2), 0, anchor);
+    }
+
+    private static LocalDateTime periodEnd(ReportTokenizer token, LocalDateTime anchor) {
+        return ReportGroups.resolveForwardDayTime(token.digits(5, 2), token.digits(7, 2), 0, anchor);
+    }
+
+    /**
+     * Checks for a from group such as "FM141600".
+     */
+    private static boolean isFromGroup(ReportTokenizer token) {
+        return token.length() == 8 && token.startsWith(FROM) && token.isDigits(2, 6);
+    }
+
+    private static boolean isProbability(TafChangeGroup group) {
+        return PROB30.equals(group.getChangeType()) || PROB40.equals(group.getChangeType());
+    }
+
+    private static String changeType(ReportTokenizer token) {
+        if (token.is(BECOMING)) {
+            return BECOMING;
+        }
+        if (token.is(TEMPORARY)) {
+            return TEMPORARY;
+        }
+        return token.is(PROB40) ? PROB40 : PROB30;
+    }
+
+    /**
+     * Conditions and text collected for the base forecast or one change
+     * group. The text is kept as a range of the raw report and only copied,
+     * with its whitespace collapsed, when the section is finished.
+     */
+    private static final class Section {
+        private final String rawText;
+        // Only copies are handed out, so this one is reused
+        private final WindInformation wind = new WindInformation();
+        private double visibility = -1;
+        private StringBuilder weather;
+        private StringBuilder sky;
+        private int textStart = -1;
+        private int textEnd = -1;
+        private boolean started;
+        private boolean hasPeriod;
+
+        Section(String rawText) {
+            this.rawText = rawText;
+        }
+
+        void start(ReportTokenizer token) {
+            started = true;
+            textStart = token.start();
+            textEnd = token.end();
+        }
+
+        void extend(ReportTokenizer token) {
+            if (!started) {
+                start(token);
+            }
+            textEnd = token.end();
+        }
+
+        void decode(ReportTokenizer token) {
+            extend(token);
+            if (!ReportGroups.decodeWind(token, wind)) {
+                if (ReportGroups.isVariableWindDirection(token)) {
+                    wind.setWindVariableDirection(token.text());
+                } else if (token.is("NSW") || ReportGroups.isWeather(token)) {
+                    weather = ReportGroups.appendGroup(weather, token);
+                } else if (ReportGroups.skyCeilingFeet(token) != ReportGroups.NOT_SKY) {
+                    sky = ReportGroups.appendGroup(sky, token);
+                } else if (visibility < 0) {
+                    visibility = ReportGroups.decodeVisibility(token);
+                }
+            }
+            // a split visibility such as "1 1/2SM" may have consumed the next token
+            textEnd = token.end();
+        }
+
+        WeatherConditions conditions() {
+            return WeatherConditionsValue.of(
+                    visibility < 0 ? null : visibility,
+                    weather == null ? null : weather.toString(),
+                    sky == null ? null : sky.toString()).toWeatherConditions();
+        }
+
+        String text() {
+            StringBuilder builder = new StringBuilder(textEnd - textStart);
+            boolean space = false;
+            for (int i = textStart; i < textEnd; i++) {
+                char c = rawText.charAt(i);
+                if (c <= ' ') {
+                    space = true;
+                } else {
+                    if (space && builder.length() > 0) {
+                        builder.append(' ');
+                    }
+                    space = false;
+                    builder.append(c);
+                }
+            }
+            return builder.toString();
+        }
+
+        void clear() {
+            wind.setWindDirectionDegrees(null);
+            wind.setWindSpeedKnots(null);
+            wind.setWindGustKnots(null);
+            wind.setWindVariableDirection(null);
+            visibility = -1;
+            weather = null;
+            sky = null;
+            started = false;
+            hasPeriod = false;
+            textStart = -1;
+            textEnd = -1;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.NoaaTafData;
+import noakweather.noaa_api.model.StationCode;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous service interface for weather data operations.
+ *
+ * This is the non-blocking counterpart of WeatherService. Instead of waiting
+ * for each report, callers receive a CompletableFuture straight away, so a
+ * dashboard can fan out to hundreds of stations without holding a thread per
+ * station while the requests are in flight.
+ *
+ * Failures never surface as thrown exceptions from these methods. The returned
+ * future completes exceptionally with a WeatherServiceException instead
+ * (wrapped in a CompletionException when observed through join()).
+ *
+ * @author bclasky1539
+ *
+ */
+public interface AsyncWeatherService {
+    /**
+     * Retrieves the raw METAR report for the specified station.
+     *
+     * @param stationCode The ICAO airport code (e.g., "KJFK", "KCLT")
+     * @return A future holding the raw METAR data as a string
+     */
+    CompletableFuture<String> getMetarDataAsync(String stationCode);
+
+    /**
+     * Retrieves the raw TAF report for the specified station.
+     *
+     * @param stationCode The ICAO airport code (e.g., "KJFK", "KCLT")
+     * @return A future holding the raw TAF data as a string
+     */
+    CompletableFuture<String> getTafDataAsync(String stationCode);
+
+    /**
+     * Retrieves the METAR report for the specified station as a data model.
+     *
+     * @param stationCode The ICAO airport code (e.g., "KJFK", "KCLT")
+     * @return A future holding the METAR report
+     */
+    CompletableFuture<NoaaMetarData> getMetarReportAsync(String stationCode);
+
+    /**
+     * Retrieves the TAF report for the specified station as a data model.
+     *
+     * @param stationCode The ICAO airport code (e.g., "KJFK", "KCLT")
+     * @return A future holding the TAF report
+     */
+    CompletableFuture<NoaaTafData> getTafReportAsync(String stationCode);
+
+    /**
+     * Retrieves the raw METAR report for an already validated station code.
+     *
+     * @param station The station code
+     * @return A future holding the raw METAR data as a string
+     */
+    default CompletableFuture<String> getMetarDataAsync(StationCode station) {
+        return getMetarDataAsync(station != null ? station.getCode() : null);
+    }
+
+    /**
+     * Retrieves the raw TAF report for an already validated station code.
+     *
+     * @param station The station code
+     * @return A future holding the raw TAF data as a string
+     */
+    default CompletableFuture<String> getTafDataAsync(StationCode station) {
+        return getTafDataAsync(station != null ? station.getCode() : null);
+    }
+
+    /**
+     * Retrieves the METAR report for an already validated station code as a data model.
+     *
+     * @param station The station code
+     * @return A future holding the METAR report
+     */
+    default CompletableFuture<NoaaMetarData> getMetarReportAsync(StationCode station) {
+        return getMetarReportAsync(station != null ? station.getCode() : null);
+    }
+
+    /**
+     * Retrieves the TAF report for an already validated station code as a data model.
+     *
+     * @param station The station code
+     * @return A future holding the TAF report
+     */
+    default CompletableFuture<NoaaTafData> getTafReportAsync(StationCode station) {
+        return getTafReportAsync(station != null ? station.getCode() : null);
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.config.WeatherConfigurationService;
+import noakweather.noaa_api.client.ConditionalResponse;
+import noakweather.noaa_api.client.NoaaHttpClient;
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.NoaaTafData;
+import noakweather.noaa_api.model.StationCode;
+import noakweather.noaa_api.parser.MetarParser;
+import noakweather.noaa_api.parser.TafParser;
+import noakweather.service.StationFileCache.StationFile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Implementation of the AsyncWeatherService interface.
+ *
+ * Station files are requested with the non-blocking
+ * NoaaHttpClient.fetchConditionalAsync, so no thread waits on the network.
+ * Post-processing of each response runs on a bounded pool owned by this
+ * service, and every call is limited by a per-call timeout. URL building
+ * and station validation are shared with WeatherServiceImpl so both
+ * services always agree on where reports live.
+ *
+ * When the server answers 304 Not Modified, the parsed report decoded for
+ * the unchanged file is returned again without re-parsing; callers of
+ * getMetarReportAsync and getTafReportAsync may therefore receive the same
+ * instance more than once and should treat it as read-only. Concurrent
+ * calls for the same station and report type are collapsed into a single
+ * fetch and parse, shared with the WeatherServiceImpl behind this service.
+ *
+ * The service owns its worker threads; call close() when it is no longer needed.
+ *
+ * @author bclasky1539
+ */
+public class AsyncWeatherServiceImpl implements AsyncWeatherService, AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(AsyncWeatherServiceImpl.class);
+
+    /**
+     * Default number of worker threads processing responses
+     */
+    public static final int DEFAULT_MAX_THREADS = 4;
+
+    /**
+     * Default number of responses allowed to wait for a worker thread
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    /**
+     * Default time allowed for one call, from request to parsed result
+     */
+    public static final Duration DEFAULT_CALL_TIMEOUT = Duration.ofSeconds(20);
+
+    private final WeatherServiceImpl stationService;
+    private final MetarParser metarParser = new MetarParser();
+    private final TafParser tafParser = new TafParser();
+    private final ThreadPoolExecutor executor;
+    private final Duration callTimeout;
+
+    /**
+     * Creates a new AsyncWeatherServiceImpl with the default pool size and timeout.
+     *
+     * @param configService The configuration service for accessing weather-related settings
+     */
+    public AsyncWeatherServiceImpl(WeatherConfigurationService configService) {
+        this(configService, NoaaHttpClient.getSharedInstance(), DEFAULT_MAX_THREADS, DEFAULT_CALL_TIMEOUT);
+    }
+
+    /**
+     * Creates a new AsyncWeatherServiceImpl.
+     *
+     * @param configService The configuration service for accessing weather-related settings
+     * @param httpClient The HTTP client used to fetch the station files
+     * @param maxThreads The number of worker threads processing responses
+     * @param callTimeout The maximum time for one call before it fails with NETWORK_ERROR
+     */
+    public AsyncWeatherServiceImpl(WeatherConfigurationService configService, NoaaHttpClient httpClient,
+                                   int maxThreads, Duration callTimeout) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads must be at least 1");
+        }
+        this.stationService = new WeatherServiceImpl(configService, httpClient);
+        this.callTimeout = callTimeout;
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY), new WorkerThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+        LOGGER.debug("AsyncWeatherServiceImpl initialized with {} worker threads", maxThreads);
+    }
+
+    @Override
+    public CompletableFuture<String> getMetarDataAsync(String stationCode) {
+        StationCode station = StationCode.tryParse(stationCode);
+        return station != null ? getMetarDataAsync(station) : invalidStation(stationCode);
+    }
+
+    @Override
+    public CompletableFuture<String> getMetarDataAsync(StationCode station) {
+        return fetchStationFileAsync(station, stationService::buildMetarUrl).thenApply(StationFile::getReport);
+    }
+
+    @Override
+    public CompletableFuture<String> getTafDataAsync(String stationCode) {
+        StationCode station = StationCode.tryParse(stationCode);
+        return station != null ? getTafDataAsync(station) : invalidStation(stationCode);
+    }
+
+    @Override
+    public CompletableFuture<String> getTafDataAsync(StationCode station) {
+        return fetchStationFileAsync(station, stationService::buildTafUrl).thenApply(StationFile::getReport);
+    }
+
+    @Override
+    public CompletableFuture<NoaaMetarData> getMetarReportAsync(String stationCode) {
+        StationCode station = StationCode.tryParse(stationCode);
+        return station != null ? getMetarReportAsync(station) : invalidStation(stationCode);
+    }
+
+    @Override
+    public CompletableFuture<NoaaMetarData> getMetarReportAsync(StationCode station) {
+        return fetchStationFileAsync(station, stationService::buildMetarUrl)
+                .thenApply(file -> file.getMetar(report -> {
+                    NoaaMetarData metar = new NoaaMetarData(report, station.getCode(), null);
+                    metarParser.decode(metar, LocalDateTime.now(ZoneOffset.UTC));
+                    return metar;
+                }));
+    }
+
+    @Override
+    public CompletableFuture<NoaaTafData> getTafReportAsync(String stationCode) {
+        StationCode station = StationCode.tryParse(stationCode);
+        return station != null ? getTafReportAsync(station) : invalidStation(stationCode);
+    }
+
+    @Override
+    public CompletableFuture<NoaaTafData> getTafReportAsync(StationCode station) {
+        return fetchStationFileAsync(station, stationService::buildTafUrl)
+                .thenApply(file -> file.getTaf(report -> {
+                    NoaaTafData taf = new NoaaTafData(report, station.getCode(), null);
+                    tafParser.decode(taf, LocalDateTime.now(ZoneOffset.UTC));
+                    return taf;
+                }));
+    }
+
+    /**
+     * Gets the circuit breaker guarding the upstream fetches, shared with the
+     * WeatherServiceImpl behind this service.
+     *
+     * @return The circuit breaker, whose state and counters can be inspected
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return stationService.getCircuitBreaker();
+    }
+
+    /**
+     * Stops the worker threads. Calls still in flight complete normally:
+     * once the pool is shut down, a response arriving late is processed on
+     * the thread that received it instead.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Fetches a station file asynchronously and conditionally, reusing the
+     * remembered version when the server reports it unchanged. Calls for a
+     * file already being fetched share that fetch. The per-call timeout
+     * starts with each call, so it also covers waiting for a worker thread
+     * and waiting on a fetch started by an earlier call.
+     *
+     * @param station The station code
+     * @param urlBuilder Builds the station file URL from the normalized station code
+     * @return A future holding the current version of the file
+     */
+    private CompletableFuture<StationFile> fetchStationFileAsync(StationCode station,
+                                                                 Function<String, String> urlBuilder) {
+        if (station == null) {
+            return invalidStation(null);
+        }
+
+        String normalizedStation = station.getCode();
+        String url = urlBuilder.apply(normalizedStation);
+        LOGGER.debug("Requesting {} asynchronously", url);
+
+        CompletableFuture<StationFile> call = stationService.singleFlight(url, () -> {
+            StationFile cached = stationService.getCachedStationFile(url);
+            CompletableFuture<StationFile> result = new CompletableFuture<>();
+            stationService.fetchConditionalAsync(url, cached)
+                    .whenComplete((response, error) ->
+                            complete(result, url, cached, response, error, normalizedStation));
+            return result;
+        });
+
+        // Each caller holds its own copy, so a caller timing out leaves the shared fetch to the others
+        return call.orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((file, error) -> error == null
+                        ? CompletableFuture.completedFuture(file)
+                        : CompletableFuture.<StationFile>failedFuture(toServiceException(error, normalizedStation)))
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Hands the response over to the worker pool, or fails the call directly.
+     *
+     * @param result The future returned to the caller
+     * @param url The station file URL
+     * @param cached The remembered version of the file sent as validators, or null
+     * @param response The response, if the fetch succeeded
+     * @param error The fetch failure, if any
+     * @param stationCode The normalized station code
+     */
+    private void complete(CompletableFuture<StationFile> result, String url, StationFile cached,
+                          ConditionalResponse response, Throwable error, String stationCode) {
+        if (error != null) {
+            result.completeExceptionally(toServiceException(error, stationCode));
+            return;
+        }
+        Runnable resolve = () -> {
+            try {
+                result.complete(stationService.resolveStationFile(url, cached, response, stationCode));
+            } catch (WeatherServiceException e) {
+                result.completeExceptionally(e);
+            } catch (RuntimeException | Error e) {
+                // the shared future must complete on every path, or later calls would join it forever
+                result.completeExceptionally(toServiceException(e, stationCode));
+            }
+        };
+        try {
+            executor.execute(resolve);
+        } catch (RejectedExecutionException e) {
+            if (executor.isShutdown()) {
+                // closed while the fetch was in flight: finish it here rather than drop it
+                resolve.run();
+            } else {
+                result.completeExceptionally(new WeatherServiceException(
+                    WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE,
+                    "Too many pending requests", stationCode, e));
+            }
+        }
+    }
+
+    /**
+     * Converts a failure reported by an asynchronous stage into a WeatherServiceException.
+     *
+     * @param error The failure
+     * @param stationCode The normalized station code
+     * @return The matching WeatherServiceException carrying the station code
+     */
+    private WeatherServiceException toServiceException(Throwable error, String stationCode) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+
+        if (cause instanceof WeatherServiceException) {
+            WeatherServiceException serviceException = (WeatherServiceException) cause;
+            return stationCode.equals(serviceException.getStationCode())
+                    ? serviceException : WeatherServiceImpl.withStation(serviceException, stationCode);
+        }
+        if (cause instanceof TimeoutException) {
+            return new WeatherServiceException(
+                WeatherServiceException.ErrorType.NETWORK_ERROR,
+                "Request timed out after " + callTimeout.toMillis() + " ms", stationCode, cause);
+        }
+        return new WeatherServiceException(
+            WeatherServiceException.ErrorType.UNKNOWN_ERROR,
+            "Failed to retrieve weather data", stationCode, cause);
+    }
+
+    private static <T> CompletableFuture<T> invalidStation(String stationCode) {
+        return CompletableFuture.failedFuture(WeatherServiceImpl.invalidStation(stationCode));
+    }
+
+    /**
+     * Creates named daemon worker threads so an idle pool never keeps the JVM alive.
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "noakweather-async-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
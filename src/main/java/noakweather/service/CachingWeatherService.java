@@ -0,0 +1,488 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.NoaaTafData;
+import noakweather.noaa_api.model.StationCode;
+import noakweather.noaa_api.parser.MetarParser;
+import noakweather.noaa_api.parser.TafParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caching decorator in front of another WeatherService.
+ *
+ * Keeps the latest METAR and TAF of each station and serves repeat requests
+ * without going upstream. Entries expire when the report itself goes stale,
+ * not after a fixed time:
+ * <ul>
+ *   <li>a METAR is stale at the station's next routine (hourly) observation;
+ *       after a special that is the next hour of the station's routine schedule.
+ *       Station files do not mark specials, so a report is told apart the way
+ *       StationMonitor does it: by how far its minute is from the minute of
+ *       the hour the station has been seen to observe at</li>
+ *   <li>a TAF is stale at its valid-to time or at the next routine issuance,
+ *       whichever is first, and is re-checked for amendments every
+ *       tafRecheckInterval</li>
+ * </ul>
+ *
+ * A report already past its expiry when fetched (the new observation is not
+ * published yet) is kept for MIN_TTL, so a late station is polled once a
+ * minute rather than on every call. Reports whose times cannot be decoded
+ * are kept for FALLBACK_TTL.
+ *
+ * The cache holds at most maxStations stations and evicts the least
+ * recently used one when full. Hit, miss, expiry and eviction counts are
+ * available through {@link #getStats()}.
+ *
+ * @author bclasky1539
+ */
+public class CachingWeatherService implements WeatherService {
+
+    private static final Logger LOGGER = LogManager.getLogger(CachingWeatherService.class);
+
+    /**
+     * Default number of stations kept in the cache
+     */
+    public static final int DEFAULT_MAX_STATIONS = 1000;
+
+    /**
+     * Default interval after which a cached TAF is re-checked for amendments
+     */
+    public static final Duration DEFAULT_TAF_RECHECK_INTERVAL = Duration.ofMinutes(30);
+
+    /**
+     * Shortest time any report is cached
+     */
+    public static final Duration MIN_TTL = Duration.ofMinutes(1);
+
+    /**
+     * Time a report is cached when its times cannot be decoded
+     */
+    public static final Duration FALLBACK_TTL = Duration.ofMinutes(5);
+
+    private static final Duration ROUTINE_METAR_INTERVAL = Duration.ofHours(1);
+    private static final Duration ROUTINE_TAF_INTERVAL = Duration.ofHours(6);
+
+    private final WeatherService delegate;
+    private final int maxStations;
+    private final Duration tafRecheckInterval;
+    private final Clock clock;
+    private final MetarParser metarParser = new MetarParser();
+    private final TafParser tafParser = new TafParser();
+
+    // Access-ordered, so the eldest entry is the least recently used station
+    private final LinkedHashMap<String, StationEntry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a cache of up to DEFAULT_MAX_STATIONS stations.
+     *
+     * @param delegate The service that fetches reports on a miss
+     */
+    public CachingWeatherService(WeatherService delegate) {
+        this(delegate, DEFAULT_MAX_STATIONS);
+    }
+
+    /**
+     * Creates a cache of up to maxStations stations.
+     *
+     * @param delegate The service that fetches reports on a miss
+     * @param maxStations The maximum number of stations kept
+     */
+    public CachingWeatherService(WeatherService delegate, int maxStations) {
+        this(delegate, maxStations, DEFAULT_TAF_RECHECK_INTERVAL, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a cache with every setting supplied.
+     *
+     * @param delegate The service that fetches reports on a miss
+     * @param maxStations The maximum number of stations kept
+     * @param tafRecheckInterval How long a TAF is served before checking for an amendment
+     * @param clock The clock expiry is measured against
+     */
+    public CachingWeatherService(WeatherService delegate, int maxStations, Duration tafRecheckInterval,
+                                 Clock clock) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        if (maxStations < 1) {
+            throw new IllegalArgumentException("maxStations must be at least 1");
+        }
+        if (tafRecheckInterval == null || tafRecheckInterval.isNegative() || tafRecheckInterval.isZero()) {
+            throw new IllegalArgumentException("tafRecheckInterval must be positive");
+        }
+        this.delegate = delegate;
+        this.maxStations = maxStations;
+        this.tafRecheckInterval = tafRecheckInterval;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, StationEntry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StationEntry> eldest) {
+                if (size() > CachingWeatherService.this.maxStations) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getMetarData(String stationCode) throws WeatherServiceException {
+        return getMetarData(WeatherServiceImpl.toStationCode(stationCode));
+    }
+
+    @Override
+    public String getMetarData(StationCode station) throws WeatherServiceException {
+        if (station == null) {
+            throw WeatherServiceImpl.invalidStation(null);
+        }
+        String cached = lookup(station.getCode(), true);
+        if (cached != null) {
+            return cached;
+        }
+        String report = delegate.getMetarData(station);
+        storeMetar(station.getCode(), report);
+        return report;
+    }
+
+    @Override
+    public String getTafData(String stationCode) throws WeatherServiceException {
+        return getTafData(WeatherServiceImpl.toStationCode(stationCode));
+    }
+
+    @Override
+    public String getTafData(StationCode station) throws WeatherServiceException {
+        if (station == null) {
+            throw WeatherServiceImpl.invalidStation(null);
+        }
+        String cached = lookup(station.getCode(), false);
+        if (cached != null) {
+            return cached;
+        }
+        String report = delegate.getTafData(station);
+        storeTaf(station.getCode(), report);
+        return report;
+    }
+
+    @Override
+    public Map<String, String> getMetarData(Collection<String> stationCodes) throws WeatherServiceException {
+        return getBatch(stationCodes, true);
+    }
+
+    @Override
+    public Map<String, String> getTafData(Collection<String> stationCodes) throws WeatherServiceException {
+        return getBatch(stationCodes, false);
+    }
+
+    @Override
+    public boolean isValidStationCode(String stationCode) {
+        return delegate.isValidStationCode(stationCode);
+    }
+
+    @Override
+    public String getServiceProviderName() {
+        return delegate.getServiceProviderName();
+    }
+
+    /**
+     * Drops the cached reports of a station, e.g. when a SPECI or TAF
+     * amendment is known to have been issued. The station's routine
+     * observation schedule is remembered.
+     *
+     * @param station The station code
+     */
+    public void invalidate(StationCode station) {
+        synchronized (entries) {
+            StationEntry entry = entries.get(station.getCode());
+            if (entry != null) {
+                entry.metar = null;
+                entry.taf = null;
+            }
+        }
+    }
+
+    /**
+     * Drops every cached report. Statistics are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Gets the number of stations with at least one cached report.
+     *
+     * @return The number of cached stations
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the cache statistics.
+     *
+     * @return The statistics
+     */
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), expirations.get(), evictions.get());
+    }
+
+    private Map<String, String> getBatch(Collection<String> stationCodes, boolean metar)
+            throws WeatherServiceException {
+        if (stationCodes == null) {
+            throw WeatherServiceImpl.NULL_STATION_COLLECTION;
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String stationCode : stationCodes) {
+            StationCode station = StationCode.tryParse(stationCode);
+            if (station == null || result.containsKey(station.getCode())) {
+                continue;
+            }
+            String cached = lookup(station.getCode(), metar);
+            // Keep request order: misses get a placeholder filled in below
+            result.put(station.getCode(), cached);
+            if (cached == null) {
+                missing.add(station.getCode());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, String> fetched = metar ? delegate.getMetarData(missing) : delegate.getTafData(missing);
+            for (Map.Entry<String, String> report : fetched.entrySet()) {
+                if (metar) {
+                    storeMetar(report.getKey(), report.getValue());
+                } else {
+                    storeTaf(report.getKey(), report.getValue());
+                }
+                result.put(report.getKey(), report.getValue());
+            }
+        }
+        result.values().removeIf(report -> report == null);
+        return result;
+    }
+
+    private String lookup(String station, boolean metar) {
+        LocalDateTime now = now();
+        synchronized (entries) {
+            StationEntry entry = entries.get(station);
+            CachedReport cached = entry == null ? null : metar ? entry.metar : entry.taf;
+            if (cached != null && now.isBefore(cached.expiresAt)) {
+                hits.incrementAndGet();
+                return cached.report;
+            }
+            if (cached != null) {
+                expirations.incrementAndGet();
+                LOGGER.debug("Cached {} for {} expired at {}", metar ? "METAR" : "TAF", station, cached.expiresAt);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    private void storeMetar(String station, String report) {
+        LocalDateTime now = now();
+        NoaaMetarData metar = decodeMetar(report, now);
+        LocalDateTime observed = metar != null ? metar.getObservationTime() : null;
+
+        synchronized (entries) {
+            StationEntry entry = entries.computeIfAbsent(station, key -> new StationEntry());
+            LocalDateTime expiresAt = now.plus(FALLBACK_TTL);
+            if (observed != null) {
+                // A report fetched again is not learned from twice
+                if (entry.lastObservation == null || observed.isAfter(entry.lastObservation)) {
+                    entry.schedule.record(metar);
+                    entry.lastObservation = observed;
+                }
+                expiresAt = nextRoutineObservation(observed, entry.schedule.lastRoutineObservation());
+            }
+            entry.metar = new CachedReport(report, atLeastMinTtl(expiresAt, now));
+        }
+    }
+
+    private void storeTaf(String station, String report) {
+        LocalDateTime now = now();
+        NoaaTafData taf = decodeTaf(report, now);
+        LocalDateTime expiresAt = now.plus(tafRecheckInterval);
+        if (taf == null || taf.getValidToTime() == null) {
+            expiresAt = min(expiresAt, now.plus(FALLBACK_TTL));
+        } else {
+            expiresAt = min(expiresAt, taf.getValidToTime());
+            if (taf.getIssueTime() != null) {
+                expiresAt = min(expiresAt, taf.getIssueTime().plus(ROUTINE_TAF_INTERVAL));
+            }
+        }
+
+        synchronized (entries) {
+            StationEntry entry = entries.computeIfAbsent(station, key -> new StationEntry());
+            entry.taf = new CachedReport(report, atLeastMinTtl(expiresAt, now));
+        }
+    }
+
+    /**
+     * Gets the time of the next routine observation after a report.
+     *
+     * @param observed The observation time of the report
+     * @param lastRoutine The latest routine observation, which fixes the station's schedule
+     * @return The next routine observation time
+     */
+    static LocalDateTime nextRoutineObservation(LocalDateTime observed, LocalDateTime lastRoutine) {
+        if (lastRoutine == null || lastRoutine.isAfter(observed)) {
+            return observed.plus(ROUTINE_METAR_INTERVAL);
+        }
+        // Step the routine schedule forward until it passes the special observation
+        long hours = Duration.between(lastRoutine, observed).toHours() + 1;
+        return lastRoutine.plusHours(hours);
+    }
+
+    private NoaaMetarData decodeMetar(String report, LocalDateTime now) {
+        try {
+            return metarParser.parse(report, now);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not decode METAR for cache expiry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private NoaaTafData decodeTaf(String report, LocalDateTime now) {
+        try {
+            return tafParser.parse(report, now);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not decode TAF for cache expiry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime atLeastMinTtl(LocalDateTime expiresAt, LocalDateTime now) {
+        LocalDateTime earliest = now.plus(MIN_TTL);
+        return expiresAt.isBefore(earliest) ? earliest : expiresAt;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * The cached reports of one station.
+     */
+    private static final class StationEntry {
+        private CachedReport metar;
+        private CachedReport taf;
+        private final StationMonitor.StationSchedule schedule = new StationMonitor.StationSchedule();
+        private LocalDateTime lastObservation;
+    }
+
+    /**
+     * One cached report and the time it goes stale.
+     */
+    private static final class CachedReport {
+        private final String report;
+        private final LocalDateTime expiresAt;
+
+        CachedReport(String report, LocalDateTime expiresAt) {
+            this.report = report;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * A snapshot of the cache counters.
+     */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long expirationCount;
+        private final long evictionCount;
+
+        Stats(long hitCount, long missCount, long expirationCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.expirationCount = expirationCount;
+            this.evictionCount = evictionCount;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Gets the number of lookups that found a report past its expiry.
+         * These are also counted as misses.
+         *
+         * @return The expiration count
+         */
+        public long getExpirationCount() {
+            return expirationCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public long getRequestCount() {
+            return hitCount + missCount;
+        }
+
+        /**
+         * Gets the fraction of lookups served from the cache.
+         *
+         * @return The hit rate, or 0 if there were no lookups
+         */
+        public double getHitRate() {
+            long requests = getRequestCount();
+            return requests == 0 ? 0.0 : (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats{hits=%d, misses=%d, expirations=%d, evictions=%d, hitRate=%.3f}",
+                    hitCount, missCount, expirationCount, evictionCount, getHitRate());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Stops calling an upstream that keeps failing, so callers fail fast instead
+ * of queueing behind requests that will time out anyway.
+ *
+ * The breaker starts CLOSED and lets every call through. After
+ * failureThreshold consecutive failures it trips OPEN and rejects calls
+ * for openDuration. It then goes HALF_OPEN and lets a single probe call
+ * through: success closes it again, failure re-opens it.
+ *
+ * All methods are thread-safe.
+ *
+ * @author bclasky1539
+ */
+public final class CircuitBreaker {
+
+    private static final Logger LOGGER = LogManager.getLogger(CircuitBreaker.class);
+
+    /**
+     * Default number of consecutive failures that trips the breaker
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    /**
+     * Default time the breaker stays open before probing the upstream
+     */
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+        /** Calls pass through */
+        CLOSED,
+        /** Calls are rejected */
+        OPEN,
+        /** One probe call is allowed through */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private boolean probeInFlight;
+    private long openedAtMillis;
+    private long openMillis;
+    private long successCount;
+    private long failureCount;
+    private long rejectedCount;
+    private long openCount;
+
+    /**
+     * Creates a breaker with the default threshold and open duration.
+     */
+    public CircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a breaker.
+     *
+     * @param failureThreshold The number of consecutive failures that trips the breaker
+     * @param openDuration The time the breaker stays open before probing
+     * @param clock The clock the open duration is measured against
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+        if (openDuration == null || openDuration.isNegative()) {
+            throw new IllegalArgumentException("openDuration must not be negative");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Asks permission for one call. Every permitted call must be followed by
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     *
+     * @return true if the call may go ahead
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.millis() - openedAtMillis >= openDuration.toMillis()) {
+            openMillis += clock.millis() - openedAtMillis;
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+            LOGGER.info("Circuit half-open, probing upstream");
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        rejectedCount++;
+        return false;
+    }
+
+    /**
+     * Records a call that reached a healthy upstream.
+     */
+    public synchronized void onSuccess() {
+        successCount++;
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            probeInFlight = false;
+            LOGGER.info("Circuit closed, upstream recovered");
+        }
+    }
+
+    /**
+     * Records a call that failed because of the upstream.
+     */
+    public synchronized void onFailure() {
+        failureCount++;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            probeInFlight = false;
+            openedAtMillis = clock.millis();
+            openCount++;
+            LOGGER.warn("Circuit opened after {} consecutive failures", consecutiveFailures);
+        }
+    }
+
+    /**
+     * Gets the current state. An open breaker whose open duration has
+     * passed still reports OPEN until the next call probes the upstream.
+     *
+     * @return The state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Gets a snapshot of the breaker counters.
+     *
+     * @return The current statistics
+     */
+    public synchronized Stats getStats() {
+        long open = openMillis + (state == State.OPEN ? clock.millis() - openedAtMillis : 0);
+        return new Stats(state, successCount, failureCount, rejectedCount, openCount, Duration.ofMillis(open));
+    }
+
+    /**
+     * A snapshot of the breaker counters.
+     */
+    public static final class Stats {
+        private final State state;
+        private final long successCount;
+        private final long failureCount;
+        private final long rejectedCount;
+        private final long openCount;
+        private final Duration timeOpen;
+
+        Stats(State state, long successCount, long failureCount, long rejectedCount, long openCount,
+              Duration timeOpen) {
+            this.state = state;
+            this.successCount = successCount;
+            this.failureCount = failureCount;
+            this.rejectedCount = rejectedCount;
+            this.openCount = openCount;
+            this.timeOpen = timeOpen;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public long getSuccessCount() {
+            return successCount;
+        }
+
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * Gets the number of calls rejected without reaching the upstream.
+         *
+         * @return The rejected count
+         */
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+
+        /**
+         * Gets the number of times the breaker has tripped open.
+         *
+         * @return The open count
+         */
+        public long getOpenCount() {
+            return openCount;
+        }
+
+        /**
+         * Gets the total time spent open, including the current open period.
+         *
+         * @return The time open
+         */
+        public Duration getTimeOpen() {
+            return timeOpen;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats{state=%s, successes=%d, failures=%d, rejected=%d, opened=%d, timeOpen=%s}",
+                    state, successCount, failureCount, rejectedCount, openCount, timeOpen);
+        }
+    }
+}
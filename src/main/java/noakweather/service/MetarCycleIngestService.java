@@ -0,0 +1,152 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.config.WeatherConfigurationService;
+import noakweather.noaa_api.client.MetarCycleReader;
+import noakweather.noaa_api.client.NoaaHttpClient;
+import noakweather.noaa_api.model.NoaaMetarData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Bulk ingest of the NOAA hourly METAR cycle files.
+ *
+ * Next to the per-station files under MISC_METAR_URL, tgftp publishes one
+ * cycle file per UTC hour under MISC_METAR_CYCLE_URL holding every station's
+ * METAR for that hour. Downloading one cycle replaces thousands of
+ * per-station requests with a single sequential transfer. The file is split
+ * into reports while it downloads, so memory use does not grow with its size.
+ *
+ * Local copies of cycle files can be ingested the same way, which allows
+ * offline processing and testing.
+ *
+ * @author bclasky1539
+ */
+public class MetarCycleIngestService {
+
+    private static final Logger LOGGER = LogManager.getLogger(MetarCycleIngestService.class);
+
+    private static final String FALLBACK_CYCLE_URL = "https://tgftp.nws.noaa.gov/data/observations/metar/cycles/";
+    private static final String FALLBACK_CYCLE_EXT = "Z.TXT";
+
+    private final WeatherConfigurationService configService;
+    private final NoaaHttpClient httpClient;
+
+    /**
+     * Creates a new MetarCycleIngestService using the shared HTTP client.
+     *
+     * @param configService The configuration service for accessing weather-related settings
+     */
+    public MetarCycleIngestService(WeatherConfigurationService configService) {
+        this(configService, NoaaHttpClient.getSharedInstance());
+    }
+
+    /**
+     * Creates a new MetarCycleIngestService.
+     *
+     * @param configService The configuration service for accessing weather-related settings
+     * @param httpClient The HTTP client used to download the cycle files
+     */
+    public MetarCycleIngestService(WeatherConfigurationService configService, NoaaHttpClient httpClient) {
+        this.configService = configService;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Downloads the cycle file for the given UTC hour and streams its reports
+     * to the consumer.
+     *
+     * @param hourUtc The UTC hour of the cycle (0-23)
+     * @param consumer Receives each report as soon as it has been read
+     * @return The number of reports ingested
+     * @throws WeatherServiceException if the download fails or is cut short
+     * @throws IllegalArgumentException if the hour is out of range
+     */
+    public int ingestCycle(int hourUtc, Consumer<NoaaMetarData> consumer) throws WeatherServiceException {
+        String url = buildCycleUrl(hourUtc);
+        LOGGER.info("Ingesting METAR cycle {}", url);
+
+        try (MetarCycleReader reader = new MetarCycleReader(httpClient.fetchStream(url))) {
+            int count = reader.readAll(consumer);
+            LOGGER.info("Ingested {} METAR reports from {}", count, url);
+            return count;
+        } catch (IOException e) {
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.NETWORK_ERROR,
+                "Failed to read METAR cycle " + url, e);
+        }
+    }
+
+    /**
+     * Streams the reports of a local cycle file to the consumer.
+     *
+     * @param file The path of the cycle file
+     * @param consumer Receives each report as soon as it has been read
+     * @return The number of reports ingested
+     * @throws WeatherServiceException if the file cannot be read
+     */
+    public int ingestFile(Path file, Consumer<NoaaMetarData> consumer) throws WeatherServiceException {
+        LOGGER.info("Ingesting METAR cycle file {}", file);
+
+        try (MetarCycleReader reader = MetarCycleReader.open(file)) {
+            int count = reader.readAll(consumer);
+            LOGGER.info("Ingested {} METAR reports from {}", count, file);
+            return count;
+        } catch (IOException e) {
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.DATA_PARSING_ERROR,
+                "Failed to read METAR cycle file " + file, e);
+        }
+    }
+
+    /**
+     * Builds the cycle file URL for the given UTC hour using configuration.
+     *
+     * @param hourUtc The UTC hour of the cycle (0-23)
+     * @return The complete cycle file URL, e.g. ".../metar/cycles/07Z.TXT"
+     * @throws IllegalArgumentException if the hour is out of range
+     */
+    String buildCycleUrl(int hourUtc) {
+        if (hourUtc < 0 || hourUtc > 23) {
+            throw new IllegalArgumentException("Cycle hour must be between 0 and 23: " + hourUtc);
+        }
+
+        String baseUrl = FALLBACK_CYCLE_URL;
+        String extension = FALLBACK_CYCLE_EXT;
+        try {
+            // getRawString answers "Missing config: KEY" rather than null for a missing key
+            Optional<String> configuredUrl = configService.findRawString("MISC_METAR_CYCLE_URL");
+            Optional<String> configuredExt = configService.findRawString("MISC_METAR_CYCLE_EXT");
+            if (configuredUrl.isPresent() && configuredExt.isPresent()) {
+                baseUrl = configuredUrl.get();
+                extension = configuredExt.get();
+            } else {
+                LOGGER.warn("METAR cycle URL not configured, using fallback");
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Error building METAR cycle URL, using fallback", e);
+        }
+
+        return baseUrl + (hourUtc < 10 ? "0" : "") + hourUtc + extension;
+    }
+}
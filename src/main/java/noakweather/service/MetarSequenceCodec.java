@@ -0,0 +1,555 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses the sequence of raw reports of one station by encoding each
+ * report as a list of edits to the previous one.
+ *
+ * A report is split into space-separated groups. Groups unchanged since the
+ * previous report are copied in runs; a group seen before in the block is
+ * written as a dictionary number; a group whose digits changed - the time
+ * "141753Z" becoming "141853Z", or "A3012" becoming "A3011" - is written as
+ * the numeric difference; only groups never seen before are written out as
+ * text.
+ *
+ * Reports are encoded in blocks of reportsPerBlock, each with its own
+ * dictionary, and each block of edits is then deflated on its own to
+ * squeeze out what repeats in the edits themselves. The encoding starts with
+ * a table of block lengths, so a single report is decoded by inflating only
+ * its block, and whole sequences are decoded one block at a time by an
+ * Iterator without expanding the others. Decoding restores the exact
+ * original text.
+ *
+ * Instances are immutable and thread-safe.
+ *
+ * @author bclasky1539
+ */
+public final class MetarSequenceCodec {
+
+    /**
+     * Default number of reports per independently decodable block
+     */
+    public static final int DEFAULT_REPORTS_PER_BLOCK = 64;
+
+    private static final int VERSION = 1;
+
+    /**
+     * Groups common enough to be worth numbering before the first report
+     */
+    private static final List<String> PRESET_DICTIONARY = Collections.unmodifiableList(Arrays.asList(
+            "METAR", "SPECI", "AUTO", "COR", "RMK", "AO1", "AO2", "NOSIG", "CAVOK", "CLR", "SKC", "NSC",
+            "10SM", "P6SM", "9999", "00000KT", "BR", "HZ", "FG", "-RA", "RA", "+RA", "-SN", "SN", "TSRA",
+            "VCSH", "VCTS", "TAF", "AMD", "FM", "TEMPO", "BECMG", "PROB30", "PROB40", "SLPNO", "PNO",
+            "$", "="));
+
+    // Edit operations: three bits of operation and five bits of argument
+    private static final int OP_COPY = 0;
+    private static final int OP_SKIP = 1;
+    private static final int OP_INSERT = 2;
+    private static final int OP_REPLACE = 3;
+    private static final int OP_DELTA = 4;
+    private static final int OP_SHIFT = 5;
+    private static final int INLINE_ARGUMENT_LIMIT = (1 << OP_SHIFT) - 1;
+
+    private static final int MAX_DELTA_DIGITS = 18;
+    private static final int LOOKAHEAD = 4;
+
+    private final int reportsPerBlock;
+
+    /**
+     * Creates a codec with the default block size.
+     */
+    public MetarSequenceCodec() {
+        this(DEFAULT_REPORTS_PER_BLOCK);
+    }
+
+    /**
+     * Creates a codec. Larger blocks compress better; smaller blocks make
+     * decoding a single report cheaper.
+     *
+     * @param reportsPerBlock The number of reports per independently decodable block
+     */
+    public MetarSequenceCodec(int reportsPerBlock) {
+        if (reportsPerBlock < 1) {
+            throw new IllegalArgumentException("reportsPerBlock must be at least 1");
+        }
+        this.reportsPerBlock = reportsPerBlock;
+    }
+
+    /**
+     * Encodes a sequence of reports, oldest first.
+     *
+     * @param reports The raw reports of one station
+     * @return The encoded sequence
+     * @throws IllegalArgumentException if a report is null
+     */
+    public byte[] encode(List<String> reports) {
+        List<byte[]> blocks = new ArrayList<>();
+        for (int start = 0; start < reports.size(); start += reportsPerBlock) {
+            blocks.add(deflate(encodeBlock(reports.subList(start, Math.min(reports.size(), start + reportsPerBlock)))));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarLong(out, VERSION);
+        writeVarLong(out, reports.size());
+        writeVarLong(out, reportsPerBlock);
+        for (byte[] block : blocks) {
+            writeVarLong(out, block.length);
+        }
+        for (byte[] block : blocks) {
+            out.write(block, 0, block.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a whole sequence.
+     *
+     * @param encoded An encoded sequence
+     * @return The reports, oldest first
+     */
+    public static List<String> decode(byte[] encoded) {
+        List<String> reports = new ArrayList<>();
+        decoder(encoded).forEachRemaining(reports::add);
+        return reports;
+    }
+
+    /**
+     * Decodes a sequence one report at a time.
+     *
+     * @param encoded An encoded sequence
+     * @return An iterator over the reports, oldest first
+     */
+    public static Iterator<String> decoder(byte[] encoded) {
+        return new Decoder(encoded, 0);
+    }
+
+    /**
+     * Decodes one report, reading only the block that holds it.
+     *
+     * @param encoded An encoded sequence
+     * @param index The position of the report in the sequence
+     * @return The report
+     * @throws IndexOutOfBoundsException if there is no such report
+     */
+    public static String get(byte[] encoded, int index) {
+        Header header = new Header(encoded);
+        if (index < 0 || index >= header.reportCount) {
+            throw new IndexOutOfBoundsException("Report " + index + " of " + header.reportCount);
+        }
+        Decoder decoder = new Decoder(encoded, index / header.reportsPerBlock);
+        for (int skipped = index % header.reportsPerBlock; skipped > 0; skipped--) {
+            decoder.next();
+        }
+        return decoder.next();
+    }
+
+    /**
+     * Gets the number of reports in an encoded sequence.
+     *
+     * @param encoded An encoded sequence
+     * @return The report count
+     */
+    public static int size(byte[] encoded) {
+        return new Header(encoded).reportCount;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] encoded, int offset, int length) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(encoded, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Corrupt report sequence");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt report sequence", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] encodeBlock(List<String> reports) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<String, Integer> dictionary = new HashMap<>();
+        for (String token : PRESET_DICTIONARY) {
+            dictionary.put(token, dictionary.size());
+        }
+
+        String[] previous = new String[0];
+        long[] previousDeltas = new long[0];
+        for (String report : reports) {
+            if (report == null) {
+                throw new IllegalArgumentException("Report cannot be null");
+            }
+            // A limit of -1 keeps empty groups, so any spacing is restored exactly
+            String[] tokens = report.split(" ", -1);
+            long[] deltas = new long[tokens.length];
+            writeVarLong(out, tokens.length);
+            encodeReport(out, tokens, deltas, previous, previousDeltas, dictionary);
+            previous = tokens;
+            previousDeltas = deltas;
+        }
+        return out.toByteArray();
+    }
+
+    private static void encodeReport(ByteArrayOutputStream out, String[] tokens, long[] deltas,
+                                     String[] previous, long[] previousDeltas, Map<String, Integer> dictionary) {
+        int cursor = 0;
+        int i = 0;
+        while (i < tokens.length) {
+            int run = 0;
+            while (i + run < tokens.length && cursor + run < previous.length
+                    && tokens[i + run].equals(previous[cursor + run])) {
+                run++;
+            }
+            if (run > 0) {
+                writeOp(out, OP_COPY, run);
+                System.arraycopy(previousDeltas, cursor, deltas, i, run);
+                i += run;
+                cursor += run;
+                continue;
+            }
+
+            int skip = resync(tokens, i, previous, cursor);
+            if (skip > 0) {
+                writeOp(out, OP_SKIP, skip);
+                cursor += skip;
+                continue;
+            }
+
+            boolean inserted = cursor >= previous.length
+                    || (i + 1 < tokens.length && tokens[i + 1].equals(previous[cursor]));
+            long delta = inserted ? Long.MIN_VALUE : delta(previous[cursor], tokens[i]);
+            long change = delta == Long.MIN_VALUE ? 0 : zigZag(delta - previousDeltas[cursor]);
+            if (delta != Long.MIN_VALUE && (dictionary.get(tokens[i]) == null
+                    || varLongSize(change) <= varLongSize(dictionary.get(tokens[i])))) {
+                writeOp(out, OP_DELTA, change);
+                deltas[i] = delta;
+            } else {
+                writeToken(out, inserted ? OP_INSERT : OP_REPLACE, tokens[i], dictionary);
+            }
+            if (!inserted) {
+                cursor++;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Looks a few groups ahead in the previous report for the current group,
+     * to step over groups that were dropped.
+     *
+     * @return The number of previous groups to skip, or 0
+     */
+    private static int resync(String[] tokens, int i, String[] previous, int cursor) {
+        for (int skip = 1; skip <= LOOKAHEAD && cursor + skip < previous.length; skip++) {
+            if (tokens[i].equals(previous[cursor + skip])
+                    && (i + 1 >= tokens.length || cursor + skip + 1 >= previous.length
+                        || tokens[i + 1].equals(previous[cursor + skip + 1]))) {
+                return skip;
+            }
+        }
+        return 0;
+    }
+
+    private static void writeToken(ByteArrayOutputStream out, int op, String token, Map<String, Integer> dictionary) {
+        Integer id = dictionary.get(token);
+        if (id != null) {
+            writeOp(out, op, id);
+            return;
+        }
+        // The next free number announces a new group, spelled out once
+        writeOp(out, op, dictionary.size());
+        byte[] text = token.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, text.length);
+        out.write(text, 0, text.length);
+        dictionary.put(token, dictionary.size());
+    }
+
+    /**
+     * Finds the numeric difference between two groups that differ only in
+     * their digits, e.g. "141753Z" and "141853Z".
+     *
+     * @return The difference of the digits read as one number, or
+     *         Long.MIN_VALUE if the groups do not have the same shape
+     */
+    private static long delta(String previous, String token) {
+        if (previous.length() != token.length()) {
+            return Long.MIN_VALUE;
+        }
+        long previousValue = 0;
+        long value = 0;
+        int digits = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char p = previous.charAt(i);
+            char c = token.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            if (digit != (p >= '0' && p <= '9') || (!digit && c != p)) {
+                return Long.MIN_VALUE;
+            }
+            if (digit) {
+                previousValue = previousValue * 10 + (p - '0');
+                value = value * 10 + (c - '0');
+                digits++;
+            }
+        }
+        return digits == 0 || digits > MAX_DELTA_DIGITS ? Long.MIN_VALUE : value - previousValue;
+    }
+
+    private static String applyDelta(String previous, long delta) {
+        char[] chars = previous.toCharArray();
+        long value = 0;
+        for (char c : chars) {
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+            }
+        }
+        value += delta;
+        for (int i = chars.length - 1; i >= 0; i--) {
+            if (chars[i] >= '0' && chars[i] <= '9') {
+                chars[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+        return new String(chars);
+    }
+
+    private static void writeOp(ByteArrayOutputStream out, int op, long argument) {
+        if (argument < INLINE_ARGUMENT_LIMIT) {
+            out.write(op << OP_SHIFT | (int) argument);
+        } else {
+            out.write(op << OP_SHIFT | INLINE_ARGUMENT_LIMIT);
+            writeVarLong(out, argument - INLINE_ARGUMENT_LIMIT);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static long zigZag(long value) {
+        return value << 1 ^ value >> 63;
+    }
+
+    private static long unZigZag(long value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Reads the fixed part of an encoded sequence.
+     */
+    private static final class Header {
+        final int reportCount;
+        final int reportsPerBlock;
+        final int[] blockStarts;
+        final int[] blockLengths;
+        private int position;
+
+        Header(byte[] encoded) {
+            if (readVarLong(encoded) != VERSION) {
+                throw new IllegalArgumentException("Not an encoded report sequence");
+            }
+            reportCount = (int) readVarLong(encoded);
+            reportsPerBlock = (int) readVarLong(encoded);
+            int blockCount = reportCount == 0 ? 0 : (reportCount - 1) / reportsPerBlock + 1;
+            blockLengths = new int[blockCount];
+            for (int block = 0; block < blockCount; block++) {
+                blockLengths[block] = (int) readVarLong(encoded);
+            }
+            blockStarts = new int[blockCount];
+            for (int block = 0, start = position; block < blockCount; start += blockLengths[block], block++) {
+                blockStarts[block] = start;
+            }
+        }
+
+        private long readVarLong(byte[] encoded) {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = encoded[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes reports one at a time, starting at a block. Only the block
+     * being read is held inflated.
+     */
+    private static final class Decoder implements Iterator<String> {
+        private final byte[] encoded;
+        private final Header header;
+        private final List<String> dictionary = new ArrayList<>();
+        private byte[] data;
+        private int position;
+        private String[] previous;
+        private long[] previousDeltas;
+        private int remaining;
+        private int blockRemaining;
+        private int block;
+
+        Decoder(byte[] encoded, int firstBlock) {
+            this.encoded = encoded;
+            this.header = new Header(encoded);
+            this.block = firstBlock;
+            this.remaining = Math.max(0, header.reportCount - firstBlock * header.reportsPerBlock);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public String next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            if (blockRemaining == 0) {
+                startBlock();
+            }
+            String[] tokens = new String[(int) readVarLong()];
+            long[] deltas = new long[tokens.length];
+            int cursor = 0;
+            int i = 0;
+            while (i < tokens.length) {
+                int op = (data[position] & 0xFF) >>> OP_SHIFT;
+                long argument = readArgument();
+                switch (op) {
+                    case OP_COPY:
+                        System.arraycopy(previous, cursor, tokens, i, (int) argument);
+                        System.arraycopy(previousDeltas, cursor, deltas, i, (int) argument);
+                        i += (int) argument;
+                        cursor += (int) argument;
+                        break;
+                    case OP_SKIP:
+                        cursor += (int) argument;
+                        break;
+                    case OP_INSERT:
+                        tokens[i++] = token((int) argument);
+                        break;
+                    case OP_REPLACE:
+                        tokens[i++] = token((int) argument);
+                        cursor++;
+                        break;
+                    case OP_DELTA:
+                        deltas[i] = previousDeltas[cursor] + unZigZag(argument);
+                        tokens[i++] = applyDelta(previous[cursor++], deltas[i - 1]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Corrupt report sequence");
+                }
+            }
+            previous = tokens;
+            previousDeltas = deltas;
+            remaining--;
+            blockRemaining--;
+            return String.join(" ", tokens);
+        }
+
+        private void startBlock() {
+            data = inflate(encoded, header.blockStarts[block], header.blockLengths[block]);
+            position = 0;
+            block++;
+            dictionary.clear();
+            dictionary.addAll(PRESET_DICTIONARY);
+            previous = new String[0];
+            previousDeltas = new long[0];
+            blockRemaining = header.reportsPerBlock;
+        }
+
+        private long readArgument() {
+            int argument = data[position++] & INLINE_ARGUMENT_LIMIT;
+            return argument < INLINE_ARGUMENT_LIMIT ? argument : INLINE_ARGUMENT_LIMIT + readVarLong();
+        }
+
+        private String token(int id) {
+            if (id < dictionary.size()) {
+                return dictionary.get(id);
+            }
+            int length = (int) readVarLong();
+            String token = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            dictionary.add(token);
+            return token;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.CompactMetar;
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.StationCode;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column-oriented, off-heap store of historical METAR observations.
+ *
+ * Each measured field is kept in its own primitive column in a direct
+ * buffer, outside the Java heap, using the fixed-point units of
+ * CompactMetar. Rows are grouped by station and ordered by time within a
+ * station, and a station dictionary records where each station's rows
+ * start. A question such as "highest gust per station in 2025" therefore
+ * reads one column sequentially between two binary-searched bounds per
+ * station, instead of walking millions of report objects.
+ *
+ * Observations must be appended grouped by station and in time order within
+ * each station; build() sorts a collection into that order first. Only the
+ * values listed in {@link Column} and the observation time are kept - use
+ * CompactMetar for whole reports.
+ *
+ * This class is not thread-safe. Load it from one thread, then share it for
+ * reading once loading is finished.
+ *
+ * @author bclasky1539
+ */
+public final class ObservationStore {
+
+    /**
+     * Default number of rows allocated up front
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    /**
+     * Sentinel returned for missing values
+     */
+    public static final int MISSING = CompactMetar.MISSING;
+
+    /**
+     * Flight categories by their FLIGHT_CATEGORY code; codes grow with severity
+     */
+    private static final String[] FLIGHT_CATEGORIES = {null, "VFR", "MVFR", "IFR", "LIFR"};
+
+    private static final int TIME_WIDTH = Integer.BYTES;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / Integer.BYTES;
+
+    /**
+     * The columns of the store, with their units.
+     */
+    public enum Column {
+        /** Temperature in tenths of a degree Celsius */
+        TEMPERATURE_TENTHS(Short.BYTES),
+        /** Dewpoint in tenths of a degree Celsius */
+        DEWPOINT_TENTHS(Short.BYTES),
+        /** Altimeter setting in hundredths of an inch of mercury */
+        ALTIMETER_HUNDREDTHS(Short.BYTES),
+        /** Wind direction in degrees */
+        WIND_DIRECTION_DEGREES(Short.BYTES),
+        /** Wind speed in knots */
+        WIND_SPEED_KNOTS(Short.BYTES),
+        /** Wind gust speed in knots */
+        WIND_GUST_KNOTS(Short.BYTES),
+        /** Visibility in ten-thousandths of a statute mile */
+        VISIBILITY_TEN_THOUSANDTHS(Integer.BYTES),
+        /** Flight category: 1 VFR, 2 MVFR, 3 IFR, 4 LIFR, so the maximum is the worst */
+        FLIGHT_CATEGORY(Byte.BYTES);
+
+        private final int width;
+
+        Column(int width) {
+            this.width = width;
+        }
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+
+    private final ByteBuffer[] columns = new ByteBuffer[COLUMNS.length];
+    private ByteBuffer times;
+    private int capacity;
+    private int size;
+
+    private final List<StationCode> stations = new ArrayList<>();
+    private final Map<StationCode, Integer> stationIndex = new HashMap<>();
+    private int[] stationStarts = new int[16];
+    private int lastMinute = MISSING;
+
+    /**
+     * Creates an empty store with the default initial capacity.
+     */
+    public ObservationStore() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store. The store grows past the initial capacity as
+     * needed, but sizing it up front avoids copying the columns.
+     *
+     * @param initialCapacity The number of rows to allocate up front
+     */
+    public ObservationStore(int initialCapacity) {
+        if (initialCapacity < 1 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("initialCapacity must be between 1 and " + MAX_CAPACITY);
+        }
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Builds a store from reports in any order.
+     *
+     * @param reports The reports to store
+     * @return A store holding the reports, grouped by station and ordered by time
+     * @throws IllegalArgumentException if a report has no station or time, or cannot be stored exactly
+     */
+    public static ObservationStore build(Collection<NoaaMetarData> reports) {
+        List<CompactMetar> sorted = new ArrayList<>(reports.size());
+        for (NoaaMetarData report : reports) {
+            sorted.add(CompactMetar.from(report));
+        }
+        sorted.sort(Comparator.comparingInt(CompactMetar::getStationPacked)
+                .thenComparingInt(CompactMetar::getObservationEpochMinute));
+
+        ObservationStore store = new ObservationStore(Math.max(1, sorted.size()));
+        for (CompactMetar report : sorted) {
+            store.append(report);
+        }
+        return store;
+    }
+
+    /**
+     * Appends an observation.
+     *
+     * @param metar The observation
+     * @return The row the observation was stored at
+     * @throws IllegalArgumentException if the observation has no station or time,
+     *         cannot be stored exactly, or is out of station/time order
+     */
+    public int append(NoaaMetarData metar) {
+        return append(CompactMetar.from(metar));
+    }
+
+    /**
+     * Appends an observation.
+     *
+     * @param metar The observation
+     * @return The row the observation was stored at
+     * @throws IllegalArgumentException if the observation has no station or
+     *         time, or is out of station/time order
+     */
+    public int append(CompactMetar metar) {
+        int minute = metar.getObservationEpochMinute();
+        if (metar.getStationPacked() < 0 || minute == MISSING) {
+            throw new IllegalArgumentException("Observation needs a station and a time: " + metar);
+        }
+        StationCode station = StationCode.fromPacked(metar.getStationPacked());
+        boolean sameStation = !stations.isEmpty() && stations.get(stations.size() - 1).equals(station);
+        if (sameStation && minute < lastMinute) {
+            throw new IllegalArgumentException("Observations of " + station + " must be appended in time order");
+        }
+        if (!sameStation && stationIndex.containsKey(station)) {
+            throw new IllegalArgumentException("Observations of " + station + " must be appended together");
+        }
+
+        if (size == capacity) {
+            if (capacity == MAX_CAPACITY) {
+                throw new IllegalStateException("Observation store is full");
+            }
+            allocate((int) Math.min(MAX_CAPACITY, capacity * 2L));
+        }
+        if (!sameStation) {
+            addStation(station);
+        }
+
+        int row = size;
+        times.putInt(row * TIME_WIDTH, minute);
+        putShort(Column.TEMPERATURE_TENTHS, row, metar.getTemperatureTenths());
+        putShort(Column.DEWPOINT_TENTHS, row, metar.getDewpointTenths());
+        putShort(Column.ALTIMETER_HUNDREDTHS, row, metar.getAltimeterHundredths());
+        putShort(Column.WIND_DIRECTION_DEGREES, row, metar.getWindDirectionDegrees());
+        putShort(Column.WIND_SPEED_KNOTS, row, metar.getWindSpeedKnots());
+        putShort(Column.WIND_GUST_KNOTS, row, metar.getWindGustKnots());
+        columns[Column.VISIBILITY_TEN_THOUSANDTHS.ordinal()].putInt(
+                row * Integer.BYTES, metar.getVisibilityTenThousandths());
+        columns[Column.FLIGHT_CATEGORY.ordinal()].put(row, (byte) flightCategoryCode(metar.getFlightCategory()));
+
+        lastMinute = minute;
+        size++;
+        return row;
+    }
+
+    /**
+     * Gets the number of observations stored.
+     *
+     * @return The number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the station dictionary.
+     *
+     * @return The stations, in the order their rows are stored
+     */
+    public List<StationCode> getStations() {
+        return Collections.unmodifiableList(stations);
+    }
+
+    /**
+     * Gets the off-heap memory held by the columns.
+     *
+     * @return The allocated bytes
+     */
+    public long getOffHeapBytes() {
+        long bytes = times.capacity();
+        for (ByteBuffer column : columns) {
+            bytes += column.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the station an observation belongs to.
+     *
+     * @param row The row
+     * @return The station code
+     */
+    public StationCode getStation(int row) {
+        checkRow(row);
+        int index = Arrays.binarySearch(stationStarts, 0, stations.size(), row);
+        // A miss returns -(insertion point) - 1; the row belongs to the station before it
+        return stations.get(index >= 0 ? index : -index - 2);
+    }
+
+    /**
+     * Gets the observation time of a row.
+     *
+     * @param row The row
+     * @return The observation time in minutes since 1970-01-01T00:00Z
+     */
+    public int getObservationEpochMinute(int row) {
+        checkRow(row);
+        return times.getInt(row * TIME_WIDTH);
+    }
+
+    /**
+     * Gets one value.
+     *
+     * @param column The column
+     * @param row The row
+     * @return The value in the units of the column, or MISSING
+     */
+    public int get(Column column, int row) {
+        checkRow(row);
+        return value(columns[column.ordinal()], column.width, row);
+    }
+
+    /**
+     * Finds the highest value of a column for one station over a period.
+     *
+     * @param column The column
+     * @param station The station code
+     * @param from The start of the period, inclusive (UTC)
+     * @param to The end of the period, exclusive (UTC)
+     * @return The highest value, or MISSING if the station reported none in the period
+     */
+    public int max(Column column, StationCode station, LocalDateTime from, LocalDateTime to) {
+        Integer index = stationIndex.get(station);
+        if (index == null) {
+            return MISSING;
+        }
+        int[] rows = rowRange(index, toMinute(from), toMinute(to));
+        return max(column, rows[0], rows[1]);
+    }
+
+    /**
+     * Finds the highest value of a column for every station over a period.
+     *
+     * @param column The column
+     * @param from The start of the period, inclusive (UTC)
+     * @param to The end of the period, exclusive (UTC)
+     * @return The highest value per station, in dictionary order; stations
+     *         without a value in the period are left out
+     */
+    public Map<StationCode, Integer> maxByStation(Column column, LocalDateTime from, LocalDateTime to) {
+        int fromMinute = toMinute(from);
+        int toMinute = toMinute(to);
+        Map<StationCode, Integer> result = new LinkedHashMap<>();
+        for (int index = 0; index < stations.size(); index++) {
+            int[] rows = rowRange(index, fromMinute, toMinute);
+            int max = max(column, rows[0], rows[1]);
+            if (max != MISSING) {
+                result.put(stations.get(index), max);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the name of a FLIGHT_CATEGORY value.
+     *
+     * @param code The column value
+     * @return "VFR", "MVFR", "IFR" or "LIFR", or null for MISSING
+     */
+    public static String flightCategoryName(int code) {
+        return code > 0 && code < FLIGHT_CATEGORIES.length ? FLIGHT_CATEGORIES[code] : null;
+    }
+
+    private int max(Column column, int fromRow, int toRow) {
+        ByteBuffer buffer = columns[column.ordinal()];
+        int max = MISSING;
+        // One loop per width keeps each scan a tight pass over one column
+        switch (column.width) {
+            case Short.BYTES:
+                for (int row = fromRow; row < toRow; row++) {
+                    short value = buffer.getShort(row * Short.BYTES);
+                    if (value != CompactMetar.MISSING_SHORT && value > max) {
+                        max = value;
+                    }
+                }
+                break;
+            case Integer.BYTES:
+                for (int row = fromRow; row < toRow; row++) {
+                    max = Math.max(max, buffer.getInt(row * Integer.BYTES));
+                }
+                break;
+            default:
+                for (int row = fromRow; row < toRow; row++) {
+                    max = Math.max(max, buffer.get(row));
+                }
+                if (max == 0) {
+                    max = MISSING;
+                }
+                break;
+        }
+        return max;
+    }
+
+    /**
+     * Finds the rows of one station inside a period.
+     *
+     * @return The first row and the row after the last
+     */
+    private int[] rowRange(int stationIndex, int fromMinute, int toMinute) {
+        int start = stationStarts[stationIndex];
+        int end = stationIndex + 1 < stations.size() ? stationStarts[stationIndex + 1] : size;
+        return new int[] {lowerBound(start, end, fromMinute), lowerBound(start, end, toMinute)};
+    }
+
+    /**
+     * Finds the first row in [start, end) observed at or after the minute.
+     */
+    private int lowerBound(int start, int end, int minute) {
+        int low = start;
+        int high = end;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times.getInt(mid * TIME_WIDTH) < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int value(ByteBuffer buffer, int width, int row) {
+        switch (width) {
+            case Short.BYTES:
+                short value = buffer.getShort(row * Short.BYTES);
+                return value == CompactMetar.MISSING_SHORT ? MISSING : value;
+            case Integer.BYTES:
+                return buffer.getInt(row * Integer.BYTES);
+            default:
+                byte code = buffer.get(row);
+                return code == 0 ? MISSING : code;
+        }
+    }
+
+    private void putShort(Column column, int row, int value) {
+        short stored = value == MISSING ? CompactMetar.MISSING_SHORT : (short) value;
+        if (stored != value && value != MISSING) {
+            throw new IllegalArgumentException("Value out of range for " + column + ": " + value);
+        }
+        columns[column.ordinal()].putShort(row * Short.BYTES, stored);
+    }
+
+    private static int flightCategoryCode(String category) {
+        for (int code = 1; code < FLIGHT_CATEGORIES.length; code++) {
+            if (FLIGHT_CATEGORIES[code].equals(category)) {
+                return code;
+            }
+        }
+        return 0;
+    }
+
+    private void addStation(StationCode station) {
+        int index = stations.size();
+        if (index == stationStarts.length) {
+            stationStarts = Arrays.copyOf(stationStarts, index * 2);
+        }
+        stationStarts[index] = size;
+        stations.add(station);
+        stationIndex.put(station, index);
+        lastMinute = MISSING;
+    }
+
+    private void allocate(int newCapacity) {
+        times = grow(times, newCapacity * TIME_WIDTH);
+        for (Column column : COLUMNS) {
+            columns[column.ordinal()] = grow(columns[column.ordinal()], newCapacity * column.width);
+        }
+        capacity = newCapacity;
+    }
+
+    private ByteBuffer grow(ByteBuffer old, int bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        if (old != null) {
+            ByteBuffer used = old.duplicate();
+            used.position(0).limit(old.capacity());
+            buffer.put(used);
+        }
+        return buffer;
+    }
+
+    private static int toMinute(LocalDateTime time) {
+        long minute = Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60L);
+        // Clamp so open-ended periods such as LocalDateTime.MIN still compare correctly
+        return (int) Math.max(Integer.MIN_VALUE + 1L, Math.min(Integer.MAX_VALUE, minute));
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+    }
+}
@@ -0,0 +1,696 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaAviationWeatherData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An append-only archive of raw reports on disk, for replaying history
+ * through the parsers without going back to the network.
+ *
+ * Reports are appended to the active segment file in arrival order, each
+ * record holding the station, report type, observation time and raw text.
+ * When the active segment reaches segmentBytes it is sealed: its records
+ * are rewritten sorted by station and time, and a sparse index holding the
+ * key and position of every INDEX_INTERVAL-th record is written next to it.
+ * Segments are memory-mapped for reading, so a lookup binary-searches the
+ * small index of each sealed segment and then reads a short run of records
+ * straight from the page cache.
+ *
+ * On opening, a record cut short by a crash at the end of the active
+ * segment is discarded, and any unsealed segment other than the last is
+ * sealed.
+ *
+ * All methods are thread-safe.
+ *
+ * @author bclasky1539
+ */
+public final class ReportArchive implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReportArchive.class);
+
+    /**
+     * Default size at which the active segment is sealed
+     */
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * Number of records per sparse index entry
+     */
+    public static final int INDEX_INTERVAL = 64;
+
+    /**
+     * Report types that can be archived, stored by their position
+     */
+    private static final List<String> REPORT_TYPES =
+            Arrays.asList("METAR", "SPECI", "TAF", "TAF AMD", "TAF COR");
+
+    private static final int SEGMENT_MAGIC = 0x4E4B5741; // "NKWA"
+    private static final int INDEX_MAGIC = 0x4E4B5749;   // "NKWI"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 2 * Integer.BYTES;
+    // station, minute, type, text length
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES + Byte.BYTES + Short.BYTES;
+    private static final int MAX_TEXT_BYTES = 0xFFFF;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final List<SealedSegment> sealed = new ArrayList<>();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+
+    private int activeNumber;
+    private FileChannel active;
+    private long activeSize;
+    private boolean closed;
+
+    /**
+     * Opens or creates an archive with the default segment size.
+     *
+     * @param directory The directory holding the segment files
+     * @throws IOException if the directory cannot be read or created
+     */
+    public ReportArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens or creates an archive.
+     *
+     * @param directory The directory holding the segment files
+     * @param segmentBytes The size at which the active segment is sealed
+     * @throws IOException if the directory cannot be read or created
+     */
+    public ReportArchive(Path directory, long segmentBytes) throws IOException {
+        if (segmentBytes < FILE_HEADER_BYTES + RECORD_HEADER_BYTES || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentBytes out of range: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        List<Integer> numbers = segmentNumbers();
+        for (int i = 0; i < numbers.size(); i++) {
+            int number = numbers.get(i);
+            boolean last = i == numbers.size() - 1;
+            if (Files.exists(indexPath(number))) {
+                sealed.add(SealedSegment.open(segmentPath(number), indexPath(number)));
+            } else if (!last) {
+                recover(number);
+                sealed.add(seal(number));
+            }
+        }
+
+        activeNumber = numbers.isEmpty() || Files.exists(indexPath(numbers.get(numbers.size() - 1)))
+                ? nextNumber(numbers)
+                : numbers.get(numbers.size() - 1);
+        openActive();
+        LOGGER.debug("Opened report archive {} with {} sealed segments", directory, sealed.size());
+    }
+
+    /**
+     * Appends a report.
+     *
+     * @param report The report; its station, observation time and raw text must be set
+     * @throws IOException if the segment cannot be written
+     * @throws IllegalArgumentException if the report cannot be archived
+     */
+    public void append(NoaaAviationWeatherData report) throws IOException {
+        append(report.getStationId(), report.getReportType(), report.getObservationTime(), report.getRawText());
+    }
+
+    /**
+     * Appends a report.
+     *
+     * @param station The station code, 1-4 printable ASCII characters
+     * @param type The report type: METAR, SPECI, TAF, TAF AMD or TAF COR
+     * @param observationTime The UTC observation or issue time, in whole minutes
+     * @param rawText The raw report
+     * @throws IOException if the segment cannot be written
+     * @throws IllegalArgumentException if the report cannot be archived
+     */
+    public synchronized void append(String station, String type, LocalDateTime observationTime, String rawText)
+            throws IOException {
+        checkOpen();
+        int key = stationKey(station);
+        int typeCode = REPORT_TYPES.indexOf(type);
+        if (typeCode < 0) {
+            throw new IllegalArgumentException("Unknown report type: " + type);
+        }
+        int minute = epochMinute(observationTime);
+        if (rawText == null) {
+            throw new IllegalArgumentException("Raw text cannot be null");
+        }
+        byte[] text = rawText.getBytes(StandardCharsets.UTF_8);
+        if (text.length > MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException("Raw text longer than " + MAX_TEXT_BYTES + " bytes");
+        }
+
+        int recordBytes = RECORD_HEADER_BYTES + text.length;
+        if (activeSize + writeBuffer.position() + recordBytes > segmentBytes
+                && activeSize + writeBuffer.position() > FILE_HEADER_BYTES) {
+            rollActive();
+        }
+        if (writeBuffer.remaining() < recordBytes) {
+            flushBuffer();
+        }
+        if (writeBuffer.remaining() < recordBytes) {
+            writeFully(ByteBuffer.wrap(encode(key, minute, typeCode, text)));
+        } else {
+            writeBuffer.put(encode(key, minute, typeCode, text));
+        }
+    }
+
+    /**
+     * Writes buffered reports to the active segment file.
+     *
+     * @throws IOException if the segment cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        checkOpen();
+        flushBuffer();
+    }
+
+    /**
+     * Reads the reports of one station in a period.
+     *
+     * @param station The station code
+     * @param from The start of the period, inclusive (UTC)
+     * @param to The end of the period, exclusive (UTC)
+     * @return The reports, ordered by observation time
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized List<ArchivedReport> read(String station, LocalDateTime from, LocalDateTime to)
+            throws IOException {
+        checkOpen();
+        int key = stationKey(station);
+        int fromMinute = clampedMinute(from);
+        int toMinute = clampedMinute(to);
+
+        List<ArchivedReport> reports = new ArrayList<>();
+        for (SealedSegment segment : sealed) {
+            segment.read(key, fromMinute, toMinute, reports::add);
+        }
+        ByteBuffer records = mapActive();
+        while (records.hasRemaining()) {
+            ArchivedReport report = ArchivedReport.read(records, key, fromMinute, toMinute);
+            if (report != null) {
+                reports.add(report);
+            }
+        }
+        reports.sort(Comparator.comparing(ArchivedReport::getObservationTime));
+        return reports;
+    }
+
+    /**
+     * Passes every archived report to a consumer: the sealed segments in
+     * order, each sorted by station and time, then the active segment in
+     * arrival order.
+     *
+     * @param consumer Receives each report
+     * @return The number of reports replayed
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized long replay(Consumer<ArchivedReport> consumer) throws IOException {
+        checkOpen();
+        long count = 0;
+        List<ByteBuffer> segments = new ArrayList<>();
+        for (SealedSegment segment : sealed) {
+            segments.add(segment.records());
+        }
+        segments.add(mapActive());
+        for (ByteBuffer records : segments) {
+            while (records.hasRemaining()) {
+                consumer.accept(ArchivedReport.read(records));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of segment files, including the active one.
+     *
+     * @return The segment count
+     */
+    public synchronized int getSegmentCount() {
+        return sealed.size() + 1;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flushBuffer();
+            active.force(false);
+        } finally {
+            closed = true;
+            active.close();
+        }
+    }
+
+    /**
+     * A report read back from the archive.
+     */
+    public static final class ArchivedReport {
+        private final String stationId;
+        private final String reportType;
+        private final LocalDateTime observationTime;
+        private final String rawText;
+
+        ArchivedReport(String stationId, String reportType, LocalDateTime observationTime, String rawText) {
+            this.stationId = stationId;
+            this.reportType = reportType;
+            this.observationTime = observationTime;
+            this.rawText = rawText;
+        }
+
+        public String getStationId() {
+            return stationId;
+        }
+
+        public String getReportType() {
+            return reportType;
+        }
+
+        public LocalDateTime getObservationTime() {
+            return observationTime;
+        }
+
+        public String getRawText() {
+            return rawText;
+        }
+
+        /**
+         * Reads the record at the buffer position and moves past it.
+         */
+        static ArchivedReport read(ByteBuffer records) {
+            int key = records.getInt();
+            int minute = records.getInt();
+            int type = records.get();
+            byte[] text = new byte[Short.toUnsignedInt(records.getShort())];
+            records.get(text);
+            return new ArchivedReport(stationText(key), REPORT_TYPES.get(type),
+                    LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC),
+                    new String(text, StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Moves past the record at the buffer position, decoding it only if
+         * it matches.
+         *
+         * @return The report, or null if it does not match
+         */
+        static ArchivedReport read(ByteBuffer records, int key, int fromMinute, int toMinute) {
+            int position = records.position();
+            int recordKey = records.getInt(position);
+            int minute = records.getInt(position + Integer.BYTES);
+            if (recordKey == key && minute >= fromMinute && minute < toMinute) {
+                return read(records);
+            }
+            skip(records);
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ArchivedReport)) {
+                return false;
+            }
+            ArchivedReport that = (ArchivedReport) o;
+            return stationId.equals(that.stationId) && reportType.equals(that.reportType)
+                    && observationTime.equals(that.observationTime) && rawText.equals(that.rawText);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(stationId, reportType, observationTime, rawText);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ArchivedReport{stationId='%s', reportType='%s', observationTime=%s, rawText='%s'}",
+                    stationId, reportType, observationTime, rawText);
+        }
+    }
+
+    /**
+     * A sealed, sorted segment with its sparse index.
+     */
+    private static final class SealedSegment {
+        private final MappedByteBuffer segment;
+        private final int[] keys;
+        private final int[] minutes;
+        private final int[] offsets;
+
+        private SealedSegment(MappedByteBuffer segment, int[] keys, int[] minutes, int[] offsets) {
+            this.segment = segment;
+            this.keys = keys;
+            this.minutes = minutes;
+            this.offsets = offsets;
+        }
+
+        static SealedSegment open(Path segmentPath, Path indexPath) throws IOException {
+            MappedByteBuffer segment = map(segmentPath);
+            checkHeader(segment.getInt(0), SEGMENT_MAGIC, segmentPath);
+            try (InputStream in = Files.newInputStream(indexPath);
+                 DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+                checkHeader(data.readInt(), INDEX_MAGIC, indexPath);
+                data.readInt();
+                int count = data.readInt();
+                int[] keys = new int[count];
+                int[] minutes = new int[count];
+                int[] offsets = new int[count];
+                for (int i = 0; i < count; i++) {
+                    keys[i] = data.readInt();
+                    minutes[i] = data.readInt();
+                    offsets[i] = data.readInt();
+                }
+                return new SealedSegment(segment, keys, minutes, offsets);
+            }
+        }
+
+        ByteBuffer records() {
+            ByteBuffer records = segment.duplicate();
+            records.position(FILE_HEADER_BYTES);
+            return records;
+        }
+
+        /**
+         * Reads the matching records, starting at the last index entry
+         * before (key, fromMinute) and stopping at the first record past
+         * (key, toMinute).
+         */
+        void read(int key, int fromMinute, int toMinute, Consumer<ArchivedReport> consumer) {
+            int low = 0;
+            int high = offsets.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(keys[mid], minutes[mid], key, fromMinute) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            ByteBuffer records = records();
+            if (low > 0) {
+                records.position(offsets[low - 1]);
+            }
+            while (records.hasRemaining()) {
+                int position = records.position();
+                if (compare(records.getInt(position), records.getInt(position + Integer.BYTES),
+                        key, toMinute) >= 0) {
+                    return;
+                }
+                ArchivedReport report = ArchivedReport.read(records, key, fromMinute, toMinute);
+                if (report != null) {
+                    consumer.accept(report);
+                }
+            }
+        }
+    }
+
+    private void openActive() throws IOException {
+        Path path = segmentPath(activeNumber);
+        if (Files.exists(path)) {
+            recover(activeNumber);
+        }
+        active = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        activeSize = active.size();
+        if (activeSize == 0) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+            header.putInt(SEGMENT_MAGIC).putInt(VERSION).flip();
+            writeFully(header);
+        }
+        active.position(activeSize);
+    }
+
+    private void rollActive() throws IOException {
+        flushBuffer();
+        active.close();
+        sealed.add(seal(activeNumber));
+        activeNumber++;
+        openActive();
+    }
+
+    /**
+     * Truncates a record cut short at the end of an unsealed segment.
+     */
+    private void recover(int number) throws IOException {
+        Path path = segmentPath(number);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < FILE_HEADER_BYTES) {
+                // Created but never written: start it again with a complete header
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+                header.putInt(SEGMENT_MAGIC).putInt(VERSION).flip();
+                channel.write(header, 0);
+                return;
+            }
+            ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            checkHeader(records.getInt(0), SEGMENT_MAGIC, path);
+            int end = FILE_HEADER_BYTES;
+            while (end + RECORD_HEADER_BYTES <= size) {
+                int type = records.get(end + 2 * Integer.BYTES);
+                int length = Short.toUnsignedInt(records.getShort(end + 2 * Integer.BYTES + Byte.BYTES));
+                if (type < 0 || type >= REPORT_TYPES.size() || end + RECORD_HEADER_BYTES + length > size) {
+                    break;
+                }
+                end += RECORD_HEADER_BYTES + length;
+            }
+            if (end < size) {
+                LOGGER.warn("Discarding {} bytes of incomplete records at the end of {}", size - end, path);
+                channel.truncate(end);
+            }
+        }
+    }
+
+    /**
+     * Rewrites a segment sorted by station and time and writes its index.
+     */
+    private SealedSegment seal(int number) throws IOException {
+        Path segmentPath = segmentPath(number);
+        Path indexPath = indexPath(number);
+        ByteBuffer records = map(segmentPath);
+        records.position(FILE_HEADER_BYTES);
+
+        List<int[]> entries = new ArrayList<>();
+        while (records.hasRemaining()) {
+            int position = records.position();
+            entries.add(new int[] {records.getInt(position), records.getInt(position + Integer.BYTES), position});
+            skip(records);
+        }
+        // List.sort is stable, so reports with the same key keep their arrival order
+        entries.sort((a, b) -> compare(a[0], a[1], b[0], b[1]));
+
+        Path segmentTemp = directory.resolve(segmentPath.getFileName() + TEMP_SUFFIX);
+        Path indexTemp = directory.resolve(indexPath.getFileName() + TEMP_SUFFIX);
+        try (OutputStream segmentOut = Files.newOutputStream(segmentTemp);
+             DataOutputStream segment = new DataOutputStream(new BufferedOutputStream(segmentOut));
+             OutputStream indexOut = Files.newOutputStream(indexTemp);
+             DataOutputStream index = new DataOutputStream(new BufferedOutputStream(indexOut))) {
+            segment.writeInt(SEGMENT_MAGIC);
+            segment.writeInt(VERSION);
+            index.writeInt(INDEX_MAGIC);
+            index.writeInt(VERSION);
+            index.writeInt((entries.size() + INDEX_INTERVAL - 1) / INDEX_INTERVAL);
+
+            byte[] record = new byte[RECORD_HEADER_BYTES + MAX_TEXT_BYTES];
+            for (int i = 0; i < entries.size(); i++) {
+                int[] entry = entries.get(i);
+                if (i % INDEX_INTERVAL == 0) {
+                    index.writeInt(entry[0]);
+                    index.writeInt(entry[1]);
+                    index.writeInt(segment.size());
+                }
+                int length = RECORD_HEADER_BYTES
+                        + Short.toUnsignedInt(records.getShort(entry[2] + 2 * Integer.BYTES + Byte.BYTES));
+                records.position(entry[2]);
+                records.get(record, 0, length);
+                segment.write(record, 0, length);
+            }
+        }
+        Files.move(segmentTemp, segmentPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(indexTemp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.info("Sealed report archive segment {} with {} reports", segmentPath.getFileName(), entries.size());
+        return SealedSegment.open(segmentPath, indexPath);
+    }
+
+    private ByteBuffer mapActive() throws IOException {
+        flushBuffer();
+        ByteBuffer records = active.map(FileChannel.MapMode.READ_ONLY, 0, activeSize);
+        records.position(FILE_HEADER_BYTES);
+        return records;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (writeBuffer.position() > 0) {
+            writeBuffer.flip();
+            writeFully(writeBuffer);
+            writeBuffer.clear();
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            activeSize += active.write(buffer, activeSize);
+        }
+    }
+
+    private List<Integer> segmentNumbers() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static int nextNumber(List<Integer> numbers) {
+        return numbers.isEmpty() ? 1 : numbers.get(numbers.size() - 1) + 1;
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("%08d%s", number, SEGMENT_SUFFIX));
+    }
+
+    private Path indexPath(int number) {
+        return directory.resolve(String.format("%08d%s", number, INDEX_SUFFIX));
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static byte[] encode(int key, int minute, int typeCode, byte[] text) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + text.length);
+        record.putInt(key).putInt(minute).put((byte) typeCode).putShort((short) text.length).put(text);
+        return record.array();
+    }
+
+    private static void skip(ByteBuffer records) {
+        int position = records.position();
+        int length = Short.toUnsignedInt(records.getShort(position + 2 * Integer.BYTES + Byte.BYTES));
+        records.position(position + RECORD_HEADER_BYTES + length);
+    }
+
+    private static int compare(int key, int minute, int otherKey, int otherMinute) {
+        int byKey = Integer.compare(key, otherKey);
+        return byKey != 0 ? byKey : Integer.compare(minute, otherMinute);
+    }
+
+    /**
+     * Packs a station code of 1-4 printable ASCII characters into an int
+     * that sorts like the code itself.
+     */
+    private static int stationKey(String station) {
+        if (station == null || station.isEmpty() || station.length() > 4) {
+            throw new IllegalArgumentException("Station code must be 1-4 characters: " + station);
+        }
+        int key = 0;
+        for (int i = 0; i < 4; i++) {
+            int c = i < station.length() ? station.charAt(i) : 0;
+            if (i < station.length() && (c <= ' ' || c > '~')) {
+                throw new IllegalArgumentException("Station code must be printable ASCII: " + station);
+            }
+            key = key << 8 | c;
+        }
+        return key;
+    }
+
+    private static String stationText(int key) {
+        StringBuilder station = new StringBuilder(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            int c = key >>> shift & 0xFF;
+            if (c != 0) {
+                station.append((char) c);
+            }
+        }
+        return station.toString();
+    }
+
+    private static int epochMinute(LocalDateTime time) {
+        if (time == null) {
+            throw new IllegalArgumentException("Observation time cannot be null");
+        }
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        if (seconds % 60 != 0 || time.getNano() != 0 || seconds / 60 != (int) (seconds / 60)) {
+            throw new IllegalArgumentException("Observation time cannot be stored in whole minutes: " + time);
+        }
+        return (int) (seconds / 60);
+    }
+
+    private static int clampedMinute(LocalDateTime time) {
+        long minute = Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60L);
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, minute));
+    }
+
+    private static void checkHeader(int magic, int expected, Path path) throws IOException {
+        if (magic != expected) {
+            throw new IOException("Not a report archive file: " + path);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Report archive is closed");
+        }
+    }
+}
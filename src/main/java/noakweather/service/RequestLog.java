@@ -0,0 +1,178 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.StringMapMessage;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes one structured event per weather request, sampled and rate limited
+ * so logging stays cheap under load.
+ *
+ * Successful requests are sampled: only one in sampleInterval is considered
+ * for logging. Failures are always considered. Either way, at most
+ * eventsPerSecond events are written per second; the rest are counted and
+ * the count is reported with the next event written. Nothing is allocated
+ * for a request that is not logged.
+ *
+ * Events are logged to the noakweather.service.RequestLog logger as
+ * key="value" pairs, for example
+ * event="fetch" type="METAR" station="KJFK" outcome="OK" elapsedMs="12".
+ *
+ * All methods are thread-safe.
+ *
+ * @author bclasky1539
+ */
+final class RequestLog {
+
+    private static final Logger LOGGER = LogManager.getLogger(RequestLog.class);
+
+    /**
+     * Default number of successful requests per sampled event
+     */
+    static final int DEFAULT_SAMPLE_INTERVAL = 100;
+
+    /**
+     * Default number of events written per second
+     */
+    static final int DEFAULT_EVENTS_PER_SECOND = 20;
+
+    private static final String OUTCOME_OK = "OK";
+
+    private final int sampleInterval;
+    private final int eventsPerSecond;
+    private final Clock clock;
+    private final AtomicLong successCount = new AtomicLong();
+
+    private long windowStartMillis;
+    private int windowEvents;
+    private long suppressedCount;
+
+    /**
+     * Creates a request log with the default sampling and rate.
+     */
+    RequestLog() {
+        this(DEFAULT_SAMPLE_INTERVAL, DEFAULT_EVENTS_PER_SECOND, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a request log.
+     *
+     * @param sampleInterval The number of successful requests per sampled event
+     * @param eventsPerSecond The most events written per second
+     * @param clock The clock the rate is measured against
+     */
+    RequestLog(int sampleInterval, int eventsPerSecond, Clock clock) {
+        if (sampleInterval < 1 || eventsPerSecond < 1) {
+            throw new IllegalArgumentException("sampleInterval and eventsPerSecond must be at least 1");
+        }
+        this.sampleInterval = sampleInterval;
+        this.eventsPerSecond = eventsPerSecond;
+        this.clock = clock;
+        this.windowStartMillis = clock.millis();
+    }
+
+    /**
+     * Records a request that returned a report.
+     *
+     * @param type The report type, METAR or TAF
+     * @param station The normalized station code
+     * @param startNanos The System.nanoTime() at which the request started
+     */
+    void succeeded(String type, String station, long startNanos) {
+        if (!LOGGER.isInfoEnabled()) {
+            return;
+        }
+        long suppressed = admit(false);
+        if (suppressed >= 0) {
+            LOGGER.info(event(type, station, OUTCOME_OK, startNanos, suppressed));
+        }
+    }
+
+    /**
+     * Records a request that failed. Expected failures, such as an unknown
+     * station, are logged at INFO; any other failure at WARN.
+     *
+     * @param type The report type, METAR or TAF
+     * @param station The normalized station code
+     * @param error The failure
+     * @param startNanos The System.nanoTime() at which the request started
+     */
+    void failed(String type, String station, WeatherServiceException error, long startNanos) {
+        Level level = error.isExpected() ? Level.INFO : Level.WARN;
+        if (!LOGGER.isEnabled(level)) {
+            return;
+        }
+        long suppressed = admit(true);
+        if (suppressed >= 0) {
+            LOGGER.log(level, event(type, station, error.getErrorType().name(), startNanos, suppressed)
+                    .with("message", error.getMessage()));
+        }
+    }
+
+    /**
+     * Decides whether a request is logged.
+     *
+     * @param failure true if the request failed, so sampling does not apply
+     * @return The number of events suppressed since the last one written, or
+     *         -1 if this request is not logged
+     */
+    long admit(boolean failure) {
+        if (!failure && successCount.getAndIncrement() % sampleInterval != 0) {
+            return -1;
+        }
+        synchronized (this) {
+            long now = clock.millis();
+            if (now - windowStartMillis >= 1000) {
+                windowStartMillis = now;
+                windowEvents = 0;
+            }
+            if (windowEvents >= eventsPerSecond) {
+                suppressedCount++;
+                return -1;
+            }
+            windowEvents++;
+            long suppressed = suppressedCount;
+            suppressedCount = 0;
+            return suppressed;
+        }
+    }
+
+    private StringMapMessage event(String type, String station, String outcome, long startNanos,
+                                   long suppressed) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        StringMapMessage event = new StringMapMessage()
+                .with("event", "fetch")
+                .with("type", type)
+                .with("station", station)
+                .with("outcome", outcome)
+                .with("elapsedMs", Long.toString(elapsedMillis));
+        if (sampleInterval > 1) {
+            event.with("sampleInterval", Integer.toString(sampleInterval));
+        }
+        if (suppressed > 0) {
+            event.with("suppressed", Long.toString(suppressed));
+        }
+        return event;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import java.time.Clock;
+
+/**
+ * A token bucket limiting how many retries the fetch path may make.
+ *
+ * Each retry spends one token; tokens refill at a steady rate up to the
+ * bucket capacity. A brief blip is retried freely, but a sustained outage
+ * drains the bucket and further failures are reported straight away
+ * instead of multiplying the load on a struggling upstream.
+ *
+ * All methods are thread-safe.
+ *
+ * @author bclasky1539
+ */
+public final class RetryBudget {
+
+    /**
+     * Default number of tokens the bucket holds
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Default number of tokens added per second
+     */
+    public static final double DEFAULT_TOKENS_PER_SECOND = 1.0;
+
+    private final int capacity;
+    private final double tokensPerMilli;
+    private final Clock clock;
+
+    private double tokens;
+    private long lastRefillMillis;
+    private long grantedCount;
+    private long deniedCount;
+
+    /**
+     * Creates a budget with the default capacity and refill rate.
+     */
+    public RetryBudget() {
+        this(DEFAULT_CAPACITY, DEFAULT_TOKENS_PER_SECOND, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a full budget.
+     *
+     * @param capacity The number of tokens the bucket holds
+     * @param tokensPerSecond The number of tokens added per second
+     * @param clock The clock the refill is measured against
+     */
+    public RetryBudget(int capacity, double tokensPerSecond, Clock clock) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        if (tokensPerSecond < 0) {
+            throw new IllegalArgumentException("tokensPerSecond must not be negative");
+        }
+        this.capacity = capacity;
+        this.tokensPerMilli = tokensPerSecond / 1000.0;
+        this.clock = clock;
+        this.tokens = capacity;
+        this.lastRefillMillis = clock.millis();
+    }
+
+    /**
+     * Spends one token if one is available.
+     *
+     * @return true if the retry may go ahead
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            grantedCount++;
+            return true;
+        }
+        deniedCount++;
+        return false;
+    }
+
+    /**
+     * Gets the number of whole tokens available.
+     *
+     * @return The available tokens
+     */
+    public synchronized int getAvailableTokens() {
+        refill();
+        return (int) tokens;
+    }
+
+    /**
+     * Gets the number of retries granted.
+     *
+     * @return The granted count
+     */
+    public synchronized long getGrantedCount() {
+        return grantedCount;
+    }
+
+    /**
+     * Gets the number of retries refused because the bucket was empty.
+     *
+     * @return The denied count
+     */
+    public synchronized long getDeniedCount() {
+        return deniedCount;
+    }
+
+    private void refill() {
+        long now = clock.millis();
+        if (now > lastRefillMillis) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillMillis) * tokensPerMilli);
+            lastRefillMillis = now;
+        }
+    }
+}
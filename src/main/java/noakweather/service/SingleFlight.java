@@ -0,0 +1,88 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one.
+ *
+ * The first caller for a key starts the work; every caller arriving while
+ * it is still running receives the same outcome instead of starting the
+ * work again. Once the work completes the key is released, so the next
+ * caller starts afresh.
+ *
+ * @param <K> The key type
+ * @param <V> The result type
+ *
+ * @author bclasky1539
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the call for the key unless one is already in flight, in which
+     * case the outcome of that call is shared.
+     *
+     * The call is invoked on the calling thread and may complete its future
+     * there (blocking work) or later (asynchronous work). Each caller gets its
+     * own dependent future, so completing or timing it out does not affect
+     * the other callers.
+     *
+     * @param key The key identifying the work
+     * @param call Starts the work and returns its future
+     * @return A future holding the shared outcome
+     */
+    CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> placeholder = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, placeholder);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        CompletableFuture<V> work;
+        try {
+            work = call.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, placeholder);
+            placeholder.completeExceptionally(e);
+            return placeholder.copy();
+        }
+        work.whenComplete((value, error) -> {
+            inFlight.remove(key, placeholder);
+            if (error != null) {
+                placeholder.completeExceptionally(error);
+            } else {
+                placeholder.complete(value);
+            }
+        });
+        return placeholder.copy();
+    }
+
+    /**
+     * Gets the number of keys with work in flight.
+     *
+     * @return The in-flight count
+     */
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.NoaaTafData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Remembers the last version of each station file: its validators (ETag and
+ * Last-Modified), the extracted report and, once decoded, the parsed report.
+ *
+ * The service sends the validators with the next request for the same URL;
+ * when the server answers 304 Not Modified, the remembered report is reused
+ * without downloading or parsing it again.
+ *
+ * Entries are kept in least-recently-used order and the oldest is dropped
+ * once maxFiles is reached. All methods are thread-safe.
+ *
+ * @author bclasky1539
+ */
+final class StationFileCache {
+
+    /**
+     * Default number of station files remembered
+     */
+    static final int DEFAULT_MAX_FILES = 10_000;
+
+    private final Map<String, StationFile> files;
+
+    StationFileCache() {
+        this(DEFAULT_MAX_FILES);
+    }
+
+    StationFileCache(int maxFiles) {
+        if (maxFiles < 1) {
+            throw new IllegalArgumentException("maxFiles must be at least 1");
+        }
+        this.files = new LinkedHashMap<String, StationFile>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StationFile> eldest) {
+                return size() > maxFiles;
+            }
+        };
+    }
+
+    /**
+     * Gets the remembered version of a station file.
+     *
+     * @param url The station file URL
+     * @return The remembered file, or null if none
+     */
+    synchronized StationFile get(String url) {
+        return files.get(url);
+    }
+
+    /**
+     * Remembers a station file, replacing any older version.
+     *
+     * @param url The station file URL
+     * @param file The file to remember
+     */
+    synchronized void put(String url, StationFile file) {
+        files.put(url, file);
+    }
+
+    /**
+     * Forgets a station file, so the next request downloads it in full.
+     *
+     * @param url The station file URL
+     */
+    synchronized void remove(String url) {
+        files.remove(url);
+    }
+
+    synchronized int size() {
+        return files.size();
+    }
+
+    /**
+     * One version of a station file. The parsed report is decoded once, by
+     * the first caller that asks for it, and then shared by every caller
+     * that receives the same version.
+     */
+    static final class StationFile {
+        private final String report;
+        private final String eTag;
+        private final String lastModified;
+        private volatile NoaaMetarData metar;
+        private volatile NoaaTafData taf;
+
+        StationFile(String report, String eTag, String lastModified) {
+            this.report = report;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        String getReport() {
+            return report;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+
+        boolean hasValidators() {
+            return eTag != null || lastModified != null;
+        }
+
+        /**
+         * Gets the decoded METAR, decoding it on first use.
+         *
+         * @param decoder Decodes the report text
+         * @return The decoded report shared by all callers of this version
+         */
+        NoaaMetarData getMetar(Function<String, NoaaMetarData> decoder) {
+            NoaaMetarData result = metar;
+            if (result == null) {
+                synchronized (this) {
+                    result = metar;
+                    if (result == null) {
+                        result = decoder.apply(report);
+                        metar = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Gets the decoded TAF, decoding it on first use.
+         *
+         * @param decoder Decodes the report text
+         * @return The decoded report shared by all callers of this version
+         */
+        NoaaTafData getTaf(Function<String, NoaaTafData> decoder) {
+            NoaaTafData result = taf;
+            if (result == null) {
+                synchronized (this) {
+                    result = taf;
+                    if (result == null) {
+                        result = decoder.apply(report);
+                        taf = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,556 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.StationCode;
+import noakweather.noaa_api.parser.MetarParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the METARs of a watch list of stations current with as few
+ * requests as possible.
+ *
+ * Every station is polled on its own schedule. The monitor learns the
+ * minute of the hour at which each station issues its routine reports
+ * (most publish near :51-:56) and sleeps until the next one is due,
+ * waking every SPECIAL_CHECK_INTERVAL in between to catch unscheduled SPECI
+ * reports. When a report is due but the file is still unchanged, the retry
+ * interval doubles up to MAX_RETRY. Every delay gets a random jitter and
+ * stations start spread over STARTUP_SPREAD, so thousands of stations do not
+ * poll in lock-step.
+ *
+ * Paired with WeatherServiceImpl, the checks of an unchanged file are
+ * conditional requests answered with 304 Not Modified.
+ *
+ * Each new report is decoded and handed to the listener on one of the
+ * monitor's threads. The threads are daemons; call close() to stop polling.
+ *
+ * @author bclasky1539
+ */
+public class StationMonitor implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(StationMonitor.class);
+
+    /**
+     * Default number of threads polling stations
+     */
+    public static final int DEFAULT_THREADS = 8;
+
+    /**
+     * Time between a routine observation and the expected publication of its report
+     */
+    public static final Duration PUBLICATION_DELAY = Duration.ofMinutes(3);
+
+    /**
+     * Longest time between two polls of a station while no report is overdue
+     */
+    public static final Duration SPECIAL_CHECK_INTERVAL = Duration.ofMinutes(20);
+
+    /**
+     * First retry interval for an overdue report or a failed poll
+     */
+    public static final Duration MIN_RETRY = Duration.ofMinutes(1);
+
+    /**
+     * Longest retry interval for an overdue report or a failed poll
+     */
+    public static final Duration MAX_RETRY = Duration.ofMinutes(30);
+
+    /**
+     * Largest random delay added to every poll
+     */
+    public static final Duration JITTER = Duration.ofSeconds(30);
+
+    /**
+     * Window over which the first polls of newly watched stations are spread
+     */
+    public static final Duration STARTUP_SPREAD = Duration.ofMinutes(2);
+
+    private final WeatherService service;
+    private final Consumer<NoaaMetarData> listener;
+    private final Clock clock;
+    private final Random random;
+    private final MetarParser metarParser = new MetarParser();
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ConcurrentMap<StationCode, StationSchedule> schedules = new ConcurrentHashMap<>();
+    private boolean started;
+
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong newReports = new AtomicLong();
+    private final AtomicLong unchangedPolls = new AtomicLong();
+    private final AtomicLong failedPolls = new AtomicLong();
+
+    /**
+     * Creates a monitor with DEFAULT_THREADS polling threads.
+     *
+     * @param service The service the reports are fetched from
+     * @param listener Receives every new report
+     */
+    public StationMonitor(WeatherService service, Consumer<NoaaMetarData> listener) {
+        this(service, listener, DEFAULT_THREADS, Clock.systemUTC(), new Random());
+    }
+
+    /**
+     * Creates a monitor with every setting supplied.
+     *
+     * @param service The service the reports are fetched from
+     * @param listener Receives every new report
+     * @param threads The number of polling threads
+     * @param clock The clock schedules are measured against
+     * @param random The source of the scheduling jitter
+     */
+    public StationMonitor(WeatherService service, Consumer<NoaaMetarData> listener, int threads,
+                          Clock clock, Random random) {
+        if (service == null || listener == null) {
+            throw new IllegalArgumentException("service and listener must not be null");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.service = service;
+        this.listener = listener;
+        this.clock = clock;
+        this.random = random;
+        this.scheduler = new ScheduledThreadPoolExecutor(threads, new MonitorThreadFactory());
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Adds a station to the watch list. Once the monitor is started, its
+     * first poll happens within STARTUP_SPREAD.
+     *
+     * @param station The station to watch
+     * @return true if the station was not already watched
+     */
+    public synchronized boolean watch(StationCode station) {
+        if (station == null) {
+            throw new IllegalArgumentException("station must not be null");
+        }
+        StationSchedule schedule = new StationSchedule();
+        if (schedules.putIfAbsent(station, schedule) != null) {
+            return false;
+        }
+        if (started) {
+            schedule(station, schedule, startupDelay());
+        }
+        return true;
+    }
+
+    /**
+     * Removes a station from the watch list. A poll already running completes.
+     *
+     * @param station The station to stop watching
+     * @return true if the station was watched
+     */
+    public boolean unwatch(StationCode station) {
+        return schedules.remove(station) != null;
+    }
+
+    /**
+     * Gets the watched stations.
+     *
+     * @return The watched stations, sorted
+     */
+    public List<StationCode> getWatchedStations() {
+        List<StationCode> stations = new ArrayList<>(schedules.keySet());
+        Collections.sort(stations);
+        return Collections.unmodifiableList(stations);
+    }
+
+    /**
+     * Starts polling the watched stations.
+     *
+     * @throws IllegalStateException if the monitor was closed
+     */
+    public synchronized void start() {
+        if (scheduler.isShutdown()) {
+            throw new IllegalStateException("Monitor has been closed");
+        }
+        if (started) {
+            return;
+        }
+        started = true;
+        schedules.forEach((station, schedule) -> schedule(station, schedule, startupDelay()));
+        LOGGER.info("Monitoring {} stations", schedules.size());
+    }
+
+    /**
+     * Stops polling. Polls already running complete; polls not yet started
+     * are cancelled.
+     */
+    @Override
+    public void close() {
+        // shutdown() rather than shutdownNow(), which would interrupt a running fetch
+        scheduler.shutdown();
+        LOGGER.info("Station monitor stopped: {}", getStats());
+    }
+
+    /**
+     * Gets a snapshot of the poll counters.
+     *
+     * @return The current statistics
+     */
+    public Stats getStats() {
+        return new Stats(polls.get(), newReports.get(), unchangedPolls.get(), failedPolls.get());
+    }
+
+    /**
+     * Polls a station once and works out when to poll it next.
+     *
+     * @param station The station to poll
+     * @return The delay until the next poll, or null if the station is not watched
+     */
+    Duration poll(StationCode station) {
+        StationSchedule schedule = schedules.get(station);
+        return schedule == null ? null : poll(station, schedule);
+    }
+
+    private Duration poll(StationCode station, StationSchedule schedule) {
+        LocalDateTime now = now();
+        polls.incrementAndGet();
+
+        String report;
+        try {
+            report = service.getMetarData(station);
+        } catch (WeatherServiceException e) {
+            failedPolls.incrementAndGet();
+            schedule.failures++;
+            LOGGER.debug("Poll of {} failed ({} in a row): {}", station, schedule.failures, e.getMessage());
+            return withJitter(backoff(schedule.failures));
+        }
+        schedule.failures = 0;
+
+        if (report.equals(schedule.lastReport)) {
+            unchangedPolls.incrementAndGet();
+            LocalDateTime due = schedule.nextRoutineDue();
+            if (due != null && !now.isBefore(due)) {
+                schedule.overduePolls++;
+            }
+            return nextDelay(schedule, now);
+        }
+
+        newReports.incrementAndGet();
+        schedule.lastReport = report;
+        schedule.overduePolls = 0;
+        NoaaMetarData metar = decode(report, station, now);
+        if (metar.getObservationTime() != null) {
+            schedule.record(metar);
+        }
+        notifyListener(metar);
+        return nextDelay(schedule, now);
+    }
+
+    /**
+     * Works out the delay until the next poll of a station that answered.
+     *
+     * @param schedule The schedule of the station
+     * @param now The current time
+     * @return The delay, jitter included
+     */
+    private Duration nextDelay(StationSchedule schedule, LocalDateTime now) {
+        LocalDateTime due = schedule.nextRoutineDue();
+        Duration delay;
+        if (due == null) {
+            delay = SPECIAL_CHECK_INTERVAL;
+        } else if (now.isBefore(due)) {
+            Duration untilDue = Duration.between(now, due);
+            delay = untilDue.compareTo(SPECIAL_CHECK_INTERVAL) < 0 ? untilDue : SPECIAL_CHECK_INTERVAL;
+        } else {
+            delay = backoff(schedule.overduePolls);
+        }
+        return withJitter(delay);
+    }
+
+    /**
+     * Gets the retry interval after the given number of unsuccessful polls.
+     *
+     * @param attempts The number of polls that did not bring a new report
+     * @return MIN_RETRY doubled per attempt, capped at MAX_RETRY
+     */
+    static Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 16);
+        Duration delay = MIN_RETRY.multipliedBy(1L << doublings);
+        return delay.compareTo(MAX_RETRY) > 0 ? MAX_RETRY : delay;
+    }
+
+    private Duration withJitter(Duration delay) {
+        return delay.plusMillis((long) (random.nextDouble() * JITTER.toMillis()));
+    }
+
+    private Duration startupDelay() {
+        return Duration.ofMillis((long) (random.nextDouble() * STARTUP_SPREAD.toMillis()));
+    }
+
+    private void schedule(StationCode station, StationSchedule schedule, Duration delay) {
+        try {
+            scheduler.schedule(() -> run(station, schedule), delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Monitor closed, not scheduling {}", station);
+        }
+    }
+
+    private void run(StationCode station, StationSchedule schedule) {
+        // A station unwatched (or unwatched and watched again) ends this chain
+        if (schedules.get(station) != schedule) {
+            return;
+        }
+        Duration delay;
+        try {
+            delay = poll(station, schedule);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unexpected error polling {}", station, e);
+            delay = withJitter(MAX_RETRY);
+        }
+        if (schedules.get(station) == schedule) {
+            schedule(station, schedule, delay);
+        }
+    }
+
+    private NoaaMetarData decode(String report, StationCode station, LocalDateTime now) {
+        try {
+            return metarParser.parse(report, now);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not decode METAR for {}: {}", station, e.getMessage());
+            return new NoaaMetarData(report, station.getCode(), null);
+        }
+    }
+
+    private void notifyListener(NoaaMetarData metar) {
+        try {
+            listener.accept(metar);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Monitor listener failed for {}", metar.getStationId(), e);
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+    }
+
+    /**
+     * The polling state of one station. Only the poll of the station touches
+     * it, and polls of one station never overlap.
+     */
+    static final class StationSchedule {
+        // Routine reports whose minute is further than this from the learned minute are specials
+        private static final int ROUTINE_TOLERANCE_MINUTES = 5;
+        // Once the minute counts add up to this, they are halved so the schedule can adapt
+        private static final int MAX_HISTORY = 48;
+        // With no routine report for this long, the learned minute is taken to be wrong
+        private static final Duration STALE_SCHEDULE = Duration.ofMinutes(90);
+        // Routine reports count more towards the learned minute than reports off it
+        private static final int ROUTINE_WEIGHT = 2;
+        private static final int OFF_MINUTE_WEIGHT = 1;
+
+        private final int[] minuteCounts = new int[60];
+        private int history;
+        private String lastReport;
+        private LocalDateTime lastRoutineObservation;
+        private int overduePolls;
+        private int failures;
+
+        /**
+         * Gets the minute of the hour at which the station usually observes,
+         * smoothed over the neighbouring minutes.
+         *
+         * @return The learned minute, or -1 with no history yet
+         */
+        int expectedMinute() {
+            if (history == 0) {
+                return -1;
+            }
+            int best = -1;
+            int bestScore = 0;
+            for (int minute = 0; minute < 60; minute++) {
+                int score = 2 * minuteCounts[minute]
+                        + minuteCounts[(minute + 59) % 60] + minuteCounts[(minute + 1) % 60];
+                if (score > bestScore) {
+                    best = minute;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Checks whether a report is a routine observation rather than a special.
+         * A report near the learned minute is routine. So is any report once
+         * no routine one has been seen for STALE_SCHEDULE, because the
+         * learned minute is then wrong: learned from a special seen first,
+         * or the station moved its observation time.
+         *
+         * @param metar The decoded report
+         * @return true if the report is routine
+         */
+        boolean isRoutine(NoaaMetarData metar) {
+            if ("SPECI".equals(metar.getMetarType())) {
+                return false;
+            }
+            int expected = expectedMinute();
+            if (expected < 0) {
+                return true;
+            }
+            LocalDateTime observed = metar.getObservationTime();
+            if (lastRoutineObservation != null && !observed.isBefore(lastRoutineObservation.plus(STALE_SCHEDULE))) {
+                return true;
+            }
+            int difference = Math.abs(observed.getMinute() - expected);
+            return Math.min(difference, 60 - difference) <= ROUTINE_TOLERANCE_MINUTES;
+        }
+
+        /**
+         * Learns from a new report. Every report that is not marked SPECI
+         * counts towards the learned minute, so the schedule follows the
+         * station even when it started from the wrong minute; only routine
+         * reports move the next due time forward.
+         *
+         * @param metar The decoded report, with its observation time
+         */
+        void record(NoaaMetarData metar) {
+            if ("SPECI".equals(metar.getMetarType())) {
+                return;
+            }
+            if (isRoutine(metar)) {
+                recordRoutine(metar.getObservationTime());
+            } else {
+                count(metar.getObservationTime().getMinute(), OFF_MINUTE_WEIGHT);
+            }
+        }
+
+        void recordRoutine(LocalDateTime observed) {
+            count(observed.getMinute(), ROUTINE_WEIGHT);
+            if (lastRoutineObservation == null || observed.isAfter(lastRoutineObservation)) {
+                lastRoutineObservation = observed;
+            }
+        }
+
+        LocalDateTime lastRoutineObservation() {
+            return lastRoutineObservation;
+        }
+
+        private void count(int minute, int weight) {
+            if (history >= MAX_HISTORY) {
+                history = 0;
+                for (int other = 0; other < 60; other++) {
+                    minuteCounts[other] /= 2;
+                    history += minuteCounts[other];
+                }
+            }
+            minuteCounts[minute] += weight;
+            history += weight;
+        }
+
+        /**
+         * Gets the time the next routine report should be published: the
+         * learned minute in the first hour slot at least half an hour after
+         * the last routine observation, plus PUBLICATION_DELAY.
+         *
+         * @return The due time, or null with no routine report seen yet
+         */
+        LocalDateTime nextRoutineDue() {
+            if (lastRoutineObservation == null) {
+                return null;
+            }
+            LocalDateTime slot = lastRoutineObservation.truncatedTo(ChronoUnit.HOURS).withMinute(expectedMinute());
+            LocalDateTime earliest = lastRoutineObservation.plusMinutes(30);
+            while (slot.isBefore(earliest)) {
+                slot = slot.plusHours(1);
+            }
+            return slot.plus(PUBLICATION_DELAY);
+        }
+    }
+
+    /**
+     * A snapshot of the poll counters.
+     */
+    public static final class Stats {
+        private final long pollCount;
+        private final long newReportCount;
+        private final long unchangedCount;
+        private final long failureCount;
+
+        Stats(long pollCount, long newReportCount, long unchangedCount, long failureCount) {
+            this.pollCount = pollCount;
+            this.newReportCount = newReportCount;
+            this.unchangedCount = unchangedCount;
+            this.failureCount = failureCount;
+        }
+
+        public long getPollCount() {
+            return pollCount;
+        }
+
+        public long getNewReportCount() {
+            return newReportCount;
+        }
+
+        /**
+         * Gets the number of polls that found the same report as the previous poll.
+         *
+         * @return The unchanged count
+         */
+        public long getUnchangedCount() {
+            return unchangedCount;
+        }
+
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats{polls=%d, newReports=%d, unchanged=%d, failures=%d}",
+                    pollCount, newReportCount, unchangedCount, failureCount);
+        }
+    }
+
+    /**
+     * Creates named daemon threads so the monitor never keeps the JVM alive on its own.
+     */
+    private static final class MonitorThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "noakweather-monitor-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaAviationWeatherData;
+import noakweather.noaa_api.model.Station;
+import noakweather.noaa_api.model.StationCode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the known reporting stations, loaded from a local metadata file.
+ *
+ * The registry holds exactly one Station per station code. Attaching reports
+ * to it makes every report from a station share that one instance, and its
+ * id string, instead of each report carrying its own copy of the location.
+ *
+ * The metadata file is plain text with one station per line:
+ * <pre>
+ * # id,latitude,longitude,elevationFeet,country
+ * KJFK,40.6398,-73.7789,13,US
+ * </pre>
+ * Blank lines and lines starting with '#' are ignored. Malformed lines are
+ * logged and skipped so one bad entry does not lose the whole file.
+ *
+ * Lookups go through an open-addressing table keyed by the packed station
+ * code, so finding a station by its text allocates nothing. A registry is
+ * immutable once loaded and safe to share between threads.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class StationRegistry {
+
+    private static final Logger LOGGER = LogManager.getLogger(StationRegistry.class);
+
+    private static final int FIELD_COUNT = 5;
+    private static final int EMPTY = -1;
+
+    private final int[] keys;
+    private final Station[] values;
+    private final int mask;
+    private final int shift;
+    private final List<Station> stations;
+
+    private StationRegistry(List<Station> stations) {
+        int capacity = Integer.highestOneBit(Math.max(4, stations.size() * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        this.values = new Station[capacity];
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        Arrays.fill(keys, EMPTY);
+
+        List<Station> distinct = new ArrayList<>(stations.size());
+        for (Station station : stations) {
+            if (put(StationCode.pack(station.getId()), station)) {
+                distinct.add(station);
+            } else {
+                LOGGER.warn("Duplicate station {} in metadata, keeping the first entry", station.getId());
+            }
+        }
+        distinct.sort(Comparator.comparing(Station::getId));
+        this.stations = Collections.unmodifiableList(distinct);
+    }
+
+    /**
+     * Creates a registry of the given stations. If a station code occurs
+     * more than once, the first station wins.
+     *
+     * @param stations The stations, with ids that are valid station codes
+     * @return The registry
+     * @throws IllegalArgumentException if a station id is not a valid station code
+     */
+    public static StationRegistry of(Collection<Station> stations) {
+        List<Station> normalized = new ArrayList<>(stations.size());
+        for (Station station : stations) {
+            String code = StationCode.of(station.getId()).getCode();
+            normalized.add(code.equals(station.getId()) ? station
+                    : new Station(code, station.getLatitude(), station.getLongitude(),
+                                  station.getElevationFeet(), station.getCountry()));
+        }
+        return new StationRegistry(normalized);
+    }
+
+    /**
+     * Loads a registry from a station metadata file.
+     *
+     * @param file The metadata file, UTF-8 encoded
+     * @return The registry
+     * @throws IOException if the file cannot be read
+     */
+    public static StationRegistry load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Loads a registry from station metadata text. The reader is not closed.
+     *
+     * @param source The metadata text
+     * @return The registry
+     * @throws IOException if the text cannot be read
+     */
+    public static StationRegistry load(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader
+                ? (BufferedReader) source : new BufferedReader(source);
+        // Countries repeat on almost every line; keep one String per country
+        Map<String, String> countries = new HashMap<>();
+        List<Station> stations = new ArrayList<>();
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.charAt(0) == '#') {
+                continue;
+            }
+            Station station = parseLine(trimmed, countries);
+            if (station != null) {
+                stations.add(station);
+            } else {
+                LOGGER.warn("Skipping malformed station metadata at line {}: '{}'", lineNumber, line);
+            }
+        }
+        StationRegistry registry = new StationRegistry(stations);
+        LOGGER.debug("Loaded {} stations", registry.size());
+        return registry;
+    }
+
+    /**
+     * Finds a station by its code.
+     *
+     * @param station The station code
+     * @return The station, or null if it is not registered
+     */
+    public Station find(StationCode station) {
+        return station != null ? get(station.getPacked()) : null;
+    }
+
+    /**
+     * Finds a station by the text of its code, in any case. Never allocates.
+     *
+     * @param stationCode The station code text
+     * @return The station, or null if the code is invalid or not registered
+     */
+    public Station find(CharSequence stationCode) {
+        return stationCode != null ? get(StationCode.pack(stationCode)) : null;
+    }
+
+    /**
+     * Attaches the registered station to a report, so it shares the
+     * station's metadata and id string. Reports from unknown stations are
+     * left unchanged.
+     *
+     * @param report The report, may be null
+     * @param <T> The report type
+     * @return The same report, for chaining
+     */
+    public <T extends NoaaAviationWeatherData> T attach(T report) {
+        if (report != null) {
+            Station station = find(report.getStationId());
+            if (station != null) {
+                report.setStation(station);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Gets all registered stations.
+     *
+     * @return The stations in station code order
+     */
+    public List<Station> getStations() {
+        return stations;
+    }
+
+    public int size() {
+        return stations.size();
+    }
+
+    private Station get(int packed) {
+        if (packed < 0) {
+            return null;
+        }
+        for (int slot = slotOf(packed); ; slot = (slot + 1) & mask) {
+            int key = keys[slot];
+            if (key == packed) {
+                return values[slot];
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    private boolean put(int packed, Station station) {
+        int slot = slotOf(packed);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == packed) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = packed;
+        values[slot] = station;
+        return true;
+    }
+
+    private int slotOf(int packed) {
+        // Fibonacci hashing spreads neighbouring codes (KJFK, KJFL, ...) across the table
+        return (packed * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Parses one metadata line.
+     *
+     * @param line The trimmed line
+     * @param countries Country codes seen so far, for sharing
+     * @return The station, or null if the line is malformed
+     */
+    private static Station parseLine(String line, Map<String, String> countries) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != FIELD_COUNT) {
+            return null;
+        }
+        StationCode code = StationCode.tryParse(fields[0]);
+        if (code == null) {
+            return null;
+        }
+        try {
+            double latitude = Double.parseDouble(fields[1].trim());
+            double longitude = Double.parseDouble(fields[2].trim());
+            int elevationFeet = Integer.parseInt(fields[3].trim());
+            String country = fields[4].trim();
+            country = country.isEmpty() ? null : countries.computeIfAbsent(country, key -> key);
+            return new Station(code.getCode(), latitude, longitude, elevationFeet, country);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException, or coordinates out of range
+            return null;
+        }
+    }
+}
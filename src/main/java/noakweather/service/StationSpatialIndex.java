@@ -0,0 +1,617 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.Station;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index over a fixed set of stations and their latest METAR reports.
+ *
+ * Answers nearest-station, radius and bounding-box queries without scanning
+ * every station.
+ *
+ * Stations are kept in a balanced k-d tree over their positions as unit
+ * vectors on the globe. Straight-line distance between unit vectors grows
+ * with great-circle distance, so nearest and radius searches are exact
+ * everywhere, including near the poles and across the date line. Every
+ * subtree also records the latitude and longitude range it covers, which
+ * lets bounding-box searches skip subtrees outside the box.
+ *
+ * The station set is fixed when the index is built; the latest report per
+ * station can be updated concurrently with queries.
+ *
+ * @author bclasky1539
+ *
+ */
+public final class StationSpatialIndex {
+
+    /**
+     * Mean Earth radius in nautical miles
+     */
+    public static final double EARTH_RADIUS_NM = 3440.065;
+
+    private final Station[] stations;
+    private final double[][] coordinates;
+    private final byte[] axes;
+    private final double[] minLatitude;
+    private final double[] maxLatitude;
+    private final double[] minLongitude;
+    private final double[] maxLongitude;
+    private final Map<String, Integer> positions;
+    private final AtomicReferenceArray<NoaaMetarData> latestReports;
+
+    private StationSpatialIndex(Collection<Station> source) {
+        int size = source.size();
+        this.stations = source.toArray(new Station[0]);
+        this.coordinates = new double[3][size];
+        for (int i = 0; i < size; i++) {
+            setUnitVector(i, stations[i].getLatitude(), stations[i].getLongitude());
+        }
+        this.axes = new byte[size];
+        this.minLatitude = new double[size];
+        this.maxLatitude = new double[size];
+        this.minLongitude = new double[size];
+        this.maxLongitude = new double[size];
+        build(0, size);
+
+        Map<String, Integer> byId = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            byId.putIfAbsent(stations[i].getId(), i);
+        }
+        this.positions = byId;
+        this.latestReports = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Builds an index over the given stations.
+     *
+     * @param stations The stations to index
+     * @return The index
+     */
+    public static StationSpatialIndex of(Collection<Station> stations) {
+        return new StationSpatialIndex(stations);
+    }
+
+    /**
+     * Builds an index over every station of a registry.
+     *
+     * @param registry The station registry
+     * @return The index
+     */
+    public static StationSpatialIndex of(StationRegistry registry) {
+        return new StationSpatialIndex(registry.getStations());
+    }
+
+    public int size() {
+        return stations.length;
+    }
+
+    /**
+     * Finds the k stations nearest to a point.
+     *
+     * @param latitude Latitude of the point in decimal degrees
+     * @param longitude Longitude of the point in decimal degrees
+     * @param k The number of stations wanted
+     * @return Up to k stations, nearest first
+     */
+    public List<Station> nearest(double latitude, double longitude, int k) {
+        requirePoint(latitude, longitude);
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        int wanted = Math.min(k, stations.length);
+        if (wanted == 0) {
+            return Collections.emptyList();
+        }
+        NearestSearch search = new NearestSearch(unitVector(latitude, longitude), wanted);
+        search.run(0, stations.length);
+        return search.result();
+    }
+
+    /**
+     * Finds the stations within a great-circle distance of a point.
+     *
+     * @param latitude Latitude of the point in decimal degrees
+     * @param longitude Longitude of the point in decimal degrees
+     * @param radiusNm The radius in nautical miles
+     * @return The stations within the radius, nearest first
+     */
+    public List<Station> withinRadius(double latitude, double longitude, double radiusNm) {
+        int[] found = searchRadius(latitude, longitude, radiusNm);
+        List<Station> result = new ArrayList<>(found.length);
+        for (int position : found) {
+            result.add(stations[position]);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the stations inside a latitude/longitude box. A box whose west
+     * edge is east of its east edge crosses the date line.
+     *
+     * @param south Southern edge in decimal degrees
+     * @param west Western edge in decimal degrees
+     * @param north Northern edge in decimal degrees
+     * @param east Eastern edge in decimal degrees
+     * @return The stations inside the box, in no particular order
+     */
+    public List<Station> withinBounds(double south, double west, double north, double east) {
+        int[] found = searchBounds(south, west, north, east);
+        List<Station> result = new ArrayList<>(found.length);
+        for (int position : found) {
+            result.add(stations[position]);
+        }
+        return result;
+    }
+
+    /**
+     * Records a report as the latest for its station, unless a newer one is
+     * already held. Reports from stations outside the index are ignored.
+     *
+     * @param report The report
+     * @return true if the station is in the index
+     */
+    public boolean update(NoaaMetarData report) {
+        if (report == null || report.getStationId() == null) {
+            return false;
+        }
+        Integer position = positions.get(report.getStationId());
+        if (position == null) {
+            return false;
+        }
+        latestReports.accumulateAndGet(position, report,
+            (current, candidate) -> isNewer(candidate, current) ? candidate : current);
+        return true;
+    }
+
+    /**
+     * Gets the latest report held for a station.
+     *
+     * @param stationId The station identifier
+     * @return The report, or null if there is none
+     */
+    public NoaaMetarData getLatestReport(String stationId) {
+        Integer position = stationId != null ? positions.get(stationId) : null;
+        return position != null ? latestReports.get(position) : null;
+    }
+
+    /**
+     * Finds the latest reports of the stations within a great-circle
+     * distance of a point, e.g. every IFR report within 100 nm:
+     * {@code reportsWithinRadius(lat, lon, 100, r -> "IFR".equals(r.getFlightCategory()))}.
+     *
+     * @param latitude Latitude of the point in decimal degrees
+     * @param longitude Longitude of the point in decimal degrees
+     * @param radiusNm The radius in nautical miles
+     * @param filter Selects the reports wanted
+     * @return The matching reports, nearest station first
+     */
+    public List<NoaaMetarData> reportsWithinRadius(double latitude, double longitude, double radiusNm,
+                                                   Predicate<? super NoaaMetarData> filter) {
+        return reportsAt(searchRadius(latitude, longitude, radiusNm), filter);
+    }
+
+    /**
+     * Finds the latest reports of the stations inside a latitude/longitude box.
+     *
+     * @param south Southern edge in decimal degrees
+     * @param west Western edge in decimal degrees
+     * @param north Northern edge in decimal degrees
+     * @param east Eastern edge in decimal degrees
+     * @param filter Selects the reports wanted
+     * @return The matching reports, in no particular order
+     */
+    public List<NoaaMetarData> reportsWithinBounds(double south, double west, double north, double east,
+                                                   Predicate<? super NoaaMetarData> filter) {
+        return reportsAt(searchBounds(south, west, north, east), filter);
+    }
+
+    /**
+     * Gets the great-circle distance between a station and a point.
+     *
+     * @param station The station
+     * @param latitude Latitude of the point in decimal degrees
+     * @param longitude Longitude of the point in decimal degrees
+     * @return The distance in nautical miles
+     */
+    public static double distanceNm(Station station, double latitude, double longitude) {
+        double phi1 = Math.toRadians(station.getLatitude());
+        double phi2 = Math.toRadians(latitude);
+        double dPhi = phi2 - phi1;
+        double dLambda = Math.toRadians(longitude - station.getLongitude());
+        double a = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+        return 2 * EARTH_RADIUS_NM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private List<NoaaMetarData> reportsAt(int[] found, Predicate<? super NoaaMetarData> filter) {
+        List<NoaaMetarData> result = new ArrayList<>();
+        for (int position : found) {
+            NoaaMetarData report = latestReports.get(position);
+            if (report != null && (filter == null || filter.test(report))) {
+                result.add(report);
+            }
+        }
+        return result;
+    }
+
+    private int[] searchRadius(double latitude, double longitude, double radiusNm) {
+        requirePoint(latitude, longitude);
+        if (!(radiusNm >= 0)) {
+            throw new IllegalArgumentException("Radius must not be negative: " + radiusNm);
+        }
+        // Convert the arc to the straight-line distance between unit vectors
+        double angle = Math.min(Math.PI, radiusNm / EARTH_RADIUS_NM);
+        double chord = 2 * Math.sin(angle / 2);
+        RadiusSearch search = new RadiusSearch(unitVector(latitude, longitude), chord * chord);
+        search.run(0, stations.length);
+        return search.result();
+    }
+
+    private int[] searchBounds(double south, double west, double north, double east) {
+        requirePoint(south, west);
+        requirePoint(north, east);
+        BoundsSearch search = new BoundsSearch(south, west, north, east);
+        search.run(0, stations.length);
+        return search.result();
+    }
+
+    /**
+     * Arranges stations[lo, hi) into a k-d tree rooted at the middle
+     * position, and records the latitude/longitude range of each subtree.
+     */
+    private void build(int lo, int hi) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        int axis = widestAxis(lo, hi);
+        select(lo, hi - 1, mid, coordinates[axis]);
+        axes[mid] = (byte) axis;
+        build(lo, mid);
+        build(mid + 1, hi);
+
+        Station station = stations[mid];
+        minLatitude[mid] = station.getLatitude();
+        maxLatitude[mid] = station.getLatitude();
+        minLongitude[mid] = station.getLongitude();
+        maxLongitude[mid] = station.getLongitude();
+        if (lo < mid) {
+            widenBounds(mid, (lo + mid) >>> 1);
+        }
+        if (mid + 1 < hi) {
+            widenBounds(mid, (mid + 1 + hi) >>> 1);
+        }
+    }
+
+    private void widenBounds(int node, int child) {
+        minLatitude[node] = Math.min(minLatitude[node], minLatitude[child]);
+        maxLatitude[node] = Math.max(maxLatitude[node], maxLatitude[child]);
+        minLongitude[node] = Math.min(minLongitude[node], minLongitude[child]);
+        maxLongitude[node] = Math.max(maxLongitude[node], maxLongitude[child]);
+    }
+
+    private int widestAxis(int lo, int hi) {
+        int widest = 0;
+        double widestSpread = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double[] values = coordinates[axis];
+            double min = values[lo];
+            double max = min;
+            for (int i = lo + 1; i < hi; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            if (max - min > widestSpread) {
+                widestSpread = max - min;
+                widest = axis;
+            }
+        }
+        return widest;
+    }
+
+    /**
+     * Quickselect: moves the k-th smallest value of [left, right] to k.
+     */
+    private void select(int left, int right, int k, double[] values) {
+        while (left < right) {
+            double pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        Station station = stations[a];
+        stations[a] = stations[b];
+        stations[b] = station;
+        for (double[] values : coordinates) {
+            double value = values[a];
+            values[a] = values[b];
+            values[b] = value;
+        }
+    }
+
+    private void setUnitVector(int position, double latitude, double longitude) {
+        double[] vector = unitVector(latitude, longitude);
+        coordinates[0][position] = vector[0];
+        coordinates[1][position] = vector[1];
+        coordinates[2][position] = vector[2];
+    }
+
+    private static double[] unitVector(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        return new double[] {cosPhi * Math.cos(lambda), cosPhi * Math.sin(lambda), Math.sin(phi)};
+    }
+
+    private double distanceSquared(int position, double[] point) {
+        double dx = coordinates[0][position] - point[0];
+        double dy = coordinates[1][position] - point[1];
+        double dz = coordinates[2][position] - point[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static void requirePoint(double latitude, double longitude) {
+        if (!(latitude >= -90.0 && latitude <= 90.0)) {
+            throw new IllegalArgumentException("Latitude out of range: " + latitude);
+        }
+        if (!(longitude >= -180.0 && longitude <= 180.0)) {
+            throw new IllegalArgumentException("Longitude out of range: " + longitude);
+        }
+    }
+
+    private static boolean isNewer(NoaaMetarData candidate, NoaaMetarData current) {
+        if (current == null) {
+            return true;
+        }
+        LocalDateTime candidateTime = candidate.getObservationTime();
+        LocalDateTime currentTime = current.getObservationTime();
+        if (candidateTime == null || currentTime == null) {
+            return candidateTime != null || currentTime == null;
+        }
+        return !candidateTime.isBefore(currentTime);
+    }
+
+    /**
+     * k-nearest search keeping the best candidates in a bounded max-heap.
+     */
+    private final class NearestSearch {
+        private final double[] point;
+        private final double[] heapDistance;
+        private final int[] heapPosition;
+        private int count;
+
+        NearestSearch(double[] point, int k) {
+            this.point = point;
+            this.heapDistance = new double[k];
+            this.heapPosition = new int[k];
+        }
+
+        void run(int lo, int hi) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            offer(mid, distanceSquared(mid, point));
+
+            double diff = point[axes[mid]] - coordinates[axes[mid]][mid];
+            boolean leftFirst = diff < 0;
+            run(leftFirst ? lo : mid + 1, leftFirst ? mid : hi);
+            if (count < heapDistance.length || diff * diff < heapDistance[0]) {
+                run(leftFirst ? mid + 1 : lo, leftFirst ? hi : mid);
+            }
+        }
+
+        private void offer(int position, double distance) {
+            if (count < heapDistance.length) {
+                int i = count++;
+                while (i > 0 && heapDistance[(i - 1) / 2] < distance) {
+                    heapDistance[i] = heapDistance[(i - 1) / 2];
+                    heapPosition[i] = heapPosition[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                heapDistance[i] = distance;
+                heapPosition[i] = position;
+            } else if (distance < heapDistance[0]) {
+                siftDown(position, distance);
+            }
+        }
+
+        private void siftDown(int position, double distance) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= count) {
+                    break;
+                }
+                if (child + 1 < count && heapDistance[child + 1] > heapDistance[child]) {
+                    child++;
+                }
+                if (heapDistance[child] <= distance) {
+                    break;
+                }
+                heapDistance[i] = heapDistance[child];
+                heapPosition[i] = heapPosition[child];
+                i = child;
+            }
+            heapDistance[i] = distance;
+            heapPosition[i] = position;
+        }
+
+        List<Station> result() {
+            // Popping the max-heap yields farthest first; fill the list from the back
+            Station[] ordered = new Station[count];
+            while (count > 0) {
+                ordered[count - 1] = stations[heapPosition[0]];
+                count--;
+                if (count > 0) {
+                    siftDown(heapPosition[count], heapDistance[count]);
+                }
+            }
+            List<Station> result = new ArrayList<>(ordered.length);
+            Collections.addAll(result, ordered);
+            return result;
+        }
+    }
+
+    /**
+     * Collects every station whose squared chord distance is within a limit.
+     */
+    private final class RadiusSearch {
+        private final double[] point;
+        private final double limit;
+        private int[] found = new int[16];
+        private double[] distances = new double[16];
+        private int count;
+
+        RadiusSearch(double[] point, double limit) {
+            this.point = point;
+            this.limit = limit;
+        }
+
+        void run(int lo, int hi) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double distance = distanceSquared(mid, point);
+            if (distance <= limit) {
+                add(mid, distance);
+            }
+            double diff = point[axes[mid]] - coordinates[axes[mid]][mid];
+            if (diff < 0 || diff * diff <= limit) {
+                run(lo, mid);
+            }
+            if (diff >= 0 || diff * diff <= limit) {
+                run(mid + 1, hi);
+            }
+        }
+
+        private void add(int position, double distance) {
+            if (count == found.length) {
+                found = Arrays.copyOf(found, count * 2);
+                distances = Arrays.copyOf(distances, count * 2);
+            }
+            found[count] = position;
+            distances[count] = distance;
+            count++;
+        }
+
+        int[] result() {
+            // Insertion sort by distance; radius results are small
+            for (int i = 1; i < count; i++) {
+                int position = found[i];
+                double distance = distances[i];
+                int j = i - 1;
+                while (j >= 0 && distances[j] > distance) {
+                    found[j + 1] = found[j];
+                    distances[j + 1] = distances[j];
+                    j--;
+                }
+                found[j + 1] = position;
+                distances[j + 1] = distance;
+            }
+            return Arrays.copyOf(found, count);
+        }
+    }
+
+    /**
+     * Collects every station inside a latitude/longitude box.
+     */
+    private final class BoundsSearch {
+        private final double south;
+        private final double west;
+        private final double north;
+        private final double east;
+        private final boolean crossesDateLine;
+        private int[] found = new int[16];
+        private int count;
+
+        BoundsSearch(double south, double west, double north, double east) {
+            this.south = south;
+            this.west = west;
+            this.north = north;
+            this.east = east;
+            this.crossesDateLine = west > east;
+        }
+
+        void run(int lo, int hi) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxLatitude[mid] < south || minLatitude[mid] > north
+                    || !overlapsLongitude(minLongitude[mid], maxLongitude[mid])) {
+                return;
+            }
+            Station station = stations[mid];
+            double latitude = station.getLatitude();
+            double longitude = station.getLongitude();
+            if (latitude >= south && latitude <= north && overlapsLongitude(longitude, longitude)) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = mid;
+            }
+            run(lo, mid);
+            run(mid + 1, hi);
+        }
+
+        private boolean overlapsLongitude(double min, double max) {
+            if (crossesDateLine) {
+                return max >= west || min <= east;
+            }
+            return max >= west && min <= east;
+        }
+
+        int[] result() {
+            return Arrays.copyOf(found, count);
+        }
+    }
+}
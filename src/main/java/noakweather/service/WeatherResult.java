@@ -0,0 +1,144 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+/**
+ * The outcome of a weather service call returned as a value: either the
+ * result, or the type and details of the error.
+ *
+ * Used by the tryGet methods of WeatherService, so callers that expect
+ * failures - a busy API fed unchecked user input, for example - can branch
+ * on the outcome without throwing and catching an exception per request.
+ *
+ * @param <T> The type of the result
+ *
+ * @author bclasky1539
+ */
+public final class WeatherResult<T> {
+    private final T value;
+    private final WeatherServiceException.ErrorType errorType;
+    private final String message;
+    private final String stationCode;
+
+    private WeatherResult(T value, WeatherServiceException.ErrorType errorType, String message,
+                          String stationCode) {
+        this.value = value;
+        this.errorType = errorType;
+        this.message = message;
+        this.stationCode = stationCode;
+    }
+
+    /**
+     * Creates a successful result.
+     *
+     * @param value The result
+     * @param <T> The type of the result
+     * @return The result
+     */
+    public static <T> WeatherResult<T> success(T value) {
+        return new WeatherResult<>(value, null, null, null);
+    }
+
+    /**
+     * Creates a failed result.
+     *
+     * @param errorType The type of error that occurred
+     * @param message Detailed error message
+     * @param stationCode The station code related to the error, or null
+     * @param <T> The type of the result
+     * @return The failed result
+     */
+    public static <T> WeatherResult<T> failure(WeatherServiceException.ErrorType errorType, String message,
+                                               String stationCode) {
+        if (errorType == null) {
+            throw new IllegalArgumentException("errorType must not be null");
+        }
+        return new WeatherResult<>(null, errorType, message, stationCode);
+    }
+
+    /**
+     * Creates a failed result carrying the details of an exception.
+     *
+     * @param e The exception
+     * @param <T> The type of the result
+     * @return The failed result
+     */
+    public static <T> WeatherResult<T> failure(WeatherServiceException e) {
+        return failure(e.getErrorType(), e.getMessage(), e.getStationCode());
+    }
+
+    public boolean isSuccess() {
+        return errorType == null;
+    }
+
+    /**
+     * Gets the result.
+     *
+     * @return The result, or null if the call failed
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the result, or a fallback if the call failed.
+     *
+     * @param fallback The value to return on failure
+     * @return The result or the fallback
+     */
+    public T orElse(T fallback) {
+        return isSuccess() ? value : fallback;
+    }
+
+    /**
+     * Gets the result, throwing the error if the call failed.
+     *
+     * @return The result
+     * @throws WeatherServiceException if the call failed
+     */
+    public T orElseThrow() throws WeatherServiceException {
+        if (!isSuccess()) {
+            throw new WeatherServiceException(errorType, message, stationCode);
+        }
+        return value;
+    }
+
+    /**
+     * Gets the type of error.
+     *
+     * @return The error type, or null if the call succeeded
+     */
+    public WeatherServiceException.ErrorType getErrorType() {
+        return errorType;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getStationCode() {
+        return stationCode;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? String.format("WeatherResult{value='%s'}", value)
+                : String.format("WeatherResult{errorType=%s, stationCode='%s', message='%s'}",
+                                errorType, stationCode, message);
+    }
+}
@@ -16,6 +16,14 @@
  */
 package noakweather.service;
 
+import noakweather.noaa_api.model.StationCode;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Main service interface for weather data operations.
  * 
@@ -45,6 +53,18 @@ public interface WeatherService {
      */
     String getMetarData(String stationCode) throws WeatherServiceException;
     
+    /**
+     * Retrieves METAR data for an already validated station code.
+     * 
+     * @param station The station code
+     * @return The raw METAR data as a string
+     * @throws WeatherServiceException if the station is null, not found,
+     *         or there's an error retrieving the data
+     */
+    default String getMetarData(StationCode station) throws WeatherServiceException {
+        return getMetarData(station != null ? station.getCode() : null);
+    }
+    
     /**
      * Retrieves TAF (Terminal Aerodrome Forecast) data for the specified station.
      * 
@@ -58,11 +78,101 @@ public interface WeatherService {
      */
     String getTafData(String stationCode) throws WeatherServiceException;
     
+    /**
+     * Retrieves TAF data for an already validated station code.
+     * 
+     * @param station The station code
+     * @return The raw TAF data as a string
+     * @throws WeatherServiceException if the station is null, not found,
+     *         or there's an error retrieving the data
+     */
+    default String getTafData(StationCode station) throws WeatherServiceException {
+        return getTafData(station != null ? station.getCode() : null);
+    }
+    
+    /**
+     * Retrieves METAR data, returning any failure as a value instead of
+     * throwing it.
+     * 
+     * A malformed station code is rejected without creating an exception,
+     * so this is the cheaper call when invalid input is routine.
+     * 
+     * @param stationCode The ICAO airport code (e.g., "KJFK", "KCLT")
+     * @return The raw METAR data, or the error that prevented retrieving it
+     */
+    default WeatherResult<String> tryGetMetarData(String stationCode) {
+        StationCode station = StationCode.tryParse(stationCode);
+        if (station == null) {
+            return invalidStationResult(stationCode);
+        }
+        try {
+            return WeatherResult.success(getMetarData(station));
+        } catch (WeatherServiceException e) {
+            return WeatherResult.failure(e);
+        }
+    }
+    
+    /**
+     * Retrieves TAF data, returning any failure as a value instead of
+     * throwing it.
+     * 
+     * @param stationCode The ICAO airport code (e.g., "KJFK", "KCLT")
+     * @return The raw TAF data, or the error that prevented retrieving it
+     * @see #tryGetMetarData(String)
+     */
+    default WeatherResult<String> tryGetTafData(String stationCode) {
+        StationCode station = StationCode.tryParse(stationCode);
+        if (station == null) {
+            return invalidStationResult(stationCode);
+        }
+        try {
+            return WeatherResult.success(getTafData(station));
+        } catch (WeatherServiceException e) {
+            return WeatherResult.failure(e);
+        }
+    }
+    
+    /**
+     * Retrieves METAR data for several stations in one call.
+     * 
+     * Station codes are normalized first, so duplicates such as "kjfk" and
+     * "KJFK " result in a single upstream request. The default
+     * implementation fetches the stations one after another through
+     * {@link #getMetarData(StationCode)}; implementations may override it to
+     * fetch them concurrently.
+     * 
+     * Invalid station codes and stations whose report could not be retrieved
+     * are left out of the result rather than failing the whole batch.
+     * 
+     * @param stationCodes The ICAO airport codes (e.g., "KJFK", "KCLT")
+     * @return The raw METAR data keyed by normalized station code, in request order
+     * @throws WeatherServiceException if the collection is null or the batch is interrupted
+     */
+    default Map<String, String> getMetarData(Collection<String> stationCodes) throws WeatherServiceException {
+        return fetchEach(stationCodes, true);
+    }
+    
+    /**
+     * Retrieves TAF data for several stations in one call.
+     * 
+     * Follows the same coalescing, concurrency and partial-result rules as
+     * {@link #getMetarData(Collection)}.
+     * 
+     * @param stationCodes The ICAO airport codes (e.g., "KJFK", "KCLT")
+     * @return The raw TAF data keyed by normalized station code, in request order
+     * @throws WeatherServiceException if the collection is null or the batch is interrupted
+     */
+    default Map<String, String> getTafData(Collection<String> stationCodes) throws WeatherServiceException {
+        return fetchEach(stationCodes, false);
+    }
+    
     /**
      * Validates whether a station code is in the correct format.
      * 
      * This method checks if the provided station code follows the ICAO
-     * airport code format (3-4 alphabetic characters).
+     * airport code format (3-4 alphabetic characters). Callers that go on
+     * to fetch data should parse a {@link StationCode} instead, so the code
+     * is checked and normalized only once.
      * 
      * @param stationCode The station code to validate
      * @return true if the format is valid, false otherwise
@@ -78,4 +188,39 @@ public interface WeatherService {
      * @return The name of the weather service provider (e.g., "NOAA", "OpenWeatherMap")
      */
     String getServiceProviderName();
+    
+    /**
+     * Fetches the reports of a batch one station at a time, skipping invalid
+     * codes, duplicates and stations that fail.
+     */
+    private Map<String, String> fetchEach(Collection<String> stationCodes, boolean metar)
+            throws WeatherServiceException {
+        if (stationCodes == null) {
+            throw new WeatherServiceException(WeatherServiceException.ErrorType.INVALID_STATION_CODE,
+                    "Station code collection cannot be null");
+        }
+        Set<String> requested = new HashSet<>();
+        Map<String, String> reports = new LinkedHashMap<>();
+        for (String stationCode : stationCodes) {
+            StationCode station = StationCode.tryParse(stationCode);
+            if (station == null || !requested.add(station.getCode())) {
+                continue;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new WeatherServiceException(WeatherServiceException.ErrorType.NETWORK_ERROR,
+                        "Batch request interrupted");
+            }
+            try {
+                reports.put(station.getCode(), metar ? getMetarData(station) : getTafData(station));
+            } catch (WeatherServiceException e) {
+                // A station that fails is left out of the result
+            }
+        }
+        return reports;
+    }
+    
+    private static <T> WeatherResult<T> invalidStationResult(String stationCode) {
+        return WeatherResult.failure(WeatherServiceException.ErrorType.INVALID_STATION_CODE,
+                "Station code must be 3-4 alphabetic characters", stationCode);
+    }
 }
@@ -27,6 +27,12 @@ package noakweather.service;
  * the underlying issue is a network problem, invalid data, or service
  * unavailability, this exception provides a consistent way to handle errors.
  * 
+ * Routine outcomes such as a malformed station code or a station without a
+ * report are created through {@link #expected(ErrorType, String, String)},
+ * which skips the stack trace. Filling in a stack trace is by far the most
+ * expensive part of creating an exception, and a trace pointing at the
+ * validation code tells the caller nothing the error type does not.
+ * 
  * @author bclasky1539
  */
 public class WeatherServiceException extends Exception {
@@ -58,6 +64,7 @@ public class WeatherServiceException extends Exception {
     
     private final ErrorType errorType;
     private final String stationCode;
+    private final boolean expected;
     
     /**
      * Creates a new WeatherServiceException with the specified error type and message.
@@ -69,6 +76,7 @@ public class WeatherServiceException extends Exception {
         super(message);
         this.errorType = errorType;
         this.stationCode = null;
+        this.expected = false;
     }
     
     /**
@@ -82,6 +90,7 @@ public class WeatherServiceException extends Exception {
         super(message);
         this.errorType = errorType;
         this.stationCode = stationCode;
+        this.expected = false;
     }
     
     /**
@@ -95,6 +104,7 @@ public class WeatherServiceException extends Exception {
         super(message, cause);
         this.errorType = errorType;
         this.stationCode = null;
+        this.expected = false;
     }
     
     /**
@@ -109,6 +119,49 @@ public class WeatherServiceException extends Exception {
         super(message, cause);
         this.errorType = errorType;
         this.stationCode = stationCode;
+        this.expected = false;
+    }
+    
+    /**
+     * Creates the stackless form used by {@link #expected(ErrorType, String, String)}.
+     * 
+     * @param errorType The type of error that occurred
+     * @param message Detailed error message
+     * @param stationCode The station code related to the error
+     * @param expected Always true; distinguishes this constructor
+     */
+    private WeatherServiceException(ErrorType errorType, String message, String stationCode, boolean expected) {
+        super(message, null, false, false);
+        this.errorType = errorType;
+        this.stationCode = stationCode;
+        this.expected = expected;
+    }
+    
+    /**
+     * Creates an exception for an expected outcome, such as invalid input or a
+     * station that publishes no report, without capturing a stack trace.
+     * 
+     * The instance records no stack trace, accepts no suppressed exceptions
+     * and has no cause, so it is immutable and may be preallocated and
+     * thrown any number of times.
+     * 
+     * @param errorType The type of error that occurred
+     * @param message Detailed error message
+     * @param stationCode The station code related to the error, or null
+     * @return The stackless exception
+     */
+    public static WeatherServiceException expected(ErrorType errorType, String message, String stationCode) {
+        return new WeatherServiceException(errorType, message, stationCode, true);
+    }
+    
+    /**
+     * Checks whether this exception reports an expected outcome and so
+     * carries no stack trace.
+     * 
+     * @return true if created through {@link #expected(ErrorType, String, String)}
+     */
+    public boolean isExpected() {
+        return expected;
     }
     
     /**
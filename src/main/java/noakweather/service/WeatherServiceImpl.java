@@ -17,9 +17,32 @@
 package noakweather.service;
 
 import noakweather.config.WeatherConfigurationService;
+import noakweather.noaa_api.client.ConditionalResponse;
+import noakweather.noaa_api.client.NoaaHttpClient;
+import noakweather.noaa_api.model.StationCode;
+import noakweather.service.StationFileCache.StationFile;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 /**
  * Implementation of the WeatherService interface.
  * 
@@ -27,9 +50,33 @@ import org.apache.logging.log4j.Logger;
  * acting like a "travel agent" that knows how to get weather information
  * from various sources and present it in a consistent format.
  * 
- * Currently, this is a foundational implementation that will be extended
- * to integrate with specific weather providers (NOAA, OpenWeatherMap, etc.)
- * as shown in your architecture diagrams.
+ * Reports are fetched from the NOAA tgftp station files through a
+ * NoaaHttpClient. By default every instance shares one pooled client, so
+ * repeated requests reuse open connections instead of reconnecting.
+ * 
+ * Batch requests coalesce duplicate stations and keep at most
+ * maxConcurrentRequests fetches in flight at once, without dedicating a
+ * thread to each station.
+ * 
+ * Each station file is requested conditionally: the ETag and Last-Modified
+ * values of the last download are sent back, and a 304 Not Modified answer
+ * reuses the remembered report instead of downloading it again.
+ * 
+ * Concurrent requests for the same station file - the same station and
+ * report type - are collapsed: the first caller fetches it and every caller
+ * arriving meanwhile waits for that result, so a burst of identical lookups
+ * at the top of the hour costs one upstream request.
+ * 
+ * Upstream failures are retried up to MAX_RETRIES times while the
+ * RetryBudget has tokens, each retry after a jittered delay starting at
+ * RETRY_DELAY and doubling per attempt, and a CircuitBreaker stops calling an upstream
+ * that keeps failing. While the breaker is open, a station file fetched
+ * before is served from memory and any other request fails at once with
+ * SERVICE_UNAVAILABLE, so callers never pile up behind a dead server.
+ * 
+ * Each request is summarized by one structured event on the RequestLog
+ * logger, sampled and rate limited, rather than several log lines. Expected
+ * failures such as an unknown station are not logged with a stack trace.
  *
  * @author bclasky1539
  */
@@ -37,7 +84,38 @@ public class WeatherServiceImpl implements WeatherService {
     
     private static final Logger LOGGER = LogManager.getLogger(WeatherServiceImpl.class);
     
+    /**
+     * Default number of station files fetched concurrently by a batch request
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 16;
+    
+    /**
+     * Most retries of one fetch after an upstream failure
+     */
+    public static final int MAX_RETRIES = 2;
+    
+    /**
+     * Longest delay before the first retry; each further retry may wait twice as long
+     */
+    public static final Duration RETRY_DELAY = Duration.ofMillis(100);
+    
+    private static final String INVALID_STATION_MESSAGE = "Station code must be 3-4 alphabetic characters";
+    
+    // Immutable and stackless, so one instance serves every null argument
+    private static final WeatherServiceException NULL_STATION = WeatherServiceException.expected(
+        WeatherServiceException.ErrorType.INVALID_STATION_CODE, INVALID_STATION_MESSAGE, null);
+    
+    static final WeatherServiceException NULL_STATION_COLLECTION = WeatherServiceException.expected(
+        WeatherServiceException.ErrorType.INVALID_STATION_CODE, "Station code collection cannot be null", null);
+    
     private final WeatherConfigurationService configService;
+    private final NoaaHttpClient httpClient;
+    private final int maxConcurrentRequests;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final StationFileCache stationFiles = new StationFileCache();
+    private final SingleFlight<String, StationFile> fetches = new SingleFlight<>();
+    private final RequestLog requestLog = new RequestLog();
     
     /**
      * Creates a new WeatherServiceImpl with the specified configuration service.
@@ -45,42 +123,88 @@ public class WeatherServiceImpl implements WeatherService {
      * @param configService The configuration service for accessing weather-related settings
      */
     public WeatherServiceImpl(WeatherConfigurationService configService) {
+        this(configService, NoaaHttpClient.getSharedInstance());
+    }
+    
+    /**
+     * Creates a new WeatherServiceImpl with the specified configuration service
+     * and HTTP client.
+     * 
+     * @param configService The configuration service for accessing weather-related settings
+     * @param httpClient The HTTP client used to fetch the station files
+     */
+    public WeatherServiceImpl(WeatherConfigurationService configService, NoaaHttpClient httpClient) {
+        this(configService, httpClient, DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+    
+    /**
+     * Creates a new WeatherServiceImpl with the specified configuration service,
+     * HTTP client and batch concurrency limit.
+     * 
+     * @param configService The configuration service for accessing weather-related settings
+     * @param httpClient The HTTP client used to fetch the station files
+     * @param maxConcurrentRequests The maximum number of fetches a batch request keeps in flight
+     */
+    public WeatherServiceImpl(WeatherConfigurationService configService, NoaaHttpClient httpClient,
+                              int maxConcurrentRequests) {
+        this(configService, httpClient, maxConcurrentRequests, new CircuitBreaker(), new RetryBudget());
+    }
+    
+    /**
+     * Creates a new WeatherServiceImpl with every setting supplied.
+     * 
+     * @param configService The configuration service for accessing weather-related settings
+     * @param httpClient The HTTP client used to fetch the station files
+     * @param maxConcurrentRequests The maximum number of fetches a batch request keeps in flight
+     * @param circuitBreaker The breaker guarding the upstream fetches
+     * @param retryBudget The budget limiting retries of failed fetches
+     */
+    public WeatherServiceImpl(WeatherConfigurationService configService, NoaaHttpClient httpClient,
+                              int maxConcurrentRequests, CircuitBreaker circuitBreaker, RetryBudget retryBudget) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be at least 1");
+        }
+        if (circuitBreaker == null || retryBudget == null) {
+            throw new IllegalArgumentException("circuitBreaker and retryBudget must not be null");
+        }
         this.configService = configService;
+        this.httpClient = httpClient;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.circuitBreaker = circuitBreaker;
+        this.retryBudget = retryBudget;
         LOGGER.debug("WeatherServiceImpl initialized with configuration service");
     }
     
     @Override
     public String getMetarData(String stationCode) throws WeatherServiceException {
-        LOGGER.debug("Retrieving METAR data for station: {}", stationCode);
-        
-        // Validate station code format
-        if (!isValidStationCode(stationCode)) {
-            throw new WeatherServiceException(
-                WeatherServiceException.ErrorType.INVALID_STATION_CODE,
-                "Station code must be 3-4 alphabetic characters",
-                stationCode
-            );
+        return getMetarData(toStationCode(stationCode));
+    }
+    
+    @Override
+    public String getMetarData(StationCode station) throws WeatherServiceException {
+        if (station == null) {
+            throw invalidStation(null);
         }
-        
-        String normalizedStation = stationCode.toUpperCase().trim();
+        String normalizedStation = station.getCode();
+        long startNanos = System.nanoTime();
         
         try {
             // Build the METAR URL using configuration
             String metarUrl = buildMetarUrl(normalizedStation);
-            LOGGER.info("METAR URL for {}: {}", normalizedStation, metarUrl);
             
-            // Current implementation returns placeholder data
-            // Real HTTP client integration will be implemented in future iterations
-            String placeholderData = String.format(
-                "METAR %s 141753Z 24012KT 10SM FEW250 25/18 A3012 RMK AO2 SLP205 T02500183=", 
-                normalizedStation
-            );
+            String metarData = fetchReport(metarUrl, normalizedStation);
             
-            LOGGER.info("METAR data retrieved successfully for station: {}", normalizedStation);
-            LOGGER.debug("METAR data: {}", placeholderData);
+            requestLog.succeeded("METAR", normalizedStation, startNanos);
+            LOGGER.debug("METAR data: {}", metarData);
             
-            return placeholderData;
+            return metarData;
             
+        } catch (WeatherServiceException e) {
+            requestLog.failed("METAR", normalizedStation, e, startNanos);
+            if (!e.isExpected()) {
+                LOGGER.error("Error retrieving METAR data for station: {}", normalizedStation, e);
+            }
+            throw e;
         } catch (Exception e) {
             LOGGER.error("Error retrieving METAR data for station: {}", normalizedStation, e);
             throw new WeatherServiceException(
@@ -94,38 +218,34 @@ public class WeatherServiceImpl implements WeatherService {
     
     @Override
     public String getTafData(String stationCode) throws WeatherServiceException {
-        LOGGER.debug("Retrieving TAF data for station: {}", stationCode);
-        
-        // Validate station code format
-        if (!isValidStationCode(stationCode)) {
-            throw new WeatherServiceException(
-                WeatherServiceException.ErrorType.INVALID_STATION_CODE,
-                "Station code must be 3-4 alphabetic characters",
-                stationCode
-            );
+        return getTafData(toStationCode(stationCode));
+    }
+    
+    @Override
+    public String getTafData(StationCode station) throws WeatherServiceException {
+        if (station == null) {
+            throw invalidStation(null);
         }
-        
-        String normalizedStation = stationCode.toUpperCase().trim();
+        String normalizedStation = station.getCode();
+        long startNanos = System.nanoTime();
         
         try {
             // Build the TAF URL using configuration
             String tafUrl = buildTafUrl(normalizedStation);
-            LOGGER.info("TAF URL for {}: {}", normalizedStation, tafUrl);
             
-            // Current implementation returns placeholder data
-            // Real HTTP client integration will be implemented in future iterations
-            String placeholderData = String.format(
-                "TAF %s 141152Z 141212 24012KT P6SM FEW250 " +
-                "FM1600 25015G25KT P6SM SCT250 " +
-                "FM0000 23008KT P6SM FEW250=",
-                normalizedStation
-            );
+            String tafData = fetchReport(tafUrl, normalizedStation);
             
-            LOGGER.info("TAF data retrieved successfully for station: {}", normalizedStation);
-            LOGGER.debug("TAF data: {}", placeholderData);
+            requestLog.succeeded("TAF", normalizedStation, startNanos);
+            LOGGER.debug("TAF data: {}", tafData);
             
-            return placeholderData;
+            return tafData;
             
+        } catch (WeatherServiceException e) {
+            requestLog.failed("TAF", normalizedStation, e, startNanos);
+            if (!e.isExpected()) {
+                LOGGER.error("Error retrieving TAF data for station: {}", normalizedStation, e);
+            }
+            throw e;
         } catch (Exception e) {
             LOGGER.error("Error retrieving TAF data for station: {}", normalizedStation, e);
             throw new WeatherServiceException(
@@ -137,17 +257,33 @@ public class WeatherServiceImpl implements WeatherService {
         }
     }
     
+    /**
+     * {@inheritDoc}
+     * 
+     * The stations are fetched concurrently, up to maxConcurrentRequests at
+     * a time.
+     */
+    @Override
+    public Map<String, String> getMetarData(Collection<String> stationCodes) throws WeatherServiceException {
+        return fetchBatch(stationCodes, this::buildMetarUrl);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 
+     * The stations are fetched concurrently, up to maxConcurrentRequests at
+     * a time.
+     */
+    @Override
+    public Map<String, String> getTafData(Collection<String> stationCodes) throws WeatherServiceException {
+        return fetchBatch(stationCodes, this::buildTafUrl);
+    }
+    
     @Override
     public boolean isValidStationCode(String stationCode) {
-        if (stationCode == null || stationCode.trim().isEmpty()) {
-            return false;
-        }
-        
-        String trimmed = stationCode.trim().toUpperCase();
-        
         // Station codes are typically 3-4 characters, all letters
         // Examples: KJFK, KCLT, EGLL, LFPG
-        boolean isValid = trimmed.matches("[A-Z]{3,4}");
+        boolean isValid = StationCode.isValid(stationCode);
         
         LOGGER.debug("Station code validation for '{}': {}", stationCode, isValid);
         return isValid;
@@ -164,41 +300,596 @@ public class WeatherServiceImpl implements WeatherService {
      * @param stationCode The normalized station code
      * @return The complete METAR URL
      */
-    private String buildMetarUrl(String stationCode) {
+    String buildMetarUrl(String stationCode) {
         try {
-            String baseUrl = configService.getRawString("MISC_METAR_URL");
-            String extension = configService.getRawString("MISC_METAR_EXT");
+            // getRawString answers "Missing config: KEY" rather than null for a missing key
+            Optional<String> baseUrl = configService.findRawString("MISC_METAR_URL");
+            Optional<String> extension = configService.findRawString("MISC_METAR_EXT");
+            
+            if (baseUrl.isEmpty() || extension.isEmpty()) {
+                LOGGER.warn("METAR URL not configured, using fallback");
+                return fallbackMetarUrl(stationCode);
+            }
             
-            String url = baseUrl + stationCode + extension;
+            String url = baseUrl.get() + stationCode + extension.get();
             LOGGER.debug("Built METAR URL: {}", url);
             return url;
             
         } catch (Exception e) {
             LOGGER.warn("Error building METAR URL, using fallback", e);
-            // Fallback URL structure
-            return "https://aviationweather.gov/api/data/metar?ids=" + stationCode + "&format=raw";
+            return fallbackMetarUrl(stationCode);
         }
     }
     
+    /**
+     * Builds the fallback METAR URL used when no tgftp location is configured.
+     * 
+     * @param stationCode The normalized station code
+     * @return The aviationweather.gov METAR URL
+     */
+    private static String fallbackMetarUrl(String stationCode) {
+        return "https://aviationweather.gov/api/data/metar?ids=" + stationCode + "&format=raw";
+    }
+    
     /**
      * Builds the TAF URL for the specified station using configuration.
      * 
      * @param stationCode The normalized station code
      * @return The complete TAF URL
      */
-    private String buildTafUrl(String stationCode) {
+    String buildTafUrl(String stationCode) {
         try {
-            String baseUrl = configService.getRawString("MISC_TAF_URL");
-            String extension = configService.getRawString("MISC_TAF_EXT");
+            // getRawString answers "Missing config: KEY" rather than null for a missing key
+            Optional<String> baseUrl = configService.findRawString("MISC_TAF_URL");
+            Optional<String> extension = configService.findRawString("MISC_TAF_EXT");
             
-            String url = baseUrl + stationCode + extension;
+            if (baseUrl.isEmpty() || extension.isEmpty()) {
+                LOGGER.warn("TAF URL not configured, using fallback");
+                return fallbackTafUrl(stationCode);
+            }
+            
+            String url = baseUrl.get() + stationCode + extension.get();
             LOGGER.debug("Built TAF URL: {}", url);
             return url;
             
         } catch (Exception e) {
             LOGGER.warn("Error building TAF URL, using fallback", e);
-            // Fallback URL structure
-            return "https://aviationweather.gov/api/data/taf?ids=" + stationCode + "&format=raw";
+            return fallbackTafUrl(stationCode);
+        }
+    }
+    
+    /**
+     * Builds the fallback TAF URL used when no tgftp location is configured.
+     * 
+     * @param stationCode The normalized station code
+     * @return The aviationweather.gov TAF URL
+     */
+    private static String fallbackTafUrl(String stationCode) {
+        return "https://aviationweather.gov/api/data/taf?ids=" + stationCode + "&format=raw";
+    }
+    
+    /**
+     * Fetches the station files for a batch of stations concurrently.
+     * 
+     * A semaphore bounds the number of fetches in flight; the calling thread
+     * only waits for a permit, so no thread is tied up per station.
+     * 
+     * @param stationCodes The station codes as supplied by the caller
+     * @param urlBuilder Builds the station file URL from a normalized station code
+     * @return The reports keyed by normalized station code, in request order
+     * @throws WeatherServiceException if the collection is null or the batch is interrupted
+     */
+    private Map<String, String> fetchBatch(Collection<String> stationCodes, Function<String, String> urlBuilder)
+            throws WeatherServiceException {
+        Set<String> stations = normalizeBatch(stationCodes);
+        Map<String, String> reports = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(maxConcurrentRequests);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(stations.size());
+        
+        try {
+            for (String station : stations) {
+                permits.acquire();
+                String url = urlBuilder.apply(station);
+                pending.add(singleFlight(url, () -> fetchStationFileAsync(url, station))
+                        .handle((file, error) -> {
+                            permits.release();
+                            collectReport(reports, station, file, error);
+                            return null;
+                        }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.NETWORK_ERROR,
+                "Batch request interrupted", e);
+        }
+        
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        
+        Map<String, String> ordered = new LinkedHashMap<>();
+        for (String station : stations) {
+            String report = reports.get(station);
+            if (report != null) {
+                ordered.put(station, report);
+            }
+        }
+        LOGGER.info("Batch request retrieved {} of {} stations", ordered.size(), stations.size());
+        return ordered;
+    }
+    
+    /**
+     * Normalizes the station codes of a batch, dropping invalid codes and
+     * coalescing duplicates.
+     * 
+     * @param stationCodes The station codes as supplied by the caller
+     * @return The distinct normalized station codes, in request order
+     * @throws WeatherServiceException if the collection is null
+     */
+    private Set<String> normalizeBatch(Collection<String> stationCodes) throws WeatherServiceException {
+        if (stationCodes == null) {
+            throw NULL_STATION_COLLECTION;
+        }
+        
+        Set<String> stations = new LinkedHashSet<>();
+        for (String stationCode : stationCodes) {
+            StationCode station = StationCode.tryParse(stationCode);
+            if (station != null) {
+                stations.add(station.getCode());
+            } else {
+                LOGGER.warn("Skipping invalid station code in batch: '{}'", stationCode);
+            }
+        }
+        return stations;
+    }
+    
+    /**
+     * Records the outcome of one batch fetch.
+     * 
+     * @param reports The reports collected so far
+     * @param station The normalized station code
+     * @param file The station file, if the fetch succeeded
+     * @param error The fetch failure, if any
+     */
+    private static void collectReport(Map<String, String> reports, String station, StationFile file,
+                                      Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            LOGGER.warn("Batch fetch failed for station {}: {}", station, cause.getMessage());
+            return;
+        }
+        reports.put(station, file.getReport());
+    }
+    
+    /**
+     * Fetches a station file and extracts the report it contains.
+     * 
+     * @param url The complete URL of the station file
+     * @param stationCode The normalized station code
+     * @return The report text
+     * @throws WeatherServiceException if the fetch fails or the file holds no report
+     */
+    private String fetchReport(String url, String stationCode) throws WeatherServiceException {
+        return fetchStationFile(url, stationCode).getReport();
+    }
+    
+    /**
+     * Fetches a station file conditionally, reusing the remembered version
+     * when the server reports it unchanged.
+     * 
+     * @param url The complete URL of the station file
+     * @param stationCode The normalized station code
+     * @return The current version of the file
+     * @throws WeatherServiceException if the fetch fails or the file holds no report
+     */
+    StationFile fetchStationFile(String url, String stationCode) throws WeatherServiceException {
+        CompletableFuture<StationFile> shared = singleFlight(url, () -> {
+            try {
+                return CompletableFuture.completedFuture(fetchStationFileNow(url, stationCode));
+            } catch (WeatherServiceException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        
+        try {
+            return shared.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.NETWORK_ERROR,
+                "Interrupted while waiting for station file", stationCode, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof WeatherServiceException) {
+                throw (WeatherServiceException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.UNKNOWN_ERROR,
+                "Failed to retrieve weather data", stationCode, cause);
+        }
+    }
+    
+    /**
+     * Fetches a station file on the calling thread, without collapsing.
+     * 
+     * @param url The complete URL of the station file
+     * @param stationCode The normalized station code
+     * @return The current version of the file
+     * @throws WeatherServiceException if the fetch fails or the file holds no report
+     */
+    private StationFile fetchStationFileNow(String url, String stationCode) throws WeatherServiceException {
+        StationFile cached = stationFiles.get(url);
+        for (int attempt = 0; ; attempt++) {
+            ConditionalResponse rejected = null;
+            if (!circuitBreaker.tryAcquire()) {
+                try {
+                    rejected = failFast(url, cached);
+                } catch (WeatherServiceException e) {
+                    throw withStation(e, stationCode);
+                }
+                return resolveStationFile(url, cached, rejected, stationCode);
+            }
+            ConditionalResponse response;
+            boolean recorded = false;
+            try {
+                response = cached == null
+                        ? httpClient.fetchConditional(url, null, null)
+                        : httpClient.fetchConditional(url, cached.getETag(), cached.getLastModified());
+                recorded = true;
+                recordAttempt(null);
+            } catch (WeatherServiceException e) {
+                recorded = true;
+                recordAttempt(e);
+                if (!shouldRetry(e, attempt)) {
+                    throw withStation(e, stationCode);
+                }
+                long delay = retryDelayMillis(attempt);
+                LOGGER.debug("Retrying {} in {} ms after {}", url, delay, e.getErrorType());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw withStation(e, stationCode);
+                }
+                continue;
+            } finally {
+                // Whatever else the client throws still releases a half-open probe
+                if (!recorded) {
+                    circuitBreaker.onFailure();
+                }
+            }
+            return resolveStationFile(url, cached, response, stationCode);
+        }
+    }
+    
+    /**
+     * Fetches a station file asynchronously, without collapsing.
+     * 
+     * @param url The complete URL of the station file
+     * @param stationCode The normalized station code
+     * @return A future holding the current version of the file
+     */
+    private CompletableFuture<StationFile> fetchStationFileAsync(String url, String stationCode) {
+        StationFile cached = stationFiles.get(url);
+        return fetchConditionalAsync(url, cached).thenApply(response -> {
+            try {
+                return resolveStationFile(url, cached, response, stationCode);
+            } catch (WeatherServiceException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+    
+    /**
+     * Runs a fetch of the station file at the URL, or joins the one already
+     * in flight. The URL identifies both the station and the report type.
+     * 
+     * @param url The complete URL of the station file
+     * @param fetch Starts the fetch when none is in flight
+     * @return A future holding the shared result
+     */
+    CompletableFuture<StationFile> singleFlight(String url, Supplier<CompletableFuture<StationFile>> fetch) {
+        return fetches.execute(url, fetch);
+    }
+    
+    /**
+     * Starts a conditional fetch of a station file, guarded by the circuit
+     * breaker and retried within the retry budget.
+     * 
+     * @param url The complete URL of the station file
+     * @param cached The remembered version of the file, or null
+     * @return A future holding the response
+     */
+    CompletableFuture<ConditionalResponse> fetchConditionalAsync(String url, StationFile cached) {
+        return fetchConditionalAsync(url, cached, 0);
+    }
+    
+    private CompletableFuture<ConditionalResponse> fetchConditionalAsync(String url, StationFile cached, int attempt) {
+        if (!circuitBreaker.tryAcquire()) {
+            try {
+                return CompletableFuture.completedFuture(failFast(url, cached));
+            } catch (WeatherServiceException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<ConditionalResponse> request;
+        try {
+            request = cached == null
+                    ? httpClient.fetchConditionalAsync(url, null, null)
+                    : httpClient.fetchConditionalAsync(url, cached.getETag(), cached.getLastModified());
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        return request.handle((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            // Every outcome is reported, so a half-open probe is always released
+            recordAttempt(cause);
+            if (cause == null) {
+                return CompletableFuture.completedFuture(response);
+            }
+            if (cause instanceof WeatherServiceException && shouldRetry((WeatherServiceException) cause, attempt)) {
+                long delay = retryDelayMillis(attempt);
+                LOGGER.debug("Retrying {} in {} ms after {}", url, delay,
+                        ((WeatherServiceException) cause).getErrorType());
+                // Waits on the shared delay scheduler rather than blocking a thread
+                return CompletableFuture.runAsync(() -> { },
+                                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                        .thenCompose(ignored -> fetchConditionalAsync(url, cached, attempt + 1));
+            }
+            return CompletableFuture.<ConditionalResponse>failedFuture(cause);
+        }).thenCompose(Function.identity());
+    }
+    
+    /**
+     * Reports the outcome of one attempt permitted by the circuit breaker.
+     * Every permitted attempt must be reported exactly once, or a half-open
+     * breaker keeps its probe in flight and rejects every later call.
+     * 
+     * Upstream failures (NETWORK_ERROR and SERVICE_UNAVAILABLE) and any
+     * exception other than a WeatherServiceException, such as an I/O error or
+     * timeout from the client, count against the breaker. Any other
+     * WeatherServiceException means the upstream answered and is healthy.
+     * 
+     * @param failure The failure, or null if the attempt succeeded
+     */
+    private void recordAttempt(Throwable failure) {
+        if (failure == null
+                || failure instanceof WeatherServiceException && !isUpstreamFailure((WeatherServiceException) failure)) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+    
+    /**
+     * Decides whether to try a failed attempt again. Only upstream failures
+     * are retried, and a retry needs a token from the retry budget.
+     * 
+     * @param e The failure, already reported with recordAttempt
+     * @param attempt The number of attempts already retried
+     * @return true if the fetch should be tried again
+     */
+    private boolean shouldRetry(WeatherServiceException e, int attempt) {
+        return isUpstreamFailure(e) && attempt < MAX_RETRIES && retryBudget.tryAcquire();
+    }
+    
+    /**
+     * Picks the delay before a retry: RETRY_DELAY doubled per earlier retry,
+     * with "equal jitter" so that callers failing together do not all retry
+     * at the same instant.
+     * 
+     * @param attempt The number of attempts already retried
+     * @return The delay in milliseconds, between half and all of the backoff
+     */
+    static long retryDelayMillis(int attempt) {
+        long backoff = RETRY_DELAY.toMillis() << Math.min(attempt, 10);
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+    
+    private static boolean isUpstreamFailure(WeatherServiceException e) {
+        return e.getErrorType() == WeatherServiceException.ErrorType.NETWORK_ERROR
+                || e.getErrorType() == WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE;
+    }
+    
+    /**
+     * Answers a fetch rejected by the open circuit breaker: the remembered
+     * version of the file stands in as if the server had reported it
+     * unchanged, and without one the fetch fails at once.
+     * 
+     * @param url The complete URL of the station file
+     * @param cached The remembered version of the file, or null
+     * @return A not-modified response for the remembered version
+     * @throws WeatherServiceException SERVICE_UNAVAILABLE if nothing is remembered
+     */
+    private static ConditionalResponse failFast(String url, StationFile cached) throws WeatherServiceException {
+        if (cached == null) {
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE,
+                "Upstream circuit open, request not sent");
+        }
+        LOGGER.debug("Upstream circuit open, serving remembered {}", url);
+        return ConditionalResponse.notModified(cached.getETag(), cached.getLastModified());
+    }
+    
+    /**
+     * Gets the circuit breaker guarding the upstream fetches.
+     * 
+     * @return The circuit breaker, whose state and counters can be inspected
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
+    /**
+     * Gets the budget limiting retries of failed fetches.
+     * 
+     * @return The retry budget
+     */
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+    
+    /**
+     * Gets the remembered version of a station file.
+     * 
+     * @param url The complete URL of the station file
+     * @return The remembered file, or null if none
+     */
+    StationFile getCachedStationFile(String url) {
+        return stationFiles.get(url);
+    }
+    
+    /**
+     * Turns the response to a conditional fetch into the current version of
+     * the file, remembering a new version when it carries validators.
+     * 
+     * @param url The complete URL of the station file
+     * @param cached The remembered version the validators came from, or null
+     * @param response The response to the conditional fetch
+     * @param stationCode The normalized station code
+     * @return The current version of the file
+     * @throws WeatherServiceException if the file holds no report
+     */
+    StationFile resolveStationFile(String url, StationFile cached, ConditionalResponse response,
+                                   String stationCode) throws WeatherServiceException {
+        if (response.isNotModified()) {
+            if (cached == null) {
+                throw new WeatherServiceException(
+                    WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE,
+                    "Unexpected 304 response to an unconditional request",
+                    stationCode
+                );
+            }
+            LOGGER.debug("Station file unchanged for {}", stationCode);
+            return cached;
+        }
+        
+        StationFile file;
+        try {
+            file = new StationFile(toReport(response.getBody(), stationCode),
+                                   response.getETag(), response.getLastModified());
+        } catch (WeatherServiceException e) {
+            stationFiles.remove(url);
+            throw e;
+        }
+        if (file.hasValidators()) {
+            stationFiles.put(url, file);
+        } else {
+            stationFiles.remove(url);
+        }
+        return file;
+    }
+    
+    /**
+     * Parses a caller-supplied station code.
+     * 
+     * @param stationCode The station code as supplied by the caller
+     * @return The normalized station code
+     * @throws WeatherServiceException if the station code is invalid
+     */
+    static StationCode toStationCode(String stationCode) throws WeatherServiceException {
+        StationCode station = StationCode.tryParse(stationCode);
+        if (station == null) {
+            throw invalidStation(stationCode);
+        }
+        return station;
+    }
+    
+    /**
+     * Creates the exception reported for a malformed station code.
+     * 
+     * @param stationCode The station code as supplied by the caller
+     * @return The INVALID_STATION_CODE exception, without a stack trace
+     */
+    static WeatherServiceException invalidStation(String stationCode) {
+        if (stationCode == null) {
+            return NULL_STATION;
+        }
+        return WeatherServiceException.expected(
+            WeatherServiceException.ErrorType.INVALID_STATION_CODE,
+            INVALID_STATION_MESSAGE,
+            stationCode
+        );
+    }
+    
+    /**
+     * Gets the HTTP client used to fetch the station files.
+     * 
+     * @return The HTTP client
+     */
+    NoaaHttpClient getHttpClient() {
+        return httpClient;
+    }
+    
+    /**
+     * Extracts the report from a station file, failing if the file holds none.
+     * 
+     * @param body The station file contents
+     * @param stationCode The normalized station code
+     * @return The report text
+     * @throws WeatherServiceException if the file holds no report
+     */
+    static String toReport(String body, String stationCode) throws WeatherServiceException {
+        String report = extractReport(body);
+        if (report.isEmpty()) {
+            throw WeatherServiceException.expected(
+                WeatherServiceException.ErrorType.STATION_NOT_FOUND,
+                "No report published for station",
+                stationCode
+            );
+        }
+        return report;
+    }
+    
+    /**
+     * Re-raises a client exception with the station code attached.
+     * 
+     * @param e The exception raised by the HTTP client
+     * @param stationCode The normalized station code
+     * @return A new exception carrying the station code, with e as its cause;
+     *         an expected exception is copied, stackless, instead
+     */
+    static WeatherServiceException withStation(WeatherServiceException e, String stationCode) {
+        if (e.isExpected()) {
+            return WeatherServiceException.expected(e.getErrorType(), e.getMessage(), stationCode);
+        }
+        return new WeatherServiceException(e.getErrorType(), e.getMessage(), stationCode, e);
+    }
+    
+    /**
+     * Strips the "yyyy/MM/dd HH:mm" header line that tgftp places in front
+     * of every station report.
+     * 
+     * @param body The station file contents
+     * @return The report text without the header line, trimmed
+     */
+    static String extractReport(String body) {
+        if (body == null) {
+            return "";
+        }
+        
+        String text = body.trim();
+        int lineEnd = text.indexOf('\n');
+        if (lineEnd > 0 && isTimestampLine(text, lineEnd)) {
+            text = text.substring(lineEnd + 1).trim();
         }
+        return text;
+    }
+    
+    /**
+     * Checks whether the first line of the text is a tgftp timestamp header.
+     * 
+     * @param text The station file contents
+     * @param lineEnd The index of the first line break
+     * @return true if the first line has the form "yyyy/MM/dd HH:mm"
+     */
+    private static boolean isTimestampLine(String text, int lineEnd) {
+        return lineEnd >= 16 && text.charAt(4) == '/' && text.charAt(7) == '/'
+                && Character.isDigit(text.charAt(0)) && text.charAt(13) == ':';
     }
 }
@@ -49,9 +49,10 @@ class NoakWeatherMainTest {
         testConfig = new TestWeatherConfigurationService()
             .withRawConfig("MISC_WEATHER_DATA", "Weather Data:")
             .withRawConfig("MISC_STATION", "Station:")
-            .withRawConfig("MISC_METAR_URL", "https://tgftp.nws.noaa.gov/data/observations/metar/stations/")
+            // Unreachable loopback address keeps these tests off the network
+            .withRawConfig("MISC_METAR_URL", "http://127.0.0.1:9/data/observations/metar/stations/")
             .withRawConfig("MISC_METAR_EXT", ".TXT")
-            .withRawConfig("MISC_TAF_URL", "https://tgftp.nws.noaa.gov/data/forecasts/taf/stations/")
+            .withRawConfig("MISC_TAF_URL", "http://127.0.0.1:9/data/forecasts/taf/stations/")
             .withRawConfig("MISC_TAF_EXT", ".TXT")
             .withExceptionMessage("NULL_POINTER_EXCEPTION", "Null Pointer exception:")
             .withExceptionMessage("WEATHER_GET_METAR", "Weather getMetar:")
@@ -378,6 +379,54 @@ class NoakWeatherMainTest {
         });
     }
     
+    @ParameterizedTest
+    @ValueSource(strings = {"metar", "taf"})
+    void testMainWithMultipleStations(String command) {
+        // Several stations in one run are handled as a single batch request
+        String[] args = {command, "KJFK", "KLGA", "kjfk", "-p", "y"};
+        assertDoesNotThrow(() -> {
+            NoakWeatherMain.main(args);
+        }, "Batch command should work: " + command);
+    }
+    
+    @Test
+    void testMainWithCycleFile() throws Exception {
+        String cycleFile = java.nio.file.Paths.get(
+                NoakWeatherMainTest.class.getResource("/cycles/12Z.TXT").toURI()).toString();
+        String[] args = {"cycle", "file:" + cycleFile, "-p", "y"};
+        assertDoesNotThrow(() -> {
+            NoakWeatherMain.main(args);
+        });
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"24", "noon", "file:does-not-exist.TXT"})
+    void testMainWithInvalidCycle(String cycle) {
+        String[] args = {"-c", cycle};
+        assertDoesNotThrow(() -> {
+            NoakWeatherMain.main(args);
+        });
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"monitor", "-w"})
+    void testMainWithMonitorMissingStations(String command) {
+        // Without stations the monitor does not start, so main returns
+        String[] args = {command};
+        assertDoesNotThrow(() -> {
+            NoakWeatherMain.main(args);
+        });
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"K1FK", "file:does-not-exist.csv"})
+    void testMainWithInvalidMonitorStations(String station) {
+        String[] args = {"monitor", "KJFK", station};
+        assertDoesNotThrow(() -> {
+            NoakWeatherMain.main(args);
+        });
+    }
+    
     @Test
     void testMainWithInvalidLogLevel() {
         String[] args = {"metar", "KJFK", "-l", "invalid"};
@@ -0,0 +1,263 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the NOAA tgftp server used in unit testing.
+ *
+ * Serves station files using the same path layout as MISC_METAR_URL and
+ * MISC_TAF_URL, so the service under test only needs its base URLs pointed
+ * at this server. Each file is served with the "yyyy/MM/dd HH:mm" header line
+ * that tgftp places in front of every report.
+ *
+ * Like tgftp, every file carries an ETag and a Last-Modified header, and a
+ * request whose If-None-Match (or, failing that, If-Modified-Since) matches
+ * the current version is answered with 304 Not Modified.
+ *
+ * @author bclasky1539
+ *
+ */
+public class TestNoaaHttpServer implements AutoCloseable {
+
+    /**
+     * Path of the METAR station files, matching MISC_METAR_URL
+     */
+    public static final String METAR_PATH = "/data/observations/metar/stations/";
+
+    /**
+     * Path of the TAF station files, matching MISC_TAF_URL
+     */
+    public static final String TAF_PATH = "/data/forecasts/taf/stations/";
+
+    private static final String FILE_EXTENSION = ".TXT";
+    private static final String HEADER_LINE = "2025/10/14 17:53\n";
+    private static final Instant FIRST_PUBLICATION = Instant.parse("2025-10-14T17:53:00Z");
+
+    private final HttpServer server;
+    private final Map<String, String> files = new ConcurrentHashMap<>();
+    private final Map<String, String> lastModified = new ConcurrentHashMap<>();
+    private final AtomicInteger publications = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final Map<String, Integer> statusOverrides = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger totalRequests = new AtomicInteger();
+    private volatile long responseDelayMillis = 0;
+
+    /**
+     * Creates and starts a server on an ephemeral loopback port.
+     *
+     * @throws IOException if the server cannot be bound
+     */
+    public TestNoaaHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    /**
+     * Publishes a METAR report for the station.
+     *
+     * @param station The station code
+     * @param report The report text served after the header line
+     * @return This instance for method chaining
+     */
+    public TestNoaaHttpServer withMetar(String station, String report) {
+        publish(METAR_PATH + station + FILE_EXTENSION, HEADER_LINE + report + "\n");
+        return this;
+    }
+
+    /**
+     * Publishes a TAF report for the station.
+     *
+     * @param station The station code
+     * @param report The report text served after the header line
+     * @return This instance for method chaining
+     */
+    public TestNoaaHttpServer withTaf(String station, String report) {
+        publish(TAF_PATH + station + FILE_EXTENSION, HEADER_LINE + report + "\n");
+        return this;
+    }
+
+    /**
+     * Publishes an arbitrary file verbatim at the given path.
+     *
+     * @param path The request path
+     * @param contents The exact response body
+     * @return This instance for method chaining
+     */
+    public TestNoaaHttpServer withFile(String path, String contents) {
+        publish(path, contents);
+        return this;
+    }
+
+    /**
+     * Forces every request for the path to be answered with the given status.
+     *
+     * @param path The request path
+     * @param status The HTTP status code to return
+     * @return This instance for method chaining
+     */
+    public TestNoaaHttpServer withStatus(String path, int status) {
+        statusOverrides.put(path, status);
+        return this;
+    }
+
+    /**
+     * Delays every response by the given time, to simulate a slow upstream.
+     *
+     * @param millis The delay in milliseconds
+     * @return This instance for method chaining
+     */
+    public TestNoaaHttpServer withResponseDelay(long millis) {
+        this.responseDelayMillis = millis;
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public String getMetarBaseUrl() {
+        return getBaseUrl() + METAR_PATH;
+    }
+
+    public String getTafBaseUrl() {
+        return getBaseUrl() + TAF_PATH;
+    }
+
+    /**
+     * Gets the number of requests received for a path.
+     *
+     * @param path The request path
+     * @return The request count
+     */
+    public int getRequestCount(String path) {
+        AtomicInteger count = requestCounts.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    public int getMetarRequestCount(String station) {
+        return getRequestCount(METAR_PATH + station + FILE_EXTENSION);
+    }
+
+    public int getTafRequestCount(String station) {
+        return getRequestCount(TAF_PATH + station + FILE_EXTENSION);
+    }
+
+    public int getTotalRequestCount() {
+        return totalRequests.get();
+    }
+
+    /**
+     * Gets the number of requests answered with 304 Not Modified.
+     *
+     * @return The not-modified count
+     */
+    public int getNotModifiedCount() {
+        return notModifiedResponses.get();
+    }
+
+    /**
+     * Gets the ETag of the file currently published at a path.
+     *
+     * @param path The request path
+     * @return The ETag, or null if no file is published there
+     */
+    public String getETag(String path) {
+        String contents = files.get(path);
+        return contents == null ? null : eTag(contents);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        totalRequests.incrementAndGet();
+        requestCounts.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+
+        pause();
+
+        String contents = files.get(path);
+        int status = statusOverrides.getOrDefault(path, contents == null ? 404 : 200);
+        if (status == 200 && contents != null) {
+            String modified = lastModified.get(path);
+            exchange.getResponseHeaders().set("ETag", eTag(contents));
+            exchange.getResponseHeaders().set("Last-Modified", modified);
+            if (isNotModified(exchange, contents, modified)) {
+                notModifiedResponses.incrementAndGet();
+                status = 304;
+            }
+        }
+        byte[] body = status == 200 && contents != null
+                ? contents.getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void publish(String path, String contents) {
+        Instant published = FIRST_PUBLICATION.plusSeconds(publications.getAndIncrement());
+        lastModified.put(path, DateTimeFormatter.RFC_1123_DATE_TIME.format(published.atOffset(ZoneOffset.UTC)));
+        files.put(path, contents);
+    }
+
+    private static boolean isNotModified(HttpExchange exchange, String contents, String modified) {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            return ifNoneMatch.equals(eTag(contents));
+        }
+        return modified.equals(exchange.getRequestHeaders().getFirst("If-Modified-Since"));
+    }
+
+    private static String eTag(String contents) {
+        return "\"" + Integer.toHexString(contents.hashCode()) + "\"";
+    }
+
+    private void pause() {
+        if (responseDelayMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(responseDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
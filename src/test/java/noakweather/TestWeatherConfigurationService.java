@@ -20,6 +20,7 @@ import noakweather.config.WeatherConfigurationService;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Locale;
+import java.util.Optional;
 
 
 /**
@@ -167,6 +168,11 @@ public class TestWeatherConfigurationService implements WeatherConfigurationServ
         return value;
     }
     
+    @Override
+    public Optional<String> findRawString(String key) {
+        return Optional.ofNullable(rawConfigs.get(key));
+    }
+    
     @Override
     public String getRawString(String key, Object... arguments) {
         String template = getRawString(key);
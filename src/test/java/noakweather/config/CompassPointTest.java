@@ -0,0 +1,55 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compass Point Test
+ *
+ *
+ * @author bclasky1539
+ *
+ */
+class CompassPointTest {
+
+    @Test
+    void testCardinalDirections() {
+        assertEquals(CompassPoint.NORTH, CompassPoint.fromDegrees(0));
+        assertEquals(CompassPoint.EAST, CompassPoint.fromDegrees(90));
+        assertEquals(CompassPoint.SOUTH, CompassPoint.fromDegrees(180));
+        assertEquals(CompassPoint.WEST, CompassPoint.fromDegrees(270));
+    }
+
+    @Test
+    void testSectorBoundaries() {
+        assertEquals(CompassPoint.NORTH, CompassPoint.fromDegrees(11));
+        assertEquals(CompassPoint.NORTH_NORTH_EAST, CompassPoint.fromDegrees(12));
+        assertEquals(CompassPoint.NORTH_NORTH_WEST, CompassPoint.fromDegrees(348));
+        assertEquals(CompassPoint.NORTH, CompassPoint.fromDegrees(349));
+        assertEquals(CompassPoint.WEST_SOUTH_WEST, CompassPoint.fromDegrees(247));
+    }
+
+    @Test
+    void testOutOfRangeDegreesAreNormalized() {
+        assertEquals(CompassPoint.NORTH, CompassPoint.fromDegrees(360));
+        assertEquals(CompassPoint.EAST, CompassPoint.fromDegrees(450));
+        assertEquals(CompassPoint.WEST, CompassPoint.fromDegrees(-90));
+    }
+}
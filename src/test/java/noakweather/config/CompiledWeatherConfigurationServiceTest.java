@@ -0,0 +1,130 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.ResourceBundle;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiled Weather Configuration Service Test
+ *
+ *
+ * @author bclasky1539
+ *
+ */
+class CompiledWeatherConfigurationServiceTest {
+
+    private CompiledWeatherConfigurationService service;
+    private ResourceBundleWeatherConfigurationService bundleService;
+
+    @BeforeEach
+    void setUp() {
+        service = new CompiledWeatherConfigurationService(Locale.US);
+        bundleService = new ResourceBundleWeatherConfigurationService(Locale.US);
+    }
+
+    @Test
+    void testEveryKeyMatchesResourceBundle() {
+        ResourceBundle bundle = ResourceBundle.getBundle("configs", Locale.US);
+        for (String key : bundle.keySet()) {
+            assertEquals(bundleService.getRawString(key), service.getRawString(key), key);
+        }
+    }
+
+    @Test
+    void testDomainMethodsMatchResourceBundle() {
+        assertEquals(bundleService.getWeatherCondition("HEAVY"), service.getWeatherCondition("HEAVY"));
+        assertEquals("+", service.getWeatherCondition("HEAVY"));
+        assertEquals("Heavy", service.getWeatherDescription("HEAVY"));
+        assertEquals("Light", service.getIntensityDescription("LIGHT"));
+        assertEquals("CB", service.getCloudType("CUMULONIMBUS"));
+        assertEquals("Cumulonimbus", service.getCloudDescription("CUMULONIMBUS"));
+        assertEquals("N", service.getWindDirection("NORTH"));
+        assertEquals("KT", service.getWindUnit("KNOTS_1"));
+        assertEquals("knots", service.getWindDescription("KNOTS"));
+        assertEquals("Null Pointer exception:", service.getExceptionMessage("NULL_POINTER_EXCEPTION"));
+        assertEquals("noakweather logging is INFO", service.getLogMessage("INFO"));
+    }
+
+    @Test
+    void testOverlappingPrefixesResolveLikeConcatenation() {
+        // WEATHER_DECODED_HEAVY is reachable both as WEATHER_ + DECODED_HEAVY and WEATHER_DECODED_ + HEAVY
+        assertEquals(bundleService.getWeatherCondition("DECODED_HEAVY"), service.getWeatherCondition("DECODED_HEAVY"));
+        assertEquals(bundleService.getWindUnit("DIR_NORTH"), service.getWindUnit("DIR_NORTH"));
+    }
+
+    @Test
+    void testMissingKeysMatchResourceBundle() {
+        assertEquals(bundleService.getWeatherCondition("NONEXISTENT"), service.getWeatherCondition("NONEXISTENT"));
+        assertEquals(bundleService.getCloudDescription("NONEXISTENT"), service.getCloudDescription("NONEXISTENT"));
+        assertEquals(bundleService.getRawString("NONEXISTENT_KEY"), service.getRawString("NONEXISTENT_KEY"));
+        assertEquals(bundleService.getWindDirection(null), service.getWindDirection((String) null));
+        assertEquals("Missing config: ", service.getRawString(""));
+    }
+
+    @Test
+    void testFindRawString() {
+        assertEquals(Optional.of("Weather Data:"), service.findRawString("MISC_WEATHER_DATA"));
+        assertEquals(Optional.empty(), service.findRawString("RVR_DECODED_NONEXISTENT"));
+        assertEquals(Optional.empty(), service.findRawString(null));
+    }
+
+    @Test
+    void testGetRawStringWithArguments() {
+        assertEquals(bundleService.getRawString("EXCEP_FAILED_FETCH_STATION", "KJFK"),
+                service.getRawString("EXCEP_FAILED_FETCH_STATION", "KJFK"));
+        assertEquals("Weather Data:", service.getRawString("MISC_WEATHER_DATA", (Object[]) null));
+    }
+
+    @Test
+    void testWindDirectionByCompassPoint() {
+        for (CompassPoint point : CompassPoint.values()) {
+            assertEquals(service.getWindDirection(point.name()), service.getWindDirection(point), point.name());
+        }
+        assertEquals("NNE", service.getWindDirection(CompassPoint.NORTH_NORTH_EAST));
+    }
+
+    @Test
+    void testCloudOkta() {
+        assertEquals("1CO", service.getCloudOkta(1));
+        assertEquals("8CO", service.getCloudOkta(8));
+        assertThrows(IllegalArgumentException.class, () -> service.getCloudOkta(0));
+        assertThrows(IllegalArgumentException.class, () -> service.getCloudOkta(9));
+    }
+
+    @Test
+    void testSetLocaleDoesNotChangeDefaultLocale() {
+        Locale originalLocale = Locale.getDefault();
+
+        service.setLocale(Locale.FRENCH);
+
+        assertEquals(originalLocale, Locale.getDefault());
+        assertEquals("Weather Data:", service.getRawString("MISC_WEATHER_DATA"));
+    }
+
+    @Test
+    void testErrorHandlingWithNulls() {
+        assertThrows(NullPointerException.class, () -> service.getRawString(null));
+        assertThrows(NullPointerException.class, () -> service.setLocale(null));
+    }
+}
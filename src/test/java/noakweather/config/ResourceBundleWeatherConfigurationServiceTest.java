@@ -20,6 +20,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Locale;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -71,7 +72,7 @@ class ResourceBundleWeatherConfigurationServiceTest {
         try {
             // Test setting different locale
             service.setLocale(Locale.FRENCH);
-            assertEquals(Locale.FRENCH, Locale.getDefault());
+            assertEquals(originalLocale, Locale.getDefault());
             
             // Should still be able to access configuration
             assertDoesNotThrow(() -> {
@@ -322,6 +323,37 @@ class ResourceBundleWeatherConfigurationServiceTest {
         assertTrue(result.contains("Missing config:"));
     }
     
+    @Test
+    void testFindRawString() {
+        assertEquals(Optional.of("Weather Data:"), service.findRawString("MISC_WEATHER_DATA"));
+        assertEquals(Optional.empty(), service.findRawString("EXTENDED_DECODED_NONEXISTENT"));
+        assertEquals(Optional.empty(), service.findRawString(null));
+    }
+    
+    @Test
+    void testRepeatedMissReusesMissingText() {
+        String first = service.getWeatherCondition("NONEXISTENT");
+        String second = service.getWeatherCondition("NONEXISTENT");
+        
+        assertEquals("Missing config: WEATHER_NONEXISTENT", first);
+        assertSame(first, second);
+    }
+    
+    @Test
+    void testMissCacheClearedOnSetLocale() {
+        Locale originalLocale = Locale.getDefault();
+        try {
+            String before = service.getRawString("NONEXISTENT_KEY");
+            service.setLocale(Locale.US);
+            String after = service.getRawString("NONEXISTENT_KEY");
+            
+            assertEquals(before, after);
+            assertNotSame(before, after);
+        } finally {
+            Locale.setDefault(originalLocale);
+        }
+    }
+    
     @Test
     void testSetLocaleWithNull() {
         // Test setting null locale - should throw NullPointerException
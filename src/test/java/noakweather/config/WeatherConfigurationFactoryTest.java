@@ -22,6 +22,15 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -68,6 +77,108 @@ class WeatherConfigurationFactoryTest {
                 "Default instance should be ResourceBundleWeatherConfigurationService");
     }
     
+    @Test
+    void testSetBackendSelectsCompiledImplementation() {
+        WeatherConfigurationFactory.setBackend(WeatherConfigurationFactory.Backend.COMPILED);
+        
+        WeatherConfigurationService instance = WeatherConfigurationFactory.getInstance();
+        
+        assertTrue(instance instanceof CompiledWeatherConfigurationService);
+        assertEquals(WeatherConfigurationFactory.Backend.COMPILED, WeatherConfigurationFactory.getBackend());
+        assertSame(instance, WeatherConfigurationFactory.getInstance());
+    }
+    
+    @Test
+    void testBackendSelectedBySystemProperty() {
+        System.setProperty(WeatherConfigurationFactory.BACKEND_PROPERTY, "compiled");
+        try {
+            WeatherConfigurationFactory.reset();
+            assertTrue(WeatherConfigurationFactory.getInstance() instanceof CompiledWeatherConfigurationService);
+        } finally {
+            System.clearProperty(WeatherConfigurationFactory.BACKEND_PROPERTY);
+        }
+    }
+    
+    @Test
+    void testResetRestoresDefaultBackend() {
+        WeatherConfigurationFactory.setBackend(WeatherConfigurationFactory.Backend.COMPILED);
+        WeatherConfigurationFactory.reset();
+        
+        assertEquals(WeatherConfigurationFactory.Backend.RESOURCE_BUNDLE, WeatherConfigurationFactory.getBackend());
+        assertTrue(WeatherConfigurationFactory.create(WeatherConfigurationFactory.Backend.RESOURCE_BUNDLE)
+                instanceof ResourceBundleWeatherConfigurationService);
+    }
+    
+    @Test
+    void testGetInstanceForLocaleIsCachedPerLocale() {
+        WeatherConfigurationService us = WeatherConfigurationFactory.getInstance(Locale.US);
+        WeatherConfigurationService french = WeatherConfigurationFactory.getInstance(Locale.FRENCH);
+        
+        assertSame(us, WeatherConfigurationFactory.getInstance(Locale.US));
+        assertNotSame(us, french);
+        assertEquals("Weather Data:", us.getRawString("MISC_WEATHER_DATA"));
+        assertEquals(Optional.of("Weather Data:"), french.findRawString("MISC_WEATHER_DATA"));
+    }
+    
+    @Test
+    void testGetInstanceForLocaleIsImmutable() {
+        Locale originalLocale = Locale.getDefault();
+        WeatherConfigurationService service = WeatherConfigurationFactory.getInstance(Locale.FRENCH);
+        
+        assertThrows(UnsupportedOperationException.class, () -> service.setLocale(Locale.US));
+        assertEquals(originalLocale, Locale.getDefault());
+        assertThrows(NullPointerException.class, () -> WeatherConfigurationFactory.getInstance(null));
+    }
+    
+    @Test
+    void testGetInstanceForLocaleFollowsBackend() {
+        WeatherConfigurationService bundle = WeatherConfigurationFactory.getInstance(Locale.US);
+        WeatherConfigurationFactory.setBackend(WeatherConfigurationFactory.Backend.COMPILED);
+        WeatherConfigurationService compiled = WeatherConfigurationFactory.getInstance(Locale.US);
+        
+        assertNotSame(bundle, compiled);
+        assertEquals(bundle.getWindDirection("NORTH"), compiled.getWindDirection("NORTH"));
+    }
+    
+    @Test
+    void testResetClearsLocaleCache() {
+        WeatherConfigurationService first = WeatherConfigurationFactory.getInstance(Locale.US);
+        WeatherConfigurationFactory.reset();
+        
+        assertNotSame(first, WeatherConfigurationFactory.getInstance(Locale.US));
+    }
+    
+    @Test
+    void testConcurrentGetInstanceReturnsOneInstance() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<WeatherConfigurationService>> defaults = new ArrayList<>();
+            List<Future<WeatherConfigurationService>> french = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                defaults.add(executor.submit(() -> {
+                    start.await();
+                    return WeatherConfigurationFactory.getInstance();
+                }));
+                french.add(executor.submit(() -> {
+                    start.await();
+                    return WeatherConfigurationFactory.getInstance(Locale.FRENCH);
+                }));
+            }
+            start.countDown();
+            
+            WeatherConfigurationService expectedDefault = defaults.get(0).get(10, TimeUnit.SECONDS);
+            WeatherConfigurationService expectedFrench = french.get(0).get(10, TimeUnit.SECONDS);
+            for (int i = 1; i < threads; i++) {
+                assertSame(expectedDefault, defaults.get(i).get(10, TimeUnit.SECONDS));
+                assertSame(expectedFrench, french.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
     @Test
     void testSetInstanceChangesReturnedInstance() {
         // Create a test configuration service
@@ -0,0 +1,151 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.client;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MetarCycleReader.
+ * 
+ * @author bclasky1539
+ * 
+ */
+class MetarCycleReaderTest {
+    
+    @Test
+    @DisplayName("Should split a cycle file into reports with their timestamps")
+    void testReadCycleFile() throws IOException, URISyntaxException {
+        List<NoaaMetarData> reports = new ArrayList<>();
+        
+        try (MetarCycleReader reader = MetarCycleReader.open(cycleFile())) {
+            assertEquals(5, reader.readAll(reports::add));
+        }
+        
+        NoaaMetarData first = reports.get(0);
+        assertEquals("KJFK", first.getStationId());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 11, 51), first.getObservationTime());
+        assertEquals("KJFK 141151Z 28016KT 10SM FEW250 22/12 A3015 RMK AO2 SLP210", first.getRawText());
+        assertEquals("EGLL", reports.get(3).getStationId());
+    }
+    
+    @Test
+    @DisplayName("Should join reports that wrap onto continuation lines")
+    void testWrappedReport() throws IOException, URISyntaxException {
+        List<NoaaMetarData> reports = new ArrayList<>();
+        
+        try (MetarCycleReader reader = MetarCycleReader.open(cycleFile())) {
+            reader.readAll(reports::add);
+        }
+        
+        NoaaMetarData wrapped = reports.get(2);
+        assertEquals("KSEG", wrapped.getStationId());
+        assertTrue(wrapped.getRawText().endsWith("RAB35E50UPB50E53 SLP104 P0002 T00110000"));
+        assertTrue(wrapped.getIsAutoReport());
+    }
+    
+    @Test
+    @DisplayName("Should skip the SPECI keyword when extracting the station")
+    void testSpeciReport() throws IOException, URISyntaxException {
+        List<NoaaMetarData> reports = new ArrayList<>();
+        
+        try (MetarCycleReader reader = MetarCycleReader.open(cycleFile())) {
+            reader.readAll(reports::add);
+        }
+        
+        NoaaMetarData speci = reports.get(4);
+        assertEquals("KORD", speci.getStationId());
+        assertEquals("SPECI", speci.getReportType());
+    }
+    
+    @Test
+    @DisplayName("Should decode each report as it is read")
+    void testReportsAreDecoded() throws IOException, URISyntaxException {
+        List<NoaaMetarData> reports = new ArrayList<>();
+
+        try (MetarCycleReader reader = MetarCycleReader.open(cycleFile())) {
+            reader.readAll(reports::add);
+        }
+
+        NoaaMetarData first = reports.get(0);
+        assertEquals(22.0, first.getTemperatureCelsius());
+        assertEquals(280, first.getWindInformation().getWindDirectionDegrees());
+        assertEquals("VFR", first.getFlightCategory());
+
+        NoaaMetarData wrapped = reports.get(2);
+        assertEquals(1.1, wrapped.getTemperatureCelsius());
+        assertEquals(0.02, wrapped.getPrecipitationLastHourInches());
+        assertEquals("MVFR", wrapped.getFlightCategory());
+    }
+
+    @Test
+    @DisplayName("Should handle reports separated only by timestamps and no trailing blank line")
+    void testCompactInput() throws IOException {
+        String cycle = "2025/10/14 12:00\nKAAA 141200Z 00000KT\n2025/10/14 12:05\nKBBB 141205Z 00000KT";
+        
+        try (MetarCycleReader reader = new MetarCycleReader(new StringReader(cycle))) {
+            NoaaMetarData first = reader.nextReport();
+            NoaaMetarData second = reader.nextReport();
+            
+            assertEquals("KAAA", first.getStationId());
+            assertEquals("KBBB", second.getStationId());
+            assertEquals(LocalDateTime.of(2025, 10, 14, 12, 5), second.getObservationTime());
+            assertNull(reader.nextReport());
+        }
+    }
+    
+    @Test
+    @DisplayName("Should return no reports for empty input")
+    void testEmptyInput() throws IOException {
+        try (MetarCycleReader reader = new MetarCycleReader(new StringReader("\n\n"))) {
+            assertNull(reader.nextReport());
+        }
+    }
+    
+    @Test
+    @DisplayName("Timestamp helpers should recognise and parse header lines")
+    void testTimestampHelpers() {
+        assertTrue(MetarCycleReader.isTimestamp("2025/10/14 12:00"));
+        assertFalse(MetarCycleReader.isTimestamp("KJFK 141151Z 28016KT"));
+        assertEquals(LocalDateTime.of(2025, 10, 14, 12, 0), MetarCycleReader.parseTimestamp("2025/10/14 12:00"));
+        assertNull(MetarCycleReader.parseTimestamp("2025/13/14 12:00"));
+    }
+    
+    @Test
+    @DisplayName("extractStationId should handle METAR prefixes and bare reports")
+    void testExtractStationId() {
+        assertEquals("KJFK", MetarCycleReader.extractStationId("METAR KJFK 141151Z"));
+        assertEquals("KJFK", MetarCycleReader.extractStationId("KJFK 141151Z"));
+        assertEquals("KJFK", MetarCycleReader.extractStationId("KJFK"));
+    }
+    
+    static Path cycleFile() throws URISyntaxException {
+        return Paths.get(MetarCycleReaderTest.class.getResource("/cycles/12Z.TXT").toURI());
+    }
+}
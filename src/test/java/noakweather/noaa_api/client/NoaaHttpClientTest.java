@@ -0,0 +1,203 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.client;
+
+import noakweather.TestNoaaHttpServer;
+import noakweather.service.WeatherServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for NoaaHttpClient.
+ * 
+ * Exercises the client against a local TestNoaaHttpServer that serves the
+ * same path layout as the NOAA tgftp server.
+ * 
+ * @author bclasky1539
+ * 
+ */
+class NoaaHttpClientTest {
+    
+    private TestNoaaHttpServer server;
+    private NoaaHttpClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new TestNoaaHttpServer()
+            .withMetar("KJFK", "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012");
+        client = new NoaaHttpClient(Duration.ofSeconds(2), Duration.ofSeconds(2));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+    
+    @Test
+    @DisplayName("fetchConditional should reuse the client for many sequential requests")
+    void testFetchManyRequests() throws WeatherServiceException {
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(client.fetchConditional(server.getMetarBaseUrl() + "KJFK.TXT", null, null));
+        }
+        
+        assertEquals(50, server.getMetarRequestCount("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("fetchConditional should map 404 to STATION_NOT_FOUND")
+    void testFetchNotFound() {
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class,
+            () -> client.fetchConditional(server.getMetarBaseUrl() + "ZZZZ.TXT", null, null));
+        
+        assertEquals(WeatherServiceException.ErrorType.STATION_NOT_FOUND, exception.getErrorType());
+    }
+    
+    @Test
+    @DisplayName("fetchConditional should map other error statuses to SERVICE_UNAVAILABLE")
+    void testFetchServerError() {
+        server.withStatus(TestNoaaHttpServer.METAR_PATH + "KJFK.TXT", 500);
+        
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class,
+            () -> client.fetchConditional(server.getMetarBaseUrl() + "KJFK.TXT", null, null));
+        
+        assertEquals(WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE, exception.getErrorType());
+        assertTrue(exception.getMessage().contains("500"));
+    }
+    
+    @Test
+    @DisplayName("fetchConditionalAsync should complete with the station file body")
+    void testFetchConditionalAsyncReturnsBody() {
+        ConditionalResponse response =
+            client.fetchConditionalAsync(server.getMetarBaseUrl() + "KJFK.TXT", null, null).join();
+        
+        assertTrue(response.getBody().contains("KJFK 141753Z"));
+    }
+    
+    @Test
+    @DisplayName("fetchConditionalAsync should fail the future for malformed URLs")
+    void testFetchConditionalAsyncMalformedUrl() {
+        assertTrue(client.fetchConditionalAsync("not a url", null, null).isCompletedExceptionally());
+    }
+    
+    @Test
+    @DisplayName("fetchConditional should map a request timeout to NETWORK_ERROR")
+    void testFetchTimeout() {
+        server.withResponseDelay(1000);
+        NoaaHttpClient impatientClient = new NoaaHttpClient(Duration.ofSeconds(1), Duration.ofMillis(100));
+        
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class,
+            () -> impatientClient.fetchConditional(server.getMetarBaseUrl() + "KJFK.TXT", null, null));
+        
+        assertEquals(WeatherServiceException.ErrorType.NETWORK_ERROR, exception.getErrorType());
+    }
+    
+    @Test
+    @DisplayName("fetchConditional should reject malformed URLs as CONFIGURATION_ERROR")
+    void testFetchMalformedUrl() {
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class,
+            () -> client.fetchConditional("not a url", null, null));
+        
+        assertEquals(WeatherServiceException.ErrorType.CONFIGURATION_ERROR, exception.getErrorType());
+    }
+    
+    @Test
+    @DisplayName("fetchConditional should return the body and validators of a fresh file")
+    void testFetchConditionalFirstRequest() throws WeatherServiceException {
+        ConditionalResponse response = client.fetchConditional(server.getMetarBaseUrl() + "KJFK.TXT", null, null);
+        
+        assertFalse(response.isNotModified());
+        assertEquals("2025/10/14 17:53\nKJFK 141753Z 24012KT 10SM FEW250 25/18 A3012\n", response.getBody());
+        assertEquals(server.getETag(TestNoaaHttpServer.METAR_PATH + "KJFK.TXT"), response.getETag());
+        assertNotNull(response.getLastModified());
+        assertTrue(response.hasValidators());
+    }
+    
+    @Test
+    @DisplayName("fetchConditional should report an unchanged file as not modified")
+    void testFetchConditionalNotModified() throws WeatherServiceException {
+        String url = server.getMetarBaseUrl() + "KJFK.TXT";
+        ConditionalResponse first = client.fetchConditional(url, null, null);
+        
+        ConditionalResponse byETag = client.fetchConditional(url, first.getETag(), null);
+        ConditionalResponse byDate = client.fetchConditional(url, null, first.getLastModified());
+        
+        assertTrue(byETag.isNotModified());
+        assertNull(byETag.getBody());
+        assertEquals(first.getETag(), byETag.getETag());
+        assertTrue(byDate.isNotModified());
+        assertEquals(2, server.getNotModifiedCount());
+    }
+    
+    @Test
+    @DisplayName("fetchConditional should download a file that changed since the validators")
+    void testFetchConditionalModified() throws WeatherServiceException {
+        String url = server.getMetarBaseUrl() + "KJFK.TXT";
+        ConditionalResponse first = client.fetchConditional(url, null, null);
+        server.withMetar("KJFK", "KJFK 141853Z 25010KT 10SM FEW250 24/18 A3011");
+        
+        ConditionalResponse second = client.fetchConditional(url, first.getETag(), first.getLastModified());
+        
+        assertFalse(second.isNotModified());
+        assertTrue(second.getBody().contains("141853Z"));
+        assertNotEquals(first.getETag(), second.getETag());
+        assertEquals(0, server.getNotModifiedCount());
+    }
+    
+    @Test
+    @DisplayName("fetchConditionalAsync should complete with a not-modified response")
+    void testFetchConditionalAsync() throws WeatherServiceException {
+        String url = server.getMetarBaseUrl() + "KJFK.TXT";
+        ConditionalResponse first = client.fetchConditional(url, null, null);
+        
+        assertTrue(client.fetchConditionalAsync(url, first.getETag(), first.getLastModified()).join().isNotModified());
+        
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> client.fetchConditionalAsync(server.getMetarBaseUrl() + "ZZZZ.TXT", null, null).join());
+        WeatherServiceException cause = assertInstanceOf(WeatherServiceException.class, exception.getCause());
+        assertEquals(WeatherServiceException.ErrorType.STATION_NOT_FOUND, cause.getErrorType());
+    }
+    
+    @Test
+    @DisplayName("getSharedInstance should always return the same pooled client")
+    void testSharedInstance() {
+        assertSame(NoaaHttpClient.getSharedInstance(), NoaaHttpClient.getSharedInstance());
+    }
+    
+    @Test
+    @DisplayName("fetchConditional should map a rejected request to CONFIGURATION_ERROR")
+    void testConditionalClientError() {
+        server.withStatus(TestNoaaHttpServer.METAR_PATH + "KJFK.TXT", 403)
+              .withStatus(TestNoaaHttpServer.METAR_PATH + "KLAX.TXT", 429);
+        
+        WeatherServiceException rejected = assertThrows(WeatherServiceException.class,
+            () -> client.fetchConditional(server.getMetarBaseUrl() + "KJFK.TXT", null, null));
+        WeatherServiceException throttled = assertThrows(WeatherServiceException.class,
+            () -> client.fetchConditional(server.getMetarBaseUrl() + "KLAX.TXT", null, null));
+        
+        assertEquals(WeatherServiceException.ErrorType.CONFIGURATION_ERROR, rejected.getErrorType());
+        // Too Many Requests is a passing overload and may be retried
+        assertEquals(WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE, throttled.getErrorType());
+    }
+}
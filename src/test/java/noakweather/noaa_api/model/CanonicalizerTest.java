@@ -0,0 +1,51 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Canonicalizer Tests")
+class CanonicalizerTest {
+
+    @Test
+    @DisplayName("Equal values share the first instance seen")
+    void testSharesEqualValues() {
+        Canonicalizer<String> canonicalizer = new Canonicalizer<>(10);
+        String first = new String("24012KT");
+        String second = new String("24012KT");
+
+        assertSame(first, canonicalizer.canonical(first));
+        assertSame(first, canonicalizer.canonical(second));
+        assertEquals(1, canonicalizer.size());
+    }
+
+    @Test
+    @DisplayName("New values are passed through once the limit is reached")
+    void testBounded() {
+        Canonicalizer<String> canonicalizer = new Canonicalizer<>(1);
+        String known = canonicalizer.canonical("00000KT");
+        String unknown = new String("24012KT");
+
+        assertSame(unknown, canonicalizer.canonical(unknown));
+        assertNotSame(unknown, canonicalizer.canonical(new String("24012KT")));
+        assertSame(known, canonicalizer.canonical(new String("00000KT")));
+        assertEquals(1, canonicalizer.size());
+    }
+}
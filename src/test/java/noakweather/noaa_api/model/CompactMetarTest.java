@@ -0,0 +1,186 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import noakweather.noaa_api.parser.MetarParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompactMetar Tests")
+class CompactMetarTest {
+
+    private static final LocalDateTime REFERENCE = LocalDateTime.of(2025, 10, 14, 18, 0);
+
+    private final MetarParser parser = new MetarParser();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012 RMK AO2 SLP205",
+        "SPECI KJFK 141812Z 24018G28KT 3SM +TSRA BR BKN030CB OVC080 22/18 A3010",
+        "KSEG 141756Z AUTO VRB03KT 1 1/2SM OVC008 M01/M03 A2983",
+        "KBOS 141754Z 27010KT 240V300 10SM CLR 18/05 A3001",
+        "EGLL 141750Z 24006MPS 0800 FG VV002 15/14 Q1012 NOSIG=",
+        "LFPG 141800Z 05008KT CAVOK 12/04 Q1021",
+        "KCLT 141752Z 22006KT 10SM BKN240 17/13 A2989 RMK AO2 P0012 60034 T01720133",
+        "KCLT 141452Z 22006KT 10SM BKN240 17/13 A2989 RMK AO2 60005 T10171033",
+        "KORD 141751Z 00000KT 10SM CLR M00/M01 A3001 RMK AO2 T10001006",
+        "KDEN 141753Z 00000KT M1/4SM FZFG VV001 M05/M06 A3021",
+        "KXYZ 141753Z R04R/2000FT M/M"
+    })
+    @DisplayName("Parsed reports survive a round trip unchanged")
+    void testRoundTrip(String rawText) {
+        NoaaMetarData metar = parser.parse(rawText, REFERENCE);
+
+        NoaaMetarData restored = CompactMetar.from(metar).toMetarData();
+
+        assertSameReport(metar, restored);
+        assertEquals(CompactMetar.from(metar), CompactMetar.from(restored));
+    }
+
+    @Test
+    @DisplayName("Primitive accessors expose the fixed-point values")
+    void testPrimitiveAccessors() {
+        CompactMetar compact = CompactMetar.from(parser.parse(
+                "SPECI KSEG 141756Z 24018G28KT 1 3/16SM -RA OVC008 M01/M03 A2983 RMK AO2 T10111033", REFERENCE));
+
+        assertEquals("KSEG", compact.getStationId());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 17, 56), compact.getObservationTime());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 17, 56).toEpochSecond(java.time.ZoneOffset.UTC) / 60,
+                compact.getObservationEpochMinute());
+        assertEquals(-11, compact.getTemperatureTenths());
+        assertEquals(-33, compact.getDewpointTenths());
+        assertEquals(2983, compact.getAltimeterHundredths());
+        assertEquals(11875, compact.getVisibilityTenThousandths());
+        assertEquals(240, compact.getWindDirectionDegrees());
+        assertEquals(18, compact.getWindSpeedKnots());
+        assertEquals(28, compact.getWindGustKnots());
+        assertTrue(compact.isSpeci());
+        assertEquals("IFR", compact.getFlightCategory());
+        assertEquals(CompactMetar.MISSING_SHORT, compact.getPrecipitationLastHourHundredths());
+    }
+
+    @Test
+    @DisplayName("Missing values are stored as sentinels and restored as null")
+    void testMissingValues() {
+        NoaaMetarData metar = new NoaaMetarData();
+
+        CompactMetar compact = CompactMetar.from(metar);
+        NoaaMetarData restored = compact.toMetarData();
+
+        assertNull(compact.getStationId());
+        assertEquals(-1, compact.getStationPacked());
+        assertEquals(CompactMetar.MISSING, compact.getObservationEpochMinute());
+        assertEquals(CompactMetar.MISSING_SHORT, compact.getTemperatureTenths());
+        assertEquals(CompactMetar.MISSING, compact.getVisibilityTenThousandths());
+        assertEquals(CompactMetar.MISSING, compact.getWindDirectionDegrees());
+        assertEquals(CompactMetar.MISSING, compact.getWindSpeedKnots());
+        assertNull(compact.getFlightCategory());
+        assertSameReport(metar, restored);
+    }
+
+    @Test
+    @DisplayName("Text that is not part of the raw report is stored alongside it")
+    void testTextOutsideRawReport() {
+        NoaaMetarData metar = parser.parse("KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012", REFERENCE);
+        metar.setWeatherConditions(new WeatherConditions(10.0, "RA BR", "FEW250"));
+        metar.setQualityControlFlags("CORRECTED");
+
+        NoaaMetarData restored = CompactMetar.from(metar).toMetarData();
+
+        assertSameReport(metar, restored);
+    }
+
+    @Test
+    @DisplayName("Station codes are packed in the same form as StationCode")
+    void testStationPacking() {
+        for (String code : new String[] {"KJFK", "LAX", "ZZZZ", "AAA"}) {
+            NoaaMetarData metar = new NoaaMetarData();
+            metar.setStationId(code);
+            metar.setStation(new Station(code, 40.64, -73.78, 13, "US"));
+
+            CompactMetar compact = CompactMetar.from(metar);
+
+            assertEquals(StationCode.of(code).getPacked(), compact.getStationPacked());
+            assertEquals(code, compact.getStationId());
+        }
+    }
+
+    @Test
+    @DisplayName("Negative zero is stored as zero")
+    void testNegativeZero() {
+        NoaaMetarData parsed = parser.parse("KORD 141751Z 00000KT 10SM CLR M00/M01 A3001 RMK T10001006", REFERENCE);
+        NoaaMetarData metar = new NoaaMetarData();
+        metar.setTemperatureCelsius(-0.0);
+
+        assertEquals(0.0, parsed.getTemperatureCelsius());
+        assertEquals(0, CompactMetar.from(metar).getTemperatureTenths());
+        assertEquals(0.0, CompactMetar.from(metar).toMetarData().getTemperatureCelsius());
+    }
+
+    @Test
+    @DisplayName("Values that cannot be stored exactly are rejected")
+    void testRejectsInexactValues() {
+        NoaaMetarData temperature = new NoaaMetarData();
+        temperature.setTemperatureCelsius(22.25);
+        NoaaMetarData visibility = new NoaaMetarData();
+        visibility.getWeatherConditions().setVisibilityStatuteMiles(1.0 / 3);
+        NoaaMetarData station = new NoaaMetarData();
+        station.setStationId("K1V4");
+        NoaaMetarData time = new NoaaMetarData();
+        time.setObservationTime(LocalDateTime.of(2025, 10, 14, 17, 56, 30));
+        NoaaMetarData wind = new NoaaMetarData();
+        wind.getWindInformation().setWindSpeedKnots(-5);
+        NoaaMetarData category = new NoaaMetarData();
+        category.setFlightCategory("UNKNOWN");
+        NoaaMetarData location = new NoaaMetarData();
+        location.setLatitude(40.64);
+        NoaaMetarData relocated = new NoaaMetarData();
+        relocated.setStation(new Station("KJFK", 40.64, -73.78, 13, "US"));
+        relocated.setElevationFeet(20);
+
+        for (NoaaMetarData metar : new NoaaMetarData[] {
+                temperature, visibility, station, time, wind, category, location, relocated}) {
+            assertThrows(IllegalArgumentException.class, () -> CompactMetar.from(metar));
+        }
+        assertThrows(IllegalArgumentException.class, () -> CompactMetar.from(null));
+    }
+
+    private static void assertSameReport(NoaaMetarData expected, NoaaMetarData actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.getRawText(), actual.getRawText());
+        assertEquals(expected.getStationId(), actual.getStationId());
+        assertEquals(expected.getObservationTime(), actual.getObservationTime());
+        assertEquals(expected.getTemperatureCelsius(), actual.getTemperatureCelsius());
+        assertEquals(expected.getDewpointCelsius(), actual.getDewpointCelsius());
+        assertEquals(expected.getAltimeterInHg(), actual.getAltimeterInHg());
+        assertEquals(expected.getPrecipitationLastHourInches(), actual.getPrecipitationLastHourInches());
+        assertEquals(expected.getPrecipitationLast3HoursInches(), actual.getPrecipitationLast3HoursInches());
+        assertEquals(expected.getPrecipitationLast6HoursInches(), actual.getPrecipitationLast6HoursInches());
+        assertEquals(expected.getMetarType(), actual.getMetarType());
+        assertEquals(expected.getIsAutoReport(), actual.getIsAutoReport());
+        assertEquals(expected.getFlightCategory(), actual.getFlightCategory());
+        assertEquals(expected.getQualityControlFlags(), actual.getQualityControlFlags());
+        assertEquals(expected.getWindInformation(), actual.getWindInformation());
+        assertEquals(expected.getWeatherConditions(), actual.getWeatherConditions());
+    }
+}
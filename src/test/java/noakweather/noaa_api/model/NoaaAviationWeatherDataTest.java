@@ -398,6 +398,68 @@ class NoaaAviationWeatherDataTest {
         }
     }
     
+    @Nested
+    @DisplayName("Shared Station Metadata")
+    class StationTests {
+        
+        private final Station kjfk = new Station("KJFK", 40.6398, -73.7789, 13, "US");
+        
+        @Test
+        @DisplayName("Location falls back to the attached station")
+        void locationFallsBackToStation() {
+            testData.setStation(kjfk);
+            
+            assertSame(kjfk, testData.getStation());
+            assertSame(kjfk.getId(), testData.getStationId());
+            assertEquals(40.6398, testData.getLatitude());
+            assertEquals(-73.7789, testData.getLongitude());
+            assertEquals(13, testData.getElevationFeet());
+        }
+        
+        @Test
+        @DisplayName("Report location overrides the station")
+        void reportLocationOverridesStation() {
+            testData.setStation(kjfk);
+            testData.setLatitude(40.0);
+            testData.setElevationFeet(20);
+            
+            assertEquals(40.0, testData.getLatitude());
+            assertEquals(-73.7789, testData.getLongitude());
+            assertEquals(20, testData.getElevationFeet());
+        }
+        
+        @Test
+        @DisplayName("Detaching the station keeps the station id")
+        void detachStation() {
+            testData.setStation(kjfk);
+            testData.setStation(null);
+            
+            assertNull(testData.getStation());
+            assertNull(testData.getLatitude());
+            assertEquals("KJFK", testData.getStationId());
+        }
+        
+        @Test
+        @DisplayName("Station rejects out of range coordinates")
+        void stationRejectsInvalidCoordinates() {
+            assertThrows(IllegalArgumentException.class, () -> new Station("KJFK", 91.0, 0.0, 0, "US"));
+            assertThrows(IllegalArgumentException.class, () -> new Station("KJFK", 0.0, -180.5, 0, "US"));
+            assertThrows(IllegalArgumentException.class, () -> new Station("KJFK", Double.NaN, 0.0, 0, "US"));
+            assertThrows(NullPointerException.class, () -> new Station(null, 0.0, 0.0, 0, "US"));
+        }
+        
+        @Test
+        @DisplayName("Stations with the same metadata are equal")
+        void stationEquality() {
+            Station copy = new Station("KJFK", 40.6398, -73.7789, 13, "US");
+            
+            assertEquals(kjfk, copy);
+            assertEquals(kjfk.hashCode(), copy.hashCode());
+            assertNotEquals(kjfk, new Station("KJFK", 40.6398, -73.7789, 14, "US"));
+            assertTrue(kjfk.toString().contains("KJFK"));
+        }
+    }
+    
     @Nested
     @DisplayName("Edge Cases")
     class EdgeCaseTests {
@@ -394,4 +394,30 @@ class NoaaMetarDataTest {
         assertNull(metar1.getWeatherConditions().getVisibilityStatuteMiles());
         assertNull(metar1.getWeatherConditions().getWeatherString());
     }
+
+    @Test
+    @DisplayName("Reading wind and conditions does not change equality")
+    void testEqualsWithUnsetComposition() {
+        NoaaMetarData untouched = new NoaaMetarData("KJFK 141753Z", "KJFK", testTime);
+        NoaaMetarData accessed = new NoaaMetarData("KJFK 141753Z", "KJFK", testTime);
+        accessed.getWindInformation();
+        accessed.getWeatherConditions();
+        
+        assertEquals(untouched, accessed);
+        assertEquals(accessed, untouched);
+        assertEquals(untouched.hashCode(), accessed.hashCode());
+    }
+
+    @Test
+    @DisplayName("Wind and conditions of a report can be changed in place")
+    void testCompositionChangedInPlace() {
+        WindInformation wind = metarData.getWindInformation();
+        assertSame(wind, metarData.getWindInformation());
+        
+        wind.setWindSpeedKnots(15);
+        metarData.getWeatherConditions().setSkyCondition("SKC");
+        
+        assertEquals(15, metarData.getWindInformation().getWindSpeedKnots());
+        assertEquals("SKC", metarData.getWeatherConditions().getSkyCondition());
+    }
 }
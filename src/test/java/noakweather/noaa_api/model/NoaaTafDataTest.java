@@ -21,6 +21,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -609,4 +611,102 @@ class NoaaTafDataTest {
         assertNull(group1.getWeatherConditions().getVisibilityStatuteMiles());
         assertNull(group1.getWeatherConditions().getWeatherString());
     }
+
+    @Test
+    @DisplayName("getForecastAt applies FM, BECMG and TEMPO semantics")
+    void testGetForecastAt() {
+        NoaaTafData taf = forecastWithGroups();
+        
+        TafForecastPeriod base = taf.getForecastAt(LocalDateTime.of(2025, 10, 14, 13, 0));
+        assertEquals(12, base.getWindInformation().getWindSpeedKnots());
+        assertEquals("FEW250", base.getWeatherConditions().getSkyCondition());
+        assertFalse(base.hasTemporaryConditions());
+        
+        TafForecastPeriod afterFrom = taf.getForecastAt(LocalDateTime.of(2025, 10, 14, 16, 0));
+        assertEquals(15, afterFrom.getWindInformation().getWindSpeedKnots());
+        assertEquals("SCT250", afterFrom.getWeatherConditions().getSkyCondition());
+        
+        TafForecastPeriod tempo = taf.getForecastAt(LocalDateTime.of(2025, 10, 14, 19, 30));
+        assertEquals("SCT250", tempo.getWeatherConditions().getSkyCondition());
+        assertEquals(1, tempo.getTemporaryGroups().size());
+        assertEquals("TEMPO", tempo.getTemporaryGroups().get(0).getChangeType());
+        
+        TafForecastPeriod becoming = taf.getForecastAt(LocalDateTime.of(2025, 10, 15, 3, 0));
+        assertEquals(15, becoming.getWindInformation().getWindSpeedKnots());
+        assertEquals(6.0, becoming.getWeatherConditions().getVisibilityStatuteMiles());
+        assertEquals("BKN040", becoming.getWeatherConditions().getSkyCondition());
+    }
+    
+    @Test
+    @DisplayName("getForecastAt returns null outside the validity period")
+    void testGetForecastAtOutsideValidity() {
+        NoaaTafData taf = forecastWithGroups();
+        
+        assertNull(taf.getForecastAt(LocalDateTime.of(2025, 10, 14, 11, 59)));
+        assertNull(taf.getForecastAt(LocalDateTime.of(2025, 10, 15, 12, 0)));
+        assertNull(taf.getForecastAt(null));
+        assertNull(new NoaaTafData().getForecastAt(LocalDateTime.of(2025, 10, 14, 13, 0)));
+    }
+    
+    @Test
+    @DisplayName("getForecastBetween returns the periods overlapping the range in order")
+    void testGetForecastBetween() {
+        NoaaTafData taf = forecastWithGroups();
+        
+        List<TafForecastPeriod> periods = taf.getForecastBetween(
+                LocalDateTime.of(2025, 10, 14, 15, 0), LocalDateTime.of(2025, 10, 14, 20, 0));
+        
+        assertEquals(3, periods.size());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 12, 0), periods.get(0).getStartTime());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 16, 0), periods.get(1).getStartTime());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 18, 0), periods.get(2).getStartTime());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 22, 0), periods.get(2).getEndTime());
+        
+        assertTrue(taf.getForecastBetween(
+                LocalDateTime.of(2025, 10, 16, 0, 0), LocalDateTime.of(2025, 10, 16, 6, 0)).isEmpty());
+        assertTrue(taf.getForecastBetween(null, LocalDateTime.of(2025, 10, 16, 6, 0)).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("The forecast index is rebuilt when change groups are added")
+    void testForecastIndexRebuiltOnChange() {
+        NoaaTafData taf = forecastWithGroups();
+        LocalDateTime late = LocalDateTime.of(2025, 10, 15, 10, 0);
+        assertEquals("BKN040", taf.getForecastAt(late).getWeatherConditions().getSkyCondition());
+        
+        NoaaTafData.TafChangeGroup from = new NoaaTafData.TafChangeGroup("FM", "FM150900 VRB03KT P6SM SKC");
+        from.setChangeTimeFrom(LocalDateTime.of(2025, 10, 15, 9, 0));
+        from.setChangeTimeTo(taf.getValidToTime());
+        from.setWeatherConditions(new WeatherConditions(6.0, null, "SKC"));
+        taf.addChangeGroup(from);
+        
+        assertEquals("SKC", taf.getForecastAt(late).getWeatherConditions().getSkyCondition());
+    }
+    
+    private static NoaaTafData forecastWithGroups() {
+        NoaaTafData taf = new NoaaTafData("TAF KJFK 141152Z 1412/1512 24012KT P6SM FEW250", "KJFK", null);
+        taf.setValidFromTime(LocalDateTime.of(2025, 10, 14, 12, 0));
+        taf.setValidToTime(LocalDateTime.of(2025, 10, 15, 12, 0));
+        taf.setBaseWindInformation(new WindInformation(240, 12, null));
+        taf.setBaseWeatherConditions(new WeatherConditions(6.0, null, "FEW250"));
+        
+        NoaaTafData.TafChangeGroup from = new NoaaTafData.TafChangeGroup("FM", "FM141600 25015KT P6SM SCT250");
+        from.setChangeTimeFrom(LocalDateTime.of(2025, 10, 14, 16, 0));
+        from.setChangeTimeTo(taf.getValidToTime());
+        from.setWindInformation(new WindInformation(250, 15, null));
+        from.setWeatherConditions(new WeatherConditions(6.0, null, "SCT250"));
+        
+        NoaaTafData.TafChangeGroup tempo = new NoaaTafData.TafChangeGroup("TEMPO", "TEMPO 1418/1422 3SM -SHRA BKN030");
+        tempo.setChangeTimeFrom(LocalDateTime.of(2025, 10, 14, 18, 0));
+        tempo.setChangeTimeTo(LocalDateTime.of(2025, 10, 14, 22, 0));
+        tempo.setWeatherConditions(new WeatherConditions(3.0, "-SHRA", "BKN030"));
+        
+        NoaaTafData.TafChangeGroup becoming = new NoaaTafData.TafChangeGroup("BECMG", "BECMG 1500/1502 BKN040");
+        becoming.setChangeTimeFrom(LocalDateTime.of(2025, 10, 15, 0, 0));
+        becoming.setChangeTimeTo(LocalDateTime.of(2025, 10, 15, 2, 0));
+        becoming.setWeatherConditions(new WeatherConditions(null, null, "BKN040"));
+        
+        taf.setChangeGroups(new ArrayList<>(List.of(from, tempo, becoming)));
+        return taf;
+    }
 }
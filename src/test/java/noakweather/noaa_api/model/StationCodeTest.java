@@ -0,0 +1,92 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StationCode.
+ *
+ * @author bclasky1539
+ */
+class StationCodeTest {
+
+    @ParameterizedTest
+    @DisplayName("isValid should accept 3-4 letters in any case with surrounding whitespace")
+    @ValueSource(strings = {"KJFK", "LAX", "kjfk", "aBc", " KJFK ", "\tLAX\t", "egll\n"})
+    void testIsValid(String code) {
+        assertTrue(StationCode.isValid(code));
+        assertNotNull(StationCode.tryParse(code));
+    }
+
+    @ParameterizedTest
+    @DisplayName("isValid should reject anything but 3-4 ASCII letters")
+    @ValueSource(strings = {"   ", "KJ", "KJFKK", "K1FK", "KJ-K", "KJ FK", "123", "\u00C4BCD"})
+    @NullAndEmptySource
+    void testIsInvalid(String code) {
+        assertFalse(StationCode.isValid(code));
+        assertNull(StationCode.tryParse(code));
+        assertThrows(IllegalArgumentException.class, () -> StationCode.of(code));
+    }
+
+    @Test
+    @DisplayName("Parsing should normalize case and whitespace")
+    void testNormalization() {
+        assertEquals("KJFK", StationCode.of(" kjfk ").getCode());
+        assertEquals("LAX", StationCode.of(new StringBuilder("lax")).getCode());
+        assertEquals(StationCode.of("KJFK"), StationCode.of("\tkJfK"));
+        assertEquals("KJFK", StationCode.of("kjfk").toString());
+    }
+
+    @Test
+    @DisplayName("Parsing a normalized String should reuse it")
+    void testNormalizedStringIsReused() {
+        String code = new String("EGLL");
+        assertSame(code, StationCode.of(code).getCode());
+        assertNotSame(code, StationCode.of(new String(" EGLL")).getCode());
+    }
+
+    @Test
+    @DisplayName("Packed values should round-trip and sort like the codes")
+    void testPacked() {
+        for (String code : new String[] {"AAA", "LAX", "KJFK", "ZZZZ", "ZZZ"}) {
+            StationCode station = StationCode.of(code);
+            assertEquals(station, StationCode.fromPacked(station.getPacked()));
+            assertEquals(code, StationCode.fromPacked(station.getPacked()).getCode());
+        }
+        assertTrue(StationCode.of("KJF").compareTo(StationCode.of("KJFK")) < 0);
+        assertTrue(StationCode.of("KJFK").compareTo(StationCode.of("KLAX")) < 0);
+        assertTrue(StationCode.of("ZZZ").compareTo(StationCode.of("AAAA")) > 0);
+        assertEquals(StationCode.of("KJFK").hashCode(), StationCode.of("kjfk").hashCode());
+    }
+
+    @Test
+    @DisplayName("fromPacked should reject values that are not station codes")
+    void testFromPackedRejectsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> StationCode.fromPacked(-1));
+        assertThrows(IllegalArgumentException.class, () -> StationCode.fromPacked(27 * 27 * 27 * 27));
+        assertThrows(IllegalArgumentException.class, () -> StationCode.fromPacked(0));
+        // "AB" with no third letter
+        assertThrows(IllegalArgumentException.class, () -> StationCode.fromPacked(1 * 27 * 27 * 27 + 2 * 27 * 27));
+    }
+}
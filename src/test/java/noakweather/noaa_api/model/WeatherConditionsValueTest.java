@@ -0,0 +1,66 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WeatherConditionsValue Tests")
+class WeatherConditionsValueTest {
+
+    @Test
+    @DisplayName("of returns one shared instance per value")
+    void testOfSharesInstances() {
+        WeatherConditionsValue clear = WeatherConditionsValue.of(10.0, null, "SKC");
+        
+        assertSame(clear, WeatherConditionsValue.of(10.0, null, "SKC"));
+        assertTrue(clear.hasGoodVisibility());
+        assertFalse(clear.hasActiveWeather());
+        assertNotSame(clear, WeatherConditionsValue.of(10.0, "BR", "SKC"));
+    }
+
+    @Test
+    @DisplayName("from and toWeatherConditions keep the values")
+    void testConversion() {
+        WeatherConditions bean = new WeatherConditions(3.0, "-RA BR", "OVC010");
+        
+        WeatherConditionsValue conditions = WeatherConditionsValue.from(bean);
+        
+        assertSame(WeatherConditionsValue.of(3.0, "-RA BR", "OVC010"), conditions);
+        assertEquals(bean.hashCode(), conditions.hashCode());
+        assertEquals(bean, conditions.toWeatherConditions());
+        assertSame(WeatherConditionsValue.EMPTY, WeatherConditionsValue.from(null));
+        assertSame(WeatherConditionsValue.EMPTY, WeatherConditionsValue.from(new WeatherConditions()));
+    }
+
+    @Test
+    @DisplayName("Beans made from one value share its strings but not its state")
+    void testBeansAreIndependent() {
+        WeatherConditionsValue clear = WeatherConditionsValue.of(10.0, null, "SKC");
+        WeatherConditions first = clear.toWeatherConditions();
+        WeatherConditions second = clear.toWeatherConditions();
+        
+        assertNotSame(first, second);
+        assertSame(first.getSkyCondition(), second.getSkyCondition());
+        first.setWeatherString("BR");
+        
+        assertNull(second.getWeatherString());
+        assertNull(clear.getWeatherString());
+    }
+}
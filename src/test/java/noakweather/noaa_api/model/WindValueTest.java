@@ -0,0 +1,74 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WindValue Tests")
+class WindValueTest {
+
+    @Test
+    @DisplayName("of returns one shared instance per value")
+    void testOfSharesInstances() {
+        WindValue wind = WindValue.of(270, 15, 22, "240V300");
+        
+        assertSame(wind, WindValue.of(270, 15, 22, "240V300"));
+        assertSame(WindValue.CALM, WindValue.of(0, 0, null, null));
+        assertEquals("240V300", wind.getWindVariableDirection());
+        assertTrue(wind.hasGusts());
+        assertFalse(wind.isCalm());
+        assertNotSame(wind, WindValue.of(270, 15, 23, "240V300"));
+    }
+
+    @Test
+    @DisplayName("from and toWindInformation keep the values")
+    void testConversion() {
+        WindInformation bean = new WindInformation(270, 15, null);
+        bean.setWindVariableDirection("240V300");
+        
+        WindValue wind = WindValue.from(bean);
+        
+        assertSame(WindValue.of(270, 15, null, "240V300"), wind);
+        assertEquals(bean.hashCode(), wind.hashCode());
+        assertEquals(bean, wind.toWindInformation());
+        assertSame(WindValue.EMPTY, WindValue.from(null));
+        assertSame(WindValue.EMPTY, WindValue.from(new WindInformation()));
+    }
+
+    @Test
+    @DisplayName("Changing a bean does not change the value it came from or went to")
+    void testBeansAreIndependent() {
+        WindInformation bean = WindValue.CALM.toWindInformation();
+        WindValue fromBean = WindValue.from(bean);
+        
+        bean.setWindSpeedKnots(12);
+        
+        assertEquals(0, WindValue.CALM.getWindSpeedKnots());
+        assertEquals(0, fromBean.getWindSpeedKnots());
+        assertNotSame(bean, WindValue.CALM.toWindInformation());
+    }
+
+    @Test
+    @DisplayName("toString matches the bean")
+    void testToString() {
+        assertEquals("Wind: Calm", WindValue.CALM.toString());
+        assertEquals(new WindInformation(270, 15, 25).toString(), WindValue.of(270, 15, 25, null).toString());
+    }
+}
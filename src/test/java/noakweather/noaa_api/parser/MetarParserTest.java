@@ -0,0 +1,232 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.parser;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.WeatherConditions;
+import noakweather.noaa_api.model.WindInformation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MetarParser.
+ *
+ * @author bclasky1539
+ *
+ */
+@DisplayName("MetarParser Tests")
+class MetarParserTest {
+
+    private static final LocalDateTime REFERENCE = LocalDateTime.of(2025, 10, 14, 18, 0);
+
+    private MetarParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new MetarParser();
+    }
+
+    @Test
+    @DisplayName("Should decode a routine US METAR")
+    void testRoutineMetar() {
+        NoaaMetarData metar = parser.parse(
+                "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012 RMK AO2 SLP205", REFERENCE);
+
+        assertEquals("KJFK", metar.getStationId());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 17, 53), metar.getObservationTime());
+        assertEquals("METAR", metar.getMetarType());
+        assertFalse(metar.getIsAutoReport());
+        assertEquals(25.0, metar.getTemperatureCelsius());
+        assertEquals(18.0, metar.getDewpointCelsius());
+        assertEquals(30.12, metar.getAltimeterInHg());
+
+        WindInformation wind = metar.getWindInformation();
+        assertEquals(240, wind.getWindDirectionDegrees());
+        assertEquals(12, wind.getWindSpeedKnots());
+        assertNull(wind.getWindGustKnots());
+
+        WeatherConditions conditions = metar.getWeatherConditions();
+        assertEquals(10.0, conditions.getVisibilityStatuteMiles());
+        assertNull(conditions.getWeatherString());
+        assertEquals("FEW250", conditions.getSkyCondition());
+        assertEquals("VFR", metar.getFlightCategory());
+    }
+
+    @Test
+    @DisplayName("Should decode a SPECI with gusts, weather and a ceiling")
+    void testSpeciWithWeather() {
+        NoaaMetarData metar = parser.parse(
+                "SPECI KORD 141804Z 31015G25KT 3SM -TSRA BR BKN025CB OVC040 20/18 A2990 RMK AO2", REFERENCE);
+
+        assertEquals("SPECI", metar.getMetarType());
+        assertEquals("KORD", metar.getStationId());
+        assertEquals(25, metar.getWindInformation().getWindGustKnots());
+        assertEquals("-TSRA BR", metar.getWeatherConditions().getWeatherString());
+        assertEquals("BKN025CB OVC040", metar.getWeatherConditions().getSkyCondition());
+        assertEquals(3.0, metar.getWeatherConditions().getVisibilityStatuteMiles());
+        assertEquals("MVFR", metar.getFlightCategory());
+    }
+
+    @Test
+    @DisplayName("Should decode AUTO reports with variable wind and fractional visibility")
+    void testAutoReport() {
+        NoaaMetarData metar = parser.parse(
+                "KSEG 141756Z AUTO VRB03KT 1 1/2SM OVC008 M01/M03 A2983", REFERENCE);
+
+        assertTrue(metar.getIsAutoReport());
+        assertNull(metar.getWindInformation().getWindDirectionDegrees());
+        assertEquals(3, metar.getWindInformation().getWindSpeedKnots());
+        assertEquals(1.5, metar.getWeatherConditions().getVisibilityStatuteMiles());
+        assertEquals(-1.0, metar.getTemperatureCelsius());
+        assertEquals(-3.0, metar.getDewpointCelsius());
+        assertEquals("IFR", metar.getFlightCategory());
+    }
+
+    @Test
+    @DisplayName("Should decode a variable direction range")
+    void testVariableDirection() {
+        NoaaMetarData metar = parser.parse("KBOS 141754Z 27010KT 240V300 10SM CLR 18/05 A3001", REFERENCE);
+
+        assertEquals("240V300", metar.getWindInformation().getWindVariableDirection());
+        assertEquals("CLR", metar.getWeatherConditions().getSkyCondition());
+    }
+
+    @Test
+    @DisplayName("Should decode international reports in meters, m/s and hPa")
+    void testInternationalReport() {
+        NoaaMetarData metar = parser.parse("EGLL 141750Z 24006MPS 0800 FG VV002 15/14 Q1012 NOSIG=", REFERENCE);
+
+        assertEquals(12, metar.getWindInformation().getWindSpeedKnots());
+        assertEquals(0.5, metar.getWeatherConditions().getVisibilityStatuteMiles());
+        assertEquals("FG", metar.getWeatherConditions().getWeatherString());
+        assertEquals("VV002", metar.getWeatherConditions().getSkyCondition());
+        assertEquals(29.88, metar.getAltimeterInHg());
+        assertEquals("LIFR", metar.getFlightCategory());
+    }
+
+    @Test
+    @DisplayName("CAVOK and 9999 should be read as 10 km visibility")
+    void testCavok() {
+        NoaaMetarData cavok = parser.parse("LFPG 141800Z 05008KT CAVOK 12/04 Q1021", REFERENCE);
+        NoaaMetarData meters = parser.parse("EGLL 141750Z 24012KT 9999 FEW030 15/09 Q1012", REFERENCE);
+
+        assertEquals(6.21, cavok.getWeatherConditions().getVisibilityStatuteMiles());
+        assertEquals(6.21, meters.getWeatherConditions().getVisibilityStatuteMiles());
+        assertEquals("VFR", cavok.getFlightCategory());
+    }
+
+    @Test
+    @DisplayName("Remarks should supply precise temperatures and precipitation")
+    void testRemarks() {
+        NoaaMetarData metar = parser.parse(
+                "KCLT 141752Z 22006KT 10SM BKN240 17/13 A2989 RMK AO2 P0012 60034 T01720133", REFERENCE);
+
+        assertEquals(17.2, metar.getTemperatureCelsius());
+        assertEquals(13.3, metar.getDewpointCelsius());
+        assertEquals(0.12, metar.getPrecipitationLastHourInches());
+        assertEquals(0.34, metar.getPrecipitationLast6HoursInches());
+        assertNull(metar.getPrecipitationLast3HoursInches());
+    }
+
+    @Test
+    @DisplayName("The 6-group should cover three hours outside the synoptic hours")
+    void testThreeHourPrecipitation() {
+        NoaaMetarData metar = parser.parse(
+                "KCLT 141452Z 22006KT 10SM BKN240 17/13 A2989 RMK AO2 60005 T10171033", REFERENCE);
+
+        assertEquals(0.05, metar.getPrecipitationLast3HoursInches());
+        assertNull(metar.getPrecipitationLast6HoursInches());
+        assertEquals(-1.7, metar.getTemperatureCelsius());
+        assertEquals(-3.3, metar.getDewpointCelsius());
+    }
+
+    @Test
+    @DisplayName("A day later than the reference day should belong to the previous month")
+    void testPreviousMonthDay() {
+        NoaaMetarData metar = parser.parse("KJFK 302351Z 00000KT 10SM SKC 10/05 A3000",
+                LocalDateTime.of(2025, 11, 1, 0, 10));
+
+        assertEquals(LocalDateTime.of(2025, 10, 30, 23, 51), metar.getObservationTime());
+        assertTrue(metar.getWindInformation().isCalm());
+    }
+
+    @Test
+    @DisplayName("A report just past the end of the reference month should belong to the next month")
+    void testNextMonthDay() {
+        NoaaMetarData metar = parser.parse("KJFK 010003Z 00000KT 10SM SKC 10/05 A3000",
+                LocalDateTime.of(2025, 10, 31, 23, 58));
+        NoaaMetarData newYear = parser.parse("KJFK 010003Z 00000KT 10SM SKC 10/05 A3000",
+                LocalDateTime.of(2025, 12, 31, 23, 58));
+        NoaaMetarData monthEnd = parser.parse("KJFK 312351Z 00000KT 10SM SKC 10/05 A3000",
+                LocalDateTime.of(2025, 10, 31, 23, 58));
+
+        assertEquals(LocalDateTime.of(2025, 11, 1, 0, 3), metar.getObservationTime());
+        assertEquals(LocalDateTime.of(2026, 1, 1, 0, 3), newYear.getObservationTime());
+        assertEquals(LocalDateTime.of(2025, 10, 31, 23, 51), monthEnd.getObservationTime());
+    }
+
+    @Test
+    @DisplayName("decode should keep a station and time that are already set")
+    void testDecodeKeepsExistingFields() {
+        LocalDateTime time = LocalDateTime.of(2025, 10, 14, 18, 0);
+        NoaaMetarData metar = new NoaaMetarData("METAR KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012", "JFK", time);
+
+        parser.decode(metar, REFERENCE);
+
+        assertEquals("JFK", metar.getStationId());
+        assertEquals(time, metar.getObservationTime());
+        assertEquals(25.0, metar.getTemperatureCelsius());
+    }
+
+    @Test
+    @DisplayName("Unrecognized and missing groups should be skipped")
+    void testSparseReport() {
+        NoaaMetarData metar = parser.parse("KXYZ 141753Z R04R/2000FT M/M", REFERENCE);
+
+        assertEquals("KXYZ", metar.getStationId());
+        assertNull(metar.getTemperatureCelsius());
+        assertNull(metar.getAltimeterInHg());
+        assertNull(metar.getWeatherConditions().getVisibilityStatuteMiles());
+        assertNull(metar.getFlightCategory());
+    }
+
+    @Test
+    @DisplayName("Blank input should be rejected")
+    void testBlankInput() {
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("  ", REFERENCE));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(null, REFERENCE));
+    }
+
+    @Test
+    @DisplayName("Flight category should follow the ceiling and visibility limits")
+    void testFlightCategory() {
+        assertEquals("LIFR", MetarParser.flightCategory(10, 400));
+        assertEquals("LIFR", MetarParser.flightCategory(0.5, ReportGroups.NO_CEILING));
+        assertEquals("IFR", MetarParser.flightCategory(10, 900));
+        assertEquals("IFR", MetarParser.flightCategory(2, ReportGroups.NO_CEILING));
+        assertEquals("MVFR", MetarParser.flightCategory(10, 3000));
+        assertEquals("MVFR", MetarParser.flightCategory(5, ReportGroups.NO_CEILING));
+        assertEquals("VFR", MetarParser.flightCategory(6, 3100));
+        assertEquals("IFR", MetarParser.flightCategory(-1, 800));
+        assertNull(MetarParser.flightCategory(-1, ReportGroups.NO_CEILING));
+    }
+}
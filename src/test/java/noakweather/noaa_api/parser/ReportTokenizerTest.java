@@ -0,0 +1,99 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ReportTokenizer.
+ *
+ * @author bclasky1539
+ *
+ */
+@DisplayName("ReportTokenizer Tests")
+class ReportTokenizerTest {
+
+    @Test
+    @DisplayName("Should walk whitespace-separated tokens across lines")
+    void testTokens() {
+        ReportTokenizer token = new ReportTokenizer("KJFK  141753Z\n   28016KT\tFEW250=");
+
+        assertTrue(token.next());
+        assertTrue(token.is("KJFK"));
+        assertTrue(token.next());
+        assertEquals("141753Z", token.text());
+        assertTrue(token.next());
+        assertTrue(token.endsWith("KT"));
+        assertTrue(token.next());
+        assertEquals("FEW250", token.text());
+        assertFalse(token.next());
+    }
+
+    @Test
+    @DisplayName("A lone report terminator should not produce a token")
+    void testTerminatorOnly() {
+        ReportTokenizer token = new ReportTokenizer("KJFK =");
+
+        assertTrue(token.next());
+        assertFalse(token.next());
+    }
+
+    @Test
+    @DisplayName("Digit helpers should read regions of the token in place")
+    void testDigits() {
+        ReportTokenizer token = new ReportTokenizer("28016G25KT");
+        token.next();
+
+        assertEquals(280, token.digits(0, 3));
+        assertEquals(16, token.digits(3, 2));
+        assertEquals(5, token.indexOf('G', 0));
+        assertEquals(-1, token.digits(4, 3));
+        assertFalse(token.isDigits(8, 4));
+    }
+
+    @Test
+    @DisplayName("reset should undo a lookahead")
+    void testMarkAndReset() {
+        ReportTokenizer token = new ReportTokenizer("1 1/2SM BR");
+        token.next();
+        token.mark();
+        token.next();
+        token.next();
+        assertTrue(token.is("BR"));
+
+        token.reset();
+        assertTrue(token.is("1"));
+        assertTrue(token.next());
+        assertTrue(token.is("1/2SM"));
+    }
+
+    @Test
+    @DisplayName("appendTo should copy the token into a builder")
+    void testAppendTo() {
+        ReportTokenizer token = new ReportTokenizer("-TSRA BR");
+        StringBuilder builder = new StringBuilder();
+        token.next();
+        token.appendTo(builder).append(' ');
+        token.next();
+        token.appendTo(builder);
+
+        assertEquals("-TSRA BR", builder.toString());
+    }
+}
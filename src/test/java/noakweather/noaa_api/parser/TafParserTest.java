@@ -0,0 +1,211 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.noaa_api.parser;
+
+import noakweather.noaa_api.model.NoaaTafData;
+import noakweather.noaa_api.model.NoaaTafData.TafChangeGroup;
+import noakweather.noaa_api.model.WeatherConditions;
+import noakweather.noaa_api.model.WindInformation;
+import noakweather.noaa_api.model.WindValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TafParser.
+ *
+ * @author bclasky1539
+ *
+ */
+@DisplayName("TafParser Tests")
+class TafParserTest {
+
+    private static final LocalDateTime REFERENCE = LocalDateTime.of(2025, 10, 14, 12, 0);
+
+    private static final String KJFK_TAF = "TAF KJFK 141152Z 1412/1512 24012KT P6SM FEW250\n"
+            + "      FM141600 25015G25KT P6SM SCT250\n"
+            + "      TEMPO 1418/1422 3SM -SHRA BKN030\n"
+            + "      FM150200 28010KT P6SM SKC\n"
+            + "      PROB30 1506/1510 1 1/2SM BR OVC008";
+
+    private TafParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new TafParser();
+    }
+
+    @Test
+    @DisplayName("Should decode the header and base forecast")
+    void testHeaderAndBase() {
+        NoaaTafData taf = parser.parse(KJFK_TAF, REFERENCE);
+
+        assertEquals("KJFK", taf.getStationId());
+        assertEquals("TAF", taf.getTafType());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 11, 52), taf.getIssueTime());
+        assertEquals(taf.getIssueTime(), taf.getObservationTime());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 12, 0), taf.getValidFromTime());
+        assertEquals(LocalDateTime.of(2025, 10, 15, 12, 0), taf.getValidToTime());
+        assertEquals("24012KT P6SM FEW250", taf.getBaseForecastText());
+        assertEquals(240, taf.getBaseWindInformation().getWindDirectionDegrees());
+        assertEquals(6.0, taf.getBaseWeatherConditions().getVisibilityStatuteMiles());
+        assertEquals("FEW250", taf.getBaseWeatherConditions().getSkyCondition());
+    }
+
+    @Test
+    @DisplayName("Should create a change group per FM, TEMPO and PROB keyword")
+    void testChangeGroups() {
+        List<TafChangeGroup> groups = parser.parse(KJFK_TAF, REFERENCE).getChangeGroups();
+
+        assertEquals(4, groups.size());
+
+        TafChangeGroup first = groups.get(0);
+        assertEquals("FM", first.getChangeType());
+        assertEquals("FM141600 25015G25KT P6SM SCT250", first.getChangeText());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 16, 0), first.getChangeTimeFrom());
+        assertEquals(LocalDateTime.of(2025, 10, 15, 2, 0), first.getChangeTimeTo());
+        assertEquals(25, first.getWindInformation().getWindGustKnots());
+
+        TafChangeGroup tempo = groups.get(1);
+        assertEquals("TEMPO", tempo.getChangeType());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 18, 0), tempo.getChangeTimeFrom());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 22, 0), tempo.getChangeTimeTo());
+        assertEquals("-SHRA", tempo.getWeatherConditions().getWeatherString());
+        assertNull(tempo.getWindInformation().getWindSpeedKnots());
+
+        TafChangeGroup last = groups.get(2);
+        assertEquals(LocalDateTime.of(2025, 10, 15, 12, 0), last.getChangeTimeTo());
+
+        TafChangeGroup prob = groups.get(3);
+        assertEquals("PROB30", prob.getChangeType());
+        assertEquals("PROB30 1506/1510 1 1/2SM BR OVC008", prob.getChangeText());
+        assertEquals(1.5, prob.getWeatherConditions().getVisibilityStatuteMiles());
+    }
+
+    @Test
+    @DisplayName("Should roll periods over the end of the month and read hour 24 as midnight")
+    void testMonthRollover() {
+        NoaaTafData taf = parser.parse(
+                "TAF AMD KORD 312330Z 0100/0124 18010KT P6SM BKN040 BECMG 0106/0108 22015KT",
+                LocalDateTime.of(2025, 10, 31, 23, 40));
+
+        assertEquals("TAF AMD", taf.getTafType());
+        assertTrue(taf.getIsAmended());
+        assertEquals(LocalDateTime.of(2025, 11, 1, 0, 0), taf.getValidFromTime());
+        assertEquals(LocalDateTime.of(2025, 11, 2, 0, 0), taf.getValidToTime());
+
+        TafChangeGroup becoming = taf.getChangeGroups().get(0);
+        assertEquals("BECMG", becoming.getChangeType());
+        assertEquals(LocalDateTime.of(2025, 11, 1, 6, 0), becoming.getChangeTimeFrom());
+        assertEquals(LocalDateTime.of(2025, 11, 1, 8, 0), becoming.getChangeTimeTo());
+    }
+
+    @Test
+    @DisplayName("Should roll periods over the end of the year")
+    void testYearRollover() {
+        NoaaTafData taf = parser.parse("TAF KBOS 311740Z 3118/0124 27010KT P6SM SKC FM010300 30008KT P6SM SKC",
+                LocalDateTime.of(2025, 12, 31, 18, 0));
+
+        assertEquals(LocalDateTime.of(2025, 12, 31, 18, 0), taf.getValidFromTime());
+        assertEquals(LocalDateTime.of(2026, 1, 2, 0, 0), taf.getValidToTime());
+        assertEquals(LocalDateTime.of(2026, 1, 1, 3, 0), taf.getChangeGroups().get(0).getChangeTimeFrom());
+    }
+
+    @Test
+    @DisplayName("Identical conditions should share their text but not their beans")
+    void testSharedConditions() {
+        NoaaTafData taf = parser.parse("TAF KBOS 141130Z 1412/1512 00000KT P6SM SKC FM141800 27010KT P6SM SKC "
+                + "FM150000 00000KT P6SM SKC", REFERENCE);
+
+        List<TafChangeGroup> groups = taf.getChangeGroups();
+        WeatherConditions base = taf.getBaseWeatherConditions();
+        assertEquals(base, groups.get(0).getWeatherConditions());
+        assertNotSame(base, groups.get(0).getWeatherConditions());
+        assertSame(base.getSkyCondition(), groups.get(1).getWeatherConditions().getSkyCondition());
+        assertEquals(WindValue.CALM, WindValue.from(taf.getBaseWindInformation()));
+        assertEquals(270, groups.get(0).getWindInformation().getWindDirectionDegrees());
+
+        // Each group owns its beans, so changing one leaves the others alone
+        groups.get(1).getWindInformation().setWindSpeedKnots(5);
+        base.setWeatherString("BR");
+        assertEquals(0, taf.getBaseWindInformation().getWindSpeedKnots());
+        assertNull(groups.get(0).getWeatherConditions().getWeatherString());
+    }
+
+    @Test
+    @DisplayName("PROB followed by TEMPO should form one change group")
+    void testProbTempo() {
+        NoaaTafData taf = parser.parse("TAF EGLL 141100Z 1412/1518 24010KT 9999 FEW030 "
+                + "PROB40 TEMPO 1414/1418 4000 +TSRA BKN012CB", REFERENCE);
+
+        List<TafChangeGroup> groups = taf.getChangeGroups();
+        assertEquals(1, groups.size());
+        assertEquals("PROB40 TEMPO", groups.get(0).getChangeType());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 14, 0), groups.get(0).getChangeTimeFrom());
+        assertEquals("+TSRA", groups.get(0).getWeatherConditions().getWeatherString());
+        assertEquals("BKN012CB", groups.get(0).getWeatherConditions().getSkyCondition());
+    }
+
+    @Test
+    @DisplayName("Parsed forecasts should answer point-in-time lookups")
+    void testForecastLookup() {
+        NoaaTafData taf = parser.parse(KJFK_TAF, REFERENCE);
+
+        assertEquals(12, taf.getForecastAt(LocalDateTime.of(2025, 10, 14, 15, 0))
+                .getWindInformation().getWindSpeedKnots());
+        assertEquals("TEMPO", taf.getForecastAt(LocalDateTime.of(2025, 10, 14, 20, 0))
+                .getTemporaryGroups().get(0).getChangeType());
+        assertEquals("SKC", taf.getForecastAt(LocalDateTime.of(2025, 10, 15, 7, 0))
+                .getWeatherConditions().getSkyCondition());
+        assertEquals("PROB30", taf.getForecastAt(LocalDateTime.of(2025, 10, 15, 7, 0))
+                .getTemporaryGroups().get(0).getChangeType());
+    }
+
+    @Test
+    @DisplayName("Should accept a TAF without the TAF keyword or issue time")
+    void testMinimalHeader() {
+        NoaaTafData taf = parser.parse("KJFK 1412/1512 24012KT P6SM FEW250", REFERENCE);
+
+        assertEquals("KJFK", taf.getStationId());
+        assertNull(taf.getIssueTime());
+        assertEquals(24, taf.getValidityPeriodHours());
+        assertTrue(taf.getChangeGroups().isEmpty());
+    }
+
+    @Test
+    @DisplayName("decode should keep a station that is already set")
+    void testDecodeKeepsStation() {
+        NoaaTafData taf = new NoaaTafData(KJFK_TAF, "JFK", null);
+
+        parser.decode(taf, REFERENCE);
+
+        assertEquals("JFK", taf.getStationId());
+        assertEquals(4, taf.getChangeGroups().size());
+    }
+
+    @Test
+    @DisplayName("Blank input should be rejected")
+    void testBlankInput() {
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("", REFERENCE));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(null, REFERENCE));
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.TestNoaaHttpServer;
+import noakweather.TestWeatherConfigurationService;
+import noakweather.noaa_api.client.ConditionalResponse;
+import noakweather.noaa_api.client.NoaaHttpClient;
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.NoaaTafData;
+import noakweather.noaa_api.model.StationCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AsyncWeatherServiceImpl.
+ * 
+ * Validates asynchronous retrieval, failure reporting through the returned
+ * futures, and per-call timeouts against a local TestNoaaHttpServer.
+ * 
+ * @author bclasky1539
+ * 
+ */
+class AsyncWeatherServiceImplTest {
+    
+    private static final String KJFK_METAR = "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012";
+    private static final String KJFK_TAF = "TAF KJFK 141152Z 1412/1512 24012KT P6SM FEW250";
+    
+    private TestNoaaHttpServer server;
+    private TestWeatherConfigurationService testConfig;
+    private AsyncWeatherServiceImpl asyncService;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new TestNoaaHttpServer()
+            .withMetar("KJFK", KJFK_METAR)
+            .withTaf("KJFK", KJFK_TAF);
+        testConfig = new TestWeatherConfigurationService()
+            .withRawConfig("MISC_METAR_URL", server.getMetarBaseUrl())
+            .withRawConfig("MISC_METAR_EXT", ".TXT")
+            .withRawConfig("MISC_TAF_URL", server.getTafBaseUrl())
+            .withRawConfig("MISC_TAF_EXT", ".TXT");
+        asyncService = new AsyncWeatherServiceImpl(testConfig, new NoaaHttpClient(), 2, Duration.ofSeconds(5));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        asyncService.close();
+        server.close();
+    }
+    
+    @Test
+    @DisplayName("getMetarDataAsync should complete with the published METAR")
+    void testGetMetarDataAsync() {
+        assertEquals(KJFK_METAR, asyncService.getMetarDataAsync(" kjfk ").join());
+    }
+    
+    @Test
+    @DisplayName("getTafDataAsync should complete with the published TAF")
+    void testGetTafDataAsync() {
+        assertEquals(KJFK_TAF, asyncService.getTafDataAsync("KJFK").join());
+    }
+    
+    @Test
+    @DisplayName("getMetarReportAsync should decode the report into NoaaMetarData")
+    void testGetMetarReportAsync() {
+        NoaaMetarData metar = asyncService.getMetarReportAsync("kjfk").join();
+        
+        assertEquals("KJFK", metar.getStationId());
+        assertEquals(KJFK_METAR, metar.getRawText());
+        assertEquals("METAR", metar.getReportType());
+        assertEquals(25.0, metar.getTemperatureCelsius());
+        assertEquals(30.12, metar.getAltimeterInHg());
+        assertEquals(12, metar.getWindInformation().getWindSpeedKnots());
+    }
+    
+    @Test
+    @DisplayName("getTafReportAsync should decode the report into NoaaTafData")
+    void testGetTafReportAsync() {
+        NoaaTafData taf = asyncService.getTafReportAsync("KJFK").join();
+        
+        assertEquals("KJFK", taf.getStationId());
+        assertEquals(KJFK_TAF, taf.getRawText());
+        assertEquals(24, taf.getValidityPeriodHours());
+        assertEquals(12, taf.getBaseWindInformation().getWindSpeedKnots());
+    }
+    
+    @Test
+    @DisplayName("An unchanged station file should return the already decoded report")
+    void testNotModifiedReusesDecodedReport() {
+        NoaaMetarData first = asyncService.getMetarReportAsync("KJFK").join();
+        NoaaMetarData second = asyncService.getMetarReportAsync("KJFK").join();
+        NoaaTafData taf = asyncService.getTafReportAsync("KJFK").join();
+        
+        assertSame(first, second);
+        assertSame(taf, asyncService.getTafReportAsync("KJFK").join());
+        assertEquals(2, server.getMetarRequestCount("KJFK"));
+        assertEquals(2, server.getNotModifiedCount());
+        
+        server.withMetar("KJFK", "KJFK 141853Z 25010KT 10SM FEW250 24/18 A3011");
+        NoaaMetarData updated = asyncService.getMetarReportAsync("KJFK").join();
+        
+        assertNotSame(first, updated);
+        assertEquals(24.0, updated.getTemperatureCelsius());
+    }
+    
+    @Test
+    @DisplayName("Concurrent calls for the same station should share one fetch and parse")
+    void testConcurrentCallsCollapsed() {
+        server.withResponseDelay(300);
+        List<CompletableFuture<NoaaMetarData>> metars = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            metars.add(asyncService.getMetarReportAsync("KJFK"));
+        }
+        CompletableFuture<String> taf = asyncService.getTafDataAsync("KJFK");
+        
+        NoaaMetarData first = metars.get(0).join();
+        for (CompletableFuture<NoaaMetarData> metar : metars) {
+            assertSame(first, metar.join());
+        }
+        assertEquals(KJFK_TAF, taf.join());
+        assertEquals(1, server.getMetarRequestCount("KJFK"));
+        assertEquals(1, server.getTafRequestCount("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("Upstream failures should be recorded by the circuit breaker")
+    void testCircuitBreakerRecordsFailures() {
+        server.withStatus(TestNoaaHttpServer.TAF_PATH + "KJFK.TXT", 503);
+        long start = System.nanoTime();
+        
+        assertEquals(WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE,
+            failureOf(asyncService.getTafDataAsync("KJFK")).getErrorType());
+        
+        // The retries wait out a backoff instead of firing back-to-back
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long retryDelay = WeatherServiceImpl.RETRY_DELAY.toMillis();
+        assertTrue(elapsedMillis >= retryDelay / 2 + retryDelay, "elapsed " + elapsedMillis);
+        
+        CircuitBreaker.Stats stats = asyncService.getCircuitBreaker().getStats();
+        assertEquals(1 + WeatherServiceImpl.MAX_RETRIES, stats.getFailureCount());
+        assertEquals(1 + WeatherServiceImpl.MAX_RETRIES, server.getTafRequestCount("KJFK"));
+        assertEquals(CircuitBreaker.State.CLOSED, stats.getState());
+    }
+    
+    @Test
+    @DisplayName("Async calls should accept a parsed StationCode")
+    void testReportAsyncWithStationCode() {
+        StationCode station = StationCode.of("KJFK");
+        
+        assertEquals(KJFK_METAR, asyncService.getMetarDataAsync(station).join());
+        assertEquals("KJFK", asyncService.getMetarReportAsync(station).join().getStationId());
+        assertEquals(KJFK_TAF, asyncService.getTafReportAsync(station).join().getRawText());
+        assertEquals(WeatherServiceException.ErrorType.INVALID_STATION_CODE,
+            failureOf(asyncService.getTafDataAsync((StationCode) null)).getErrorType());
+    }
+    
+    @Test
+    @DisplayName("Invalid station codes should fail the future without a request")
+    void testInvalidStationCode() {
+        CompletableFuture<String> future = asyncService.getMetarDataAsync("K1FK");
+        
+        assertEquals(WeatherServiceException.ErrorType.INVALID_STATION_CODE, failureOf(future).getErrorType());
+        assertEquals(0, server.getTotalRequestCount());
+    }
+    
+    @Test
+    @DisplayName("Unknown stations should fail the future with STATION_NOT_FOUND")
+    void testStationNotFound() {
+        WeatherServiceException exception = failureOf(asyncService.getMetarDataAsync("ZZZZ"));
+        
+        assertEquals(WeatherServiceException.ErrorType.STATION_NOT_FOUND, exception.getErrorType());
+        assertEquals("ZZZZ", exception.getStationCode());
+    }
+    
+    @Test
+    @DisplayName("Calls exceeding the per-call timeout should fail with NETWORK_ERROR")
+    void testCallTimeout() {
+        server.withResponseDelay(1000);
+        try (AsyncWeatherServiceImpl impatient = new AsyncWeatherServiceImpl(
+                testConfig, new NoaaHttpClient(), 1, Duration.ofMillis(100))) {
+            WeatherServiceException exception = failureOf(impatient.getMetarDataAsync("KJFK"));
+            
+            assertEquals(WeatherServiceException.ErrorType.NETWORK_ERROR, exception.getErrorType());
+            assertTrue(exception.getMessage().contains("timed out"));
+        }
+    }
+    
+    @Test
+    @DisplayName("The per-call timeout should cover waiting for a busy worker")
+    void testCallTimeoutCoversWorkerWait() throws InterruptedException {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        try (AsyncWeatherServiceImpl single = new AsyncWeatherServiceImpl(
+                testConfig, new NoaaHttpClient(), 1, Duration.ofMillis(200))) {
+            // The continuation runs on the only worker thread and holds it
+            CompletableFuture<String> slow = single.getMetarDataAsync("KJFK").thenApply(report -> {
+                workerBusy.countDown();
+                sleep(600);
+                return report;
+            });
+            assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+            
+            WeatherServiceException exception = failureOf(single.getTafDataAsync("KJFK"));
+            
+            assertEquals(WeatherServiceException.ErrorType.NETWORK_ERROR, exception.getErrorType());
+            assertEquals(KJFK_METAR, slow.join());
+        }
+    }
+    
+    @Test
+    @DisplayName("An unexpected failure while resolving should still complete the call")
+    void testUnexpectedResolveFailure() {
+        NoaaHttpClient broken = new NoaaHttpClient() {
+            @Override
+            public CompletableFuture<ConditionalResponse> fetchConditionalAsync(String url, String eTag,
+                                                                                String lastModified) {
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        try (AsyncWeatherServiceImpl failing = new AsyncWeatherServiceImpl(
+                testConfig, broken, 1, Duration.ofSeconds(5))) {
+            WeatherServiceException first = failureOf(failing.getMetarDataAsync("KJFK"));
+            
+            assertEquals(WeatherServiceException.ErrorType.UNKNOWN_ERROR, first.getErrorType());
+            assertInstanceOf(NullPointerException.class, first.getCause());
+            // The failed fetch is no longer shared, so the next call starts its own
+            assertEquals(WeatherServiceException.ErrorType.UNKNOWN_ERROR,
+                failureOf(failing.getMetarDataAsync("KJFK")).getErrorType());
+        }
+    }
+    
+    @Test
+    @DisplayName("Calls in flight when the service is closed should still complete")
+    void testCloseCompletesCallsInFlight() {
+        server.withResponseDelay(300);
+        AsyncWeatherServiceImpl closing = new AsyncWeatherServiceImpl(
+                testConfig, new NoaaHttpClient(), 1, Duration.ofSeconds(5));
+        CompletableFuture<String> inFlight = closing.getMetarDataAsync("KJFK");
+        
+        closing.close();
+        
+        assertEquals(KJFK_METAR, inFlight.join());
+    }
+    
+    @Test
+    @DisplayName("Many stations should be fetched concurrently with a small pool")
+    void testFanOut() {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 26; i++) {
+            String station = "KA" + (char) ('A' + i) + "A";
+            server.withMetar(station, station + " 141753Z 24012KT 10SM CLR 25/18 A3012");
+            futures.add(asyncService.getMetarDataAsync(station));
+        }
+        
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        
+        for (int i = 0; i < 26; i++) {
+            assertTrue(futures.get(i).join().startsWith("KA" + (char) ('A' + i) + "A"));
+        }
+    }
+    
+    @Test
+    @DisplayName("Constructor should reject an empty worker pool")
+    void testConstructorRejectsZeroThreads() {
+        NoaaHttpClient client = new NoaaHttpClient();
+        Duration timeout = Duration.ofSeconds(1);
+        assertThrows(IllegalArgumentException.class,
+            () -> new AsyncWeatherServiceImpl(testConfig, client, 0, timeout));
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static WeatherServiceException failureOf(CompletableFuture<?> future) {
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(WeatherServiceException.class, exception.getCause());
+        return (WeatherServiceException) exception.getCause();
+    }
+}
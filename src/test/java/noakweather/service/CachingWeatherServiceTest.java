@@ -0,0 +1,357 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.StationCode;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CachingWeatherService.
+ *
+ * Reports come from a hand-written upstream service and time from a clock
+ * the tests move forward, so expiry can be checked to the minute.
+ *
+ * @author bclasky1539
+ */
+class CachingWeatherServiceTest {
+
+    private static final String KJFK_METAR = "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012";
+    private static final String KJFK_SPECI = "SPECI KJFK 141820Z 24015G25KT 3SM TSRA BKN020CB 22/19 A3010";
+    private static final String KJFK_TAF = "TAF KJFK 141120Z 1412/1518 24012KT P6SM FEW250";
+
+    private MovableClock clock;
+    private RecordingWeatherService upstream;
+    private CachingWeatherService cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MovableClock(LocalDateTime.of(2025, 6, 14, 17, 55));
+        upstream = new RecordingWeatherService();
+        upstream.metars.put("KJFK", KJFK_METAR);
+        upstream.tafs.put("KJFK", KJFK_TAF);
+        cache = new CachingWeatherService(upstream, 3, Duration.ofMinutes(30), clock);
+    }
+
+    @Test
+    @DisplayName("A METAR should be served from cache until the next routine observation")
+    void testMetarExpiresAtNextRoutineObservation() throws WeatherServiceException {
+        assertEquals(KJFK_METAR, cache.getMetarData("KJFK"));
+        clock.set(LocalDateTime.of(2025, 6, 14, 18, 52));
+        assertEquals(KJFK_METAR, cache.getMetarData(" kjfk "));
+        assertEquals(1, upstream.metarCalls);
+
+        clock.set(LocalDateTime.of(2025, 6, 14, 18, 53));
+        cache.getMetarData("KJFK");
+        assertEquals(2, upstream.metarCalls);
+
+        CachingWeatherService.Stats stats = cache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getExpirationCount());
+        assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("A SPECI should expire on the station's routine schedule")
+    void testSpeciExpiresOnRoutineSchedule() throws WeatherServiceException {
+        cache.getMetarData("KJFK");
+        upstream.metars.put("KJFK", KJFK_SPECI);
+        clock.set(LocalDateTime.of(2025, 6, 14, 18, 30));
+        cache.invalidate(StationCode.of("KJFK"));
+        assertEquals(KJFK_SPECI, cache.getMetarData("KJFK"));
+        
+        // The 1820Z SPECI is stale at 1853Z, one hour after the 1753Z routine report
+        clock.set(LocalDateTime.of(2025, 6, 14, 18, 52));
+        assertEquals(KJFK_SPECI, cache.getMetarData("KJFK"));
+        assertEquals(2, upstream.metarCalls);
+        clock.set(LocalDateTime.of(2025, 6, 14, 18, 53));
+        cache.getMetarData("KJFK");
+        assertEquals(3, upstream.metarCalls);
+
+        assertEquals(LocalDateTime.of(2025, 6, 14, 18, 53),
+            CachingWeatherService.nextRoutineObservation(
+                LocalDateTime.of(2025, 6, 14, 18, 20), LocalDateTime.of(2025, 6, 14, 17, 53)));
+        assertEquals(LocalDateTime.of(2025, 6, 14, 19, 20),
+            CachingWeatherService.nextRoutineObservation(LocalDateTime.of(2025, 6, 14, 18, 20), null));
+    }
+
+    @Test
+    @DisplayName("A special from a station file should be told apart by its minute")
+    void testUnmarkedSpecialBetweenRoutineReports() throws WeatherServiceException {
+        // Station files carry no SPECI keyword, only the report as observed
+        clock.set(LocalDateTime.of(2025, 6, 14, 16, 55));
+        upstream.metars.put("KJFK", "KJFK 141653Z 24010KT 10SM FEW250 26/18 A3013");
+        cache.getMetarData("KJFK");
+        clock.set(LocalDateTime.of(2025, 6, 14, 17, 55));
+        upstream.metars.put("KJFK", KJFK_METAR);
+        assertEquals(KJFK_METAR, cache.getMetarData("KJFK"));
+
+        String special = "KJFK 141820Z 24015G25KT 3SM TSRA BKN020CB 22/19 A3010";
+        upstream.metars.put("KJFK", special);
+        clock.set(LocalDateTime.of(2025, 6, 14, 18, 25));
+        cache.invalidate(StationCode.of("KJFK"));
+        assertEquals(special, cache.getMetarData("KJFK"));
+        assertEquals(3, upstream.metarCalls);
+
+        // The special is stale at the 1853Z routine report, not an hour after itself
+        String routine = "KJFK 141853Z 25012KT 10SM FEW250 23/18 A3011";
+        upstream.metars.put("KJFK", routine);
+        clock.set(LocalDateTime.of(2025, 6, 14, 18, 52));
+        assertEquals(special, cache.getMetarData("KJFK"));
+        clock.set(LocalDateTime.of(2025, 6, 14, 18, 55));
+        assertEquals(routine, cache.getMetarData("KJFK"));
+        assertEquals(4, upstream.metarCalls);
+
+        clock.set(LocalDateTime.of(2025, 6, 14, 19, 52));
+        assertEquals(routine, cache.getMetarData("KJFK"));
+        assertEquals(4, upstream.metarCalls);
+    }
+
+    @Test
+    @DisplayName("A report that is already stale should be kept for the minimum TTL")
+    void testStaleReportKeptForMinimumTtl() throws WeatherServiceException {
+        clock.set(LocalDateTime.of(2025, 6, 14, 19, 10));
+        cache.getMetarData("KJFK");
+        clock.set(LocalDateTime.of(2025, 6, 14, 19, 10, 59));
+        cache.getMetarData("KJFK");
+        assertEquals(1, upstream.metarCalls);
+
+        clock.set(LocalDateTime.of(2025, 6, 14, 19, 11));
+        cache.getMetarData("KJFK");
+        assertEquals(2, upstream.metarCalls);
+    }
+
+    @Test
+    @DisplayName("A TAF should be re-checked for amendments and expire by its validity")
+    void testTafExpiry() throws WeatherServiceException {
+        clock.set(LocalDateTime.of(2025, 6, 14, 11, 30));
+        cache.getTafData("KJFK");
+        clock.set(LocalDateTime.of(2025, 6, 14, 11, 59));
+        cache.getTafData("KJFK");
+        assertEquals(1, upstream.tafCalls);
+
+        // Amendment re-check interval
+        clock.set(LocalDateTime.of(2025, 6, 14, 12, 0));
+        cache.getTafData("KJFK");
+        assertEquals(2, upstream.tafCalls);
+
+        // Next routine issuance (issued 1120Z) comes before the recheck
+        cache = new CachingWeatherService(upstream, 3, Duration.ofHours(12), clock);
+        clock.set(LocalDateTime.of(2025, 6, 14, 17, 0));
+        cache.getTafData("KJFK");
+        clock.set(LocalDateTime.of(2025, 6, 14, 17, 19));
+        cache.getTafData("KJFK");
+        assertEquals(3, upstream.tafCalls);
+        clock.set(LocalDateTime.of(2025, 6, 14, 17, 20));
+        cache.getTafData("KJFK");
+        assertEquals(4, upstream.tafCalls);
+    }
+
+    @Test
+    @DisplayName("METAR and TAF of one station should be cached independently")
+    void testMetarAndTafIndependent() throws WeatherServiceException {
+        cache.getMetarData("KJFK");
+        cache.getTafData("KJFK");
+        cache.getTafData("KJFK");
+
+        assertEquals(1, upstream.metarCalls);
+        assertEquals(1, upstream.tafCalls);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("The least recently used station should be evicted when full")
+    void testEviction() throws WeatherServiceException {
+        for (String station : new String[] {"KLGA", "KEWR", "KBOS"}) {
+            upstream.metars.put(station, station + " 141753Z 24012KT 10SM CLR 25/18 A3012");
+        }
+        cache.getMetarData("KJFK");
+        cache.getMetarData("KLGA");
+        cache.getMetarData("KEWR");
+        cache.getMetarData("KJFK");
+        cache.getMetarData("KBOS");
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getStats().getEvictionCount());
+        cache.getMetarData("KJFK");
+        assertEquals(4, upstream.metarCalls);
+        cache.getMetarData("KLGA");
+        assertEquals(5, upstream.metarCalls);
+    }
+
+    @Test
+    @DisplayName("Batch requests should fetch only the stations not cached")
+    void testBatch() throws WeatherServiceException {
+        upstream.metars.put("KLGA", "KLGA 141753Z 24012KT 10SM CLR 25/18 A3012");
+        cache.getMetarData("KJFK");
+
+        Map<String, String> reports = cache.getMetarData(Arrays.asList("klga", "KJFK", "K1FK", "KLGA", "ZZZZ"));
+
+        assertEquals(Arrays.asList("KLGA", "KJFK"), new ArrayList<>(reports.keySet()));
+        assertEquals(Arrays.asList("KLGA", "ZZZZ"), upstream.lastBatch);
+        assertSame(KJFK_METAR, reports.get("KJFK"));
+        assertThrows(WeatherServiceException.class, () -> cache.getMetarData((Collection<String>) null));
+    }
+
+    @Test
+    @DisplayName("Failures and invalid codes should not be cached")
+    void testFailuresNotCached() {
+        assertThrows(WeatherServiceException.class, () -> cache.getMetarData("ZZZZ"));
+        assertThrows(WeatherServiceException.class, () -> cache.getMetarData("ZZZZ"));
+        assertEquals(2, upstream.metarCalls);
+
+        WeatherServiceException invalid = assertThrows(WeatherServiceException.class,
+            () -> cache.getMetarData("K1FK"));
+        assertEquals(WeatherServiceException.ErrorType.INVALID_STATION_CODE, invalid.getErrorType());
+        assertEquals(2, upstream.metarCalls);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("clear should drop reports but keep statistics")
+    void testClear() throws WeatherServiceException {
+        cache.getMetarData("KJFK");
+        cache.clear();
+        cache.getMetarData("KJFK");
+
+        assertEquals(2, upstream.metarCalls);
+        assertEquals(2, cache.getStats().getMissCount());
+        assertTrue(cache.getStats().toString().contains("misses=2"));
+    }
+
+    @Test
+    @DisplayName("Constructor should validate its arguments")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingWeatherService(null));
+        assertThrows(IllegalArgumentException.class, () -> new CachingWeatherService(upstream, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new CachingWeatherService(upstream, 1, Duration.ZERO, clock));
+        assertEquals("Recording", cache.getServiceProviderName());
+        assertTrue(cache.isValidStationCode("KJFK"));
+    }
+
+    /**
+     * A clock the test moves by hand.
+     */
+    private static final class MovableClock extends Clock {
+        private Instant instant;
+
+        MovableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    /**
+     * Upstream service serving reports from maps and counting calls.
+     */
+    private static final class RecordingWeatherService implements WeatherService {
+        private final Map<String, String> metars = new HashMap<>();
+        private final Map<String, String> tafs = new HashMap<>();
+        private int metarCalls;
+        private int tafCalls;
+        private List<String> lastBatch;
+
+        @Override
+        public String getMetarData(String stationCode) throws WeatherServiceException {
+            metarCalls++;
+            return report(metars, stationCode);
+        }
+
+        @Override
+        public String getTafData(String stationCode) throws WeatherServiceException {
+            tafCalls++;
+            return report(tafs, stationCode);
+        }
+
+        @Override
+        public Map<String, String> getMetarData(Collection<String> stationCodes) {
+            lastBatch = new ArrayList<>(stationCodes);
+            Map<String, String> result = new LinkedHashMap<>();
+            for (String station : stationCodes) {
+                if (metars.containsKey(station)) {
+                    metarCalls++;
+                    result.put(station, metars.get(station));
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, String> getTafData(Collection<String> stationCodes) {
+            lastBatch = new ArrayList<>(stationCodes);
+            return new LinkedHashMap<>();
+        }
+
+        @Override
+        public boolean isValidStationCode(String stationCode) {
+            return StationCode.isValid(stationCode);
+        }
+
+        @Override
+        public String getServiceProviderName() {
+            return "Recording";
+        }
+
+        private static String report(Map<String, String> reports, String stationCode)
+                throws WeatherServiceException {
+            String report = reports.get(stationCode);
+            if (report == null) {
+                throw new WeatherServiceException(
+                    WeatherServiceException.ErrorType.STATION_NOT_FOUND, "Not found", stationCode);
+            }
+            return report;
+        }
+    }
+}
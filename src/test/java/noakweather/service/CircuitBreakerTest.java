@@ -0,0 +1,160 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CircuitBreaker and RetryBudget.
+ *
+ * @author bclasky1539
+ */
+class CircuitBreakerTest {
+
+    private MovableClock clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MovableClock();
+        breaker = new CircuitBreaker(3, Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    @DisplayName("The breaker should open after consecutive failures and reject calls")
+    void testOpensAfterThreshold() {
+        fail(2);
+        breaker.onSuccess();
+        fail(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        CircuitBreaker.Stats stats = breaker.getStats();
+        assertEquals(1, stats.getSuccessCount());
+        assertEquals(5, stats.getFailureCount());
+        assertEquals(2, stats.getRejectedCount());
+        assertEquals(1, stats.getOpenCount());
+    }
+
+    @Test
+    @DisplayName("After the open duration a single probe should decide the state")
+    void testHalfOpenProbe() {
+        fail(3);
+        clock.advance(Duration.ofSeconds(30));
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertEquals(2, breaker.getStats().getOpenCount());
+    }
+
+    @Test
+    @DisplayName("Time spent open should be accumulated across open periods")
+    void testTimeOpen() {
+        fail(3);
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(Duration.ofSeconds(10), breaker.getStats().getTimeOpen());
+
+        clock.advance(Duration.ofSeconds(35));
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        clock.advance(Duration.ofMinutes(5));
+        assertEquals(Duration.ofSeconds(45), breaker.getStats().getTimeOpen());
+        assertTrue(breaker.getStats().toString().contains("CLOSED"));
+    }
+
+    @Test
+    @DisplayName("The breaker should reject invalid settings")
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, Duration.ofSeconds(1), clock));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(1, Duration.ofSeconds(-1), clock));
+    }
+
+    @Test
+    @DisplayName("The retry budget should spend tokens and refill them over time")
+    void testRetryBudget() {
+        RetryBudget budget = new RetryBudget(2, 0.5, clock);
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertFalse(budget.tryAcquire());
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(budget.tryAcquire());
+
+        clock.advance(Duration.ofHours(1));
+        assertEquals(2, budget.getAvailableTokens());
+        assertEquals(3, budget.getGrantedCount());
+        assertEquals(2, budget.getDeniedCount());
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(-1, 1.0, clock));
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    private static final class MovableClock extends Clock {
+        private Instant instant = Instant.parse("2025-10-14T17:53:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
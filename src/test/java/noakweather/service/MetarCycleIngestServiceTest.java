@@ -0,0 +1,151 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.TestNoaaHttpServer;
+import noakweather.TestWeatherConfigurationService;
+import noakweather.config.WeatherConfigurationService;
+import noakweather.noaa_api.client.NoaaHttpClient;
+import noakweather.noaa_api.model.NoaaMetarData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MetarCycleIngestService.
+ * 
+ * Ingests the sample cycle file from test resources both from disk and
+ * through a local TestNoaaHttpServer.
+ * 
+ * @author bclasky1539
+ * 
+ */
+class MetarCycleIngestServiceTest {
+    
+    private static final String CYCLE_PATH = "/data/observations/metar/cycles/";
+    
+    private TestNoaaHttpServer server;
+    private MetarCycleIngestService ingestService;
+    
+    @BeforeEach
+    void setUp() throws IOException, URISyntaxException {
+        server = new TestNoaaHttpServer()
+            .withFile(CYCLE_PATH + "12Z.TXT", new String(Files.readAllBytes(cycleFile()), StandardCharsets.UTF_8));
+        TestWeatherConfigurationService testConfig = new TestWeatherConfigurationService()
+            .withRawConfig("MISC_METAR_CYCLE_URL", server.getBaseUrl() + CYCLE_PATH)
+            .withRawConfig("MISC_METAR_CYCLE_EXT", "Z.TXT");
+        ingestService = new MetarCycleIngestService(testConfig, new NoaaHttpClient());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+    
+    @Test
+    @DisplayName("ingestFile should stream every report of a local cycle file")
+    void testIngestFile() throws WeatherServiceException, URISyntaxException {
+        List<NoaaMetarData> reports = new ArrayList<>();
+        
+        int count = ingestService.ingestFile(cycleFile(), reports::add);
+        
+        assertEquals(5, count);
+        assertEquals("KJFK", reports.get(0).getStationId());
+        assertEquals("KORD", reports.get(4).getStationId());
+    }
+    
+    @Test
+    @DisplayName("ingestCycle should download the cycle file in a single request")
+    void testIngestCycle() throws WeatherServiceException {
+        List<NoaaMetarData> reports = new ArrayList<>();
+        
+        int count = ingestService.ingestCycle(12, reports::add);
+        
+        assertEquals(5, count);
+        assertEquals(1, server.getTotalRequestCount());
+        assertEquals("KCLT", reports.get(1).getStationId());
+    }
+    
+    @Test
+    @DisplayName("ingestCycle should report STATION_NOT_FOUND for an unpublished cycle")
+    void testIngestMissingCycle() {
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class,
+            () -> ingestService.ingestCycle(3, report -> { }));
+        
+        assertEquals(WeatherServiceException.ErrorType.STATION_NOT_FOUND, exception.getErrorType());
+    }
+    
+    @Test
+    @DisplayName("ingestFile should report DATA_PARSING_ERROR for a missing file")
+    void testIngestMissingFile() {
+        Path missing = Paths.get("does-not-exist", "12Z.TXT");
+        
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class,
+            () -> ingestService.ingestFile(missing, report -> { }));
+        
+        assertEquals(WeatherServiceException.ErrorType.DATA_PARSING_ERROR, exception.getErrorType());
+    }
+    
+    @Test
+    @DisplayName("buildCycleUrl should zero-pad the hour and reject invalid hours")
+    void testBuildCycleUrl() {
+        assertEquals(server.getBaseUrl() + CYCLE_PATH + "07Z.TXT", ingestService.buildCycleUrl(7));
+        assertThrows(IllegalArgumentException.class, () -> ingestService.buildCycleUrl(24));
+        assertThrows(IllegalArgumentException.class, () -> ingestService.buildCycleUrl(-1));
+    }
+    
+    @Test
+    @DisplayName("buildCycleUrl should fall back to tgftp when not configured")
+    void testBuildCycleUrlFallback() {
+        MetarCycleIngestService unconfigured = new MetarCycleIngestService(new TestWeatherConfigurationService());
+        
+        assertEquals("https://tgftp.nws.noaa.gov/data/observations/metar/cycles/00Z.TXT",
+                unconfigured.buildCycleUrl(0));
+    }
+    
+    @Test
+    @DisplayName("buildCycleUrl should fall back when the keys are missing")
+    void testBuildCycleUrlMissingKeys() {
+        // Like the resource bundle service, answers a missing key with text rather than null
+        TestWeatherConfigurationService missingKeys = new TestWeatherConfigurationService() {
+            @Override
+            public String getRawString(String key) {
+                return WeatherConfigurationService.MISSING_CONFIG_PREFIX + key;
+            }
+        };
+        MetarCycleIngestService unconfigured = new MetarCycleIngestService(missingKeys);
+        
+        assertEquals("https://tgftp.nws.noaa.gov/data/observations/metar/cycles/23Z.TXT",
+                unconfigured.buildCycleUrl(23));
+    }
+    
+    private static Path cycleFile() throws URISyntaxException {
+        return Paths.get(MetarCycleIngestServiceTest.class.getResource("/cycles/12Z.TXT").toURI());
+    }
+}
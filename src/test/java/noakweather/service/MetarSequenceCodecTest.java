@@ -0,0 +1,152 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MetarSequenceCodec.
+ *
+ * @author bclasky1539
+ */
+class MetarSequenceCodecTest {
+
+    private final MetarSequenceCodec codec = new MetarSequenceCodec();
+
+    @Test
+    @DisplayName("A station's reports should decode to the exact original text")
+    void testRoundTrip() {
+        List<String> reports = hourlyReports(500);
+
+        byte[] encoded = codec.encode(reports);
+
+        assertEquals(reports, MetarSequenceCodec.decode(encoded));
+        assertEquals(reports.size(), MetarSequenceCodec.size(encoded));
+    }
+
+    @Test
+    @DisplayName("Repetitive reports should compress better than gzip with the same random access")
+    void testCompressionRatio() throws IOException {
+        List<String> reports = hourlyReports(24 * 30);
+        int raw = String.join("\n", reports).getBytes(StandardCharsets.US_ASCII).length;
+        int gzipped = 0;
+        for (int start = 0; start < reports.size(); start += MetarSequenceCodec.DEFAULT_REPORTS_PER_BLOCK) {
+            List<String> block = reports.subList(start,
+                    Math.min(reports.size(), start + MetarSequenceCodec.DEFAULT_REPORTS_PER_BLOCK));
+            gzipped += gzip(String.join("\n", block).getBytes(StandardCharsets.US_ASCII)).length;
+        }
+
+        byte[] encoded = codec.encode(reports);
+
+        assertTrue(encoded.length * 5 < raw, "Ratio " + (double) raw / encoded.length);
+        assertTrue(encoded.length < gzipped, encoded.length + " bytes against " + gzipped + " gzipped");
+    }
+
+    @Test
+    @DisplayName("Unusual spacing and text should be restored exactly")
+    void testExactText() {
+        List<String> reports = Arrays.asList(
+                "",
+                " ",
+                "KJFK  141753Z 24012KT  ",
+                "KJFK 141753Z\t24012KT 10SM",
+                "KJFK 141853Z 24012KT 10SM RMK Ümlaut",
+                "KJFK 141953Z 99999999999999999999KT",
+                "KJFK 142053Z 00000000000000000001KT",
+                "KJFK 142153Z 24012KT 10SM 25/18",
+                "KJFK 142253Z 24012KT 10SM 9/18");
+
+        assertEquals(reports, MetarSequenceCodec.decode(new MetarSequenceCodec(3).encode(reports)));
+    }
+
+    @Test
+    @DisplayName("Single reports should be decoded from their own block")
+    void testRandomAccess() {
+        List<String> reports = hourlyReports(300);
+        byte[] encoded = new MetarSequenceCodec(16).encode(reports);
+
+        for (int index : new int[] {0, 15, 16, 17, 150, 299}) {
+            assertEquals(reports.get(index), MetarSequenceCodec.get(encoded, index));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> MetarSequenceCodec.get(encoded, 300));
+    }
+
+    @Test
+    @DisplayName("The decoder should stream reports one at a time")
+    void testStreamingDecoder() {
+        List<String> reports = hourlyReports(3);
+        Iterator<String> decoder = MetarSequenceCodec.decoder(codec.encode(reports));
+
+        assertEquals(reports.get(0), decoder.next());
+        assertEquals(reports.get(1), decoder.next());
+        assertTrue(decoder.hasNext());
+        assertEquals(reports.get(2), decoder.next());
+        assertFalse(decoder.hasNext());
+        assertThrows(NoSuchElementException.class, decoder::next);
+
+        assertEquals(Collections.emptyList(), MetarSequenceCodec.decode(codec.encode(Collections.emptyList())));
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(Collections.singletonList(null)));
+        assertThrows(IllegalArgumentException.class, () -> new MetarSequenceCodec(0));
+    }
+
+    /**
+     * Builds a plausible hourly sequence with changing wind, temperature and
+     * pressure, occasional showers and specials.
+     */
+    private static List<String> hourlyReports(int count) {
+        Random random = new Random(42);
+        List<String> reports = new ArrayList<>();
+        int temperature = 18;
+        int altimeter = 3000;
+        for (int i = 0; i < count; i++) {
+            int day = 1 + i / 24 % 28;
+            int hour = i % 24;
+            temperature = Math.max(-5, Math.min(35, temperature + random.nextInt(3) - 1));
+            altimeter += random.nextInt(5) - 2;
+            boolean showers = random.nextInt(10) == 0;
+            String type = random.nextInt(20) == 0 ? "SPECI " : "";
+            reports.add(String.format("%sKJFK %02d%02d51Z %03d%02dKT 10SM %sFEW%03d BKN250 %02d/%02d A%04d RMK AO2 SLP%03d T%04d%04d",
+                    type, day, hour, 10 * (18 + random.nextInt(9)), 5 + random.nextInt(10),
+                    showers ? "-SHRA " : "", 30 + 5 * random.nextInt(4), temperature, temperature - 6, altimeter,
+                    (altimeter * 3) % 1000, temperature * 10, (temperature - 6) * 10));
+        }
+        return reports;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.StationCode;
+import noakweather.noaa_api.parser.MetarParser;
+import noakweather.service.ObservationStore.Column;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ObservationStore.
+ *
+ * @author bclasky1539
+ */
+class ObservationStoreTest {
+
+    private static final LocalDateTime REFERENCE = LocalDateTime.of(2025, 10, 14, 23, 59);
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2025, 10, 14, 0, 0);
+    private static final LocalDateTime DAY_END = LocalDateTime.of(2025, 10, 15, 0, 0);
+
+    private final MetarParser parser = new MetarParser();
+
+    @Test
+    @DisplayName("Appended observations should be readable by column")
+    void testAppendAndRead() {
+        ObservationStore store = new ObservationStore();
+
+        int row = store.append(parse("SPECI KSEG 141756Z 24018G28KT 1 3/16SM -RA OVC008 M01/M03 A2983"));
+
+        assertEquals(0, row);
+        assertEquals(1, store.size());
+        assertEquals(StationCode.of("KSEG"), store.getStation(row));
+        assertEquals(LocalDateTime.of(2025, 10, 14, 17, 56).toEpochSecond(ZoneOffset.UTC) / 60,
+                store.getObservationEpochMinute(row));
+        assertEquals(-10, store.get(Column.TEMPERATURE_TENTHS, row));
+        assertEquals(-30, store.get(Column.DEWPOINT_TENTHS, row));
+        assertEquals(2983, store.get(Column.ALTIMETER_HUNDREDTHS, row));
+        assertEquals(240, store.get(Column.WIND_DIRECTION_DEGREES, row));
+        assertEquals(18, store.get(Column.WIND_SPEED_KNOTS, row));
+        assertEquals(28, store.get(Column.WIND_GUST_KNOTS, row));
+        assertEquals(11875, store.get(Column.VISIBILITY_TEN_THOUSANDTHS, row));
+        assertEquals("IFR", ObservationStore.flightCategoryName(store.get(Column.FLIGHT_CATEGORY, row)));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(Column.WIND_GUST_KNOTS, 1));
+    }
+
+    @Test
+    @DisplayName("Missing values should read back as MISSING")
+    void testMissingValues() {
+        ObservationStore store = new ObservationStore();
+
+        int row = store.append(parse("KXYZ 141753Z R04R/2000FT M/M"));
+
+        for (Column column : Column.values()) {
+            assertEquals(ObservationStore.MISSING, store.get(column, row), column.name());
+        }
+        assertNull(ObservationStore.flightCategoryName(ObservationStore.MISSING));
+    }
+
+    @Test
+    @DisplayName("maxByStation should find the highest value per station within the period")
+    void testMaxByStation() {
+        ObservationStore store = ObservationStore.build(Arrays.asList(
+                parse("KJFK 141753Z 24012G30KT 10SM FEW250 25/18 A3012"),
+                parse("KBOS 141754Z 27010KT 10SM CLR 18/05 A3001"),
+                parse("KJFK 131753Z 24012G45KT 10SM FEW250 25/18 A3012"),
+                parse("KJFK 141853Z 24014G22KT 10SM FEW250 24/18 A3011"),
+                parse("KLAX 141753Z 25008KT 10SM CLR 22/12 A2992"),
+                parse("KBOS 141854Z 27015G25KT 10SM CLR 17/05 A3002")));
+
+        Map<StationCode, Integer> gusts = store.maxByStation(Column.WIND_GUST_KNOTS, DAY_START, DAY_END);
+
+        assertEquals(2, gusts.size());
+        assertEquals(30, gusts.get(StationCode.of("KJFK")));
+        assertEquals(25, gusts.get(StationCode.of("KBOS")));
+        assertEquals(45, store.max(Column.WIND_GUST_KNOTS, StationCode.of("KJFK"),
+                LocalDateTime.MIN, LocalDateTime.MAX));
+        assertEquals(ObservationStore.MISSING, store.max(Column.WIND_GUST_KNOTS, StationCode.of("KLAX"),
+                DAY_START, DAY_END));
+        assertEquals(ObservationStore.MISSING, store.max(Column.WIND_GUST_KNOTS, StationCode.of("KORD"),
+                DAY_START, DAY_END));
+        assertEquals(250, store.max(Column.TEMPERATURE_TENTHS, StationCode.of("KJFK"), DAY_START, DAY_END));
+    }
+
+    @Test
+    @DisplayName("The store should grow past its initial capacity")
+    void testGrowth() {
+        ObservationStore store = new ObservationStore(1);
+        List<StationCode> expected = new ArrayList<>();
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            String station = "KX" + letter + letter;
+            expected.add(StationCode.of(station));
+            for (int hour = 0; hour < 24; hour++) {
+                store.append(parse(String.format("%s 14%02d53Z 180%02dKT 10SM CLR 20/10 A3000",
+                        station, hour, hour + letter - 'A')));
+            }
+        }
+
+        assertEquals(26 * 24, store.size());
+        assertEquals(expected, store.getStations());
+        assertEquals(StationCode.of("KXMM"), store.getStation(12 * 24 + 5));
+        assertEquals(23 + 25, store.max(Column.WIND_SPEED_KNOTS, StationCode.of("KXZZ"), DAY_START, DAY_END));
+        assertEquals(12 + 25, store.max(Column.WIND_SPEED_KNOTS, StationCode.of("KXZZ"),
+                DAY_START, LocalDateTime.of(2025, 10, 14, 13, 0)));
+        assertTrue(store.getOffHeapBytes() >= 26L * 24 * 19);
+    }
+
+    @Test
+    @DisplayName("Appends out of station or time order should be rejected")
+    void testOrderEnforced() {
+        ObservationStore store = new ObservationStore();
+        store.append(parse("KJFK 141853Z 24012KT 10SM FEW250 25/18 A3012"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> store.append(parse("KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012")));
+        store.append(parse("KBOS 141754Z 27010KT 10SM CLR 18/05 A3001"));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.append(parse("KJFK 141953Z 24012KT 10SM FEW250 25/18 A3012")));
+        assertThrows(IllegalArgumentException.class, () -> store.append(new NoaaMetarData()));
+        assertEquals(2, store.size());
+    }
+
+    private NoaaMetarData parse(String rawText) {
+        return parser.parse(rawText, REFERENCE);
+    }
+}
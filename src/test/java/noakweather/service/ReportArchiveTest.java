@@ -0,0 +1,183 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.parser.MetarParser;
+import noakweather.service.ReportArchive.ArchivedReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ReportArchive.
+ *
+ * @author bclasky1539
+ */
+class ReportArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 10, 1, 0, 53);
+    private static final String[] STATIONS = {"KJFK", "KBOS", "KLAX", "KORD", "K1V4", "EGLL"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Appended reports should be read back and replayed")
+    void testAppendAndRead() throws IOException {
+        NoaaMetarData metar = new MetarParser().parse("KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012",
+                LocalDateTime.of(2025, 10, 14, 18, 0));
+
+        try (ReportArchive archive = new ReportArchive(directory)) {
+            archive.append(metar);
+            archive.append("KJFK", "TAF AMD", LocalDateTime.of(2025, 10, 14, 17, 40),
+                    "TAF AMD KJFK 141740Z 1418/1524 24012KT P6SM FEW250");
+            archive.append("KBOS", "SPECI", LocalDateTime.of(2025, 10, 14, 17, 20),
+                    "SPECI KBOS 141720Z 27018G28KT 3SM TSRA BKN030CB 22/18 A3010");
+
+            List<ArchivedReport> reports = archive.read("KJFK", LocalDateTime.of(2025, 10, 14, 0, 0),
+                    LocalDateTime.of(2025, 10, 15, 0, 0));
+
+            assertEquals(2, reports.size());
+            assertEquals("TAF AMD", reports.get(0).getReportType());
+            assertEquals(new ArchivedReport("KJFK", "METAR", LocalDateTime.of(2025, 10, 14, 17, 53),
+                    metar.getRawText()), reports.get(1));
+
+            List<ArchivedReport> replayed = new ArrayList<>();
+            assertEquals(3, archive.replay(replayed::add));
+            assertEquals("KBOS", replayed.get(2).getStationId());
+            assertEquals(1, archive.getSegmentCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Full segments should be sealed, indexed and still found by lookups")
+    void testSealedSegments() throws IOException {
+        List<ArchivedReport> all = new ArrayList<>();
+        try (ReportArchive archive = new ReportArchive(directory, 16 * 1024)) {
+            for (int hour = 0; hour < 24 * 20; hour++) {
+                for (String station : STATIONS) {
+                    ArchivedReport report = report(station, START.plusHours(hour));
+                    archive.append(report.getStationId(), report.getReportType(), report.getObservationTime(),
+                            report.getRawText());
+                    all.add(report);
+                }
+            }
+
+            assertTrue(archive.getSegmentCount() > 3);
+            assertEquals(archive.getSegmentCount() - 1, countFiles(".idx"));
+            LocalDateTime from = START.plusDays(3).plusMinutes(7);
+            LocalDateTime to = START.plusDays(12);
+            for (String station : STATIONS) {
+                assertEquals(expected(all, station, from, to), archive.read(station, from, to), station);
+            }
+            assertEquals(all.size(), archive.replay(report -> { }));
+            assertTrue(archive.read("KSEA", LocalDateTime.MIN, LocalDateTime.MAX).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("A reopened archive should keep its reports and continue appending")
+    void testReopen() throws IOException {
+        List<ArchivedReport> all = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            try (ReportArchive archive = new ReportArchive(directory, 4 * 1024)) {
+                for (int hour = 0; hour < 60; hour++) {
+                    ArchivedReport report = report("KJFK", START.plusHours(run * 60 + hour));
+                    archive.append(report.getStationId(), report.getReportType(), report.getObservationTime(),
+                            report.getRawText());
+                    all.add(report);
+                }
+            }
+        }
+
+        try (ReportArchive archive = new ReportArchive(directory, 4 * 1024)) {
+            assertEquals(all, archive.read("KJFK", LocalDateTime.MIN, LocalDateTime.MAX));
+        }
+    }
+
+    @Test
+    @DisplayName("A record cut short at the end of the active segment should be discarded")
+    void testRecoversTornRecord() throws IOException {
+        ArchivedReport report = report("KJFK", START);
+        try (ReportArchive archive = new ReportArchive(directory)) {
+            archive.append(report.getStationId(), report.getReportType(), report.getObservationTime(),
+                    report.getRawText());
+        }
+        Path segment = directory.resolve("00000001.seg");
+        Files.write(segment, new byte[] {0x4B, 0x4A, 0x46, 0x4B, 0, 0}, StandardOpenOption.APPEND);
+
+        try (ReportArchive archive = new ReportArchive(directory)) {
+            archive.append(report.getStationId(), report.getReportType(), report.getObservationTime().plusHours(1),
+                    report.getRawText());
+            assertEquals(2, archive.replay(r -> { }));
+        }
+    }
+
+    @Test
+    @DisplayName("Reports that cannot be archived should be rejected")
+    void testRejectsInvalidReports() throws IOException {
+        try (ReportArchive archive = new ReportArchive(directory)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> archive.append("KJFK", "PIREP", START, "UA /OV JFK"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> archive.append("KJFK", "METAR", null, "KJFK 141753Z"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> archive.append("KJFK", "METAR", START.plusSeconds(30), "KJFK 141753Z"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> archive.append("KJFKX", "METAR", START, "KJFK 141753Z"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> archive.append(new NoaaMetarData()));
+            assertEquals(0, archive.replay(r -> { }));
+        }
+        ReportArchive closed = new ReportArchive(directory);
+        closed.close();
+        assertThrows(IllegalStateException.class, closed::flush);
+    }
+
+    private static ArchivedReport report(String station, LocalDateTime time) {
+        return new ArchivedReport(station, "METAR", time, String.format(
+                "%s %02d%02d%02dZ 24012KT 10SM FEW250 25/18 A3012 RMK AO2",
+                station, time.getDayOfMonth(), time.getHour(), time.getMinute()));
+    }
+
+    private static List<ArchivedReport> expected(List<ArchivedReport> all, String station,
+                                                  LocalDateTime from, LocalDateTime to) {
+        return all.stream()
+                .filter(report -> report.getStationId().equals(station))
+                .filter(report -> !report.getObservationTime().isBefore(from) && report.getObservationTime().isBefore(to))
+                .collect(Collectors.toList());
+    }
+
+    private long countFiles(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(suffix)).count();
+        }
+    }
+}
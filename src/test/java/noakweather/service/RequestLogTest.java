@@ -0,0 +1,118 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RequestLog.
+ *
+ * @author bclasky1539
+ */
+class RequestLogTest {
+
+    private final MovableClock clock = new MovableClock();
+
+    @Test
+    @DisplayName("Only one in sampleInterval successful requests should be logged")
+    void testSuccessesAreSampled() {
+        RequestLog log = new RequestLog(10, 100, clock);
+
+        int logged = 0;
+        for (int i = 0; i < 95; i++) {
+            if (log.admit(false) >= 0) {
+                logged++;
+            }
+        }
+
+        assertEquals(10, logged);
+    }
+
+    @Test
+    @DisplayName("Failures should bypass sampling")
+    void testFailuresAreNotSampled() {
+        RequestLog log = new RequestLog(10, 100, clock);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, log.admit(true));
+        }
+    }
+
+    @Test
+    @DisplayName("Events beyond the rate should be counted and reported with the next event")
+    void testRateLimit() {
+        RequestLog log = new RequestLog(1, 2, clock);
+
+        assertEquals(0, log.admit(true));
+        assertEquals(0, log.admit(false));
+        assertEquals(-1, log.admit(true));
+        assertEquals(-1, log.admit(false));
+        assertEquals(-1, log.admit(false));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(3, log.admit(false));
+        assertEquals(0, log.admit(false));
+    }
+
+    @Test
+    @DisplayName("Logging a request should not fail whatever the configured level")
+    void testLogsEvents() {
+        RequestLog log = new RequestLog();
+        long start = System.nanoTime();
+
+        assertDoesNotThrow(() -> {
+            log.succeeded("METAR", "KJFK", start);
+            log.failed("TAF", "ZZZZ", WeatherServiceException.expected(
+                WeatherServiceException.ErrorType.STATION_NOT_FOUND, "No data", "ZZZZ"), start);
+            log.failed("TAF", "KJFK", new WeatherServiceException(
+                WeatherServiceException.ErrorType.NETWORK_ERROR, "Timed out", "KJFK"), start);
+        });
+        assertThrows(IllegalArgumentException.class, () -> new RequestLog(0, 1, clock));
+    }
+
+    private static final class MovableClock extends Clock {
+        private Instant instant = Instant.parse("2025-10-14T17:56:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SingleFlight.
+ *
+ * @author bclasky1539
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("Callers arriving while a call is in flight should share its result")
+    void testCollapsesConcurrentCalls() {
+        CompletableFuture<String> work = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("KJFK", () -> start(work));
+        CompletableFuture<String> second = singleFlight.execute("KJFK", () -> start(new CompletableFuture<>()));
+        CompletableFuture<String> other = singleFlight.execute("KLAX",
+                () -> start(CompletableFuture.completedFuture("KLAX report")));
+
+        assertEquals(2, calls.get());
+        assertEquals(1, singleFlight.inFlightCount());
+        work.complete("KJFK report");
+        assertEquals("KJFK report", first.join());
+        assertEquals("KJFK report", second.join());
+        assertEquals("KLAX report", other.join());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("A key should be released once its call completes")
+    void testReleasesKey() {
+        singleFlight.execute("KJFK", () -> start(CompletableFuture.completedFuture("first"))).join();
+
+        assertEquals("second",
+            singleFlight.execute("KJFK", () -> start(CompletableFuture.completedFuture("second"))).join());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("A failure should reach every waiting caller and release the key")
+    void testSharesFailure() {
+        CompletableFuture<String> work = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("KJFK", () -> start(work));
+        CompletableFuture<String> second = singleFlight.execute("KJFK", () -> start(work));
+
+        work.completeExceptionally(new IllegalStateException("upstream down"));
+
+        assertInstanceOf(IllegalStateException.class, assertThrows(CompletionException.class, first::join).getCause());
+        assertInstanceOf(IllegalStateException.class, assertThrows(CompletionException.class, second::join).getCause());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("A call that throws should fail the caller and release the key")
+    void testCallThrows() {
+        CompletableFuture<String> result = singleFlight.execute("KJFK", () -> {
+            throw new IllegalArgumentException("bad key");
+        });
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Timing out one caller should not affect the others")
+    void testCallersAreIndependent() {
+        CompletableFuture<String> work = new CompletableFuture<>();
+        CompletableFuture<String> impatient = singleFlight.execute("KJFK", () -> start(work))
+                .orTimeout(1, TimeUnit.MILLISECONDS);
+        CompletableFuture<String> patient = singleFlight.execute("KJFK", () -> start(work));
+
+        assertThrows(CompletionException.class, impatient::join);
+        work.complete("report");
+        assertEquals("report", patient.join());
+    }
+
+    private CompletableFuture<String> start(CompletableFuture<String> work) {
+        calls.incrementAndGet();
+        return work;
+    }
+}
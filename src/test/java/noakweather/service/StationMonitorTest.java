@@ -0,0 +1,372 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.StationCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StationMonitor.
+ *
+ * Polls are driven directly with a movable clock and a jitter-free random
+ * source, so every scheduling decision can be checked exactly.
+ *
+ * @author bclasky1539
+ */
+class StationMonitorTest {
+
+    private static final StationCode KJFK = StationCode.of("KJFK");
+
+    private MovableClock clock;
+    private ScriptedWeatherService service;
+    private List<NoaaMetarData> received;
+    private StationMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MovableClock(LocalDateTime.of(2025, 10, 14, 17, 56));
+        service = new ScriptedWeatherService();
+        received = new CopyOnWriteArrayList<>();
+        monitor = new StationMonitor(service, received::add, 1, clock, new ZeroRandom());
+        monitor.watch(KJFK);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+    }
+
+    @Test
+    @DisplayName("A new routine report should schedule the next poll for the next issuance")
+    void testRoutineReportSchedulesNextIssuance() {
+        service.publish("KJFK", "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012");
+
+        // Next report due at 18:53 + 3 min; meanwhile check for specials
+        assertEquals(StationMonitor.SPECIAL_CHECK_INTERVAL, monitor.poll(KJFK));
+        assertEquals(1, received.size());
+        assertEquals("KJFK", received.get(0).getStationId());
+
+        clock.set(LocalDateTime.of(2025, 10, 14, 18, 40));
+        assertEquals(Duration.ofMinutes(16), monitor.poll(KJFK));
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    @DisplayName("An overdue report should be retried with a doubling interval")
+    void testOverdueReportBacksOff() {
+        service.publish("KJFK", "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012");
+        monitor.poll(KJFK);
+
+        clock.set(LocalDateTime.of(2025, 10, 14, 18, 56));
+        assertEquals(Duration.ofMinutes(1), monitor.poll(KJFK));
+        assertEquals(Duration.ofMinutes(2), monitor.poll(KJFK));
+        assertEquals(Duration.ofMinutes(4), monitor.poll(KJFK));
+
+        service.publish("KJFK", "KJFK 141853Z 25010KT 10SM FEW250 24/18 A3011");
+        clock.set(LocalDateTime.of(2025, 10, 14, 19, 3));
+        assertEquals(StationMonitor.SPECIAL_CHECK_INTERVAL, monitor.poll(KJFK));
+        assertEquals(2, received.size());
+
+        StationMonitor.Stats stats = monitor.getStats();
+        assertEquals(5, stats.getPollCount());
+        assertEquals(2, stats.getNewReportCount());
+        assertEquals(3, stats.getUnchangedCount());
+    }
+
+    @Test
+    @DisplayName("A special report should not move the routine schedule")
+    void testSpecialKeepsRoutineSchedule() {
+        service.publish("KJFK", "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012");
+        monitor.poll(KJFK);
+
+        service.publish("KJFK", "SPECI KJFK 141812Z 24018G28KT 3SM TSRA BKN030CB 22/18 A3010");
+        clock.set(LocalDateTime.of(2025, 10, 14, 18, 15));
+        assertEquals(StationMonitor.SPECIAL_CHECK_INTERVAL, monitor.poll(KJFK));
+        assertEquals("SPECI", received.get(1).getReportType());
+
+        // Still due at 18:56, not 19:15
+        clock.set(LocalDateTime.of(2025, 10, 14, 18, 50));
+        assertEquals(Duration.ofMinutes(6), monitor.poll(KJFK));
+    }
+
+    @Test
+    @DisplayName("The schedule should learn the minute a station usually reports")
+    void testLearnsIssuanceMinute() {
+        StationMonitor.StationSchedule schedule = new StationMonitor.StationSchedule();
+        assertEquals(-1, schedule.expectedMinute());
+        assertNull(schedule.nextRoutineDue());
+
+        for (int hour = 0; hour < 6; hour++) {
+            schedule.recordRoutine(LocalDateTime.of(2025, 10, 14, hour, 51));
+        }
+        schedule.recordRoutine(LocalDateTime.of(2025, 10, 14, 6, 56));
+
+        assertEquals(51, schedule.expectedMinute());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 7, 54), schedule.nextRoutineDue());
+
+        NoaaMetarData offSchedule = new NoaaMetarData("KJFK 140722Z", "KJFK", LocalDateTime.of(2025, 10, 14, 7, 22));
+        NoaaMetarData late = new NoaaMetarData("KJFK 140755Z", "KJFK", LocalDateTime.of(2025, 10, 14, 7, 55));
+        assertFalse(schedule.isRoutine(offSchedule));
+        assertTrue(schedule.isRoutine(late));
+    }
+
+    @Test
+    @DisplayName("A schedule learned from an off-minute first report should move to the routine minute")
+    void testRecoversFromOffMinuteStart() {
+        // The station file has no SPECI keyword, so the first report seen is taken as routine
+        clock.set(LocalDateTime.of(2025, 10, 14, 12, 15));
+        service.publish("KJFK", "KJFK 141212Z 24018G28KT 3SM TSRA BKN030CB 22/18 A3010");
+        monitor.poll(KJFK);
+
+        for (int hour = 12; hour <= 14; hour++) {
+            service.publish("KJFK", String.format("KJFK 14%02d51Z 24012KT 10SM FEW250 25/18 A3012", hour));
+            clock.set(LocalDateTime.of(2025, 10, 14, hour, 54));
+            monitor.poll(KJFK);
+        }
+
+        // Waiting for the 15:51 report, not retrying an overdue one
+        clock.set(LocalDateTime.of(2025, 10, 14, 15, 40));
+        assertEquals(Duration.ofMinutes(14), monitor.poll(KJFK));
+        assertEquals(4, received.size());
+    }
+
+    @Test
+    @DisplayName("Off-minute reports should only move the due time once the schedule is stale")
+    void testOffMinuteReportsRetrainSchedule() {
+        StationMonitor.StationSchedule schedule = new StationMonitor.StationSchedule();
+        schedule.record(new NoaaMetarData("KJFK 141212Z", "KJFK", LocalDateTime.of(2025, 10, 14, 12, 12)));
+        assertEquals(12, schedule.expectedMinute());
+
+        schedule.record(new NoaaMetarData("KJFK 141251Z", "KJFK", LocalDateTime.of(2025, 10, 14, 12, 51)));
+        assertEquals(LocalDateTime.of(2025, 10, 14, 13, 15), schedule.nextRoutineDue());
+
+        schedule.record(new NoaaMetarData("KJFK 141351Z", "KJFK", LocalDateTime.of(2025, 10, 14, 13, 51)));
+        assertEquals(51, schedule.expectedMinute());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 14, 54), schedule.nextRoutineDue());
+
+        schedule.record(new NoaaMetarData("SPECI KJFK 141422Z", "KJFK", LocalDateTime.of(2025, 10, 14, 14, 22)));
+        assertEquals(51, schedule.expectedMinute());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 14, 54), schedule.nextRoutineDue());
+    }
+
+    @Test
+    @DisplayName("Failed polls should back off up to the maximum retry")
+    void testFailuresBackOff() {
+        assertEquals(Duration.ofMinutes(1), monitor.poll(KJFK));
+        assertEquals(Duration.ofMinutes(2), monitor.poll(KJFK));
+        assertEquals(Duration.ofMinutes(4), StationMonitor.backoff(3));
+        assertEquals(StationMonitor.MAX_RETRY, StationMonitor.backoff(40));
+        assertEquals(2, monitor.getStats().getFailureCount());
+
+        service.publish("KJFK", "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012");
+        assertEquals(StationMonitor.SPECIAL_CHECK_INTERVAL, monitor.poll(KJFK));
+    }
+
+    @Test
+    @DisplayName("Jitter should be added to every delay")
+    void testJitter() {
+        StationMonitor jittery = new StationMonitor(service, received::add, 1, clock, new FixedRandom(0.5));
+        jittery.watch(KJFK);
+        try {
+            assertEquals(Duration.ofMinutes(1).plus(StationMonitor.JITTER.dividedBy(2)), jittery.poll(KJFK));
+        } finally {
+            jittery.close();
+        }
+    }
+
+    @Test
+    @DisplayName("watch and unwatch should maintain the watch list")
+    void testWatchList() {
+        StationCode klax = StationCode.of("KLAX");
+
+        assertFalse(monitor.watch(KJFK));
+        assertTrue(monitor.watch(klax));
+        assertEquals(Arrays.asList(KJFK, klax), monitor.getWatchedStations());
+        assertTrue(monitor.unwatch(klax));
+        assertFalse(monitor.unwatch(klax));
+        assertNull(monitor.poll(klax));
+        assertThrows(IllegalArgumentException.class, () -> monitor.watch(null));
+    }
+
+    @Test
+    @DisplayName("A started monitor should poll watched stations on its own threads")
+    void testStartPollsStations() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(2);
+        StationMonitor running = new StationMonitor(service, metar -> delivered.countDown(), 2,
+                Clock.systemUTC(), new ZeroRandom());
+        service.publish("KJFK", "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012");
+        service.publish("KLAX", "KLAX 141753Z 25008KT 10SM CLR 22/12 A2992");
+        try {
+            running.watch(KJFK);
+            running.start();
+            running.watch(StationCode.of("KLAX"));
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        } finally {
+            running.close();
+        }
+        assertThrows(IllegalStateException.class, running::start);
+    }
+
+    @Test
+    @DisplayName("close should let a running poll finish without interrupting it")
+    void testCloseLetsRunningPollFinish() throws InterruptedException {
+        SlowWeatherService slow = new SlowWeatherService();
+        slow.publish("KJFK", "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012");
+        CountDownLatch delivered = new CountDownLatch(1);
+        StationMonitor running = new StationMonitor(slow, metar -> delivered.countDown(), 1,
+                Clock.systemUTC(), new ZeroRandom());
+        running.watch(KJFK);
+        running.start();
+
+        assertTrue(slow.fetching.await(5, TimeUnit.SECONDS));
+        running.close();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(0, running.getStats().getFailureCount());
+    }
+
+    /**
+     * Serves whatever report was last published for each station.
+     */
+    private static class ScriptedWeatherService implements WeatherService {
+        private final Map<String, String> reports = new ConcurrentHashMap<>();
+
+        void publish(String station, String report) {
+            reports.put(station, report);
+        }
+
+        @Override
+        public String getMetarData(String stationCode) throws WeatherServiceException {
+            String report = reports.get(stationCode);
+            if (report == null) {
+                throw new WeatherServiceException(WeatherServiceException.ErrorType.STATION_NOT_FOUND,
+                        "No report published for station", stationCode);
+            }
+            return report;
+        }
+
+        @Override
+        public String getTafData(String stationCode) throws WeatherServiceException {
+            throw new WeatherServiceException(WeatherServiceException.ErrorType.STATION_NOT_FOUND,
+                    "No TAF published for station", stationCode);
+        }
+
+        @Override
+        public boolean isValidStationCode(String stationCode) {
+            return StationCode.isValid(stationCode);
+        }
+
+        @Override
+        public String getServiceProviderName() {
+            return "Scripted";
+        }
+    }
+
+    /**
+     * Takes a while to answer, and fails like a network error if interrupted.
+     */
+    private static final class SlowWeatherService extends ScriptedWeatherService {
+        private final CountDownLatch fetching = new CountDownLatch(1);
+
+        @Override
+        public String getMetarData(String stationCode) throws WeatherServiceException {
+            fetching.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WeatherServiceException(WeatherServiceException.ErrorType.NETWORK_ERROR,
+                        "Interrupted", stationCode, e);
+            }
+            return super.getMetarData(stationCode);
+        }
+    }
+
+    /**
+     * Random source that always returns the same fraction.
+     */
+    private static class FixedRandom extends Random {
+        private static final long serialVersionUID = 1L;
+        private final double value;
+
+        FixedRandom(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double nextDouble() {
+            return value;
+        }
+    }
+
+    private static final class ZeroRandom extends FixedRandom {
+        private static final long serialVersionUID = 1L;
+
+        ZeroRandom() {
+            super(0.0);
+        }
+    }
+
+    private static final class MovableClock extends Clock {
+        private volatile Instant instant;
+
+        MovableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.Station;
+import noakweather.noaa_api.model.StationCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StationRegistry.
+ *
+ * @author bclasky1539
+ */
+class StationRegistryTest {
+
+    private StationRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException, URISyntaxException {
+        registry = StationRegistry.load(stationsFile());
+    }
+
+    @Test
+    @DisplayName("load should read valid lines and skip comments, blanks and malformed lines")
+    void testLoad() {
+        assertEquals(5, registry.size());
+
+        Station kjfk = registry.find("KJFK");
+        assertEquals(40.6398, kjfk.getLatitude());
+        assertEquals(-73.7789, kjfk.getLongitude());
+        assertEquals(13, kjfk.getElevationFeet());
+        assertEquals("US", kjfk.getCountry());
+
+        assertNull(registry.find("KBOS"));
+        assertNull(registry.find("KSFO"));
+        assertNull(registry.find("KXYZ"));
+    }
+
+    @Test
+    @DisplayName("Duplicate station codes should keep the first entry")
+    void testDuplicateKeepsFirst() {
+        assertEquals(13, registry.find("KJFK").getElevationFeet());
+    }
+
+    @Test
+    @DisplayName("find should return one shared instance for any form of the code")
+    void testFindReturnsCanonicalInstance() {
+        Station kjfk = registry.find("KJFK");
+
+        assertSame(kjfk, registry.find(" kjfk "));
+        assertSame(kjfk, registry.find(new StringBuilder("KjFk")));
+        assertSame(kjfk, registry.find(StationCode.of("KJFK")));
+        assertNull(registry.find("K1FK"));
+        assertNull(registry.find((CharSequence) null));
+        assertNull(registry.find((StationCode) null));
+    }
+
+    @Test
+    @DisplayName("Stations should share country strings")
+    void testCountriesAreShared() {
+        assertSame(registry.find("KJFK").getCountry(), registry.find("KCLT").getCountry());
+    }
+
+    @Test
+    @DisplayName("getStations should list stations in code order")
+    void testGetStations() {
+        List<String> ids = new ArrayList<>();
+        for (Station station : registry.getStations()) {
+            ids.add(station.getId());
+        }
+
+        assertEquals(Arrays.asList("EGLL", "KCLT", "KJFK", "KLGA", "LFPG"), ids);
+        assertThrows(UnsupportedOperationException.class, () -> registry.getStations().clear());
+    }
+
+    @Test
+    @DisplayName("attach should point reports at the registered station")
+    void testAttach() {
+        NoaaMetarData first = new NoaaMetarData("KJFK 141753Z 24012KT", new String("KJFK"), null);
+        NoaaMetarData second = new NoaaMetarData("KJFK 141853Z 24010KT", new String("KJFK"), null);
+        NoaaMetarData unknown = new NoaaMetarData("KBOS 141753Z 24012KT", "KBOS", null);
+
+        assertSame(first, registry.attach(first));
+        registry.attach(second);
+        registry.attach(unknown);
+
+        assertSame(first.getStation(), second.getStation());
+        assertSame(first.getStationId(), second.getStationId());
+        assertEquals(40.6398, first.getLatitude());
+        assertNull(unknown.getStation());
+        assertNull(registry.attach(null));
+    }
+
+    @Test
+    @DisplayName("of should normalize station ids and reject invalid ones")
+    void testOf() {
+        StationRegistry built = StationRegistry.of(Arrays.asList(
+            new Station("kclt", 35.2140, -80.9431, 748, "US"),
+            new Station("EGLL", 51.4775, -0.4614, 83, "GB")));
+
+        assertEquals("KCLT", built.find("KCLT").getId());
+        assertEquals(2, built.size());
+        assertThrows(IllegalArgumentException.class,
+            () -> StationRegistry.of(Arrays.asList(new Station("K1", 0.0, 0.0, 0, "US"))));
+    }
+
+    @Test
+    @DisplayName("Lookups should work across a large registry")
+    void testLargeRegistry() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (char a = 'A'; a <= 'Z'; a++) {
+            for (char b = 'A'; b <= 'Z'; b++) {
+                for (char c = 'A'; c <= 'Z'; c++) {
+                    text.append('K').append(a).append(b).append(c).append(",10.0,20.0,0,US\n");
+                }
+            }
+        }
+        StationRegistry large = StationRegistry.load(new StringReader(text.toString()));
+
+        assertEquals(26 * 26 * 26, large.size());
+        assertEquals("KQRS", large.find("kqrs").getId());
+        assertEquals("KAAA", large.find("KAAA").getId());
+        assertNull(large.find("LAAA"));
+    }
+
+    @Test
+    @DisplayName("An empty source should give an empty registry")
+    void testEmptyRegistry() throws IOException {
+        StationRegistry empty = StationRegistry.load(new StringReader("# no stations\n"));
+
+        assertEquals(0, empty.size());
+        assertNull(empty.find("KJFK"));
+    }
+
+    private static Path stationsFile() throws URISyntaxException {
+        return Paths.get(StationRegistryTest.class.getResource("/stations/stations.csv").toURI());
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.NoaaMetarData;
+import noakweather.noaa_api.model.Station;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StationSpatialIndex.
+ *
+ * Query results are checked against a linear scan over the same stations.
+ *
+ * @author bclasky1539
+ */
+class StationSpatialIndexTest {
+
+    private static final Station KJFK = new Station("KJFK", 40.6398, -73.7789, 13, "US");
+    private static final Station KLGA = new Station("KLGA", 40.7772, -73.8726, 21, "US");
+    private static final Station KEWR = new Station("KEWR", 40.6925, -74.1687, 18, "US");
+    private static final Station KBOS = new Station("KBOS", 42.3656, -71.0096, 20, "US");
+    private static final Station KCLT = new Station("KCLT", 35.2140, -80.9431, 748, "US");
+    private static final Station EGLL = new Station("EGLL", 51.4775, -0.4614, 83, "GB");
+    private static final Station PHNL = new Station("PHNL", 21.3187, -157.9225, 13, "US");
+    private static final Station NZAA = new Station("NZAA", -37.0082, 174.7850, 23, "NZ");
+    private static final Station NFFN = new Station("NFFN", -17.7554, 177.4434, 59, "FJ");
+
+    private StationSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = StationSpatialIndex.of(Arrays.asList(KJFK, KLGA, KEWR, KBOS, KCLT, EGLL, PHNL, NZAA, NFFN));
+    }
+
+    @Test
+    @DisplayName("nearest should return the closest stations in distance order")
+    void testNearest() {
+        // Manhattan
+        assertEquals(Arrays.asList(KLGA, KEWR, KJFK), index.nearest(40.7831, -73.9712, 3));
+        assertEquals(Collections.singletonList(EGLL), index.nearest(51.5, 0.0, 1));
+        assertEquals(9, index.nearest(0.0, 0.0, 50).size());
+        assertTrue(index.nearest(0.0, 0.0, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.nearest(0.0, 0.0, -1));
+    }
+
+    @Test
+    @DisplayName("nearest should work across the date line")
+    void testNearestAcrossDateLine() {
+        // Just east of the date line, Fiji is closer than Auckland
+        assertEquals(Arrays.asList(NFFN, NZAA), index.nearest(-20.0, -179.5, 2));
+    }
+
+    @Test
+    @DisplayName("withinRadius should use great-circle distance")
+    void testWithinRadius() {
+        assertEquals(Arrays.asList(KJFK, KLGA, KEWR), index.withinRadius(40.6398, -73.7789, 25));
+        assertEquals(Collections.singletonList(KJFK), index.withinRadius(40.6398, -73.7789, 0));
+        // JFK to BOS is about 162 nm
+        assertTrue(index.withinRadius(40.6398, -73.7789, 170).contains(KBOS));
+        assertFalse(index.withinRadius(40.6398, -73.7789, 150).contains(KBOS));
+        assertEquals(9, index.withinRadius(0.0, 0.0, 20000).size());
+        assertThrows(IllegalArgumentException.class, () -> index.withinRadius(0.0, 0.0, -1));
+        assertThrows(IllegalArgumentException.class, () -> index.withinRadius(91.0, 0.0, 10));
+    }
+
+    @Test
+    @DisplayName("withinBounds should handle ordinary and date-line boxes")
+    void testWithinBounds() {
+        assertEquals(new HashSet<>(Arrays.asList(KJFK, KLGA, KEWR, KBOS)),
+            new HashSet<>(index.withinBounds(40.0, -75.0, 43.0, -70.0)));
+        assertEquals(new HashSet<>(Arrays.asList(NZAA, NFFN)),
+            new HashSet<>(index.withinBounds(-40.0, 170.0, -10.0, -170.0)));
+        assertTrue(index.withinBounds(-10.0, 10.0, 10.0, 20.0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("distanceNm should match known airport distances")
+    void testDistance() {
+        assertEquals(2999, StationSpatialIndex.distanceNm(KJFK, EGLL.getLatitude(), EGLL.getLongitude()), 10);
+        assertEquals(0.0, StationSpatialIndex.distanceNm(KJFK, KJFK.getLatitude(), KJFK.getLongitude()), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Report queries should return the latest report of matching stations")
+    void testReportQueries() {
+        NoaaMetarData older = metar("KJFK", 17, "VFR");
+        NoaaMetarData newer = metar("KJFK", 18, "IFR");
+        NoaaMetarData laGuardia = metar("KLGA", 18, "VFR");
+        NoaaMetarData newark = metar("KEWR", 18, "IFR");
+
+        assertTrue(index.update(newer));
+        assertTrue(index.update(older));
+        assertTrue(index.update(laGuardia));
+        assertTrue(index.update(newark));
+        assertFalse(index.update(metar("KSFO", 18, "IFR")));
+        assertFalse(index.update(null));
+
+        assertSame(newer, index.getLatestReport("KJFK"));
+        assertNull(index.getLatestReport("KBOS"));
+        assertEquals(Arrays.asList(newer, newark),
+            index.reportsWithinRadius(40.6398, -73.7789, 100, r -> "IFR".equals(r.getFlightCategory())));
+        assertEquals(3, index.reportsWithinBounds(40.0, -75.0, 43.0, -70.0, null).size());
+    }
+
+    @Test
+    @DisplayName("Queries should agree with a linear scan over many stations")
+    void testMatchesLinearScan() {
+        Random random = new Random(42);
+        List<Station> stations = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            stations.add(new Station("S" + i, random.nextDouble() * 180 - 90,
+                                     random.nextDouble() * 360 - 180, 0, null));
+        }
+        StationSpatialIndex large = StationSpatialIndex.of(stations);
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+
+            List<Station> byDistance = new ArrayList<>(stations);
+            byDistance.sort(Comparator.comparingDouble(s -> StationSpatialIndex.distanceNm(s, latitude, longitude)));
+            assertEquals(byDistance.subList(0, 10), large.nearest(latitude, longitude, 10));
+
+            Set<Station> inRadius = new HashSet<>();
+            for (Station station : stations) {
+                if (StationSpatialIndex.distanceNm(station, latitude, longitude) <= 600) {
+                    inRadius.add(station);
+                }
+            }
+            assertEquals(inRadius, new HashSet<>(large.withinRadius(latitude, longitude, 600)));
+
+            double south = Math.max(-90, latitude - 10);
+            double north = Math.min(90, latitude + 10);
+            double west = longitude;
+            double east = longitude + 30 > 180 ? longitude + 30 - 360 : longitude + 30;
+            Set<Station> inBounds = new HashSet<>();
+            for (Station station : stations) {
+                double lon = station.getLongitude();
+                boolean inLongitude = west <= east ? lon >= west && lon <= east : lon >= west || lon <= east;
+                if (station.getLatitude() >= south && station.getLatitude() <= north && inLongitude) {
+                    inBounds.add(station);
+                }
+            }
+            assertEquals(inBounds, new HashSet<>(large.withinBounds(south, west, north, east)));
+        }
+    }
+
+    @Test
+    @DisplayName("An empty index should answer every query with nothing")
+    void testEmptyIndex() {
+        StationSpatialIndex empty = StationSpatialIndex.of(Collections.emptyList());
+
+        assertEquals(0, empty.size());
+        assertTrue(empty.nearest(0.0, 0.0, 3).isEmpty());
+        assertTrue(empty.withinRadius(0.0, 0.0, 100).isEmpty());
+        assertTrue(empty.withinBounds(-10.0, -10.0, 10.0, 10.0).isEmpty());
+    }
+
+    private static NoaaMetarData metar(String station, int hour, String flightCategory) {
+        NoaaMetarData metar = new NoaaMetarData(station + " 14" + hour + "53Z", station,
+                LocalDateTime.of(2025, 6, 14, hour, 53));
+        metar.setFlightCategory(flightCategory);
+        return metar;
+    }
+}
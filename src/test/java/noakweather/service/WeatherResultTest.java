@@ -0,0 +1,74 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for WeatherResult.
+ *
+ * @author bclasky1539
+ */
+class WeatherResultTest {
+
+    @Test
+    @DisplayName("A successful result should hold its value")
+    void testSuccess() throws WeatherServiceException {
+        WeatherResult<String> result = WeatherResult.success("KJFK 141753Z");
+
+        assertTrue(result.isSuccess());
+        assertEquals("KJFK 141753Z", result.getValue());
+        assertEquals("KJFK 141753Z", result.orElse("fallback"));
+        assertEquals("KJFK 141753Z", result.orElseThrow());
+        assertNull(result.getErrorType());
+        assertEquals("WeatherResult{value='KJFK 141753Z'}", result.toString());
+    }
+
+    @Test
+    @DisplayName("A failed result should hold the error details")
+    void testFailure() {
+        WeatherResult<String> result = WeatherResult.failure(
+            WeatherServiceException.ErrorType.STATION_NOT_FOUND, "No report", "ZZZZ");
+
+        assertFalse(result.isSuccess());
+        assertNull(result.getValue());
+        assertEquals("fallback", result.orElse("fallback"));
+        assertEquals(WeatherServiceException.ErrorType.STATION_NOT_FOUND, result.getErrorType());
+        assertEquals("No report", result.getMessage());
+        assertEquals("ZZZZ", result.getStationCode());
+        assertTrue(result.toString().contains("STATION_NOT_FOUND"));
+
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class, result::orElseThrow);
+        assertEquals(WeatherServiceException.ErrorType.STATION_NOT_FOUND, exception.getErrorType());
+        assertEquals("ZZZZ", exception.getStationCode());
+    }
+
+    @Test
+    @DisplayName("A failed result should copy the details of an exception")
+    void testFailureFromException() {
+        WeatherResult<Integer> result = WeatherResult.failure(new WeatherServiceException(
+            WeatherServiceException.ErrorType.NETWORK_ERROR, "Timed out", "KJFK"));
+
+        assertEquals(WeatherServiceException.ErrorType.NETWORK_ERROR, result.getErrorType());
+        assertEquals("Timed out", result.getMessage());
+        assertEquals("KJFK", result.getStationCode());
+        assertThrows(IllegalArgumentException.class, () -> WeatherResult.failure(null, "x", null));
+    }
+}
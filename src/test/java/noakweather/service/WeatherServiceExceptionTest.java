@@ -448,6 +448,39 @@ class WeatherServiceExceptionTest {
                     WeatherServiceException.ErrorType.valueOf("UNKNOWN_ERROR"));
     }
     
+    // ===== Expected (Stackless) Exception Tests =====
+    
+    @Test
+    @DisplayName("expected() should create an exception without a stack trace")
+    void testExpectedHasNoStackTrace() {
+        WeatherServiceException exception = WeatherServiceException.expected(
+            WeatherServiceException.ErrorType.STATION_NOT_FOUND, TEST_MESSAGE, TEST_STATION);
+        
+        assertTrue(exception.isExpected());
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(WeatherServiceException.ErrorType.STATION_NOT_FOUND, exception.getErrorType());
+        assertEquals(TEST_STATION, exception.getStationCode());
+        assertEquals("Station not found for station KJFK: Test error message", exception.getUserFriendlyMessage());
+        assertFalse(new WeatherServiceException(
+            WeatherServiceException.ErrorType.STATION_NOT_FOUND, TEST_MESSAGE).isExpected());
+    }
+    
+    @Test
+    @DisplayName("expected() exceptions should be immutable so they can be shared")
+    void testExpectedIsImmutable() {
+        WeatherServiceException exception = WeatherServiceException.expected(
+            WeatherServiceException.ErrorType.INVALID_STATION_CODE, TEST_MESSAGE, null);
+        
+        exception.addSuppressed(new RuntimeException("ignored"));
+        exception.setStackTrace(new StackTraceElement[] {
+            new StackTraceElement("Caller", "call", "Caller.java", 1) });
+        
+        assertEquals(0, exception.getSuppressed().length);
+        assertEquals(0, exception.getStackTrace().length);
+        assertThrows(IllegalStateException.class, () -> exception.initCause(TEST_CAUSE));
+        assertNull(exception.getCause());
+    }
+    
     @Test
     @DisplayName("Error type name() should work correctly")
     void testErrorTypeName() {
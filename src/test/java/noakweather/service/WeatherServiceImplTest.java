@@ -16,7 +16,12 @@
  */
 package noakweather.service;
 
+import noakweather.TestNoaaHttpServer;
 import noakweather.config.WeatherConfigurationService;
+import noakweather.noaa_api.client.ConditionalResponse;
+import noakweather.noaa_api.client.NoaaHttpClient;
+import noakweather.noaa_api.model.StationCode;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -24,9 +29,25 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,26 +56,47 @@ import static org.junit.jupiter.api.Assertions.*;
  * 
  * This test suite validates the weather service implementation including
  * data retrieval, station code validation, URL building, and error handling.
+ * Station files are served by a local TestNoaaHttpServer so no test touches
+ * the real NOAA servers.
  * 
  * @author bclasky1539
  * 
  */
 class WeatherServiceImplTest {
     
+    private static final String KJFK_METAR = "KJFK 141753Z 24012KT 10SM FEW250 25/18 A3012 RMK AO2 SLP205 T02500183";
+    private static final String KJFK_TAF = "TAF KJFK 141152Z 1412/1512 24012KT P6SM FEW250\n"
+            + "      FM141600 25015G25KT P6SM SCT250\n"
+            + "      FM150000 23008KT P6SM FEW250";
+    
+    private TestNoaaHttpServer server;
     private TestConfigurationService testConfigService;
     private WeatherServiceImpl weatherService;
     
     @BeforeEach
-    void setUp() {
+    void setUp() throws IOException {
+        server = new TestNoaaHttpServer()
+            .withMetar("KJFK", KJFK_METAR)
+            .withMetar("KLAX", "KLAX 141753Z 25008KT 10SM CLR 22/14 A2992")
+            .withMetar("TEST", "TEST 141753Z 00000KT 10SM CLR 20/10 A3000")
+            .withTaf("KJFK", KJFK_TAF)
+            .withTaf("KLAX", "TAF KLAX 141140Z 1412/1518 25010KT P6SM SKC")
+            .withTaf("TEST", "TAF TEST 141140Z 1412/1512 00000KT P6SM SKC");
+        
         testConfigService = new TestConfigurationService();
         
-        // Set up default configuration values
-        testConfigService.setRawString("MISC_METAR_URL", "https://tgftp.nws.noaa.gov/data/observations/metar/stations/");
+        // Point the service at the local stand-in server
+        testConfigService.setRawString("MISC_METAR_URL", server.getMetarBaseUrl());
         testConfigService.setRawString("MISC_METAR_EXT", ".TXT");
-        testConfigService.setRawString("MISC_TAF_URL", "https://tgftp.nws.noaa.gov/data/forecasts/taf/stations/");
+        testConfigService.setRawString("MISC_TAF_URL", server.getTafBaseUrl());
         testConfigService.setRawString("MISC_TAF_EXT", ".TXT");
         
-        weatherService = new WeatherServiceImpl(testConfigService);
+        weatherService = new WeatherServiceImpl(testConfigService, new NoaaHttpClient());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.close();
     }
     
     // ===== Constructor Tests =====
@@ -76,12 +118,13 @@ class WeatherServiceImplTest {
     // ===== METAR Data Tests =====
     
     @Test
-    @DisplayName("getMetarData should return formatted METAR data for valid station")
+    @DisplayName("getMetarData should return the METAR report published for the station")
     void testGetMetarDataValidStation() throws WeatherServiceException {
         String result = weatherService.getMetarData("KJFK");
         
         assertNotNull(result);
-        assertTrue(result.startsWith("METAR KJFK"));
+        assertEquals(KJFK_METAR, result);
+        assertTrue(result.startsWith("KJFK"));
         assertTrue(result.contains("141753Z"));
         assertTrue(result.contains("24012KT"));
         
@@ -96,7 +139,7 @@ class WeatherServiceImplTest {
         String result = weatherService.getMetarData("kjfk");
         
         assertNotNull(result);
-        assertTrue(result.startsWith("METAR KJFK"));
+        assertTrue(result.startsWith("KJFK"));
     }
     
     @Test
@@ -105,7 +148,25 @@ class WeatherServiceImplTest {
         String result = weatherService.getMetarData("  KJFK  ");
         
         assertNotNull(result);
-        assertTrue(result.startsWith("METAR KJFK"));
+        assertTrue(result.startsWith("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("getMetarData should accept a parsed StationCode")
+    void testGetMetarDataWithStationCode() throws WeatherServiceException {
+        assertEquals(KJFK_METAR, weatherService.getMetarData(StationCode.of("kjfk")));
+        assertEquals(weatherService.getTafData("KJFK"), weatherService.getTafData(StationCode.of("KJFK")));
+    }
+    
+    @Test
+    @DisplayName("getMetarData should reject a null StationCode")
+    void testGetMetarDataWithNullStationCode() {
+        WeatherServiceException exception = assertThrows(
+            WeatherServiceException.class,
+            () -> weatherService.getMetarData((StationCode) null)
+        );
+        
+        assertEquals(WeatherServiceException.ErrorType.INVALID_STATION_CODE, exception.getErrorType());
     }
     
     @ParameterizedTest
@@ -127,23 +188,66 @@ class WeatherServiceImplTest {
     @DisplayName("getMetarData should handle configuration service errors gracefully")
     void testGetMetarDataConfigurationError() {
         testConfigService.setShouldThrowException(true);
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, new RecordingHttpClient());
         
         // Should not throw exception - should use fallback URL
-        assertDoesNotThrow(() -> weatherService.getMetarData("KJFK"));
+        assertDoesNotThrow(() -> service.getMetarData("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("getMetarData should report STATION_NOT_FOUND when no file is published")
+    void testGetMetarDataStationNotFound() {
+        WeatherServiceException exception = assertThrows(
+            WeatherServiceException.class,
+            () -> weatherService.getMetarData("ZZZZ")
+        );
+        
+        assertEquals(WeatherServiceException.ErrorType.STATION_NOT_FOUND, exception.getErrorType());
+        assertEquals("ZZZZ", exception.getStationCode());
+    }
+    
+    @Test
+    @DisplayName("getMetarData should report SERVICE_UNAVAILABLE on a server error")
+    void testGetMetarDataServerError() {
+        server.withStatus(TestNoaaHttpServer.METAR_PATH + "KJFK.TXT", 503);
+        
+        WeatherServiceException exception = assertThrows(
+            WeatherServiceException.class,
+            () -> weatherService.getMetarData("KJFK")
+        );
+        
+        assertEquals(WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE, exception.getErrorType());
+        assertEquals("KJFK", exception.getStationCode());
+    }
+    
+    @Test
+    @DisplayName("getMetarData should report NETWORK_ERROR when the server is unreachable")
+    void testGetMetarDataNetworkError() {
+        String metarUrl = server.getMetarBaseUrl();
+        server.close();
+        testConfigService.setRawString("MISC_METAR_URL", metarUrl);
+        
+        WeatherServiceException exception = assertThrows(
+            WeatherServiceException.class,
+            () -> weatherService.getMetarData("KJFK")
+        );
+        
+        assertEquals(WeatherServiceException.ErrorType.NETWORK_ERROR, exception.getErrorType());
     }
     
     // ===== TAF Data Tests =====
     
     @Test
-    @DisplayName("getTafData should return formatted TAF data for valid station")
+    @DisplayName("getTafData should return the TAF report published for the station")
     void testGetTafDataValidStation() throws WeatherServiceException {
         String result = weatherService.getTafData("KJFK");
         
         assertNotNull(result);
+        assertEquals(KJFK_TAF, result);
         assertTrue(result.startsWith("TAF KJFK"));
         assertTrue(result.contains("141152Z"));
         assertTrue(result.contains("24012KT"));
-        assertTrue(result.contains("FM1600"));
+        assertTrue(result.contains("FM141600"));
         
         // Verify configuration was accessed
         assertTrue(testConfigService.wasConfigRequested("MISC_TAF_URL"));
@@ -187,9 +291,89 @@ class WeatherServiceImplTest {
     @DisplayName("getTafData should handle configuration service errors gracefully")
     void testGetTafDataConfigurationError() {
         testConfigService.setShouldThrowException(true);
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, new RecordingHttpClient());
         
         // Should not throw exception - should use fallback URL
-        assertDoesNotThrow(() -> weatherService.getTafData("KJFK"));
+        assertDoesNotThrow(() -> service.getTafData("KJFK"));
+    }
+    
+    // ===== Batch Request Tests =====
+    
+    @Test
+    @DisplayName("Batch getMetarData should return reports keyed by station in request order")
+    void testGetMetarDataBatch() throws WeatherServiceException {
+        Map<String, String> result = weatherService.getMetarData(Arrays.asList("KLAX", "KJFK"));
+        
+        assertEquals(Arrays.asList("KLAX", "KJFK"), new ArrayList<>(result.keySet()));
+        assertEquals(KJFK_METAR, result.get("KJFK"));
+        assertTrue(result.get("KLAX").startsWith("KLAX"));
+    }
+    
+    @Test
+    @DisplayName("Batch getTafData should return reports keyed by station")
+    void testGetTafDataBatch() throws WeatherServiceException {
+        Map<String, String> result = weatherService.getTafData(Arrays.asList("KJFK", "KLAX"));
+        
+        assertEquals(2, result.size());
+        assertEquals(KJFK_TAF, result.get("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("Batch requests should coalesce duplicate stations into one upstream call")
+    void testBatchCoalescesDuplicates() throws WeatherServiceException {
+        Map<String, String> result = weatherService.getMetarData(
+                Arrays.asList("KJFK", "kjfk", " KJFK ", "KLAX", "klax"));
+        
+        assertEquals(2, result.size());
+        assertEquals(1, server.getMetarRequestCount("KJFK"));
+        assertEquals(1, server.getMetarRequestCount("KLAX"));
+    }
+    
+    @Test
+    @DisplayName("Batch requests should omit invalid and unavailable stations")
+    void testBatchOmitsFailures() throws WeatherServiceException {
+        Map<String, String> result = weatherService.getMetarData(
+                Arrays.asList("KJFK", "K1FK", null, "ZZZZ"));
+        
+        assertEquals(1, result.size());
+        assertTrue(result.containsKey("KJFK"));
+        assertEquals(1, server.getMetarRequestCount("ZZZZ"));
+    }
+    
+    @Test
+    @DisplayName("Batch requests should honour the concurrency limit")
+    void testBatchWithSingleConcurrentRequest() throws WeatherServiceException {
+        WeatherServiceImpl serialService = new WeatherServiceImpl(testConfigService, new NoaaHttpClient(), 1);
+        List<String> stations = new ArrayList<>();
+        for (char c = 'A'; c <= 'J'; c++) {
+            String station = "KA" + c + "A";
+            server.withMetar(station, station + " 141753Z 24012KT 10SM CLR 25/18 A3012");
+            stations.add(station);
+        }
+        
+        Map<String, String> result = serialService.getMetarData(stations);
+        
+        assertEquals(10, result.size());
+        assertEquals(stations, new ArrayList<>(result.keySet()));
+    }
+    
+    @Test
+    @DisplayName("Batch requests should reject a null collection")
+    void testBatchNullCollection() {
+        WeatherServiceException exception = assertThrows(
+            WeatherServiceException.class,
+            () -> weatherService.getMetarData((Collection<String>) null)
+        );
+        
+        assertEquals(WeatherServiceException.ErrorType.INVALID_STATION_CODE, exception.getErrorType());
+    }
+    
+    @Test
+    @DisplayName("Constructor should reject a concurrency limit below one")
+    void testConstructorRejectsZeroConcurrency() {
+        NoaaHttpClient client = new NoaaHttpClient();
+        assertThrows(IllegalArgumentException.class,
+            () -> new WeatherServiceImpl(testConfigService, client, 0));
     }
     
     // ===== Station Code Validation Tests =====
@@ -249,6 +433,7 @@ class WeatherServiceImplTest {
         
         assertTrue(testConfigService.wasConfigRequested("MISC_METAR_URL"));
         assertTrue(testConfigService.wasConfigRequested("MISC_METAR_EXT"));
+        assertEquals(1, server.getMetarRequestCount("TEST"));
     }
     
     @Test
@@ -258,30 +443,56 @@ class WeatherServiceImplTest {
         
         assertTrue(testConfigService.wasConfigRequested("MISC_TAF_URL"));
         assertTrue(testConfigService.wasConfigRequested("MISC_TAF_EXT"));
+        assertEquals(1, server.getTafRequestCount("TEST"));
     }
     
     @Test
     @DisplayName("Should handle missing METAR configuration with fallback")
     void testMetarUrlFallback() throws WeatherServiceException {
         testConfigService.setShouldThrowException(true);
+        RecordingHttpClient recordingClient = new RecordingHttpClient();
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, recordingClient);
         
-        String result = weatherService.getMetarData("KJFK");
+        String result = service.getMetarData("KJFK");
         
         assertNotNull(result);
-        assertTrue(result.startsWith("METAR KJFK"));
         // Should still work with fallback URL
+        assertEquals("https://aviationweather.gov/api/data/metar?ids=KJFK&format=raw",
+                recordingClient.getRequestedUrls().get(0));
     }
     
     @Test
     @DisplayName("Should handle missing TAF configuration with fallback")
     void testTafUrlFallback() throws WeatherServiceException {
         testConfigService.setShouldThrowException(true);
+        RecordingHttpClient recordingClient = new RecordingHttpClient();
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, recordingClient);
         
-        String result = weatherService.getTafData("KJFK");
+        String result = service.getTafData("KJFK");
         
         assertNotNull(result);
-        assertTrue(result.startsWith("TAF KJFK"));
         // Should still work with fallback URL
+        assertEquals("https://aviationweather.gov/api/data/taf?ids=KJFK&format=raw",
+                recordingClient.getRequestedUrls().get(0));
+    }
+    
+    @Test
+    @DisplayName("Should fall back when the URL keys are missing from the configuration")
+    void testMissingUrlKeysFallback() throws WeatherServiceException {
+        testConfigService.setRawString("MISC_METAR_URL",
+                WeatherConfigurationService.MISSING_CONFIG_PREFIX + "MISC_METAR_URL");
+        testConfigService.setRawString("MISC_TAF_EXT",
+                WeatherConfigurationService.MISSING_CONFIG_PREFIX + "MISC_TAF_EXT");
+        RecordingHttpClient recordingClient = new RecordingHttpClient();
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, recordingClient);
+        
+        service.getMetarData("KJFK");
+        service.getTafData("KJFK");
+        
+        assertEquals("https://aviationweather.gov/api/data/metar?ids=KJFK&format=raw",
+                recordingClient.getRequestedUrls().get(0));
+        assertEquals("https://aviationweather.gov/api/data/taf?ids=KJFK&format=raw",
+                recordingClient.getRequestedUrls().get(1));
     }
     
     // ===== Integration Tests =====
@@ -312,12 +523,290 @@ class WeatherServiceImplTest {
         String result2 = weatherService.getMetarData("KJFK");
         
         // Results should be consistent (same format, though content might vary in real implementation)
-        assertTrue(result1.startsWith("METAR KJFK"));
-        assertTrue(result2.startsWith("METAR KJFK"));
+        assertTrue(result1.startsWith("KJFK"));
+        assertTrue(result2.startsWith("KJFK"));
         
         // Both should contain expected elements
         assertTrue(result1.contains("141753Z"));
         assertTrue(result2.contains("141753Z"));
+        assertEquals(2, server.getMetarRequestCount("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("Concurrent requests for the same station should share one upstream fetch")
+    void testConcurrentRequestsCollapsed() throws Exception {
+        server.withResponseDelay(300);
+        int callers = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                Callable<String> call = () -> {
+                    start.await();
+                    return weatherService.getMetarData("KJFK");
+                };
+                results.add(pool.submit(call));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals(KJFK_METAR, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        assertEquals(1, server.getMetarRequestCount("KJFK"));
+        assertEquals(0, server.getTafRequestCount("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("Concurrent failures should reach every collapsed caller")
+    void testConcurrentFailuresShared() throws Exception {
+        server.withResponseDelay(300).withStatus(TestNoaaHttpServer.METAR_PATH + "KJFK.TXT", 503);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = pool.submit(() -> weatherService.getMetarData("KJFK"));
+            Future<String> second = pool.submit(() -> weatherService.getMetarData("KJFK"));
+            
+            for (Future<String> result : Arrays.asList(first, second)) {
+                Exception exception = assertThrows(Exception.class, result::get);
+                WeatherServiceException cause = assertInstanceOf(WeatherServiceException.class, exception.getCause());
+                assertEquals(WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE, cause.getErrorType());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        // One shared fetch, retried for both callers
+        assertEquals(1 + WeatherServiceImpl.MAX_RETRIES, server.getMetarRequestCount("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("Upstream failures should be retried while the retry budget lasts")
+    void testRetryBudget() {
+        server.withStatus(TestNoaaHttpServer.METAR_PATH + "KJFK.TXT", 503);
+        RetryBudget budget = new RetryBudget(3, 0.0, Clock.systemUTC());
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, new NoaaHttpClient(),
+                1, new CircuitBreaker(100, Duration.ofMinutes(1), Clock.systemUTC()), budget);
+        
+        assertThrows(WeatherServiceException.class, () -> service.getMetarData("KJFK"));
+        assertThrows(WeatherServiceException.class, () -> service.getMetarData("KJFK"));
+        assertThrows(WeatherServiceException.class, () -> service.getMetarData("KJFK"));
+        
+        // Two retries for the first call, one for the second, none for the third
+        assertEquals(6, server.getMetarRequestCount("KJFK"));
+        assertEquals(3, budget.getGrantedCount());
+        assertEquals(2, budget.getDeniedCount());
+    }
+    
+    @Test
+    @DisplayName("Retries should wait a jittered, doubling delay")
+    void testRetryDelay() {
+        long first = WeatherServiceImpl.RETRY_DELAY.toMillis();
+        for (int i = 0; i < 100; i++) {
+            long delay = WeatherServiceImpl.retryDelayMillis(0);
+            assertTrue(delay >= first / 2 && delay <= first, "delay " + delay);
+            long second = WeatherServiceImpl.retryDelayMillis(1);
+            assertTrue(second >= first && second <= 2 * first, "delay " + second);
+        }
+        
+        server.withStatus(TestNoaaHttpServer.METAR_PATH + "KJFK.TXT", 503);
+        long start = System.nanoTime();
+        assertThrows(WeatherServiceException.class, () -> weatherService.getMetarData("KJFK"));
+        
+        // At least half of each backoff passes between the three attempts
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= first / 2 + first, "elapsed " + elapsedMillis);
+        assertEquals(1 + WeatherServiceImpl.MAX_RETRIES, server.getMetarRequestCount("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("An open circuit should serve remembered files and fail fast otherwise")
+    void testCircuitBreakerFailsFast() throws WeatherServiceException {
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(1), Clock.systemUTC());
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, new NoaaHttpClient(),
+                1, breaker, new RetryBudget(0, 0.0, Clock.systemUTC()));
+        String remembered = service.getMetarData("KJFK");
+        
+        server.withStatus(TestNoaaHttpServer.METAR_PATH + "KJFK.TXT", 503)
+              .withStatus(TestNoaaHttpServer.TAF_PATH + "KJFK.TXT", 503);
+        assertThrows(WeatherServiceException.class, () -> service.getTafData("KJFK"));
+        assertThrows(WeatherServiceException.class, () -> service.getTafData("KJFK"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        int requests = server.getTotalRequestCount();
+        
+        assertEquals(remembered, service.getMetarData("KJFK"));
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class,
+            () -> service.getTafData("KJFK"));
+        assertEquals(WeatherServiceException.ErrorType.SERVICE_UNAVAILABLE, exception.getErrorType());
+        assertEquals("KJFK", exception.getStationCode());
+        assertEquals(Collections.singletonMap("KJFK", remembered),
+            service.getMetarData(Arrays.asList("KJFK", "KLAX")));
+        
+        assertEquals(requests, server.getTotalRequestCount());
+        assertEquals(4, breaker.getStats().getRejectedCount());
+        assertSame(breaker, service.getCircuitBreaker());
+    }
+    
+    @Test
+    @DisplayName("A missing station should not count against the circuit breaker")
+    void testNotFoundKeepsCircuitClosed() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMinutes(1), Clock.systemUTC());
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, new NoaaHttpClient(),
+                1, breaker, new RetryBudget());
+        
+        assertThrows(WeatherServiceException.class, () -> service.getMetarData("ZZZZ"));
+        
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(1, server.getMetarRequestCount("ZZZZ"));
+        assertEquals(0, service.getRetryBudget().getGrantedCount());
+    }
+    
+    @Test
+    @DisplayName("A client exception should still release a half-open probe")
+    void testClientExceptionReleasesProbe() throws WeatherServiceException {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ZERO, Clock.systemUTC());
+        FailingHttpClient client = new FailingHttpClient();
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, client,
+                1, breaker, new RetryBudget(0, 0.0, Clock.systemUTC()));
+        
+        WeatherServiceException first = assertThrows(WeatherServiceException.class,
+            () -> service.getMetarData("KJFK"));
+        assertTrue(first.getCause() instanceof IllegalStateException);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        // The half-open probe fails the same way and must not stay in flight
+        assertThrows(WeatherServiceException.class, () -> service.getMetarData("KJFK"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        
+        client.failing = false;
+        assertNotNull(service.getMetarData("KJFK"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    @Test
+    @DisplayName("An async failure of any type should still release a half-open probe")
+    void testAsyncFailureReleasesProbe() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ZERO, Clock.systemUTC());
+        FailingHttpClient client = new FailingHttpClient();
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, client,
+                1, breaker, new RetryBudget(0, 0.0, Clock.systemUTC()));
+        String url = server.getMetarBaseUrl() + "KJFK.TXT";
+        
+        ExecutionException first = assertThrows(ExecutionException.class,
+            () -> service.fetchConditionalAsync(url, null).get(5, TimeUnit.SECONDS));
+        assertTrue(first.getCause() instanceof IOException);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(ExecutionException.class,
+            () -> service.fetchConditionalAsync(url, null).get(5, TimeUnit.SECONDS));
+        
+        client.failing = false;
+        assertNotNull(service.fetchConditionalAsync(url, null).get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    @Test
+    @DisplayName("A rejected request should not be retried or count against the circuit breaker")
+    void testClientErrorNotRetried() {
+        server.withStatus(TestNoaaHttpServer.METAR_PATH + "KJFK.TXT", 403);
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMinutes(1), Clock.systemUTC());
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, new NoaaHttpClient(),
+                1, breaker, new RetryBudget());
+        
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class,
+            () -> service.getMetarData("KJFK"));
+        
+        assertEquals(WeatherServiceException.ErrorType.CONFIGURATION_ERROR, exception.getErrorType());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(1, server.getMetarRequestCount("KJFK"));
+    }
+    
+    @Test
+    @DisplayName("Repeated requests should revalidate the station file instead of downloading it")
+    void testConditionalRequests() throws WeatherServiceException {
+        String first = weatherService.getMetarData("KJFK");
+        String second = weatherService.getMetarData("KJFK");
+        
+        assertSame(first, second);
+        assertEquals(2, server.getMetarRequestCount("KJFK"));
+        assertEquals(1, server.getNotModifiedCount());
+        
+        server.withMetar("KJFK", "KJFK 141853Z 25010KT 10SM FEW250 24/18 A3011");
+        assertTrue(weatherService.getMetarData("KJFK").contains("141853Z"));
+        assertEquals(1, server.getNotModifiedCount());
+    }
+    
+    @Test
+    @DisplayName("Batch requests should revalidate station files fetched before")
+    void testBatchConditionalRequests() throws WeatherServiceException {
+        weatherService.getMetarData("KJFK");
+        
+        Map<String, String> result = weatherService.getMetarData(Arrays.asList("KJFK", "KLAX"));
+        
+        assertEquals(KJFK_METAR, result.get("KJFK"));
+        assertEquals(1, server.getNotModifiedCount());
+    }
+    
+    @Test
+    @DisplayName("A station file without validators should be downloaded every time")
+    void testNoValidatorsNotRemembered() throws WeatherServiceException {
+        RecordingHttpClient recordingClient = new RecordingHttpClient();
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, recordingClient);
+        
+        service.getMetarData("KJFK");
+        service.getMetarData("KJFK");
+        
+        assertEquals(2, recordingClient.getRequestedUrls().size());
+        assertNull(service.getCachedStationFile(recordingClient.getRequestedUrls().get(0)));
+    }
+    
+    // ===== Result-Style Tests =====
+    
+    @Test
+    @DisplayName("tryGetMetarData should return the report as a successful result")
+    void testTryGetMetarData() {
+        WeatherResult<String> result = weatherService.tryGetMetarData("kjfk");
+        
+        assertTrue(result.isSuccess());
+        assertEquals(KJFK_METAR, result.getValue());
+        assertEquals(KJFK_TAF, weatherService.tryGetTafData("KJFK").getValue());
+    }
+    
+    @Test
+    @DisplayName("tryGetMetarData should report invalid input without a request")
+    void testTryGetMetarDataInvalid() {
+        WeatherResult<String> result = weatherService.tryGetMetarData("K1FK");
+        
+        assertFalse(result.isSuccess());
+        assertEquals(WeatherServiceException.ErrorType.INVALID_STATION_CODE, result.getErrorType());
+        assertEquals("K1FK", result.getStationCode());
+        assertEquals(WeatherServiceException.ErrorType.INVALID_STATION_CODE,
+            weatherService.tryGetTafData(null).getErrorType());
+        assertEquals(0, server.getTotalRequestCount());
+    }
+    
+    @Test
+    @DisplayName("tryGetMetarData should report a missing station as a failed result")
+    void testTryGetMetarDataNotFound() {
+        WeatherResult<String> result = weatherService.tryGetMetarData("ZZZZ");
+        
+        assertEquals(WeatherServiceException.ErrorType.STATION_NOT_FOUND, result.getErrorType());
+        assertEquals("ZZZZ", result.getStationCode());
+    }
+    
+    @Test
+    @DisplayName("Expected failures should be thrown without a stack trace")
+    void testExpectedFailuresAreStackless() {
+        WeatherServiceException invalid = assertThrows(WeatherServiceException.class,
+            () -> weatherService.getMetarData("K1FK"));
+        WeatherServiceException notFound = assertThrows(WeatherServiceException.class,
+            () -> weatherService.getMetarData("ZZZZ"));
+        
+        assertTrue(invalid.isExpected());
+        assertEquals(0, invalid.getStackTrace().length);
+        assertTrue(notFound.isExpected());
+        assertEquals("ZZZZ", notFound.getStationCode());
+        assertSame(WeatherServiceImpl.invalidStation(null), WeatherServiceImpl.invalidStation(null));
     }
     
     // ===== Error Scenario Tests =====
@@ -326,20 +815,86 @@ class WeatherServiceImplTest {
     @DisplayName("Should handle configuration service returning null")
     void testConfigurationReturnsNull() {
         testConfigService.setShouldReturnNull(true);
+        RecordingHttpClient recordingClient = new RecordingHttpClient();
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, recordingClient);
         
         // Should handle gracefully and use fallback
-        assertDoesNotThrow(() -> weatherService.getMetarData("KJFK"));
-        assertDoesNotThrow(() -> weatherService.getTafData("KJFK"));
+        assertDoesNotThrow(() -> service.getMetarData("KJFK"));
+        assertDoesNotThrow(() -> service.getTafData("KJFK"));
+        assertTrue(recordingClient.getRequestedUrls().get(0).startsWith("https://aviationweather.gov/"));
     }
     
     @Test
     @DisplayName("Should handle configuration service throwing various exceptions")
     void testConfigurationThrowsException() {
         testConfigService.setShouldThrowException(true);
+        WeatherServiceImpl service = new WeatherServiceImpl(testConfigService, new RecordingHttpClient());
         
         // Should handle gracefully and use fallback
-        assertDoesNotThrow(() -> weatherService.getMetarData("KJFK"));
-        assertDoesNotThrow(() -> weatherService.getTafData("KJFK"));
+        assertDoesNotThrow(() -> service.getMetarData("KJFK"));
+        assertDoesNotThrow(() -> service.getTafData("KJFK"));
+    }
+    
+    // ===== Report Extraction Tests =====
+    
+    @Test
+    @DisplayName("extractReport should strip the tgftp timestamp header line")
+    void testExtractReportStripsHeader() {
+        assertEquals("KJFK 141753Z 24012KT",
+                WeatherServiceImpl.extractReport("2025/10/14 17:53\nKJFK 141753Z 24012KT\n"));
+    }
+    
+    @Test
+    @DisplayName("extractReport should keep bodies without a header line")
+    void testExtractReportWithoutHeader() {
+        assertEquals("KJFK 141753Z 24012KT", WeatherServiceImpl.extractReport("  KJFK 141753Z 24012KT  "));
+        assertEquals("", WeatherServiceImpl.extractReport(null));
+    }
+    
+    // ===== Test HTTP Client Implementation =====
+    
+    /**
+     * Test implementation of NoaaHttpClient that records requested URLs and
+     * answers with a canned report instead of going to the network.
+     */
+    private static class RecordingHttpClient extends NoaaHttpClient {
+        private final List<String> requestedUrls = new ArrayList<>();
+        
+        public List<String> getRequestedUrls() {
+            return requestedUrls;
+        }
+        
+        @Override
+        public ConditionalResponse fetchConditional(String url, String eTag, String lastModified) {
+            requestedUrls.add(url);
+            return ConditionalResponse.modified(
+                "2025/10/14 17:53\nKJFK 141753Z 24012KT 10SM FEW250 25/18 A3012\n", null, null);
+        }
+    }
+    
+    /**
+     * Test implementation of NoaaHttpClient whose fetches fail with
+     * exceptions other than WeatherServiceException until told otherwise.
+     */
+    private static class FailingHttpClient extends NoaaHttpClient {
+        private volatile boolean failing = true;
+        
+        @Override
+        public ConditionalResponse fetchConditional(String url, String eTag, String lastModified) {
+            if (failing) {
+                throw new IllegalStateException("Client broken");
+            }
+            return ConditionalResponse.modified("2025/10/14 17:53\nKJFK 141753Z 24012KT 10SM FEW250\n", null, null);
+        }
+        
+        @Override
+        public CompletableFuture<ConditionalResponse> fetchConditionalAsync(String url, String eTag,
+                                                                            String lastModified) {
+            if (failing) {
+                return CompletableFuture.failedFuture(new IOException("Connection reset"));
+            }
+            return CompletableFuture.completedFuture(fetchConditional(url, eTag, lastModified));
+        }
     }
     
     // ===== Test Configuration Service Implementation =====
@@ -0,0 +1,100 @@
+/*
+ * noakweather(TM) is a Java library for parsing weather data
+ * Copyright (C) 2025 bclasky1539
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package noakweather.service;
+
+import noakweather.noaa_api.model.StationCode;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the default methods of WeatherService.
+ *
+ * @author bclasky1539
+ */
+class WeatherServiceTest {
+
+    @Test
+    @DisplayName("Batch retrieval should work for an implementation with only single-station calls")
+    void testDefaultBatch() throws WeatherServiceException {
+        SingleStationService service = new SingleStationService();
+        service.metars.put("KJFK", "KJFK 141753Z 24012KT");
+        service.metars.put("KLAX", "KLAX 141753Z 25008KT");
+
+        Map<String, String> reports = service.getMetarData(Arrays.asList("klax", "KJFK ", "K1FK", "KLAX", "KBOS"));
+
+        assertEquals(Arrays.asList("KLAX", "KJFK"), new ArrayList<>(reports.keySet()));
+        assertEquals("KJFK 141753Z 24012KT", reports.get("KJFK"));
+        // Duplicates and invalid codes are not requested; a missing station is tried once
+        assertEquals(Arrays.asList("KLAX", "KJFK", "KBOS"), service.requested);
+        assertTrue(service.getTafData(Arrays.asList("KJFK")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Batch retrieval should reject a null collection")
+    void testDefaultBatchNull() {
+        WeatherServiceException exception = assertThrows(WeatherServiceException.class,
+            () -> new SingleStationService().getMetarData((Collection<String>) null));
+
+        assertEquals(WeatherServiceException.ErrorType.INVALID_STATION_CODE, exception.getErrorType());
+    }
+
+    /**
+     * A service implementing only the abstract methods, as a third-party
+     * implementation would.
+     */
+    private static final class SingleStationService implements WeatherService {
+        private final Map<String, String> metars = new HashMap<>();
+        private final List<String> requested = new ArrayList<>();
+
+        @Override
+        public String getMetarData(String stationCode) throws WeatherServiceException {
+            requested.add(stationCode);
+            String report = metars.get(stationCode);
+            if (report == null) {
+                throw new WeatherServiceException(
+                    WeatherServiceException.ErrorType.STATION_NOT_FOUND, "Not found", stationCode);
+            }
+            return report;
+        }
+
+        @Override
+        public String getTafData(String stationCode) throws WeatherServiceException {
+            throw new WeatherServiceException(
+                WeatherServiceException.ErrorType.STATION_NOT_FOUND, "Not found", stationCode);
+        }
+
+        @Override
+        public boolean isValidStationCode(String stationCode) {
+            return StationCode.isValid(stationCode);
+        }
+
+        @Override
+        public String getServiceProviderName() {
+            return "Single";
+        }
+    }
+}